@@ -27,8 +27,8 @@ import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.atlona.handler.AtlonaHandler;
 import org.openhab.binding.atlona.internal.AtlonaHandlerCallback;
 import org.openhab.binding.atlona.internal.StatefulHandlerCallback;
-import org.openhab.binding.atlona.internal.net.SocketChannelSession;
-import org.openhab.binding.atlona.internal.net.SocketSession;
+import org.openhab.io.transport.socket.SocketChannelSession;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -450,7 +450,7 @@ public class AtlonaPro3Handler extends AtlonaHandler<AtlonaPro3Capabilities> {
             return;
         }
 
-        _session = new SocketChannelSession(config.getIpAddress(), 23);
+        _session = new SocketChannelSession(config.getIpAddress(), 23, "\r\n", "Login: ", "Password: ");
         _atlonaHandler = new AtlonaPro3PortocolHandler(_session, config, getCapabilities(),
                 new StatefulHandlerCallback(new AtlonaHandlerCallback() {
                     @Override
@@ -21,8 +21,8 @@ import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.openhab.binding.atlona.internal.AtlonaHandlerCallback;
-import org.openhab.binding.atlona.internal.net.SocketSession;
-import org.openhab.binding.atlona.internal.net.SocketSessionListener;
+import org.openhab.io.transport.socket.SocketSession;
+import org.openhab.io.transport.socket.SocketSessionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -1149,19 +1149,17 @@ class AtlonaPro3PortocolHandler {
 
         @Override
         public void responseReceived(String response) {
-            try {
-                _responses.put(response);
-            } catch (InterruptedException e) {
+            // never block - we are called on the dispatcher thread shared by all sessions
+            if (!_responses.offer(response)) {
+                logger.debug("Dropping login response - too many unread responses: {}", response);
             }
         }
 
         @Override
         public void responseException(Exception e) {
-            try {
-                _responses.put(e);
-            } catch (InterruptedException e1) {
+            if (!_responses.offer(e)) {
+                logger.debug("Dropping login exception - too many unread responses: {}", e.getMessage());
             }
-
         }
 
     }
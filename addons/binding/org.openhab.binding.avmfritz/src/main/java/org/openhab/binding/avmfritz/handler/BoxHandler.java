@@ -12,6 +12,7 @@ import static org.openhab.binding.avmfritz.BindingConstants.*;
 
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -60,6 +61,10 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
      * Holder for last data received from the box.
      */
     private Map<String, DeviceModel> deviceList;
+    /**
+     * Hash of the last values dispatched to the things, by AIN.
+     */
+    private final Map<String, Integer> deviceStateHashes = new ConcurrentHashMap<String, Integer>();
     /**
      * Job which will do the FRITZ!Box polling
      */
@@ -112,21 +117,36 @@ public class BoxHandler extends BaseBridgeHandler implements IFritzHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
+        deviceStateHashes.clear();
     }
 
     /**
      * {@inheritDoc}
+     *
+     * The thing of the device is only updated if the values of the device
+     * have changed since the last poll, or if the thing is not in the status
+     * matching the device presence (e.g. it has just been initialized).
      */
     @Override
     public void addDeviceList(DeviceModel model) {
         try {
-            logger.debug("set device model: {}", model);
-            this.deviceList.put(model.getIdentifier(), model);
+            String ain = model.getIdentifier();
+            this.deviceList.put(ain, model);
             ThingUID thingUID = this.getThingUID(model);
             Thing thing = this.getThingByUID(thingUID);
             if (thing != null) {
+                int stateHash = model.getStateHash();
+                Integer lastStateHash = deviceStateHashes.get(ain);
+                ThingStatus expectedStatus = model.getPresent() == 1 ? ThingStatus.ONLINE : ThingStatus.OFFLINE;
+                if (lastStateHash != null && lastStateHash == stateHash && thing.getStatus() == expectedStatus) {
+                    logger.trace("device {} unchanged", ain);
+                    return;
+                }
                 logger.debug("update thing {} with device model: {}", thingUID, model);
                 this.updateThingFromDevice(thing, model);
+                deviceStateHashes.put(ain, stateHash);
+            } else {
+                deviceStateHashes.remove(ain);
             }
         } catch (Exception e) {
             logger.error("{}", e.getLocalizedMessage(), e);
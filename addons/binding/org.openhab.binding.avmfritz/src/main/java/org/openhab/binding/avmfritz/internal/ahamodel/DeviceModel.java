@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.avmfritz.internal.ahamodel;
 
+import java.util.Objects;
+
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -131,6 +133,21 @@ public class DeviceModel {
         return name;
     }
 
+    /**
+     * Returns a hash of the values of the device which are mapped to the
+     * thing, to detect whether a device has changed between two polls.
+     *
+     * @return Hash of the device values
+     */
+    public int getStateHash() {
+        return Objects.hash(present, name, bitmask, switchModel != null ? switchModel.getState() : null,
+                switchModel != null ? switchModel.getMode() : null, switchModel != null ? switchModel.getLock() : null,
+                powermeterModel != null ? powermeterModel.getPower() : null,
+                powermeterModel != null ? powermeterModel.getEnergy() : null,
+                temperatureModel != null ? temperatureModel.getCelsius() : null,
+                temperatureModel != null ? temperatureModel.getOffset() : null);
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).append("ain", this.getIdentifier()).append("bitmask", this.bitmask)
@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.avmfritz.internal.ahamodel;
+
+import java.io.StringReader;
+import java.util.function.Consumer;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Parser for the response to a <b>getdevicelistinfos</b> command (see
+ * {@link DevicelistModel}). The response is read with a streaming (StAX)
+ * reader and each <code>device</code> element is unmarshalled on its own and
+ * handed over as soon as it is parsed, without building the whole list.
+ *
+ * The {@link JAXBContext} is expensive to create but thread-safe, so it is
+ * created once and shared by all FRITZ!Boxes.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class DevicelistParser {
+    private static final String DEVICELIST_ELEMENT = "devicelist";
+    private static final String DEVICE_ELEMENT = "device";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private static JAXBContext jaxbContext;
+
+    private DevicelistParser() {
+    }
+
+    /**
+     * Returns the shared JAXB context, creating it on first use.
+     *
+     * @return JAXB context for the device list models
+     * @throws JAXBException if the context cannot be created
+     */
+    public static synchronized JAXBContext getJAXBContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(DevicelistModel.class);
+        }
+        return jaxbContext;
+    }
+
+    /**
+     * Parses a device list and passes each device to the consumer.
+     *
+     * @param response XML response of the FRITZ!Box
+     * @param consumer Consumer of the parsed devices
+     * @return false if the response is not a device list
+     * @throws JAXBException if a device cannot be unmarshalled
+     * @throws XMLStreamException if the response is not well-formed
+     */
+    public static boolean parse(String response, Consumer<DeviceModel> consumer)
+            throws JAXBException, XMLStreamException {
+        Unmarshaller unmarshaller = getJAXBContext().createUnmarshaller();
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(response));
+        try {
+            reader.nextTag();
+            if (!DEVICELIST_ELEMENT.equals(reader.getLocalName())) {
+                return false;
+            }
+            reader.next();
+            while (reader.hasNext()) {
+                if (reader.getEventType() == XMLStreamConstants.START_ELEMENT
+                        && DEVICE_ELEMENT.equals(reader.getLocalName())) {
+                    // leaves the reader after the end of the device element
+                    consumer.accept(unmarshaller.unmarshal(reader, DeviceModel.class).getValue());
+                } else {
+                    reader.next();
+                }
+            }
+            return true;
+        } finally {
+            reader.close();
+        }
+    }
+}
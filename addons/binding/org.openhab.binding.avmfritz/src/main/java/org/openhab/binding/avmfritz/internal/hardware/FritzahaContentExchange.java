@@ -67,7 +67,9 @@ public class FritzahaContentExchange extends BufferingResponseListener
      */
     @Override
     public void onComplete(Result result) {
-        logger.debug("response complete: {}", this.getContentAsString());
-        this.callback.execute(result.getResponse().getStatus(), this.getContentAsString());
+        // decode the content only once
+        String content = this.getContentAsString();
+        logger.debug("response complete: {}", content);
+        this.callback.execute(result.getResponse().getStatus(), content);
     }
 }
@@ -8,14 +8,13 @@
  */
 package org.openhab.binding.avmfritz.internal.hardware.callbacks;
 
-import java.io.StringReader;
+import java.util.function.Consumer;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 
 import org.openhab.binding.avmfritz.internal.ahamodel.DeviceModel;
-import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistModel;
+import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistParser;
 import org.openhab.binding.avmfritz.internal.discovery.AvmDiscoveryService;
 import org.openhab.binding.avmfritz.internal.hardware.FritzahaWebInterface;
 import org.slf4j.Logger;
@@ -30,7 +29,7 @@ import org.slf4j.LoggerFactory;
 public class FritzAhaDiscoveryCallback extends FritzAhaReauthCallback {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
-    private AvmDiscoveryService service;
+    private final AvmDiscoveryService service;
 
     /**
      * Constructor
@@ -52,18 +51,16 @@ public class FritzAhaDiscoveryCallback extends FritzAhaReauthCallback {
         if (this.isValidRequest()) {
             logger.debug("discovery callback response {}", response);
             try {
-                JAXBContext jaxbContext = JAXBContext.newInstance(DevicelistModel.class);
-                Unmarshaller jaxbUM = jaxbContext.createUnmarshaller();
-
-                DevicelistModel model = (DevicelistModel) jaxbUM.unmarshal(new StringReader(response));
-                if (model != null) {
-                    for (DeviceModel device : model.getDevicelist()) {
-                        this.service.onDeviceAddedInternal(device);
+                boolean isDevicelist = DevicelistParser.parse(response, new Consumer<DeviceModel>() {
+                    @Override
+                    public void accept(DeviceModel device) {
+                        service.onDeviceAddedInternal(device);
                     }
-                } else {
+                });
+                if (!isDevicelist) {
                     logger.warn("no model in response");
                 }
-            } catch (JAXBException e) {
+            } catch (JAXBException | XMLStreamException e) {
                 logger.error("{}", e.getLocalizedMessage(), e);
             }
         }
@@ -8,17 +8,16 @@
  */
 package org.openhab.binding.avmfritz.internal.hardware.callbacks;
 
-import java.io.StringReader;
+import java.util.function.Consumer;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamException;
 
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.openhab.binding.avmfritz.handler.IFritzHandler;
 import org.openhab.binding.avmfritz.internal.ahamodel.DeviceModel;
-import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistModel;
+import org.openhab.binding.avmfritz.internal.ahamodel.DevicelistParser;
 import org.openhab.binding.avmfritz.internal.hardware.FritzahaWebInterface;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +38,7 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
     /**
      * Handler to update
      */
-    private IFritzHandler handler;
+    private final IFritzHandler handler;
 
     /**
      * Constructor
@@ -61,19 +60,18 @@ public class FritzAhaUpdateXmlCallback extends FritzAhaReauthCallback {
         if (this.isValidRequest()) {
             logger.trace("Received State response {}", response);
             try {
-                JAXBContext jaxbContext = JAXBContext.newInstance(DevicelistModel.class);
-                Unmarshaller jaxbUM = jaxbContext.createUnmarshaller();
-
-                DevicelistModel model = (DevicelistModel) jaxbUM.unmarshal(new StringReader(response));
-                if (model != null) {
-                    for (DeviceModel device : model.getDevicelist()) {
+                boolean isDevicelist = DevicelistParser.parse(response, new Consumer<DeviceModel>() {
+                    @Override
+                    public void accept(DeviceModel device) {
                         handler.addDeviceList(device);
                     }
+                });
+                if (isDevicelist) {
                     handler.setStatusInfo(ThingStatus.ONLINE, ThingStatusDetail.NONE, "FritzBox online");
                 } else {
                     logger.warn("no model in response");
                 }
-            } catch (JAXBException e) {
+            } catch (JAXBException | XMLStreamException e) {
                 logger.error("{}", e.getLocalizedMessage(), e);
             }
         } else {
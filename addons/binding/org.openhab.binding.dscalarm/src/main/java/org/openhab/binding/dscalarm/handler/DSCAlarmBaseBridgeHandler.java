@@ -12,8 +12,13 @@ import static org.openhab.binding.dscalarm.DSCAlarmBindingConstants.BRIDGE_RESET
 
 import java.math.BigDecimal;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -24,6 +29,7 @@ import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.dscalarm.config.DSCAlarmPartitionConfiguration;
 import org.openhab.binding.dscalarm.config.DSCAlarmZoneConfiguration;
@@ -31,7 +37,6 @@ import org.openhab.binding.dscalarm.internal.DSCAlarmCode;
 import org.openhab.binding.dscalarm.internal.DSCAlarmEvent;
 import org.openhab.binding.dscalarm.internal.DSCAlarmMessage;
 import org.openhab.binding.dscalarm.internal.DSCAlarmMessage.DSCAlarmMessageInfoType;
-import org.openhab.binding.dscalarm.internal.DSCAlarmMessage.DSCAlarmMessageType;
 import org.openhab.binding.dscalarm.internal.discovery.DSCAlarmDiscoveryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,8 +59,17 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
     /** The DSC Alarm Discovery Service. */
     private DSCAlarmDiscoveryService dscAlarmDiscoveryService = null;
 
-    /** The Panel Thing handler for the bridge. */
-    private DSCAlarmBaseThingHandler panelThingHandler = null;
+    /** The queue of parsed events waiting to be dispatched to the things. */
+    private final BlockingQueue<DSCAlarmEvent> eventQueue = new LinkedBlockingQueue<DSCAlarmEvent>();
+
+    /** The thread dispatching the queued events to the things. */
+    private Thread eventDispatcherThread = null;
+
+    /** The index of the thing handlers used to route the events. */
+    private volatile DispatchIndex dispatchIndex = new DispatchIndex();
+
+    /** Determines if the dispatch index has to be rebuilt. */
+    private volatile boolean dispatchIndexStale = true;
 
     /** Connection status for the bridge. */
     private boolean connected = false;
@@ -277,17 +291,18 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Method to start the polling task.
+     * Method to start the polling task and the event dispatcher.
      */
     public void startPolling() {
         logger.debug("Starting DSC Alarm Polling Task.");
         if (pollingTask == null || pollingTask.isCancelled()) {
             pollingTask = scheduler.scheduleWithFixedDelay(pollingRunnable, 0, refreshInterval, TimeUnit.MILLISECONDS);
         }
+        startEventDispatcher();
     }
 
     /**
-     * Method to stop the polling task.
+     * Method to stop the polling task and the event dispatcher.
      */
     public void stopPolling() {
         logger.debug("Stopping DSC Alarm Polling Task.");
@@ -295,6 +310,31 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
             pollingTask.cancel(true);
             pollingTask = null;
         }
+        stopEventDispatcher();
+    }
+
+    /**
+     * Method to start the event dispatcher thread.
+     */
+    private synchronized void startEventDispatcher() {
+        if (eventDispatcherThread == null) {
+            logger.debug("Starting DSC Alarm Event Dispatcher.");
+            eventDispatcherThread = new Thread(new EventDispatcher(), "DSCAlarm-" + getThing().getUID().getId());
+            eventDispatcherThread.setDaemon(true);
+            eventDispatcherThread.start();
+        }
+    }
+
+    /**
+     * Method to stop the event dispatcher thread. Events still queued are dropped.
+     */
+    private synchronized void stopEventDispatcher() {
+        if (eventDispatcherThread != null) {
+            logger.debug("Stopping DSC Alarm Event Dispatcher.");
+            eventDispatcherThread.interrupt();
+            eventDispatcherThread = null;
+        }
+        eventQueue.clear();
     }
 
     /**
@@ -349,11 +389,15 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
             thingCount = things.size();
         }
 
+        List<DSCAlarmBaseThingHandler> handlers = new ArrayList<DSCAlarmBaseThingHandler>(things.size());
+
         for (Thing thing : things) {
 
             DSCAlarmBaseThingHandler handler = (DSCAlarmBaseThingHandler) thing.getHandler();
 
             if (handler != null) {
+                handlers.add(handler);
+
                 logger.debug("***Checking '{}' - Status: {}, Initialized: {}", thing.getUID(), thing.getStatus(),
                         handler.isThingHandlerInitialized());
 
@@ -363,12 +407,6 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
                         handler.bridgeStatusChanged(getThing().getStatusInfo());
                     }
 
-                    if (handler.getDSCAlarmThingType().equals(DSCAlarmThingType.PANEL)) {
-                        if (panelThingHandler == null) {
-                            panelThingHandler = handler;
-                        }
-                    }
-
                     allThingsInitialized = false;
                 }
 
@@ -377,6 +415,37 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
             }
         }
 
+        if (!handlers.equals(dispatchIndex.handlers)) {
+            dispatchIndexStale = true;
+        }
+    }
+
+    /**
+     * Notifies the bridge that a thing handler has been initialized or disposed, so that the dispatch index is rebuilt
+     * before the next event is dispatched.
+     */
+    public void thingHandlersChanged() {
+        dispatchIndexStale = true;
+    }
+
+    /**
+     * Rebuilds the index of the thing handlers by thing type, partition and zone.
+     */
+    private void rebuildDispatchIndex() {
+        dispatchIndexStale = false;
+
+        DispatchIndex index = new DispatchIndex();
+
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+
+            if (handler instanceof DSCAlarmBaseThingHandler) {
+                index.add((DSCAlarmBaseThingHandler) handler);
+            }
+        }
+
+        dispatchIndex = index;
+        logger.debug("rebuildDispatchIndex(): Dispatch Index Rebuilt - {} Thing Handlers", index.handlers.size());
     }
 
     /**
@@ -446,95 +515,108 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Handles an incoming message from the DSC Alarm System.
+     * Handles an incoming message from the DSC Alarm System. The message is parsed once into a {@link DSCAlarmEvent}
+     * and queued, the event dispatcher thread delivers it to the things so the reader is never held up.
      *
      * @param incomingMessage
      */
-    public synchronized void handleIncomingMessage(String incomingMessage) {
+    public void handleIncomingMessage(String incomingMessage) {
         if (incomingMessage != null && !incomingMessage.isEmpty()) {
             DSCAlarmMessage dscAlarmMessage = new DSCAlarmMessage(incomingMessage);
-            DSCAlarmMessageType dscAlarmMessageType = dscAlarmMessage.getDSCAlarmMessageType();
 
             logger.debug("handleIncomingMessage(): Message received: {} - {}", incomingMessage,
                     dscAlarmMessage.toString());
 
             DSCAlarmEvent event = new DSCAlarmEvent(this);
             event.dscAlarmEventMessage(dscAlarmMessage);
-            DSCAlarmThingType dscAlarmThingType = null;
-            int partitionId = 0;
-            int zoneId = 0;
-
-            DSCAlarmCode dscAlarmCode = DSCAlarmCode
-                    .getDSCAlarmCodeValue(dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.CODE));
-
-            if (dscAlarmCode == DSCAlarmCode.LoginResponse) {
-                String dscAlarmMessageData = dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.DATA);
-                if (dscAlarmMessageData.equals("3")) {
-                    sendCommand(DSCAlarmCode.NetworkLogin);
-                    // onConnected();
-                } else if (dscAlarmMessageData.equals("1")) {
-                    onConnected();
-                }
-                return;
-            } else if (dscAlarmCode == DSCAlarmCode.CommandAcknowledge) {
-                String dscAlarmMessageData = dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.DATA);
-                if (dscAlarmMessageData.equals("000")) {
-                    setBridgeStatus(true);
-                }
-            }
 
-            switch (dscAlarmMessageType) {
-                case PANEL_EVENT:
-                    dscAlarmThingType = DSCAlarmThingType.PANEL;
-                    break;
-                case PARTITION_EVENT:
-                    dscAlarmThingType = DSCAlarmThingType.PARTITION;
-                    partitionId = Integer
-                            .parseInt(event.getDSCAlarmMessage().getMessageInfo(DSCAlarmMessageInfoType.PARTITION));
-                    break;
-                case ZONE_EVENT:
-                    dscAlarmThingType = DSCAlarmThingType.ZONE;
-                    zoneId = Integer.parseInt(event.getDSCAlarmMessage().getMessageInfo(DSCAlarmMessageInfoType.ZONE));
-                    break;
-                case KEYPAD_EVENT:
-                    dscAlarmThingType = DSCAlarmThingType.KEYPAD;
-                    break;
-                default:
-                    break;
+            eventQueue.offer(event);
+        } else {
+            logger.debug("handleIncomingMessage(): No Message Received!");
+        }
+    }
+
+    /**
+     * Dispatches an event to the thing it is for (and to the panel).
+     *
+     * @param event
+     */
+    private void dispatchEvent(DSCAlarmEvent event) {
+        DSCAlarmMessage dscAlarmMessage = event.getDSCAlarmMessage();
+
+        DSCAlarmCode dscAlarmCode = DSCAlarmCode
+                .getDSCAlarmCodeValue(dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.CODE));
+
+        if (dscAlarmCode == DSCAlarmCode.LoginResponse) {
+            String dscAlarmMessageData = dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.DATA);
+            if (dscAlarmMessageData.equals("3")) {
+                sendCommand(DSCAlarmCode.NetworkLogin);
+                // onConnected();
+            } else if (dscAlarmMessageData.equals("1")) {
+                onConnected();
+            }
+            return;
+        } else if (dscAlarmCode == DSCAlarmCode.CommandAcknowledge) {
+            String dscAlarmMessageData = dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.DATA);
+            if (dscAlarmMessageData.equals("000")) {
+                setBridgeStatus(true);
             }
+        }
 
-            if (dscAlarmThingType != null) {
+        if (event.getDSCAlarmMessageType() == null) {
+            return;
+        }
+
+        DSCAlarmThingType dscAlarmThingType = null;
+
+        switch (event.getDSCAlarmMessageType()) {
+            case PANEL_EVENT:
+                dscAlarmThingType = DSCAlarmThingType.PANEL;
+                break;
+            case PARTITION_EVENT:
+                dscAlarmThingType = DSCAlarmThingType.PARTITION;
+                break;
+            case ZONE_EVENT:
+                dscAlarmThingType = DSCAlarmThingType.ZONE;
+                break;
+            case KEYPAD_EVENT:
+                dscAlarmThingType = DSCAlarmThingType.KEYPAD;
+                break;
+            default:
+                break;
+        }
 
-                Thing thing = findThing(dscAlarmThingType, partitionId, zoneId);
+        if (dscAlarmThingType != null) {
 
-                logger.debug("handleIncomingMessage(): Thing Search - '{}'", thing);
+            if (dispatchIndexStale) {
+                rebuildDispatchIndex();
+            }
 
-                if (thing != null) {
-                    DSCAlarmBaseThingHandler thingHandler = (DSCAlarmBaseThingHandler) thing.getHandler();
+            DispatchIndex index = dispatchIndex;
+            DSCAlarmBaseThingHandler thingHandler = index.getHandler(dscAlarmThingType, event.getPartitionId(),
+                    event.getZoneId());
 
-                    if (thingHandler != null) {
-                        if (thingHandler.isThingHandlerInitialized()) {
-                            thingHandler.dscAlarmEventReceived(event, thing);
+            logger.debug("dispatchEvent(): Thing Handler Search - '{}'", thingHandler);
 
-                            if (panelThingHandler != null) {
-                                if (!thingHandler.equals(panelThingHandler)) {
-                                    panelThingHandler.dscAlarmEventReceived(event, thing);
-                                }
-                            }
-                        } else {
-                            logger.debug("handleIncomingMessage(): Thing '{}' Not Refreshed!", thing.getUID());
-                        }
+            if (thingHandler != null) {
+                Thing thing = thingHandler.getThing();
+
+                if (thingHandler.isThingHandlerInitialized()) {
+                    thingHandler.dscAlarmEventReceived(event, thing);
+
+                    if (index.panelHandler != null && index.panelHandler != thingHandler) {
+                        index.panelHandler.dscAlarmEventReceived(event, thing);
                     }
                 } else {
-                    logger.debug("handleIncomingMessage(): Thing Not Found! Send to Discovery Service!");
+                    logger.debug("dispatchEvent(): Thing '{}' Not Refreshed!", thing.getUID());
+                }
+            } else {
+                logger.debug("dispatchEvent(): Thing Not Found! Send to Discovery Service!");
 
-                    if (dscAlarmDiscoveryService != null) {
-                        dscAlarmDiscoveryService.addThing(getThing(), dscAlarmThingType, event);
-                    }
+                if (dscAlarmDiscoveryService != null) {
+                    dscAlarmDiscoveryService.addThing(getThing(), dscAlarmThingType, event);
                 }
             }
-        } else {
-            logger.debug("handleIncomingMessage(): No Message Received!");
         }
     }
 
@@ -785,4 +867,100 @@ public abstract class DSCAlarmBaseBridgeHandler extends BaseBridgeHandler {
 
         return cmd + strChecksum.toUpperCase() + "\r\n";
     }
+
+    /**
+     * EventDispatcher: Takes the events from the queue and dispatches them to the things.
+     */
+    private class EventDispatcher implements Runnable {
+
+        /**
+         * Run method. Runs the EventDispatcher thread
+         */
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    dispatchEvent(eventQueue.take());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    logger.error("EventDispatcher(): Event not handled by bridge: {}", e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the thing handlers by thing type, partition and zone. Never modified once built.
+     */
+    private static class DispatchIndex {
+        private final List<DSCAlarmBaseThingHandler> handlers = new ArrayList<>();
+        private final Map<Integer, DSCAlarmBaseThingHandler> partitionHandlers = new HashMap<>();
+        private final Map<Integer, DSCAlarmBaseThingHandler> zoneHandlers = new HashMap<>();
+        private DSCAlarmBaseThingHandler panelHandler = null;
+        private DSCAlarmBaseThingHandler keypadHandler = null;
+
+        /**
+         * Adds a thing handler to the index. The first handler found for a type, partition or zone wins.
+         *
+         * @param handler
+         */
+        private void add(DSCAlarmBaseThingHandler handler) {
+            handlers.add(handler);
+
+            DSCAlarmThingType dscAlarmThingType = handler.getDSCAlarmThingType();
+
+            if (dscAlarmThingType == null) {
+                return;
+            }
+
+            switch (dscAlarmThingType) {
+                case PANEL:
+                    if (panelHandler == null) {
+                        panelHandler = handler;
+                    }
+                    break;
+                case KEYPAD:
+                    if (keypadHandler == null) {
+                        keypadHandler = handler;
+                    }
+                    break;
+                case PARTITION:
+                    if (!partitionHandlers.containsKey(handler.getPartitionNumber())) {
+                        partitionHandlers.put(handler.getPartitionNumber(), handler);
+                    }
+                    break;
+                case ZONE:
+                    if (!zoneHandlers.containsKey(handler.getZoneNumber())) {
+                        zoneHandlers.put(handler.getZoneNumber(), handler);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Returns the thing handler for an event.
+         *
+         * @param dscAlarmThingType
+         * @param partitionId
+         * @param zoneId
+         * @return the handler or null if none was found
+         */
+        private DSCAlarmBaseThingHandler getHandler(DSCAlarmThingType dscAlarmThingType, int partitionId, int zoneId) {
+            switch (dscAlarmThingType) {
+                case PANEL:
+                    return panelHandler;
+                case KEYPAD:
+                    return keypadHandler;
+                case PARTITION:
+                    return partitionHandlers.get(partitionId);
+                case ZONE:
+                    return zoneHandlers.get(zoneId);
+                default:
+                    return null;
+            }
+        }
+    }
 }
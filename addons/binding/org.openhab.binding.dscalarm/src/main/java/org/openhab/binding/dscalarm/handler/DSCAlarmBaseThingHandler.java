@@ -76,6 +76,11 @@ public abstract class DSCAlarmBaseThingHandler extends BaseThingHandler {
 
         getConfiguration(dscAlarmThingType);
 
+        DSCAlarmBaseBridgeHandler bridgeHandler = getDSCAlarmBridgeHandler();
+        if (bridgeHandler != null) {
+            bridgeHandler.thingHandlersChanged();
+        }
+
         // set the Thing offline for now
         updateStatus(ThingStatus.OFFLINE);
     }
@@ -89,6 +94,10 @@ public abstract class DSCAlarmBaseThingHandler extends BaseThingHandler {
 
         this.setThingHandlerInitialized(false);
 
+        if (dscAlarmBridgeHandler != null) {
+            dscAlarmBridgeHandler.thingHandlersChanged();
+        }
+
         super.dispose();
     }
 
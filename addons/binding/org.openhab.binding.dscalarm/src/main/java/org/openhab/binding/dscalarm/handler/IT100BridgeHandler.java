@@ -228,12 +228,13 @@ public class IT100BridgeHandler extends DSCAlarmBaseBridgeHandler implements Ser
     }
 
     /**
-     * Receives Serial Port Events and reads Serial Port Data.
+     * Receives Serial Port Events and reads Serial Port Data. Only called from the serial port event thread, so it
+     * does not synchronize (which would block reading while the bridge is polling).
      *
      * @param serialPortEvent
      */
     @Override
-    public synchronized void serialEvent(SerialPortEvent serialPortEvent) {
+    public void serialEvent(SerialPortEvent serialPortEvent) {
         if (serialPortEvent.getEventType() == SerialPortEvent.DATA_AVAILABLE) {
             try {
                 String messageLine = serialInput.readLine();
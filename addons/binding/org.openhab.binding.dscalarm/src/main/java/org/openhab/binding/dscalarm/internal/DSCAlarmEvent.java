@@ -10,8 +10,12 @@ package org.openhab.binding.dscalarm.internal;
 
 import java.util.EventObject;
 
+import org.openhab.binding.dscalarm.internal.DSCAlarmMessage.DSCAlarmMessageInfoType;
+import org.openhab.binding.dscalarm.internal.DSCAlarmMessage.DSCAlarmMessageType;
+
 /**
- * Event for Receiving API Messages.
+ * Event for Receiving API Messages. The message type, partition and zone are taken from the message once when it is
+ * added to the event so they can be used to route the event without parsing the message again.
  *
  * @author Russell Stephens - Initial Contribution
  */
@@ -19,6 +23,9 @@ public class DSCAlarmEvent extends EventObject {
 
     private static final long serialVersionUID = 1L;
     private DSCAlarmMessage dscAlarmMessage;
+    private DSCAlarmMessageType dscAlarmMessageType;
+    private int partitionId = 0;
+    private int zoneId = 0;
 
     /**
      * Constructor.
@@ -36,6 +43,22 @@ public class DSCAlarmEvent extends EventObject {
      */
     public void dscAlarmEventMessage(DSCAlarmMessage dscAlarmMessage) {
         this.dscAlarmMessage = dscAlarmMessage;
+        this.dscAlarmMessageType = dscAlarmMessage.getDSCAlarmMessageType();
+
+        if (dscAlarmMessageType == null) {
+            return;
+        }
+
+        switch (dscAlarmMessageType) {
+            case PARTITION_EVENT:
+                partitionId = Integer.parseInt(dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.PARTITION));
+                break;
+            case ZONE_EVENT:
+                zoneId = Integer.parseInt(dscAlarmMessage.getMessageInfo(DSCAlarmMessageInfoType.ZONE));
+                break;
+            default:
+                break;
+        }
     }
 
     /**
@@ -47,4 +70,31 @@ public class DSCAlarmEvent extends EventObject {
         return dscAlarmMessage;
     }
 
+    /**
+     * Returns the type of the API Message.
+     *
+     * @return dscAlarmMessageType
+     */
+    public DSCAlarmMessageType getDSCAlarmMessageType() {
+        return dscAlarmMessageType;
+    }
+
+    /**
+     * Returns the partition of a partition event.
+     *
+     * @return partitionId (0 if not a partition event)
+     */
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    /**
+     * Returns the zone of a zone event.
+     *
+     * @return zoneId (0 if not a zone event)
+     */
+    public int getZoneId() {
+        return zoneId;
+    }
+
 }
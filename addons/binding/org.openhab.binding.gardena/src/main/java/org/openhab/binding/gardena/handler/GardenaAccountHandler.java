@@ -8,7 +8,10 @@
  */
 package org.openhab.binding.gardena.handler;
 
+import static org.openhab.binding.gardena.GardenaBindingConstants.ABILITY_DEVICE_INFO;
+
 import java.util.Hashtable;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
@@ -196,6 +199,37 @@ public class GardenaAccountHandler extends BaseBridgeHandler implements GardenaS
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onDevicePropertiesChanged(Device device, Set<String> propertyIds) {
+        Thing gardenaThing = getThingByUID(UidUtils.generateThingUID(device, getThing()));
+        try {
+            if (gardenaThing != null) {
+                GardenaThingHandler gardenaThingHandler = (GardenaThingHandler) gardenaThing.getHandler();
+                for (String propertyId : propertyIds) {
+                    if (propertyId.startsWith(ABILITY_DEVICE_INFO + "#")) {
+                        gardenaThingHandler.updateProperties(device);
+                        break;
+                    }
+                }
+                for (String propertyId : propertyIds) {
+                    Channel channel = gardenaThing.getChannel(propertyId);
+                    if (channel != null) {
+                        gardenaThingHandler.updateChannel(channel.getUID());
+                    }
+                }
+                gardenaThingHandler.updateStatus(device);
+            }
+        } catch (GardenaException ex) {
+            logger.error("There is something wrong with your thing, please recreate the thing {}",
+                    gardenaThing.getUID(), ex);
+        } catch (AccountHandlerNotAvailableException ex) {
+            // ignore
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.gardena.internal;
 
+import java.util.Set;
+
 import org.openhab.binding.gardena.internal.model.Device;
 
 /**
@@ -22,6 +24,12 @@ public interface GardenaSmartEventListener {
      */
     public void onDeviceUpdated(Device device);
 
+    /**
+     * Called when properties of a device have changed, with the ids of the changed properties in the form
+     * <code>ability#property</code>.
+     */
+    public void onDevicePropertiesChanged(Device device, Set<String> propertyIds);
+
     /**
      * Called when a new device has been detected.
      */
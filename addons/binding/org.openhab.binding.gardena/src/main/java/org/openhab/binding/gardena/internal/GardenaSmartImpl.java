@@ -12,19 +12,22 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ObjectUtils;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpResponseException;
-import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.client.api.Result;
+import org.eclipse.jetty.client.util.BufferingResponseListener;
 import org.eclipse.jetty.client.util.StringContentProvider;
 import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
@@ -93,11 +96,25 @@ public class GardenaSmartImpl implements GardenaSmart {
     private static final String URL_COMMAND = URL + "/sg-1/devices/%s/abilities/%s/command?locationId=%s";
     private static final String URL_PROPERTY = URL + "/sg-1/devices/%s/abilities/%s/properties/%s?locationId=%s";
 
+    // maximum number of concurrent requests per lane
+    private static final int MAX_REFRESH_REQUESTS = 2;
+    private static final int MAX_COMMAND_REQUESTS = 2;
+
+    /**
+     * Commands are sent in their own lane, so they never wait behind a device refresh.
+     */
+    private enum RequestLane {
+        REFRESH,
+        COMMAND
+    }
+
     private Gson gson = new GsonBuilder().registerTypeAdapter(Date.class, new DateDeserializer()).create();
     private HttpClient httpClient;
+    private final Semaphore refreshPermits = new Semaphore(MAX_REFRESH_REQUESTS);
+    private final Semaphore commandPermits = new Semaphore(MAX_COMMAND_REQUESTS);
 
     private String mowerDuration = DEFAULT_MOWER_DURATION;
-    private Session session;
+    private volatile Session session;
     private GardenaConfig config;
     private String id;
 
@@ -107,8 +124,9 @@ public class GardenaSmartImpl implements GardenaSmart {
 
     private GardenaSmartEventListener eventListener;
 
-    private Map<String, Device> allDevicesById = new HashMap<String, Device>();
-    private Set<Location> allLocations = new HashSet<Location>();
+    // replaced as a whole on every (re)load, never modified after publishing
+    private volatile Map<String, Device> allDevicesById = new HashMap<String, Device>();
+    private volatile Set<Location> allLocations = new HashSet<Location>();
 
     /**
      * {@inheritDoc}
@@ -151,8 +169,8 @@ public class GardenaSmartImpl implements GardenaSmart {
             }
             httpClient.destroy();
         }
-        allLocations.clear();
-        allDevicesById.clear();
+        allLocations = new HashSet<Location>();
+        allDevicesById = new HashMap<String, Device>();
     }
 
     /**
@@ -219,23 +237,14 @@ public class GardenaSmartImpl implements GardenaSmart {
     public void loadAllDevices() throws GardenaException {
         stopRefreshThread();
         try {
-            allLocations.clear();
-            allDevicesById.clear();
-
-            verifySession();
-            Locations locations = executeRequest(HttpMethod.GET, URL_LOCATIONS + session.getUserId(), null,
-                    Locations.class);
-
-            for (Location location : locations.getLocations()) {
-                allLocations.add(location);
-                Devices devices = loadDevices(location);
-                for (Device device : devices.getDevices()) {
-                    if (DEVICE_CATEGORY_GATEWAY.equals(device.getCategory())) {
-                        location.getDeviceIds().remove(device.getId());
-                    } else {
-                        allDevicesById.put(device.getId(), device);
-                    }
-                }
+            synchronized (refreshDevicesThread) {
+                verifySession(RequestLane.REFRESH);
+                Locations locations = executeRequest(HttpMethod.GET, URL_LOCATIONS + session.getUserId(), null,
+                        Locations.class, RequestLane.REFRESH);
+
+                Set<Location> newLocations = new HashSet<Location>(locations.getLocations());
+                allDevicesById = loadDevices(newLocations);
+                allLocations = newLocations;
             }
         } finally {
             startRefreshThread();
@@ -243,10 +252,35 @@ public class GardenaSmartImpl implements GardenaSmart {
     }
 
     /**
-     * Loads all devices for the location, adds virtual properties for commands.
+     * Loads the devices of all locations concurrently and returns them by id, without the gateways.
+     */
+    private Map<String, Device> loadDevices(Collection<Location> locations) throws GardenaException {
+        Map<Location, CompletableFuture<Devices>> requests = new LinkedHashMap<Location, CompletableFuture<Devices>>();
+        for (Location location : locations) {
+            requests.put(location, sendRequest(HttpMethod.GET, URL_DEVICES + location.getId(), null, Devices.class,
+                    RequestLane.REFRESH));
+        }
+
+        Map<String, Device> devicesById = new HashMap<String, Device>();
+        for (Map.Entry<Location, CompletableFuture<Devices>> request : requests.entrySet()) {
+            Location location = request.getKey();
+            Devices devices = waitForResult(request.getValue());
+            prepareDevices(location, devices);
+            for (Device device : devices.getDevices()) {
+                if (DEVICE_CATEGORY_GATEWAY.equals(device.getCategory())) {
+                    location.getDeviceIds().remove(device.getId());
+                } else {
+                    devicesById.put(device.getId(), device);
+                }
+            }
+        }
+        return devicesById;
+    }
+
+    /**
+     * Links the loaded devices of the location, adds virtual properties for commands.
      */
-    private Devices loadDevices(Location location) throws GardenaException {
-        Devices devices = executeRequest(HttpMethod.GET, URL_DEVICES + location.getId(), null, Devices.class);
+    private void prepareDevices(Location location, Devices devices) throws GardenaException {
         for (Device device : devices.getDevices()) {
             device.setLocation(location);
             for (Ability ability : device.getAbilities()) {
@@ -266,7 +300,6 @@ public class GardenaSmartImpl implements GardenaSmart {
                 mower.addProperty(new Property(GardenaSmartCommandName.DURATION_PROPERTY, mowerDuration));
             }
         }
-        return devices;
     }
 
     /**
@@ -324,7 +357,8 @@ public class GardenaSmartImpl implements GardenaSmart {
                         ObjectUtils.toString(value));
                 String propertyUrl = String.format(URL_PROPERTY, device.getId(), ABILITY_OUTLET,
                         PROPERTY_BUTTON_MANUAL_OVERRIDE_TIME, device.getLocation().getId());
-                executeRequest(HttpMethod.PUT, propertyUrl, new SimplePropertiesWrapper(prop), NoResult.class);
+                executeRequest(HttpMethod.PUT, propertyUrl, new SimplePropertiesWrapper(prop), NoResult.class,
+                        RequestLane.COMMAND);
                 break;
             case OUTLET_VALVE:
                 ability = device.getAbility(ABILITY_OUTLET);
@@ -342,7 +376,8 @@ public class GardenaSmartImpl implements GardenaSmart {
         }
 
         if (command != null) {
-            executeRequest(HttpMethod.POST, getCommandUrl(device, ability), command, NoResult.class);
+            executeRequest(HttpMethod.POST, getCommandUrl(device, ability), command, NoResult.class,
+                    RequestLane.COMMAND);
         }
         scheduleIntermediateRefresh();
     }
@@ -357,77 +392,167 @@ public class GardenaSmartImpl implements GardenaSmart {
     /**
      * Communicates with Gardena Smart Home and parses the result.
      */
-    private synchronized <T> T executeRequest(HttpMethod method, String url, Object contentObject, Class<T> result)
-            throws GardenaException {
-        try {
-            if (logger.isTraceEnabled()) {
-                logger.trace("{} request:  {}", method, url);
-                if (contentObject != null) {
-                    logger.trace("{} data   :  {}", method, gson.toJson(contentObject));
-                }
-            }
-
-            Request request = httpClient.newRequest(url).method(method)
-                    .timeout(config.getConnectionTimeout(), TimeUnit.SECONDS)
-                    .header(HttpHeader.CONTENT_TYPE, "application/json").header(HttpHeader.ACCEPT, "application/json")
-                    .header(HttpHeader.ACCEPT_ENCODING, "gzip");
+    private <T> T executeRequest(HttpMethod method, String url, Object contentObject, Class<T> result,
+            RequestLane lane) throws GardenaException {
+        return waitForResult(sendRequest(method, url, contentObject, result, lane));
+    }
 
+    /**
+     * Sends the request asynchronously, the returned future is completed with the parsed result. Blocks only if
+     * all requests of the lane are in use.
+     */
+    private <T> CompletableFuture<T> sendRequest(final HttpMethod method, final String url, Object contentObject,
+            final Class<T> result, RequestLane lane) throws GardenaException {
+        if (logger.isTraceEnabled()) {
+            logger.trace("{} request:  {}", method, url);
             if (contentObject != null) {
-                StringContentProvider content = new StringContentProvider(gson.toJson(contentObject));
-                request.content(content);
+                logger.trace("{} data   :  {}", method, gson.toJson(contentObject));
             }
+        }
 
-            if (!result.equals(SessionWrapper.class)) {
-                verifySession();
-                request.header("X-Session", session.getToken());
-            }
+        Request request = httpClient.newRequest(url).method(method)
+                .timeout(config.getConnectionTimeout(), TimeUnit.SECONDS)
+                .header(HttpHeader.CONTENT_TYPE, "application/json").header(HttpHeader.ACCEPT, "application/json")
+                .header(HttpHeader.ACCEPT_ENCODING, "gzip");
 
-            ContentResponse contentResponse = request.send();
-            int status = contentResponse.getStatus();
-            if (logger.isTraceEnabled()) {
-                logger.trace("Status  : {}", status);
-                logger.trace("Response: {}", contentResponse.getContentAsString());
-            }
+        if (contentObject != null) {
+            StringContentProvider content = new StringContentProvider(gson.toJson(contentObject));
+            request.content(content);
+        }
 
-            if (status == 500) {
-                throw new GardenaException(
-                        gson.fromJson(contentResponse.getContentAsString(), Errors.class).toString());
-            } else if (status != 200 && status != 204) {
-                throw new GardenaException(String.format("Error %s %s", status, contentResponse.getReason()));
-            }
+        if (!result.equals(SessionWrapper.class)) {
+            verifySession(lane);
+            request.header("X-Session", session.getToken());
+        }
 
-            if (result == NoResult.class) {
-                return null;
-            }
+        final Semaphore permits = lane == RequestLane.COMMAND ? commandPermits : refreshPermits;
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new GardenaException(ex.getMessage(), ex);
+        }
 
-            return gson.fromJson(contentResponse.getContentAsString(), result);
-        } catch (ExecutionException ex) {
-            Throwable cause = ex.getCause();
-            if (cause instanceof HttpResponseException) {
-                HttpResponseException responseException = (HttpResponseException) ex.getCause();
-                int status = responseException.getResponse().getStatus();
-                if (status == 401) {
-                    throw new GardenaUnauthorizedException(ex.getCause());
+        final CompletableFuture<T> future = new CompletableFuture<T>();
+        final long startTime = System.currentTimeMillis();
+        try {
+            request.send(new BufferingResponseListener() {
+                @Override
+                public void onComplete(Result requestResult) {
+                    permits.release();
+                    long latency = System.currentTimeMillis() - startTime;
+                    if (requestResult.isFailed()) {
+                        logger.debug("{} {} failed after {} ms", method, url, latency);
+                        future.completeExceptionally(createException(requestResult.getFailure()));
+                        return;
+                    }
+
+                    int status = requestResult.getResponse().getStatus();
+                    logger.debug("{} {} returned status {} in {} ms", method, url, status, latency);
+                    try {
+                        future.complete(parseResponse(status, requestResult.getResponse().getReason(),
+                                getContentAsString(), result));
+                    } catch (Exception ex) {
+                        future.completeExceptionally(ex);
+                    }
                 }
+            });
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw new GardenaException(ex.getMessage(), ex);
+        }
+        return future;
+    }
+
+    /**
+     * Waits for the result of a request sent with {@link #sendRequest}.
+     */
+    private <T> T waitForResult(CompletableFuture<T> future) throws GardenaException {
+        try {
+            return future.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof GardenaException) {
+                throw (GardenaException) ex.getCause();
             }
             throw new GardenaException(ex.getMessage(), ex);
-        } catch (Exception ex) {
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
             throw new GardenaException(ex.getMessage(), ex);
         }
     }
 
     /**
-     * Verifies the Gardena Smart Home session and reconnects if necessary.
+     * Parses the response of Gardena Smart Home.
+     */
+    private <T> T parseResponse(int status, String reason, String content, Class<T> result) throws GardenaException {
+        if (logger.isTraceEnabled()) {
+            logger.trace("Status  : {}", status);
+            logger.trace("Response: {}", content);
+        }
+
+        if (status == 500) {
+            throw new GardenaException(gson.fromJson(content, Errors.class).toString());
+        } else if (status != 200 && status != 204) {
+            throw new GardenaException(String.format("Error %s %s", status, reason));
+        }
+
+        if (result == NoResult.class) {
+            return null;
+        }
+
+        return gson.fromJson(content, result);
+    }
+
+    /**
+     * Converts the failure of a request to a {@link GardenaException}.
      */
-    private void verifySession() throws GardenaException {
+    private GardenaException createException(Throwable failure) {
+        if (failure instanceof HttpResponseException) {
+            int status = ((HttpResponseException) failure).getResponse().getStatus();
+            if (status == 401) {
+                return new GardenaUnauthorizedException(failure);
+            }
+        }
+        return new GardenaException(failure.getMessage(), failure);
+    }
+
+    /**
+     * Verifies the Gardena Smart Home session and reconnects if necessary, the login is sent in the given lane.
+     */
+    private synchronized void verifySession(RequestLane lane) throws GardenaException {
         if (session == null
                 || session.getCreated() + (config.getSessionTimeout() * 60000) <= System.currentTimeMillis()) {
             logger.trace("(Re)logging in to Gardena Smart Home");
-            session = executeRequest(HttpMethod.POST, URL_LOGIN, new GardenaConfigWrapper(config), SessionWrapper.class)
-                    .getSession();
+            session = executeRequest(HttpMethod.POST, URL_LOGIN, new GardenaConfigWrapper(config),
+                    SessionWrapper.class, lane).getSession();
         }
     }
 
+    /**
+     * Returns the ids (<code>ability#property</code>) of the properties of the new device whose values differ from
+     * the old device.
+     */
+    private Set<String> getChangedProperties(Device oldDevice, Device newDevice) {
+        Map<String, String> oldValues = new HashMap<String, String>();
+        for (Ability ability : oldDevice.getAbilities()) {
+            for (Property property : ability.getProperties()) {
+                oldValues.put(ability.getName() + "#" + property.getName(), property.getValue());
+            }
+        }
+
+        Set<String> changedProperties = new HashSet<String>();
+        for (Ability ability : newDevice.getAbilities()) {
+            for (Property property : ability.getProperties()) {
+                String propertyId = ability.getName() + "#" + property.getName();
+                if (!oldValues.containsKey(propertyId)
+                        || !ObjectUtils.equals(oldValues.get(propertyId), property.getValue())) {
+                    changedProperties.add(propertyId);
+                }
+            }
+        }
+        return changedProperties;
+    }
+
     /**
      * Thread which refreshes the data from Gardena Smart Home.
      */
@@ -438,57 +563,47 @@ public class GardenaSmartImpl implements GardenaSmart {
          * {@inheritDoc}
          */
         @Override
-        public void run() {
+        public synchronized void run() {
             try {
                 logger.debug("Refreshing gardena device data");
-                Map<String, Device> newDevicesById = new HashMap<String, Device>();
-
-                for (Location location : allLocations) {
-                    Devices devices = loadDevices(location);
-                    for (Device device : devices.getDevices()) {
-                        if (DEVICE_CATEGORY_GATEWAY.equals(device.getCategory())) {
-                            location.getDeviceIds().remove(device.getId());
-                        } else {
-                            newDevicesById.put(device.getId(), device);
-                        }
-                    }
-                }
+                long startTime = System.currentTimeMillis();
+                Map<String, Device> newDevicesById = loadDevices(allLocations);
 
+                boolean resumed = connectionLost;
                 if (connectionLost) {
                     connectionLost = false;
                     logger.info("Connection resumed to Gardena Smart Home with id '{}'", id);
                     eventListener.onConnectionResumed();
                 }
 
-                // determine deleted devices
-                @SuppressWarnings("unchecked")
-                Collection<Device> deletedDevices = CollectionUtils.subtract(allDevicesById.values(),
-                        newDevicesById.values());
-
-                // determine new devices
-                @SuppressWarnings("unchecked")
-                Collection<Device> newDevices = CollectionUtils.subtract(newDevicesById.values(),
-                        allDevicesById.values());
-
-                // determine updated devices
-                @SuppressWarnings("unchecked")
-                Collection<Device> updatedDevices = CollectionUtils.intersection(allDevicesById.values(),
-                        newDevicesById.values());
-
+                Map<String, Device> oldDevicesById = allDevicesById;
                 allDevicesById = newDevicesById;
-                newDevicesById = null;
-
-                for (Device deletedDevice : deletedDevices) {
-                    eventListener.onDeviceDeleted(deletedDevice);
-                }
 
-                for (Device newDevice : newDevices) {
-                    eventListener.onNewDevice(newDevice);
+                for (Device oldDevice : oldDevicesById.values()) {
+                    if (!newDevicesById.containsKey(oldDevice.getId())) {
+                        eventListener.onDeviceDeleted(oldDevice);
+                    }
                 }
 
-                for (Device updatedDevice : updatedDevices) {
-                    eventListener.onDeviceUpdated(updatedDevice);
+                int changedDevices = 0;
+                for (Device device : newDevicesById.values()) {
+                    Device oldDevice = oldDevicesById.get(device.getId());
+                    if (oldDevice == null) {
+                        eventListener.onNewDevice(device);
+                    } else if (resumed) {
+                        // the things may have missed changes while the connection was lost
+                        eventListener.onDeviceUpdated(device);
+                    } else {
+                        Set<String> changedProperties = getChangedProperties(oldDevice, device);
+                        if (!changedProperties.isEmpty()
+                                || oldDevice.isConfigurationSynchronized() != device.isConfigurationSynchronized()) {
+                            changedDevices++;
+                            eventListener.onDevicePropertiesChanged(device, changedProperties);
+                        }
+                    }
                 }
+                logger.debug("Refreshed {} gardena devices in {} ms, {} changed", newDevicesById.size(),
+                        System.currentTimeMillis() - startTime, changedDevices);
 
             } catch (GardenaException ex) {
                 if (!connectionLost) {
@@ -8,10 +8,22 @@
  */
 package org.openhab.binding.kodi.internal.protocol;
 
+import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -24,6 +36,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -32,6 +45,9 @@ import com.google.gson.JsonParser;
  * KodiClientSocket implements the low level communication to kodi through websocket. Usually this communication is done
  * through port 9090
  *
+ * Several requests can be pending at the same time, the responses are correlated to their request by the JSON-RPC id.
+ * Requests can be sent together as a JSON-RPC batch, in which case they are answered in a single response.
+ *
  * @author Paul Frank
  *
  */
@@ -39,11 +55,23 @@ public class KodiClientSocket {
     private final Logger logger = LoggerFactory.getLogger(KodiClientSocket.class);
 
     private final ScheduledExecutorService scheduler;
-    private static final int REQUEST_TIMEOUT_MS = 60000;
+    private static final int DEFAULT_REQUEST_TIMEOUT_MS = 10000;
+    private static final Map<String, Integer> REQUEST_TIMEOUTS_MS = new HashMap<>();
+
+    static {
+        // opening media (network shares, add-ons) and looking up items in large libraries may take a while
+        REQUEST_TIMEOUTS_MS.put("Player.Open", 60000);
+        REQUEST_TIMEOUTS_MS.put("Player.GetItem", 30000);
+        // these are answered right away by kodi
+        REQUEST_TIMEOUTS_MS.put("Application.GetProperties", 5000);
+        REQUEST_TIMEOUTS_MS.put("Application.SetMute", 5000);
+        REQUEST_TIMEOUTS_MS.put("Application.SetVolume", 5000);
+        REQUEST_TIMEOUTS_MS.put("Player.GetActivePlayers", 5000);
+        REQUEST_TIMEOUTS_MS.put("Player.GetProperties", 5000);
+    }
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final ConcurrentMap<Integer, CompletableFuture<JsonElement>> pendingRequests = new ConcurrentHashMap<>();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
 
     private boolean connected = false;
 
@@ -94,6 +122,7 @@ public class KodiClientSocket {
             }
             session = null;
         }
+        failPendingRequests("connection closed");
         try {
             client.stop();
         } catch (Exception e) {
@@ -137,14 +166,17 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.debug("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
-            if (json.has("id")) {
-                logger.debug("Response received from server: {}", json);
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+            final JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement response : element.getAsJsonArray()) {
+                    handleResponse(response.getAsJsonObject());
                 }
+                return;
+            }
+            final JsonObject json = element.getAsJsonObject();
+            if (json.has("id")) {
+                handleResponse(json);
             } else {
                 logger.debug("Event received from server: {}", json);
                 try {
@@ -175,6 +207,7 @@ public class KodiClientSocket {
             session = null;
             connected = false;
             logger.debug("Closing a WebSocket due to {}", reason);
+            failPendingRequests("connection closed: " + reason);
             scheduler.submit(new Runnable() {
 
                 @Override
@@ -189,7 +222,38 @@ public class KodiClientSocket {
         }
     }
 
-    private void sendMessage(String str) throws Exception {
+    private void handleResponse(JsonObject json) {
+        logger.debug("Response received from server: {}", json);
+        JsonElement id = json.get("id");
+        if (id == null || id.isJsonNull()) {
+            logger.debug("Response without id received from server: {}", json);
+            return;
+        }
+        CompletableFuture<JsonElement> future = pendingRequests.remove(id.getAsInt());
+        if (future == null) {
+            logger.debug("Response for an unknown or timed out request received from server: {}", json);
+            return;
+        }
+        if (json.has("error")) {
+            logger.debug("Error response received from server: {}", json.get("error"));
+        }
+        future.complete(json.get("result"));
+    }
+
+    private void failPendingRequests(String reason) {
+        for (Integer messageId : pendingRequests.keySet()) {
+            CompletableFuture<JsonElement> future = pendingRequests.remove(messageId);
+            if (future != null) {
+                future.completeExceptionally(new IOException(reason));
+            }
+        }
+    }
+
+    /**
+     * Sends the message, one at a time: the remote endpoint of the session does not allow a blocking send while
+     * another message is being sent
+     */
+    private synchronized void sendMessage(String str) throws Exception {
         if (isConnected()) {
             logger.debug("send message: {}", str);
             session.getRemote().sendString(str);
@@ -198,38 +262,129 @@ public class KodiClientSocket {
         }
     }
 
+    private static int getRequestTimeout(String methodName) {
+        Integer timeout = REQUEST_TIMEOUTS_MS.get(methodName);
+        return timeout != null ? timeout : DEFAULT_REQUEST_TIMEOUT_MS;
+    }
+
     public JsonElement callMethod(String methodName) {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
+    /**
+     * Sends the request and waits for its response
+     *
+     * @return the result of the request, or null if the request failed or timed out
+     */
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        CompletableFuture<JsonElement> future = callMethodAsync(methodName, params);
         try {
+            // don't rely on the timeout job alone, it runs on the scheduler that may be busy with the callers
+            JsonElement result = future.get(getRequestTimeout(methodName), TimeUnit.MILLISECONDS);
+            logger.debug("callMethod returns {}", result);
+            return result;
+        } catch (ExecutionException e) {
+            // already logged
+            return null;
+        } catch (TimeoutException e) {
+            if (pendingRequests.values().remove(future)) {
+                logger.error("Timeout during callMethod({}, {})", methodName, params != null ? params.toString() : "");
+                future.completeExceptionally(e);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Sends the request without waiting for its response
+     *
+     * @return the future result of the request, completed with null if kodi returned an error
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        return callMethodsAsync(Collections.singletonList(new KodiRequest(methodName, params))).get(0);
+    }
+
+    /**
+     * Sends the requests as a single JSON-RPC batch, they are answered by kodi in a single response
+     *
+     * @return the future results of the requests, in the same order as the requests
+     */
+    public List<CompletableFuture<JsonElement>> callMethodsAsync(List<KodiRequest> requests) {
+        // kodi answers a batch once all of its requests are processed
+        int timeout = 0;
+        for (KodiRequest request : requests) {
+            timeout = Math.max(timeout, getRequestTimeout(request.methodName));
+        }
+
+        List<CompletableFuture<JsonElement>> futures = new ArrayList<>(requests.size());
+        JsonArray batch = new JsonArray();
+        for (KodiRequest request : requests) {
+            int messageId = nextMessageId.getAndIncrement();
+
             JsonObject payloadObject = new JsonObject();
             payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            payloadObject.addProperty("id", messageId);
+            payloadObject.addProperty("method", request.methodName);
 
-            if (params != null) {
-                payloadObject.add("params", params);
+            if (request.params != null) {
+                payloadObject.add("params", request.params);
             }
+            batch.add(payloadObject);
+            futures.add(registerRequest(messageId, request, timeout));
+        }
 
-            String message = mapper.toJson(payloadObject);
+        try {
+            sendMessage(mapper.toJson(batch.size() == 1 ? batch.get(0) : batch));
+        } catch (Exception e) {
+            logger.error("Error during callMethod", e);
+            for (JsonElement payloadObject : batch) {
+                CompletableFuture<JsonElement> future = pendingRequests
+                        .remove(payloadObject.getAsJsonObject().get("id").getAsInt());
+                if (future != null) {
+                    future.completeExceptionally(e);
+                }
+            }
+        }
+        return futures;
+    }
 
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
+    private CompletableFuture<JsonElement> registerRequest(final int messageId, final KodiRequest request,
+            int timeout) {
+        final CompletableFuture<JsonElement> future = new CompletableFuture<>();
+        pendingRequests.put(messageId, future);
 
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns {}", commandResponse.toString());
-                return commandResponse.get("result");
-            } else {
-                logger.error("Timeout during callMethod({}, {})", methodName, params != null ? params.toString() : "");
-                return null;
+        final ScheduledFuture<?> timeoutJob = scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                if (pendingRequests.remove(messageId, future)) {
+                    logger.error("Timeout during callMethod({}, {})", request.methodName,
+                            request.params != null ? request.params.toString() : "");
+                    future.completeExceptionally(new TimeoutException("Timeout during " + request.methodName));
+                }
             }
-        } catch (Exception e) {
-            logger.error("Error during callMethod", e);
-            return null;
+        }, timeout, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> timeoutJob.cancel(false));
+
+        return future;
+    }
+
+    /**
+     * A JSON-RPC request to send to kodi
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    public static class KodiRequest {
+        private final String methodName;
+        private final JsonObject params;
+
+        public KodiRequest(String methodName, JsonObject params) {
+            this.methodName = methodName;
+            this.params = params;
         }
     }
 }
@@ -9,10 +9,16 @@
 package org.openhab.binding.kodi.internal.protocol;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.openhab.binding.kodi.internal.KodiEventListener;
 import org.openhab.binding.kodi.internal.KodiEventListener.KodiState;
+import org.openhab.binding.kodi.internal.protocol.KodiClientSocket.KodiRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,11 +39,19 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     private static final int VOLUMESTEP = 10;
 
+    private static final String[] PLAYER_PROPERTIES = { "speed", "position" };
+    private static final String[] ITEM_PROPERTIES = { "title", "album", "artist", "director", "thumbnail", "file",
+            "fanart", "showtitle", "streamdetails" };
+    private static final String[] VOLUME_PROPERTIES = { "volume", "muted" };
+
     private URI wsUri;
     private KodiClientSocket socket;
+    private ScheduledExecutorService scheduler;
 
     private int volume = 0;
     private KodiState currentState = KodiState.Stop;
+    // player found active on the last status update, used to request its status together with the active players
+    private volatile int lastActivePlayer = -1;
 
     private final KodiEventListener listener;
 
@@ -58,6 +72,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
     public synchronized void connect(String hostName, int port, ScheduledExecutorService scheduler) {
         try {
             wsUri = new URI(String.format("ws://%s:%d/jsonrpc", hostName, port));
+            this.scheduler = scheduler;
             socket = new KodiClientSocket(this, wsUri, scheduler);
             socket.open();
         } catch (Throwable t) {
@@ -65,8 +80,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private int getActivePlayer() {
-        JsonElement response = socket.callMethod("Player.GetActivePlayers");
+    private int getActivePlayer(JsonElement response) {
         if (response != null) {
             boolean playing = response.isJsonArray() && response.getAsJsonArray().size() > 0;
             if (playing) {
@@ -77,84 +91,88 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return -1;
     }
 
+    /**
+     * Calls the method on the active player, without waiting for the response
+     *
+     * @return the future result of the method, completed exceptionally if the active player could not be determined
+     */
+    private CompletableFuture<JsonElement> callPlayerMethod(final String methodName, final JsonObject params,
+            final boolean updateStatus) {
+        final KodiClientSocket socket = this.socket;
+        final CompletableFuture<JsonElement> result = new CompletableFuture<>();
+        socket.callMethodAsync("Player.GetActivePlayers", null).whenCompleteAsync((response, error) -> {
+            if (error != null) {
+                logger.warn("Could not get the active player of {} to call {}: {}", wsUri, methodName,
+                        error.getMessage());
+                result.completeExceptionally(error);
+                return;
+            }
+            params.addProperty("playerid", getActivePlayer(response));
+            socket.callMethodAsync(methodName, params).whenComplete((r, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(r);
+                }
+                if (updateStatus) {
+                    scheduler.execute(() -> updatePlayerStatus());
+                }
+            });
+        }, scheduler);
+        return result;
+    }
+
     public synchronized void playerPlayPause() {
-        int activePlayer = getActivePlayer();
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        socket.callMethod("Player.PlayPause", params);
+        callPlayerMethod("Player.PlayPause", new JsonObject(), false);
     }
 
     public synchronized void playerStop() {
-        int activePlayer = getActivePlayer();
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        socket.callMethod("Player.Stop", params);
+        callPlayerMethod("Player.Stop", new JsonObject(), false);
     }
 
     public synchronized void playerNext() {
-        int activePlayer = getActivePlayer();
-
         JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
         params.addProperty("to", "next");
-        socket.callMethod("Player.GoTo", params);
-
-        updatePlayerStatus();
+        callPlayerMethod("Player.GoTo", params, true);
     }
 
     public synchronized void playerPrevious() {
-        int activePlayer = getActivePlayer();
-
         JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
         params.addProperty("to", "previous");
-        socket.callMethod("Player.GoTo", params);
-
-        updatePlayerStatus();
+        callPlayerMethod("Player.GoTo", params, true);
     }
 
     public synchronized void playerRewind() {
-        int activePlayer = getActivePlayer();
-
         JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
         params.addProperty("speed", "-1");
-        socket.callMethod("Player.SetSpeed", params);
-
-        updatePlayerStatus();
-
+        callPlayerMethod("Player.SetSpeed", params, true);
     }
 
     public synchronized void playerFastForward() {
-        int activePlayer = getActivePlayer();
-
         JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
         params.addProperty("speed", "2");
-        socket.callMethod("Player.SetSpeed", params);
-
-        updatePlayerStatus();
+        callPlayerMethod("Player.SetSpeed", params, true);
     }
 
     public synchronized void increaseVolume() {
         this.volume += VOLUMESTEP;
         JsonObject params = new JsonObject();
         params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+        socket.callMethodAsync("Application.SetVolume", params);
     }
 
     public synchronized void decreaseVolume() {
         this.volume -= VOLUMESTEP;
         JsonObject params = new JsonObject();
         params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+        socket.callMethodAsync("Application.SetVolume", params);
     }
 
     public synchronized void setVolume(int volume) {
         this.volume = volume;
         JsonObject params = new JsonObject();
         params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+        socket.callMethodAsync("Application.SetVolume", params);
     }
 
     public int getVolume() {
@@ -164,44 +182,95 @@ public class KodiConnection implements KodiClientSocketEventListener {
     public synchronized void setMute(boolean mute) {
         JsonObject params = new JsonObject();
         params.addProperty("mute", mute);
-        socket.callMethod("Application.SetMute", params);
+        socket.callMethodAsync("Application.SetMute", params);
     }
 
-    private int getSpeed(int activePlayer) {
-        final String[] properties = { "speed", "position" };
-
+    private JsonObject getPlayerParams(int activePlayer, String[] properties) {
         JsonObject params = new JsonObject();
         params.addProperty("playerid", activePlayer);
         params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
+        return params;
+    }
 
-        JsonObject result = response.getAsJsonObject();
-        return result.get("speed").getAsInt();
+    private JsonElement getResult(CompletableFuture<JsonElement> future) {
+        try {
+            return future.getNow(null);
+        } catch (CancellationException | CompletionException e) {
+            return null;
+        }
     }
 
+    /**
+     * Requests the status of the player and the volume in a single batch. The status of the player active on the last
+     * update is requested along, so the status only needs a second request when another player became active.
+     */
     public synchronized void updatePlayerStatus() {
         if (socket.isConnected()) {
-            int activePlayer = getActivePlayer();
-            if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
-                if (speed == 0) {
-                    updateState(KodiState.Stop);
-                } else if (speed == 1) {
-                    updateState(KodiState.Play);
-                } else if (speed < 0) {
-                    updateState(KodiState.Rewind);
-                } else {
-                    updateState(KodiState.FastForward);
-                }
-                requestPlayerUpdate(activePlayer);
-            } else {
+            final int expectedPlayer = lastActivePlayer;
+
+            List<KodiRequest> requests = new ArrayList<>();
+            JsonObject volumeParams = new JsonObject();
+            volumeParams.add("properties", getJsonArray(VOLUME_PROPERTIES));
+            requests.add(new KodiRequest("Application.GetProperties", volumeParams));
+            requests.add(new KodiRequest("Player.GetActivePlayers", null));
+            if (expectedPlayer >= 0) {
+                requests.add(
+                        new KodiRequest("Player.GetProperties", getPlayerParams(expectedPlayer, PLAYER_PROPERTIES)));
+                requests.add(new KodiRequest("Player.GetItem", getPlayerParams(expectedPlayer, ITEM_PROPERTIES)));
+            }
+
+            final List<CompletableFuture<JsonElement>> responses = socket.callMethodsAsync(requests);
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[responses.size()]))
+                    .whenCompleteAsync((result, error) -> {
+                        processVolume(getResult(responses.get(0)));
+                        JsonElement activePlayers = getResult(responses.get(1));
+                        if (activePlayers == null) {
+                            logger.debug("Could not get the active players of {}", wsUri);
+                            return;
+                        }
+                        if (expectedPlayer >= 0) {
+                            processPlayerStatus(expectedPlayer, getActivePlayer(activePlayers),
+                                    getResult(responses.get(2)), getResult(responses.get(3)));
+                        } else {
+                            processPlayerStatus(expectedPlayer, getActivePlayer(activePlayers), null, null);
+                        }
+                    }, scheduler);
+        }
+    }
+
+    private synchronized void processPlayerStatus(int expectedPlayer, int activePlayer, JsonElement properties,
+            JsonElement item) {
+        lastActivePlayer = activePlayer;
+        if (activePlayer < 0) {
+            updateState(KodiState.Stop);
+        } else if (activePlayer != expectedPlayer) {
+            // another player became active, request its status
+            List<KodiRequest> requests = new ArrayList<>();
+            requests.add(new KodiRequest("Player.GetProperties", getPlayerParams(activePlayer, PLAYER_PROPERTIES)));
+            requests.add(new KodiRequest("Player.GetItem", getPlayerParams(activePlayer, ITEM_PROPERTIES)));
+
+            final List<CompletableFuture<JsonElement>> responses = socket.callMethodsAsync(requests);
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture<?>[responses.size()]))
+                    .whenCompleteAsync((result, error) -> processPlayerStatus(activePlayer, activePlayer,
+                            getResult(responses.get(0)), getResult(responses.get(1))), scheduler);
+        } else if (properties instanceof JsonObject) {
+            int speed = properties.getAsJsonObject().get("speed").getAsInt();
+            if (speed == 0) {
                 updateState(KodiState.Stop);
+            } else if (speed == 1) {
+                updateState(KodiState.Play);
+            } else if (speed < 0) {
+                updateState(KodiState.Rewind);
+            } else {
+                updateState(KodiState.FastForward);
             }
+            processPlayerItem(item, true);
         }
     }
 
-    private void requestPlayerUpdate(int activePlayer) {
-        requestPlayerUpdate(activePlayer, true);
+    private void requestPlayerUpdate(int activePlayer, boolean updateMediaType) {
+        socket.callMethodAsync("Player.GetItem", getPlayerParams(activePlayer, ITEM_PROPERTIES))
+                .thenAcceptAsync(response -> processPlayerItem(response, updateMediaType), scheduler);
     }
 
     private void updateFanartUrl(String imagePath) {
@@ -225,15 +294,10 @@ public class KodiConnection implements KodiClientSocketEventListener {
          */
     }
 
-    private void requestPlayerUpdate(int activePlayer, boolean updateMediaType) {
-        final String[] properties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
-                "showtitle", "streamdetails" };
-
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
-
+    private synchronized void processPlayerItem(JsonElement response, boolean updateMediaType) {
+        if (!(response instanceof JsonObject) || !((JsonObject) response).has("item")) {
+            return;
+        }
         JsonObject item = ((JsonObject) response).get("item").getAsJsonObject();
 
         String title = "";
@@ -359,6 +423,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
             JsonObject data = json.get("data").getAsJsonObject();
             JsonObject player = data.get("player").getAsJsonObject();
             Integer playerId = player.get("playerid").getAsInt();
+            lastActivePlayer = playerId;
 
             updateState(KodiState.Play);
 
@@ -448,45 +513,45 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     public synchronized void updateVolume() {
         if (socket.isConnected()) {
-            String[] props = { "volume", "version", "name", "muted" };
-
             JsonObject params = new JsonObject();
-            params.add("properties", getJsonArray(props));
-
-            JsonElement response = socket.callMethod("Application.GetProperties", params);
-
-            if (response instanceof JsonObject) {
-                JsonObject result = (JsonObject) response;
-                if (result.has("volume")) {
-                    volume = result.get("volume").getAsInt();
-                    listener.updateVolume(volume);
-                }
-                if (result.has("muted")) {
-                    boolean muted = result.get("muted").getAsBoolean();
-                    listener.updateMuted(muted);
-                }
+            params.add("properties", getJsonArray(VOLUME_PROPERTIES));
 
-            }
+            socket.callMethodAsync("Application.GetProperties", params)
+                    .thenAcceptAsync(response -> processVolume(response), scheduler);
         } else {
             listener.updateMuted(false);
             listener.updateVolume(100);
         }
     }
 
+    private synchronized void processVolume(JsonElement response) {
+        if (response instanceof JsonObject) {
+            JsonObject result = (JsonObject) response;
+            if (result.has("volume")) {
+                volume = result.get("volume").getAsInt();
+                listener.updateVolume(volume);
+            }
+            if (result.has("muted")) {
+                boolean muted = result.get("muted").getAsBoolean();
+                listener.updateMuted(muted);
+            }
+        }
+    }
+
     public synchronized void playURI(String uri) {
         JsonObject item = new JsonObject();
         item.addProperty("file", uri);
 
         JsonObject params = new JsonObject();
         params.add("item", item);
-        socket.callMethod("Player.Open", params);
+        socket.callMethodAsync("Player.Open", params);
     }
 
     public synchronized void showNotification(String message) {
         JsonObject params = new JsonObject();
         params.addProperty("title", "openHAB");
         params.addProperty("message", message);
-        socket.callMethod("GUI.ShowNotification", params);
+        socket.callMethodAsync("GUI.ShowNotification", params);
     }
 
     public boolean checkConnection() {
@@ -536,13 +601,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public void input(String key) {
-        socket.callMethod("Input." + key);
+        socket.callMethodAsync("Input." + key, null);
     }
 
     public void inputText(String text) {
         JsonObject params = new JsonObject();
         params.addProperty("text", text);
-        socket.callMethod("Input.SendText", params);
+        socket.callMethodAsync("Input.SendText", params);
     }
 
     public void playNotificationSoundURI(String uri) {
@@ -551,6 +616,6 @@ public class KodiConnection implements KodiClientSocketEventListener {
 
     public void sendSystemCommand(String command) {
         String method = "System." + command;
-        socket.callMethod(method);
+        socket.callMethodAsync(method, null);
     }
 }
\ No newline at end of file
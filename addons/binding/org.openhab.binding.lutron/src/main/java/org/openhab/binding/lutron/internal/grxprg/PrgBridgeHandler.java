@@ -24,6 +24,8 @@ import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.transport.socket.SocketChannelSession;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,9 +68,10 @@ public class PrgBridgeHandler extends BaseBridgeHandler {
         }
 
         final PrgBridgeConfig config = getPrgBridgeConfig();
-        _session = new SocketSession(config.getIpAddress(), 23);
+        // as per spec - each command must have a newline (followed by the line separator println used to add)
+        _session = new SocketChannelSession(config.getIpAddress(), 23, "\n" + System.lineSeparator(), "login: ");
 
-        _protocolHandler = new PrgProtocolHandler(_session, new PrgHandlerCallback() {
+        _protocolHandler = new PrgProtocolHandler(_session, scheduler, new PrgHandlerCallback() {
             @Override
             public void stateChanged(String channelId, State state) {
                 updateState(channelId, state);
@@ -269,6 +272,7 @@ public class PrgBridgeHandler extends BaseBridgeHandler {
         String response = "Server is offline - will try to reconnect later";
         try {
             logger.info("Attempting connection ...");
+            _session.clearListeners();
             _session.connect();
 
             response = _protocolHandler.login(config.getUserName());
@@ -9,13 +9,14 @@
 package org.openhab.binding.lutron.internal.grxprg;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.NullArgumentException;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -25,6 +26,8 @@ import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.openhab.io.transport.socket.SocketSession;
+import org.openhab.io.transport.socket.SocketSessionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -50,6 +53,22 @@ class PrgProtocolHandler {
      */
     private final PrgHandlerCallback _callback;
 
+    /**
+     * The scheduler used to send the coalesced zone intensity commands
+     */
+    private final ScheduledExecutorService _scheduler;
+
+    /**
+     * The number of milliseconds zone intensity changes are held back to be coalesced with changes to the other zones
+     * of the same control unit
+     */
+    private static final int ZONEINTENSITY_COALESCE_DELAY = 5;
+
+    /**
+     * The pending (not yet sent) zone intensity changes by control unit (index 0 is not used)
+     */
+    private final PendingZoneIntensities[] _pendingIntensities = new PendingZoneIntensities[9];
+
     // ------------------------------------------------------------------------------------------------
     // The following are the various command formats specified by the
     // http://www.lutron.com/TechnicalDocumentLibrary/RS232ProtocolCommandSet.040196d.pdf
@@ -77,22 +96,19 @@ class PrgProtocolHandler {
     // ------------------------------------------------------------------------------------------------
     // The following are the various responses specified by the
     // http://www.lutron.com/TechnicalDocumentLibrary/RS232ProtocolCommandSet.040196d.pdf
-    private static final Pattern RSP_FAILED = Pattern.compile("^~ERROR # (\\d+) (\\d+) OK");
-    private static final Pattern RSP_OK = Pattern.compile("^~(\\d+) OK");
-    private static final Pattern RSP_RESETTING = Pattern.compile("^~:Reseting Device... (\\d+) OK");
-    private static final Pattern RSP_RMU = Pattern
-            .compile("^~:mu (\\d) (\\d+) (\\w+) (\\w+) (\\w+) (\\w+) (\\w+) (\\w+) (\\w+)");
-    private static final Pattern RSP_SCENESTATUS = Pattern.compile("^~?:ss (\\w{8,8})( (\\d+) OK)?");
-    private static final Pattern RSP_ZONEINTENSITY = Pattern.compile(
-            "^~:zi (\\d) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\w{1,3}) (\\d+) OK");
-    private static final Pattern RSP_REPORTIME = Pattern
-            .compile("^~:rt (\\d{1,2}) (\\d{1,2}) (\\d{1,2}) (\\d{1,2}) (\\d{1,2}) (\\d) (\\d+) OK");
-    private static final Pattern RSP_REPORTSCHEDULE = Pattern.compile("^~:rs (\\d) (\\d+) OK");
-    private static final Pattern RSP_SUNRISESUNSET = Pattern
-            .compile("^~:ra (\\d{1,3}) (\\d{1,3}) (\\d{1,3}) (\\d{1,3}) (\\d+) OK");
-    private static final Pattern RSP_SUPERSEQUENCESTATUS = Pattern
-            .compile("^~:s\\? (\\w) (\\d+) (\\d{1,2}) (\\d{1,2}) (\\d+) OK");
-    private static final Pattern RSP_BUTTON = Pattern.compile("^[^~:].*");
+    // Responses are dispatched on the first character(s) rather than matched against every format:
+    // '~' followed by a digit is an OK, '~ERROR' a failure, '~:' (or ':' for the scene status) a status response whose
+    // type is given by the two characters after the colon and anything else is a button press.
+    private static final String RSP_FAILED = "ERROR";
+    private static final String RSP_OK = "OK";
+    private static final int RSP_RESETTING = rspType('R', 'e');
+    private static final int RSP_RMU = rspType('m', 'u');
+    private static final int RSP_SCENESTATUS = rspType('s', 's');
+    private static final int RSP_ZONEINTENSITY = rspType('z', 'i');
+    private static final int RSP_REPORTIME = rspType('r', 't');
+    private static final int RSP_REPORTSCHEDULE = rspType('r', 's');
+    private static final int RSP_SUNRISESUNSET = rspType('r', 'a');
+    private static final int RSP_SUPERSEQUENCESTATUS = rspType('s', '?');
     private static final String RSP_CONNECTION_ESTABLISHED = "connection established";
 
     /**
@@ -102,14 +118,15 @@ class PrgProtocolHandler {
     private static final HashMap<Integer, String> intensityMap = new HashMap<Integer, String>();
 
     /**
-     * The reverse lookup for the {{@link #intensityMap}
+     * The reverse lookup for the {{@link #intensityMap}, indexed by the hex value (-1 if unknown)
      */
-    private static final HashMap<String, Integer> reverseIntensityMap = new HashMap<String, Integer>();
+    private static final int[] reverseIntensityMap = new int[256];
 
     /**
-     * A lookup between returned shade hex intensity to corresponding shade values
+     * A lookup between returned shade hex intensity to corresponding shade values, indexed by the hex value (-1 if
+     * unknown)
      */
-    private static final HashMap<String, Integer> shadeIntensityMap = new HashMap<String, Integer>();
+    private static final int[] shadeIntensityMap = new int[256];
 
     /**
      * Cache of current zone intensities
@@ -222,23 +239,36 @@ class PrgProtocolHandler {
         intensityMap.put(99, "7F");
         intensityMap.put(100, "7F");
 
+        Arrays.fill(reverseIntensityMap, -1);
         for (int key : intensityMap.keySet()) {
             String value = intensityMap.get(key);
-            reverseIntensityMap.put(value, key);
+            reverseIntensityMap[Integer.parseInt(value, 16)] = key;
         }
 
-        shadeIntensityMap.put("0", 0);
-        shadeIntensityMap.put("5E", 0);
-        shadeIntensityMap.put("15", 1);
-        shadeIntensityMap.put("2D", 2);
-        shadeIntensityMap.put("71", 3);
-        shadeIntensityMap.put("72", 4);
-        shadeIntensityMap.put("73", 5);
-        shadeIntensityMap.put("5F", 1);
-        shadeIntensityMap.put("60", 2);
-        shadeIntensityMap.put("61", 3);
-        shadeIntensityMap.put("62", 4);
-        shadeIntensityMap.put("63", 5);
+        Arrays.fill(shadeIntensityMap, -1);
+        shadeIntensityMap[0x0] = 0;
+        shadeIntensityMap[0x5E] = 0;
+        shadeIntensityMap[0x15] = 1;
+        shadeIntensityMap[0x2D] = 2;
+        shadeIntensityMap[0x71] = 3;
+        shadeIntensityMap[0x72] = 4;
+        shadeIntensityMap[0x73] = 5;
+        shadeIntensityMap[0x5F] = 1;
+        shadeIntensityMap[0x60] = 2;
+        shadeIntensityMap[0x61] = 3;
+        shadeIntensityMap[0x62] = 4;
+        shadeIntensityMap[0x63] = 5;
+    }
+
+    /**
+     * Helper method to create the status response type from the two characters following the colon
+     *
+     * @param c1 the first character
+     * @param c2 the second character
+     * @return the response type
+     */
+    private static int rspType(char c1, char c2) {
+        return (c1 << 16) | c2;
     }
 
     /**
@@ -250,19 +280,25 @@ class PrgProtocolHandler {
      * Constructs the protocol handler from given parameters
      *
      * @param session a non-null {@link SocketSession} (may be connected or disconnected)
+     * @param scheduler a non-null {@link ScheduledExecutorService} to send the coalesced zone intensity commands on
      * @param config a non-null {@link PrgHandlerCallback}
      */
-    PrgProtocolHandler(SocketSession session, PrgHandlerCallback callback) {
+    PrgProtocolHandler(SocketSession session, ScheduledExecutorService scheduler, PrgHandlerCallback callback) {
 
         if (session == null) {
             throw new IllegalArgumentException("session cannot be null");
         }
 
+        if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler cannot be null");
+        }
+
         if (callback == null) {
             throw new IllegalArgumentException("callback cannot be null");
         }
 
         _session = session;
+        _scheduler = scheduler;
         _callback = callback;
     }
 
@@ -276,7 +312,8 @@ class PrgProtocolHandler {
 
         logger.info("Logging into the PRG interface");
         final NoDispatchingCallback callback = new NoDispatchingCallback();
-        _session.setCallback(callback);
+        _session.clearListeners();
+        _session.addListener(callback);
 
         String response = callback.getResponse();
         if (response.equals("login")) {
@@ -308,7 +345,8 @@ class PrgProtocolHandler {
      */
     private void postLogin() throws IOException {
         logger.info("PRG interface now connected");
-        _session.setCallback(new NormalResponseCallback());
+        _session.clearListeners();
+        _session.addListener(new NormalResponseCallback());
         _callback.statusChanged(ThingStatus.ONLINE, ThingStatusDetail.NONE, null);
     }
 
@@ -432,28 +470,30 @@ class PrgProtocolHandler {
      *
      * @param controlUnit the control unit
      * @param zone the zone
-     * @param intensity the hex intensity value
+     * @param intensity the intensity value returned by the unit (parsed from hex)
      * @return the new intensity (between 0-100)
      * @throws IllegalArgumentException if controlUnit, zone or intensity are invalid
      */
-    private int convertIntensity(int controlUnit, int zone, String intensity) {
+    private int convertHexIntensity(int controlUnit, int zone, int intensity) {
         validateControlUnit(controlUnit);
         validateZone(zone);
 
         final boolean isShade = _callback.isShade(controlUnit, zone);
 
         if (isShade) {
-            final Integer intNbr = shadeIntensityMap.get(intensity);
-            if (intNbr == null) {
-                logger.warn("Unknown shade intensity ({})", intensity);
-                return Integer.parseInt(intensity, 16);
+            final int intNbr = intensity >= 0 && intensity < shadeIntensityMap.length ? shadeIntensityMap[intensity]
+                    : -1;
+            if (intNbr < 0) {
+                logger.warn("Unknown shade intensity ({})", Integer.toHexString(intensity).toUpperCase());
+                return intensity;
             }
             return intNbr;
         } else {
-            final Integer intNbr = reverseIntensityMap.get(intensity);
-            if (intNbr == null) {
-                logger.warn("Unknown zone intensity ({})", intensity);
-                return Integer.parseInt(intensity, 16);
+            final int intNbr = intensity >= 0 && intensity < reverseIntensityMap.length
+                    ? reverseIntensityMap[intensity] : -1;
+            if (intNbr < 0) {
+                logger.warn("Unknown zone intensity ({})", Integer.toHexString(intensity).toUpperCase());
+                return intensity;
             }
             zoneIntensities[zone] = intNbr;
             return intNbr;
@@ -588,6 +628,10 @@ class PrgProtocolHandler {
      * Sets the zone intensity to a specific number with the corresponding fade time on the specific zone/control unit.
      * If a shade, only deals with intensities from 0 to 5 (stop, open close, preset 1, preset 2, preset 3).
      *
+     * The change is not sent immediately but held back for {@link #ZONEINTENSITY_COALESCE_DELAY} milliseconds so that
+     * changes to other zones of the same control unit (with the same fade) can be sent along in a single zone
+     * intensity command (ie turning off all the zones of a room results in one command to the unit).
+     *
      * @param controlUnit the control unit
      * @param zone the zone
      * @param fade the fade time (0-59 seconds, 60-3600 seconds converted to minutes)
@@ -601,13 +645,67 @@ class PrgProtocolHandler {
         final String hexFade = convertFade(fade);
         final String hexIntensity = convertIntensity(controlUnit, zone, intensity);
 
-        final StringBuilder sb = new StringBuilder(16);
-        for (int z = 1; z <= 8; z++) {
-            sb.append(' ');
-            sb.append(zone == z ? hexIntensity : "*");
+        String flushCommand = null;
+        boolean schedule = false;
+        synchronized (_pendingIntensities) {
+            PendingZoneIntensities pending = _pendingIntensities[controlUnit];
+            if (pending != null && !pending.fade.equals(hexFade)) {
+                // different fade times can't go in the same command - send what we have so far
+                flushCommand = pending.toCommand();
+                pending = null;
+            }
+            if (pending == null) {
+                pending = new PendingZoneIntensities(controlUnit, hexFade);
+                _pendingIntensities[controlUnit] = pending;
+                schedule = true;
+            }
+            pending.intensities[zone - 1] = hexIntensity;
+        }
+
+        if (flushCommand != null) {
+            writeCommand(flushCommand);
+        }
+
+        if (schedule) {
+            try {
+                _scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushZoneIntensities(controlUnit);
+                    }
+                }, ZONEINTENSITY_COALESCE_DELAY, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushZoneIntensities(controlUnit);
+            }
         }
+    }
 
-        sendCommand(CMD_ZONEINTENSITY + " " + controlUnit + " " + hexFade + sb);
+    /**
+     * Sends the pending zone intensity changes of the control unit (if any) as a single zone intensity command
+     *
+     * @param controlUnit the control unit
+     */
+    private void flushZoneIntensities(int controlUnit) {
+        final String command;
+        synchronized (_pendingIntensities) {
+            final PendingZoneIntensities pending = _pendingIntensities[controlUnit];
+            if (pending == null) {
+                return;
+            }
+            _pendingIntensities[controlUnit] = null;
+            command = pending.toCommand();
+        }
+        writeCommand(command);
+    }
+
+    /**
+     * Sends the pending zone intensity changes of all control units. Called before any other command is sent so that
+     * commands reach the unit in the order they were issued.
+     */
+    private void flushZoneIntensities() {
+        for (int controlUnit = 1; controlUnit < _pendingIntensities.length; controlUnit++) {
+            flushZoneIntensities(controlUnit);
+        }
     }
 
     /**
@@ -700,7 +798,8 @@ class PrgProtocolHandler {
     }
 
     /**
-     * Sends the command and puts the thing into {@link ThingStatus#OFFLINE} if an IOException occurs
+     * Sends the command (after any pending zone intensity changes) and puts the thing into {@link ThingStatus#OFFLINE}
+     * if an IOException occurs
      *
      * @param command a non-null, non-empty command to send
      * @throws IllegalArgumentException if command is null or empty
@@ -712,6 +811,16 @@ class PrgProtocolHandler {
         if (command.trim().length() == 0) {
             throw new IllegalArgumentException("command cannot be empty");
         }
+        flushZoneIntensities();
+        writeCommand(command);
+    }
+
+    /**
+     * Writes the command to the session and puts the thing into {@link ThingStatus#OFFLINE} if an IOException occurs
+     *
+     * @param command a non-null, non-empty command to send
+     */
+    private void writeCommand(String command) {
         try {
             logger.debug("SendCommand: {}", command);
             _session.sendCommand(command);
@@ -725,15 +834,16 @@ class PrgProtocolHandler {
      * Handles a command failure - we simply log the response as an error (trying to convert the error number to a
      * legible error message)
      *
+     * @param f the non-null {@link ResponseFields} of the response (starting at "ERROR")
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleCommandFailure(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleCommandFailure(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 2) {
+        if (f.getCount() == 5 && f.isField(1, "#") && f.isField(4, RSP_OK)) {
             try {
-                final int errorNbr = Integer.parseInt(m.group(1));
+                final int errorNbr = f.getInt(2);
                 String errorMsg = "ErrorCode: " + errorNbr;
                 switch (errorNbr) {
                     case 1: {
@@ -848,18 +958,17 @@ class PrgProtocolHandler {
     /**
      * Handles the scene status response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleSceneStatus(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleSceneStatus(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() >= 2) {
+        if ((f.getCount() == 2 || (f.getCount() == 4 && f.isField(3, RSP_OK))) && f.getLength(1) == 8) {
             try {
-                final String sceneStatus = m.group(1);
                 for (int i = 1; i <= 8; i++) {
-                    char status = sceneStatus.charAt(i - 1);
+                    char status = f.charAt(1, i - 1);
                     if (status == 'M') {
                         continue; // no control unit
                     }
@@ -883,22 +992,22 @@ class PrgProtocolHandler {
     /**
      * Handles the report time response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleReportTime(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleReportTime(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 7) {
+        if (f.getCount() == 9 && f.isField(8, RSP_OK)) {
             try {
                 final Calendar c = Calendar.getInstance();
-                c.set(Calendar.HOUR_OF_DAY, Integer.parseInt(m.group(1)));
-                c.set(Calendar.MINUTE, Integer.parseInt(m.group(2)));
-                c.set(Calendar.MONDAY, Integer.parseInt(m.group(3)));
-                c.set(Calendar.DAY_OF_MONTH, Integer.parseInt(m.group(4)));
+                c.set(Calendar.HOUR_OF_DAY, f.getInt(1));
+                c.set(Calendar.MINUTE, f.getInt(2));
+                c.set(Calendar.MONDAY, f.getInt(3));
+                c.set(Calendar.DAY_OF_MONTH, f.getInt(4));
 
-                final int yr = Integer.parseInt(m.group(5));
+                final int yr = f.getInt(5);
                 c.set(Calendar.YEAR, yr + (yr < 50 ? 1900 : 2000));
 
                 _callback.stateChanged(PrgConstants.CHANNEL_TIMECLOCK, new DateTimeType(c));
@@ -914,16 +1023,16 @@ class PrgProtocolHandler {
     /**
      * Handles the report schedule response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleReportSchedule(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleReportSchedule(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 2) {
+        if (f.getCount() == 4 && f.isField(3, RSP_OK)) {
             try {
-                int schedule = Integer.parseInt(m.group(1));
+                int schedule = f.getInt(1);
                 _callback.stateChanged(PrgConstants.CHANNEL_SCHEDULE, new DecimalType(schedule));
             } catch (NumberFormatException e) {
                 logger.error("Invalid schedule response (can't parse number): '{}'", resp);
@@ -936,27 +1045,27 @@ class PrgProtocolHandler {
     /**
      * Handles the sunrise/sunset response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleSunriseSunset(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleSunriseSunset(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 5) {
-            if (m.group(1).equals("255")) {
+        if (f.getCount() == 7 && f.isField(6, RSP_OK)) {
+            if (f.isField(1, "255")) {
                 logger.warn("Sunrise/Sunset needs to be enabled via Liason Software");
                 return;
             }
             try {
                 final Calendar sunrise = Calendar.getInstance();
-                sunrise.set(Calendar.HOUR_OF_DAY, Integer.parseInt(m.group(1)));
-                sunrise.set(Calendar.MINUTE, Integer.parseInt(m.group(2)));
+                sunrise.set(Calendar.HOUR_OF_DAY, f.getInt(1));
+                sunrise.set(Calendar.MINUTE, f.getInt(2));
                 _callback.stateChanged(PrgConstants.CHANNEL_SUNRISE, new DateTimeType(sunrise));
 
                 final Calendar sunset = Calendar.getInstance();
-                sunset.set(Calendar.HOUR_OF_DAY, Integer.parseInt(m.group(3)));
-                sunset.set(Calendar.MINUTE, Integer.parseInt(m.group(4)));
+                sunset.set(Calendar.HOUR_OF_DAY, f.getInt(3));
+                sunset.set(Calendar.MINUTE, f.getInt(4));
                 _callback.stateChanged(PrgConstants.CHANNEL_SUNSET, new DateTimeType(sunset));
 
             } catch (NumberFormatException e) {
@@ -970,19 +1079,19 @@ class PrgProtocolHandler {
     /**
      * Handles the super sequence response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleSuperSequenceStatus(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleSuperSequenceStatus(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 5) {
+        if (f.getCount() == 7 && f.isField(6, RSP_OK) && f.getLength(1) == 1) {
             try {
-                final int nextStep = Integer.parseInt(m.group(2));
-                final int nextMin = Integer.parseInt(m.group(3));
-                final int nextSec = Integer.parseInt(m.group(4));
-                _callback.stateChanged(PrgConstants.CHANNEL_SUPERSEQUENCESTATUS, new StringType(m.group(1)));
+                final int nextStep = f.getInt(2);
+                final int nextMin = f.getInt(3);
+                final int nextSec = f.getInt(4);
+                _callback.stateChanged(PrgConstants.CHANNEL_SUPERSEQUENCESTATUS, new StringType(f.getString(1)));
                 _callback.stateChanged(PrgConstants.CHANNEL_SUPERSEQUENCENEXTSTEP, new DecimalType(nextStep));
                 _callback.stateChanged(PrgConstants.CHANNEL_SUPERSEQUENCENEXTMIN, new DecimalType(nextMin));
                 _callback.stateChanged(PrgConstants.CHANNEL_SUPERSEQUENCENEXTSEC, new DecimalType(nextSec));
@@ -997,23 +1106,22 @@ class PrgProtocolHandler {
     /**
      * Handles the zone intensity response
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleZoneIntensity(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleZoneIntensity(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
 
-        if (m.groupCount() == 10) {
+        if (f.getCount() == 12 && f.isField(11, RSP_OK)) {
             try {
-                final int controlUnit = Integer.parseInt(m.group(1));
+                final int controlUnit = f.getInt(1);
                 for (int z = 1; z <= 8; z++) {
-                    final String zi = m.group(z + 1);
-                    if (zi.equals("*") || zi.equals(Integer.toString(z - 1))) {
+                    if (f.getLength(z + 1) == 1 && (f.charAt(z + 1, 0) == '*' || f.charAt(z + 1, 0) == '0' + z - 1)) {
                         continue; // not present
                     }
-                    final int zid = convertIntensity(controlUnit, z, zi);
+                    final int zid = convertHexIntensity(controlUnit, z, f.getHex(z + 1));
 
                     _callback.stateChanged(controlUnit, PrgConstants.CHANNEL_ZONEINTENSITY + z, new PercentType(zid));
                 }
@@ -1028,21 +1136,19 @@ class PrgProtocolHandler {
     /**
      * Handles the controller information response (currently not used).
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleControlInfo(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+    private void handleControlInfo(ResponseFields f, String resp) {
+        if (f == null) {
+            throw new IllegalArgumentException("f (fields) cannot be null");
         }
-        if (m.groupCount() == 9) {
+        if (f.getCount() == 10) {
             int controlUnit = 0;
             try {
-                controlUnit = Integer.parseInt(m.group(1));
+                controlUnit = f.getInt(1);
 
-                final String q4 = m.group(8);
-                final String q4bits = new StringBuilder(Integer.toBinaryString(Integer.parseInt(q4, 16))).reverse()
-                        .toString();
+                final String q4bits = new StringBuilder(Integer.toBinaryString(f.getHex(8))).reverse().toString();
                 // final boolean seqType = (q4bits.length() > 0 ? q4bits.charAt(0) : '0') == '1';
                 final boolean seqMode = (q4bits.length() > 1 ? q4bits.charAt(1) : '0') == '1';
                 final boolean zoneLock = (q4bits.length() > 2 ? q4bits.charAt(2) : '0') == '1';
@@ -1065,20 +1171,19 @@ class PrgProtocolHandler {
     /**
      * Handles the interface being reset
      *
-     * @param m the non-null {@link Matcher} that matched the response
+     * @param f the non-null {@link ResponseFields} of the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleResetting(Matcher m, String resp) {
+    private void handleResetting(ResponseFields f, String resp) {
         _callback.statusChanged(ThingStatus.OFFLINE, ThingStatusDetail.DUTY_CYCLE, "Device resetting");
     }
 
     /**
      * Handles the button press response
      *
-     * @param m the non-null {@link Matcher} that matched the response
      * @param resp the possibly null, possibly empty actual response
      */
-    private void handleButton(Matcher m, String resp) {
+    private void handleButton(String resp) {
         _callback.stateChanged(PrgConstants.CHANNEL_BUTTONPRESS, new StringType(resp));
     }
 
@@ -1093,12 +1198,18 @@ class PrgProtocolHandler {
 
     /**
      * This callback is our normal response callback. Should be set into the {@link SocketSession} after the login
-     * process to handle normal responses.
+     * process to handle normal responses. The response type is determined from the first character(s) of the response
+     * and the fields are then parsed in place (see {@link ResponseFields}).
      *
      * @author Tim Roberts
      *
      */
-    private class NormalResponseCallback implements SocketSessionCallback {
+    private class NormalResponseCallback implements SocketSessionListener {
+
+        /**
+         * The fields of the current response. Reused for every response as the session calls us from a single thread
+         */
+        private final ResponseFields _fields = new ResponseFields();
 
         @Override
         public void responseReceived(String response) {
@@ -1108,85 +1219,231 @@ class PrgProtocolHandler {
                 return; // simple blank - do nothing
             }
 
-            Matcher m = RSP_OK.matcher(response);
-            if (m.matches()) {
-                // logger.debug(response);
-                return; // nothing to do on an OK! response
+            final char first = response.charAt(0);
+            if (first == '~') {
+                if (response.length() > 1 && response.charAt(1) == ':') {
+                    handleStatus(response, 1);
+                } else {
+                    handleAcknowledgement(response);
+                }
+            } else if (first == ':') {
+                handleStatus(response, 0);
+            } else if (RSP_CONNECTION_ESTABLISHED.equals(response)) {
+                return; // nothing to do on connection established
+            } else {
+                handleButton(response);
             }
+        }
 
-            m = RSP_FAILED.matcher(response);
-            if (m.matches()) {
-                handleCommandFailure(m, response);
-                return; // nothing really to do on an error response either
+        /**
+         * Handles an OK or failure response (<code>~nn OK</code> or <code>~ERROR # nn nn OK</code>)
+         *
+         * @param response the non-null, non-empty response
+         */
+        private void handleAcknowledgement(String response) {
+            if (!_fields.parse(response, 1)) {
+                handleUnknownCommand(response);
+            } else if (_fields.isField(0, RSP_FAILED)) {
+                handleCommandFailure(_fields, response); // nothing really to do on an error response either
+            } else if (_fields.getCount() == 2 && _fields.isField(1, RSP_OK) && _fields.isNumber(0)) {
+                // nothing to do on an OK! response
+            } else {
+                handleUnknownCommand(response);
             }
+        }
 
-            m = RSP_SCENESTATUS.matcher(response);
-            if (m.matches()) {
-                handleSceneStatus(m, response);
+        /**
+         * Handles a status response (<code>~:xx ...</code>) by dispatching on the two characters following the colon
+         *
+         * @param response the non-null, non-empty response
+         * @param colon the position of the colon
+         */
+        private void handleStatus(String response, int colon) {
+            if (response.length() < colon + 3 || !_fields.parse(response, colon)) {
+                handleUnknownCommand(response);
                 return;
             }
 
-            m = RSP_REPORTIME.matcher(response);
-            if (m.matches()) {
-                handleReportTime(m, response);
-                return;
+            final int type = rspType(response.charAt(colon + 1), response.charAt(colon + 2));
+            if (colon == 0 && type != RSP_SCENESTATUS) {
+                handleUnknownCommand(response); // only the scene status can come without the tilde
+            } else if (type == RSP_SCENESTATUS) {
+                handleSceneStatus(_fields, response);
+            } else if (type == RSP_ZONEINTENSITY) {
+                handleZoneIntensity(_fields, response);
+            } else if (type == RSP_REPORTIME) {
+                handleReportTime(_fields, response);
+            } else if (type == RSP_REPORTSCHEDULE) {
+                handleReportSchedule(_fields, response);
+            } else if (type == RSP_SUNRISESUNSET) {
+                handleSunriseSunset(_fields, response);
+            } else if (type == RSP_SUPERSEQUENCESTATUS) {
+                handleSuperSequenceStatus(_fields, response);
+            } else if (type == RSP_RMU) {
+                handleControlInfo(_fields, response);
+            } else if (type == RSP_RESETTING) {
+                handleResetting(_fields, response);
+            } else {
+                handleUnknownCommand(response);
             }
+        }
 
-            m = RSP_REPORTSCHEDULE.matcher(response);
-            if (m.matches()) {
-                handleReportSchedule(m, response);
-                return;
-            }
+        @Override
+        public void responseException(Exception exception) {
+            _callback.statusChanged(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "Exception occurred reading from PRG: " + exception);
+        }
 
-            m = RSP_SUNRISESUNSET.matcher(response);
-            if (m.matches()) {
-                handleSunriseSunset(m, response);
-                return;
-            }
+    }
 
-            m = RSP_SUPERSEQUENCESTATUS.matcher(response);
-            if (m.matches()) {
-                handleSuperSequenceStatus(m, response);
-                return;
-            }
+    /**
+     * The space separated fields of a response, kept as offsets into the response so that parsing does not allocate
+     * (strings are only created when asked for via {@link #getString(int)}).
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class ResponseFields {
+        /**
+         * The maximum number of fields in a response (the zone intensity has the most with 12)
+         */
+        private static final int MAX_FIELDS = 16;
 
-            m = RSP_ZONEINTENSITY.matcher(response);
-            if (m.matches()) {
-                handleZoneIntensity(m, response);
-                return;
-            }
+        private final int[] _start = new int[MAX_FIELDS];
+        private final int[] _end = new int[MAX_FIELDS];
+        private String _response;
+        private int _count;
 
-            m = RSP_RMU.matcher(response);
-            if (m.matches()) {
-                handleControlInfo(m, response);
-                return;
+        /**
+         * Parses the fields of the response starting at the given position
+         *
+         * @param response a non-null response
+         * @param pos the position to start at
+         * @return true if parsed, false if the response had too many fields
+         */
+        boolean parse(String response, int pos) {
+            _response = response;
+            _count = 0;
+
+            final int len = response.length();
+            while (pos < len) {
+                if (response.charAt(pos) == ' ') {
+                    pos++;
+                    continue;
+                }
+                if (_count == MAX_FIELDS) {
+                    return false;
+                }
+                _start[_count] = pos;
+                while (pos < len && response.charAt(pos) != ' ') {
+                    pos++;
+                }
+                _end[_count++] = pos;
             }
+            return true;
+        }
 
-            m = RSP_RESETTING.matcher(response);
-            if (m.matches()) {
-                handleResetting(m, response);
-                return;
-            }
+        int getCount() {
+            return _count;
+        }
 
-            m = RSP_BUTTON.matcher(response);
-            if (m.matches()) {
-                handleButton(m, response);
-                return;
+        int getLength(int field) {
+            return _end[field] - _start[field];
+        }
+
+        char charAt(int field, int pos) {
+            return _response.charAt(_start[field] + pos);
+        }
+
+        boolean isField(int field, String value) {
+            return getLength(field) == value.length() && _response.startsWith(value, _start[field]);
+        }
+
+        /**
+         * Whether the field only contains decimal digits
+         */
+        boolean isNumber(int field) {
+            for (int i = _start[field]; i < _end[field]; i++) {
+                if (Character.digit(_response.charAt(i), 10) < 0) {
+                    return false;
+                }
             }
+            return true;
+        }
 
-            if (RSP_CONNECTION_ESTABLISHED.equals(response)) {
-                return; // nothing to do on connection established
+        /**
+         * Parses the field as a decimal number
+         *
+         * @throws NumberFormatException if the field is not a (reasonably sized) decimal number
+         */
+        int getInt(int field) {
+            return getNumber(field, 10);
+        }
+
+        /**
+         * Parses the field as a hexadecimal number
+         *
+         * @throws NumberFormatException if the field is not a (reasonably sized) hexadecimal number
+         */
+        int getHex(int field) {
+            return getNumber(field, 16);
+        }
+
+        private int getNumber(int field, int radix) {
+            final int len = getLength(field);
+            if (len == 0 || len > 7) {
+                throw new NumberFormatException("Invalid number field " + field + ": " + _response);
             }
+            int nbr = 0;
+            for (int i = _start[field]; i < _end[field]; i++) {
+                final int digit = Character.digit(_response.charAt(i), radix);
+                if (digit < 0) {
+                    throw new NumberFormatException("Invalid number field " + field + ": " + _response);
+                }
+                nbr = nbr * radix + digit;
+            }
+            return nbr;
+        }
 
-            handleUnknownCommand(response);
+        String getString(int field) {
+            return _response.substring(_start[field], _end[field]);
         }
+    }
 
-        @Override
-        public void responseException(Exception exception) {
-            _callback.statusChanged(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
-                    "Exception occurred reading from PRG: " + exception);
+    /**
+     * The zone intensity changes of a control unit waiting to be sent
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class PendingZoneIntensities {
+        private final int controlUnit;
+        private final String fade;
+
+        /**
+         * The hex intensity by zone (0 based) - null if the zone is not changed
+         */
+        private final String[] intensities = new String[8];
+
+        PendingZoneIntensities(int controlUnit, String fade) {
+            this.controlUnit = controlUnit;
+            this.fade = fade;
         }
 
+        /**
+         * Creates the zone intensity command for the changes ('*' for the zones not changed)
+         *
+         * @return a non-null, non-empty command
+         */
+        String toCommand() {
+            final StringBuilder sb = new StringBuilder(40);
+            sb.append(CMD_ZONEINTENSITY).append(' ').append(controlUnit).append(' ').append(fade);
+            for (String intensity : intensities) {
+                sb.append(' ');
+                sb.append(intensity == null ? "*" : intensity);
+            }
+            return sb.toString();
+        }
     }
 
     /**
@@ -1196,7 +1453,7 @@ class PrgProtocolHandler {
      * @author Tim Roberts
      *
      */
-    private class NoDispatchingCallback implements SocketSessionCallback {
+    private class NoDispatchingCallback implements SocketSessionListener {
 
         /**
          * Cache of responses that have occurred
@@ -1225,19 +1482,17 @@ class PrgProtocolHandler {
 
         @Override
         public void responseReceived(String response) {
-            try {
-                _responses.put(response);
-            } catch (InterruptedException e) {
+            // never block - we are called on the dispatcher thread shared by all sessions
+            if (!_responses.offer(response)) {
+                logger.debug("Dropping login response - too many unread responses: {}", response);
             }
         }
 
         @Override
         public void responseException(Exception e) {
-            try {
-                _responses.put(e);
-            } catch (InterruptedException e1) {
+            if (!_responses.offer(e)) {
+                logger.debug("Dropping login exception - too many unread responses: {}", e.getMessage());
             }
-
         }
 
     }
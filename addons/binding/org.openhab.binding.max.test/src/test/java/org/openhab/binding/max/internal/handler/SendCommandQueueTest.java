@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.max.internal.command.Q_Command;
+
+/**
+ * Tests cases for {@link SendCommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SendCommandQueueTest {
+
+    private final ChannelUID setTemp = new ChannelUID("max:thermostat:cube:device:set_temp");
+
+    private SendCommandQueue queue = null;
+
+    @Before
+    public void Before() {
+        queue = new SendCommandQueue(3);
+    }
+
+    @Test
+    public void coalesceTest() {
+        SendCommand first = new SendCommand("KEQ0000001", setTemp, new DecimalType(20));
+        SendCommand second = new SendCommand("KEQ0000001", setTemp, new DecimalType(21));
+
+        assertTrue(queue.add(first));
+        assertTrue(queue.add(second));
+
+        assertEquals(1, queue.size());
+        assertSame(second, queue.poll(true));
+        assertNull(queue.poll(true));
+    }
+
+    @Test
+    public void userCommandsFirstTest() {
+        SendCommand cubeCommand = new SendCommand("KEQ0000001", new Q_Command(), "Reload Data");
+        SendCommand userCommand = new SendCommand("KEQ0000002", setTemp, new DecimalType(20));
+
+        queue.add(cubeCommand);
+        queue.add(userCommand);
+
+        assertTrue(queue.hasUserCommands());
+        assertSame(userCommand, queue.poll(false));
+        assertNull(queue.poll(false));
+        assertSame(cubeCommand, queue.poll(true));
+    }
+
+    @Test
+    public void fullQueueTest() {
+        assertTrue(queue.add(new SendCommand("KEQ0000001", setTemp, new DecimalType(20))));
+        assertTrue(queue.add(new SendCommand("KEQ0000002", setTemp, new DecimalType(20))));
+        assertTrue(queue.add(new SendCommand("KEQ0000003", setTemp, new DecimalType(20))));
+        assertFalse(queue.add(new SendCommand("KEQ0000004", setTemp, new DecimalType(20))));
+
+        // superseding a queued command is still possible
+        assertTrue(queue.add(new SendCommand("KEQ0000003", setTemp, new DecimalType(21))));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void requeueTest() {
+        SendCommand first = new SendCommand("KEQ0000001", setTemp, new DecimalType(20));
+        SendCommand second = new SendCommand("KEQ0000002", setTemp, new DecimalType(20));
+        queue.add(first);
+        queue.add(second);
+
+        assertSame(first, queue.poll(true));
+        queue.requeue(first);
+        assertSame(first, queue.poll(true));
+
+        // not put back when superseded in the meantime
+        SendCommand newer = new SendCommand("KEQ0000001", setTemp, new DecimalType(22));
+        queue.add(newer);
+        queue.requeue(first);
+        assertSame(second, queue.poll(true));
+        assertSame(newer, queue.poll(true));
+    }
+
+    @Test
+    public void removeEquivalentTest() {
+        SendCommand sent = new SendCommand("KEQ0000001", setTemp, new DecimalType(20));
+        SendCommand sameRoom = new SendCommand("KEQ0000002", setTemp, new DecimalType(20));
+        SendCommand otherValue = new SendCommand("KEQ0000003", setTemp, new DecimalType(21));
+        SendCommand otherRoom = new SendCommand("KEQ0000004", setTemp, new DecimalType(20));
+        queue.add(sameRoom);
+        queue.add(otherValue);
+        queue.add(otherRoom);
+
+        List<SendCommand> removed = queue.removeEquivalent(sent,
+                new HashSet<String>(Arrays.asList("KEQ0000001", "KEQ0000002", "KEQ0000003")));
+
+        assertEquals(1, removed.size());
+        assertSame(sameRoom, removed.get(0));
+        assertEquals(2, queue.size());
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.message;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.max.internal.device.Device;
+import org.openhab.binding.max.internal.device.DeviceConfiguration;
+import org.openhab.binding.max.internal.device.ShutterContact;
+
+/**
+ * Tests cases for {@link L_Message}.
+ *
+ * @author agent - Initial contribution
+ */
+public class L_MessageTest {
+
+    private static final String CONFIGURATION_DATA = "C:0ff1bc,EQ/xvAQJEAJMRVEwNzk0MDA3";
+    private static final String CLOSED_DATA = "L:Bg/xvAkAAA==";
+    private static final String OPEN_DATA = "L:Bg/xvAkSAg==";
+
+    private List<DeviceConfiguration> configurations = null;
+    private List<Device> devices = null;
+
+    @Before
+    public void Before() {
+        configurations = new ArrayList<>();
+        configurations.add(DeviceConfiguration.create(new C_Message(CONFIGURATION_DATA)));
+        devices = new ArrayList<>();
+    }
+
+    @Test
+    public void createDeviceTest() {
+        List<Device> changed = new L_Message(CLOSED_DATA).updateDevices(devices, configurations);
+
+        assertEquals(1, devices.size());
+        assertEquals(1, changed.size());
+        assertSame(devices.get(0), changed.get(0));
+        assertEquals("0FF1BC", devices.get(0).getRFAddress().toUpperCase());
+        assertEquals(OpenClosedType.CLOSED, ((ShutterContact) devices.get(0)).getShutterState());
+    }
+
+    @Test
+    public void unchangedDataTest() {
+        new L_Message(CLOSED_DATA).updateDevices(devices, configurations);
+        List<Device> changed = new L_Message(CLOSED_DATA).updateDevices(devices, configurations);
+
+        assertEquals(1, devices.size());
+        assertTrue(changed.isEmpty());
+    }
+
+    @Test
+    public void changedDataTest() {
+        new L_Message(CLOSED_DATA).updateDevices(devices, configurations);
+        Device device = devices.get(0);
+        device.setUpdated(false);
+
+        List<Device> changed = new L_Message(OPEN_DATA).updateDevices(devices, configurations);
+
+        assertEquals(1, devices.size());
+        assertEquals(1, changed.size());
+        assertSame(device, changed.get(0));
+        assertTrue(device.isUpdated());
+        assertEquals(OpenClosedType.OPEN, ((ShutterContact) device).getShutterState());
+    }
+}
@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.max.internal.device;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -48,6 +49,9 @@ public abstract class Device {
     private boolean linkStatusError;
     private HashMap<String, Object> properties = new HashMap<>();
 
+    /** the L message data of the last update, used to skip unchanged data */
+    private byte[] statusData;
+
     public Device(DeviceConfiguration c) {
         this.serialNumber = c.getSerialNumber();
         this.rfAddress = c.getRFAddress();
@@ -128,6 +132,12 @@ public abstract class Device {
 
         String rfAddress = device.getRFAddress();
 
+        if (!device.isStatusDataChanged(raw)) {
+            logger.trace("Device {} ({}): L Message data unchanged", rfAddress, device.getType().toString());
+            return device;
+        }
+        device.statusData = raw;
+
         // byte 4 is skipped
 
         // multiple device information are encoded in those particular bytes
@@ -344,6 +354,16 @@ public abstract class Device {
         this.updated = updated;
     }
 
+    /**
+     * Checks the L message data against the data of the last update.
+     *
+     * @param raw the L message data of this device
+     * @return true if the data differs from the last processed data
+     */
+    public boolean isStatusDataChanged(byte[] raw) {
+        return !Arrays.equals(statusData, raw);
+    }
+
     public boolean isInitialized() {
         return initialized;
     }
@@ -20,14 +20,17 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -105,6 +108,15 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private ArrayList<RoomInformation> rooms;
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
+    /**
+     * Serial numbers of the devices whose state changed with the L messages received since the last refresh. Only
+     * these are passed to the listeners, unless {@link #refreshAllDevices} is set.
+     */
+    private final Set<String> changedDevices = ConcurrentHashMap.newKeySet();
+
+    /** Whether the next refresh passes all devices to the listeners (e.g. for a newly registered listener) */
+    private final AtomicBoolean refreshAllDevices = new AtomicBoolean(true);
+
     /** MAX! Thermostat default off temperature */
     private static final DecimalType DEFAULT_OFF_TEMPERATURE = new DecimalType(4.5);
 
@@ -113,11 +125,28 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
 
     private ArrayList<DeviceConfiguration> configurations = new ArrayList<DeviceConfiguration>();
 
+    /**
+     * Payloads of the last processed M and C messages. The Cube sends them on
+     * every connection, they are only processed again when they changed.
+     */
+    private String roomsPayload = null;
+    private final Map<String, String> configurationPayloads = new HashMap<>();
+
     /** maximum queue size that we're allowing */
     private static final int MAX_COMMANDS = 50;
-    private ArrayBlockingQueue<SendCommand> commandQueue = new ArrayBlockingQueue<SendCommand>(MAX_COMMANDS);
+    private final SendCommandQueue commandQueue = new SendCommandQueue(MAX_COMMANDS);
+
+    /**
+     * Duty cycle (% of the 1% RF budget used) up to which user commands are sent. Above it only one command is
+     * sent per send interval, which also returns the updated duty cycle.
+     */
+    private static final int DUTY_CYCLE_LIMIT_USER = 90;
+
+    /** Duty cycle up to which the commands created by the binding itself are sent */
+    private static final int DUTY_CYCLE_LIMIT_CUBE = 60;
 
-    private SendCommand lastCommandId = null;
+    /** Delay (ms) before sending user commands, to coalesce commands sent together (e.g. to a group of items) */
+    private static final long SEND_COMMAND_DELAY = 250;
 
     private String ipAddress;
     private int port;
@@ -141,6 +170,11 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      */
     private int freeMemorySlots;
 
+    /**
+     * Whether the cube discarded the last command sent (reported in the S message)
+     */
+    private boolean commandDiscarded = false;
+
     /**
      * connection socket and reader/writer for execute method
      */
@@ -164,14 +198,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private Runnable sendCommandRunnable = new Runnable() {
         @Override
         public void run() {
+            sendCommandScheduled.set(false);
             sendCommands();
         }
     };
+    private final AtomicBoolean sendCommandScheduled = new AtomicBoolean(false);
 
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
             logger.debug("Refresh command received.");
+            refreshAllDevices.set(true);
             refreshData();
         } else {
             logger.warn("No bridge commands defined. Cannot process '{}'.", command.toString());
@@ -182,7 +219,9 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     public void dispose() {
         logger.debug("Handler disposed.");
         stopAutomaticRefresh();
+        commandQueue.clear();
         clearDeviceList();
+        clearConfigurationCache();
         socketClose();
         super.dispose();
     }
@@ -246,6 +285,7 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         if (refresh) {
             stopAutomaticRefresh();
             clearDeviceList();
+            clearConfigurationCache();
             socketClose();
             initialize();
         }
@@ -327,14 +367,28 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Takes a command from the command queue and send it to
-     * {@link executeCommand} for execution.
+     * Takes the commands from the command queue and sends them to the MAX!
+     * Cube, user commands first. Commands are sent as long as the duty cycle
+     * reported by the cube allows it; above the limit a single command is sent
+     * (the cube reports the new duty cycle in its answer). Commands discarded
+     * by the cube are put back in the queue.
      *
      */
     private synchronized void sendCommands() {
+        boolean sent = false;
+        while (true) {
+            boolean overBudget = dutyCycle >= DUTY_CYCLE_LIMIT_USER;
+            if (overBudget && sent) {
+                logger.debug("Duty cycle {}% of MAX! Cube at IP: {}. Holding back {} queued commands", dutyCycle,
+                        ipAddress, commandQueue.size());
+                return;
+            }
+
+            SendCommand sendCommand = commandQueue.poll(overBudget || dutyCycle < DUTY_CYCLE_LIMIT_CUBE);
+            if (sendCommand == null) {
+                return;
+            }
 
-        SendCommand sendCommand = commandQueue.poll();
-        if (sendCommand != null) {
             CubeCommand cmd = sendCommand.getCubeCommand();
             if (cmd == null) {
                 cmd = getCommand(sendCommand);
@@ -344,28 +398,73 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                 logger.debug("Command {} ({}:{}) sent to MAX! Cube at IP: {}", sendCommand.getId(),
                         sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
 
+                commandDiscarded = false;
+                sent = true;
                 if (sendCubeCommand(cmd)) {
+                    if (commandDiscarded) {
+                        commandQueue.requeue(sendCommand);
+                        return;
+                    }
                     logger.trace("Command {} ({}:{}) completed for MAX! Cube at IP: {}", sendCommand.getId(),
                             sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+                    if (cmd instanceof S_Command) {
+                        removeRoomDuplicates(sendCommand);
+                    }
                 } else {
                     logger.warn("Error sending command {} ({}:{}) to MAX! Cube at IP: {}", sendCommand.getId(),
                             sendCommand.getKey(), sendCommand.getCommandText(), ipAddress);
+                    return;
                 }
             }
         }
     }
 
+    /**
+     * The S command is sent to the whole room the device is in. Pending
+     * identical commands for the other devices of the room are therefore not
+     * needed anymore.
+     *
+     * @param sendCommand
+     *            the sent command
+     */
+    private void removeRoomDuplicates(SendCommand sendCommand) {
+        Device device = getDevice(sendCommand.getDeviceSerial(), devices);
+        if (device == null || device.getRoomId() == 0) {
+            return;
+        }
+        Set<String> roomDevices = new HashSet<String>();
+        for (Device di : devices) {
+            if (di.getRoomId() == device.getRoomId()) {
+                roomDevices.add(di.getSerialNumber());
+            }
+        }
+        List<SendCommand> removed = commandQueue.removeEquivalent(sendCommand, roomDevices);
+        for (SendCommand duplicate : removed) {
+            logger.debug("Removed Command id {} ({}) from queue. Covered by room command {}", duplicate.getId(),
+                    duplicate.getKey(), sendCommand.getId());
+        }
+    }
+
     /**
      * initiates read data from the MAX! Cube bridge
      */
     private void refreshData() {
 
         try {
+            // user commands take precedence over polling
+            if (commandQueue.hasUserCommands()) {
+                sendCommands();
+            }
             if (sendCubeCommand(new L_Command())) {
                 updateStatus(ThingStatus.ONLINE);
                 previousOnline = true;
+                boolean refreshAll = refreshAllDevices.getAndSet(false);
                 for (Device di : devices) {
+                    boolean changed = changedDevices.remove(di.getSerialNumber());
                     if (lastActiveDevices != null && lastActiveDevices.contains(di.getSerialNumber())) {
+                        if (!changed && !refreshAll) {
+                            continue;
+                        }
                         for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
                             try {
                                 deviceStatusListener.onDeviceStateChanged(getThing().getUID(), di);
@@ -422,7 +521,8 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         }
         boolean result = deviceStatusListeners.add(deviceStatusListener);
         if (result) {
-            // onUpdate();
+            // pass the current state of all devices to the new listener with the next refresh
+            refreshAllDevices.set(true);
         }
         return result;
     }
@@ -442,76 +542,93 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
         lastActiveDevices.clear();
     }
 
+    /**
+     * Passes the current state of the device to the listeners with the next refresh, even if it did not change
+     *
+     * @param serialNumber the serial number of the device
+     */
+    public void refreshDevice(String serialNumber) {
+        if (serialNumber != null) {
+            changedDevices.add(serialNumber);
+        }
+    }
+
+    /**
+     * Forgets the M and C messages received, so they are processed again
+     */
+    private void clearConfigurationCache() {
+        roomsPayload = null;
+        configurationPayloads.clear();
+    }
+
     /**
      * Connects to the Max! Cube Lan gateway and send a command to Cube
-     * and process the message
+     * and process the message. Only the commands to this cube are serialized,
+     * commands to other cubes are sent in parallel.
      *
      * @param {@link CubeCommand}
      * @return boolean success
      */
     private synchronized boolean sendCubeCommand(CubeCommand command) {
-        synchronized (MaxCubeBridgeHandler.class) {
-            boolean sendSuccess = false;
-            try {
-                if (socket == null || socket.isClosed()) {
-                    this.socketConnect();
-                }
-
-                if (maxRequestsPerConnection > 0 && requestCount >= maxRequestsPerConnection) {
-                    logger.debug("maxRequestsPerConnection reached, reconnecting.");
-                    socket.close();
-                    this.socketConnect();
-                } else {
+        boolean sendSuccess = false;
+        try {
+            if (socket == null || socket.isClosed()) {
+                this.socketConnect();
+            }
 
-                    if (requestCount == 0) {
-                        logger.debug("Connect to MAX! Cube");
-                        readliness("L:");
+            if (maxRequestsPerConnection > 0 && requestCount >= maxRequestsPerConnection) {
+                logger.debug("maxRequestsPerConnection reached, reconnecting.");
+                socket.close();
+                this.socketConnect();
+            }
 
-                    }
-                    if (!(requestCount == 0 && command instanceof L_Command)) {
+            if (requestCount == 0) {
+                logger.debug("Connect to MAX! Cube");
+                readliness("L:");
 
-                        logger.debug("Sending request #{} to MAX! Cube", this.requestCount);
-                        if (writer == null) {
-                            logger.warn("Can't write to MAX! Cube");
-                            this.socketConnect();
-                        }
+            }
+            if (!(requestCount == 0 && command instanceof L_Command)) {
 
-                        writer.write(command.getCommandString());
-                        logger.trace("Write string to Max! Cube {}: {}", ipAddress, command.getCommandString());
-                        writer.flush();
-                        if (command.getReturnStrings() != null) {
-                            readliness(command.getReturnStrings());
-                        } else {
-                            socketClose();
-                        }
-                    }
+                logger.debug("Sending request #{} to MAX! Cube", this.requestCount);
+                if (writer == null) {
+                    logger.warn("Can't write to MAX! Cube");
+                    this.socketConnect();
                 }
 
-                requestCount++;
-                sendSuccess = true;
-
-                if (!exclusive) {
+                writer.write(command.getCommandString());
+                logger.trace("Write string to Max! Cube {}: {}", ipAddress, command.getCommandString());
+                writer.flush();
+                if (command.getReturnStrings() != null) {
+                    readliness(command.getReturnStrings());
+                } else {
                     socketClose();
                 }
-            } catch (ConnectException e) {
-                logger.debug("Connection timed out on {} port {}", ipAddress, port);
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (UnknownHostException e) {
-                logger.debug("Host error occurred during execution: {}", e.getMessage());
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (IOException e) {
-                logger.debug("IO error occurred during execution: {}", e.getMessage());
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
-            } catch (Exception e) {
-                logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
-                sendSuccess = false;
-                socketClose(); // reconnect on next execution
             }
-            return sendSuccess;
+
+            requestCount++;
+            sendSuccess = true;
+
+            if (!exclusive) {
+                socketClose();
+            }
+        } catch (ConnectException e) {
+            logger.debug("Connection timed out on {} port {}", ipAddress, port);
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (UnknownHostException e) {
+            logger.debug("Host error occurred during execution: {}", e.getMessage());
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (IOException e) {
+            logger.debug("IO error occurred during execution: {}", e.getMessage());
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
+        } catch (Exception e) {
+            logger.debug("Exception occurred during execution: {}", e.getMessage(), e);
+            sendSuccess = false;
+            socketClose(); // reconnect on next execution
         }
+        return sendSuccess;
     }
 
     /**
@@ -586,6 +703,13 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             }
             if (message.getType() == MessageType.M) {
                 M_Message msg = (M_Message) message;
+                if (msg.getPayload().equals(roomsPayload)) {
+                    logger.trace("M message unchanged, skipping.");
+                    return;
+                }
+                roomsPayload = msg.getPayload();
+                // configurations are recreated, the C messages have to be applied again
+                configurationPayloads.clear();
                 rooms = new ArrayList<RoomInformation>(msg.rooms);
 
                 if (!roomPropertiesSet) {
@@ -617,6 +741,12 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     c.setRoomName(roomName);
                 }
             } else if (message.getType() == MessageType.C) {
+                String serialNumber = ((C_Message) message).getSerialNumber();
+                if (message.getPayload().equals(configurationPayloads.get(serialNumber))) {
+                    logger.trace("C message for {} unchanged, skipping.", serialNumber);
+                    return;
+                }
+                configurationPayloads.put(serialNumber, message.getPayload());
                 DeviceConfiguration c = null;
                 for (DeviceConfiguration conf : configurations) {
                     if (conf.getSerialNumber().equalsIgnoreCase(((C_Message) message).getSerialNumber())) {
@@ -651,13 +781,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
                     }
                 }
             } else if (message.getType() == MessageType.L) {
-                ((L_Message) message).updateDevices(devices, configurations);
-                logger.trace("{} devices found.", devices.size());
+                List<Device> updatedDevices = ((L_Message) message).updateDevices(devices, configurations);
+                for (Device di : updatedDevices) {
+                    changedDevices.add(di.getSerialNumber());
+                }
+                logger.trace("{} devices found, {} updated.", devices.size(), updatedDevices.size());
             } else if (message.getType() == MessageType.S) {
                 dutyCycle = ((S_Message) message).getDutyCycle();
                 freeMemorySlots = ((S_Message) message).getFreeMemorySlots();
                 updateCubeState();
-                if (((S_Message) message).isCommandDiscarded()) {
+                commandDiscarded = ((S_Message) message).isCommandDiscarded();
+                if (commandDiscarded) {
                     logger.warn("Last Send Command discarded. Duty Cycle: {}, Free Memory Slots: {}", dutyCycle,
                             freeMemorySlots);
                 } else {
@@ -771,27 +905,23 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      * item-channel combination are send prior that they are processed by the
      * Max! Cube, they will be removed from the queue as they would not be
      * meaningful. This will improve the behavior when using sliders in the GUI.
+     * User commands are sent shortly after being queued, rather than waiting
+     * for the next send interval.
      *
      * @param SendCommand
      *            the SendCommand containing the serial number of the device as
      *            String the channelUID used to send the command and the the
      *            command data
      */
-    public synchronized void queueCommand(SendCommand sendCommand) {
-
-        if (commandQueue.offer(sendCommand)) {
-            if (lastCommandId != null) {
-                if (lastCommandId.getKey().equals(sendCommand.getKey())) {
-                    if (commandQueue.remove(lastCommandId)) {
-                        logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", lastCommandId.getId(),
-                                lastCommandId.getKey(), sendCommand.getId());
-                    }
-                }
-            }
-            lastCommandId = sendCommand;
+    public void queueCommand(SendCommand sendCommand) {
+
+        if (commandQueue.add(sendCommand)) {
             logger.debug("Command queued id {} ({}:{}).", sendCommand.getId(), sendCommand.getKey(),
                     sendCommand.getCommandText());
-
+            if (sendCommand.isUserCommand() && sendCommandJob != null
+                    && sendCommandScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(sendCommandRunnable, SEND_COMMAND_DELAY, TimeUnit.MILLISECONDS);
+            }
         } else {
             logger.debug("Command queued full dropping command id {} ({}).", sendCommand.getId(), sendCommand.getKey());
         }
@@ -82,6 +82,27 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
         }
     };
 
+    /**
+     * The bridge only passes devices with changed states, so the due check for the actual refresh runs on its own
+     * schedule rather than with every bridge refresh
+     */
+    private static final int REFRESH_ACTUAL_CHECK_INTERVAL = 1; // minutes
+    private ScheduledFuture<?> refreshActualCheckJob;
+    private Runnable refreshActualCheckRunnable = new Runnable() {
+        @Override
+        public void run() {
+            MaxCubeBridgeHandler maxCubeBridge = bridgeHandler;
+            if (maxCubeBridge == null || maxDeviceSerial == null) {
+                return;
+            }
+            Device device = maxCubeBridge.getDevice(maxDeviceSerial);
+            if (device != null && (device.getType() == DeviceType.HeatingThermostat
+                    || device.getType() == DeviceType.HeatingThermostatPlus) && !device.isLinkStatusError()) {
+                refreshActualCheck((HeatingThermostat) device);
+            }
+        }
+    };
+
     public MaxDevicesHandler(Thing thing) {
         super(thing);
     }
@@ -114,6 +135,11 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             configSet = false;
             forceRefresh = true;
             getMaxCubeBridgeHandler();
+            if (refreshActualRate >= REFRESH_ACTUAL_MIN_RATE
+                    && (refreshActualCheckJob == null || refreshActualCheckJob.isCancelled())) {
+                refreshActualCheckJob = scheduler.scheduleWithFixedDelay(refreshActualCheckRunnable,
+                        REFRESH_ACTUAL_CHECK_INTERVAL, REFRESH_ACTUAL_CHECK_INTERVAL, TimeUnit.MINUTES);
+            }
         } catch (Exception e) {
             logger.debug("Exception occurred during initialize : {}", e.getMessage(), e);
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -135,6 +161,10 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
             refreshActualsJob.cancel(true);
             refreshActualsJob = null;
         }
+        if (refreshActualCheckJob != null && !refreshActualCheckJob.isCancelled()) {
+            refreshActualCheckJob.cancel(true);
+            refreshActualCheckJob = null;
+        }
         if (bridgeHandler != null) {
             logger.trace("Clear MAX! device {} {} from bridge.", getThing().getUID(), maxDeviceSerial);
             bridgeHandler.clearDeviceList();
@@ -155,7 +185,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     @Override
     public void thingUpdated(Thing thing) {
         configSet = false;
-        forceRefresh = true;
+        setForceRefresh();
         super.thingUpdated(thing);
     }
 
@@ -438,7 +468,7 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
         }
     }
 
-    private void refreshActualCheck(HeatingThermostat device) {
+    private synchronized void refreshActualCheck(HeatingThermostat device) {
         DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
 
         if (device.getActualTempLastUpdated() == null) {
@@ -525,10 +555,15 @@ public class MaxDevicesHandler extends BaseThingHandler implements DeviceStatusL
     }
 
     /**
-     * Set the forceRefresh flag to ensure update when next data is coming
+     * Set the forceRefresh flag and ask the bridge to pass the device to this handler with the next refresh, to ensure
+     * update when next data is coming
      */
     public void setForceRefresh() {
         forceRefresh = true;
+        MaxCubeBridgeHandler maxCubeBridge = bridgeHandler;
+        if (maxCubeBridge != null) {
+            maxCubeBridge.refreshDevice(maxDeviceSerial);
+        }
     }
 
     /**
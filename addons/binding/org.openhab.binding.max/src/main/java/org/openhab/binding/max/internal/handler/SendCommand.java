@@ -75,6 +75,14 @@ public final class SendCommand {
         return key;
     }
 
+    /**
+     * @return true if this is a command received on a channel (as opposed to a
+     *         {@link CubeCommand} created by the binding)
+     */
+    public boolean isUserCommand() {
+        return cubeCommand == null;
+    }
+
     /**
      * @return the id
      */
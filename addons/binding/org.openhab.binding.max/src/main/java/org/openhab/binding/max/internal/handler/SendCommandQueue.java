@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.handler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queue of the {@link SendCommand}s waiting to be sent to one MAX! Cube.
+ * Commands are coalesced by their key (device and channel or command type):
+ * a newer command replaces the pending one, as sending the older one would
+ * not be meaningful. User (channel) commands are taken before the commands
+ * generated by the binding itself.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+final class SendCommandQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(SendCommandQueue.class);
+
+    private final int maxCommands;
+    private final Map<String, SendCommand> userCommands = new LinkedHashMap<>();
+    private final Map<String, SendCommand> cubeCommands = new LinkedHashMap<>();
+
+    /**
+     * @param maxCommands
+     *            maximum number of commands in the queue
+     */
+    SendCommandQueue(int maxCommands) {
+        this.maxCommands = maxCommands;
+    }
+
+    /**
+     * Adds the command to the end of the queue, removing a pending command
+     * with the same key.
+     *
+     * @param sendCommand
+     *            the command to add
+     * @return true if the command was queued, false if the queue is full
+     */
+    synchronized boolean add(SendCommand sendCommand) {
+        Map<String, SendCommand> commands = sendCommand.isUserCommand() ? userCommands : cubeCommands;
+        SendCommand superseded = commands.remove(sendCommand.getKey());
+        if (superseded != null) {
+            logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", superseded.getId(),
+                    superseded.getKey(), sendCommand.getId());
+        } else if (size() >= maxCommands) {
+            return false;
+        }
+        commands.put(sendCommand.getKey(), sendCommand);
+        return true;
+    }
+
+    /**
+     * Puts a command that could not be sent back in the queue, unless it has
+     * been superseded by a newer command in the meantime.
+     *
+     * @param sendCommand
+     *            the command to put back
+     */
+    synchronized void requeue(SendCommand sendCommand) {
+        Map<String, SendCommand> commands = sendCommand.isUserCommand() ? userCommands : cubeCommands;
+        if (!commands.containsKey(sendCommand.getKey()) && size() < maxCommands) {
+            // put it back in front of the others
+            Map<String, SendCommand> remaining = new LinkedHashMap<>(commands);
+            commands.clear();
+            commands.put(sendCommand.getKey(), sendCommand);
+            commands.putAll(remaining);
+        }
+    }
+
+    /**
+     * Takes the next command from the queue.
+     *
+     * @param includeCubeCommands
+     *            false to only take user commands
+     * @return the next command, or null if there is none
+     */
+    synchronized SendCommand poll(boolean includeCubeCommands) {
+        SendCommand sendCommand = poll(userCommands);
+        if (sendCommand == null && includeCubeCommands) {
+            sendCommand = poll(cubeCommands);
+        }
+        return sendCommand;
+    }
+
+    private SendCommand poll(Map<String, SendCommand> commands) {
+        Iterator<SendCommand> iterator = commands.values().iterator();
+        if (!iterator.hasNext()) {
+            return null;
+        }
+        SendCommand sendCommand = iterator.next();
+        iterator.remove();
+        return sendCommand;
+    }
+
+    /**
+     * Removes the pending user commands for the given devices that are
+     * equivalent to the given command (same channel and command value). Used
+     * when a room command already covers them.
+     *
+     * @param sendCommand
+     *            the command being sent
+     * @param serialNumbers
+     *            the serial numbers of the devices covered by the command
+     * @return the removed commands
+     */
+    synchronized List<SendCommand> removeEquivalent(SendCommand sendCommand, Set<String> serialNumbers) {
+        List<SendCommand> removed = new ArrayList<>();
+        Iterator<SendCommand> iterator = userCommands.values().iterator();
+        while (iterator.hasNext()) {
+            SendCommand pending = iterator.next();
+            if (serialNumbers.contains(pending.getDeviceSerial())
+                    && pending.getChannelUID().getId().equals(sendCommand.getChannelUID().getId())
+                    && pending.getCommand().equals(sendCommand.getCommand())) {
+                iterator.remove();
+                removed.add(pending);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return true if user commands are waiting to be sent
+     */
+    synchronized boolean hasUserCommands() {
+        return !userCommands.isEmpty();
+    }
+
+    /**
+     * @return the number of queued commands
+     */
+    synchronized int size() {
+        return userCommands.size() + cubeCommands.size();
+    }
+
+    /**
+     * Removes all commands from the queue.
+     */
+    synchronized void clear() {
+        userCommands.clear();
+        cubeCommands.clear();
+    }
+}
@@ -10,7 +10,9 @@ package org.openhab.binding.max.internal.message;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.net.util.Base64;
 import org.openhab.binding.max.internal.Utils;
@@ -51,7 +53,22 @@ public final class L_Message extends Message {
         return devices;
     }
 
-    public Collection<? extends Device> updateDevices(List<Device> devices, List<DeviceConfiguration> configurations) {
+    /**
+     * Updates the devices with the data of this message. Devices whose data did
+     * not change since the last update are skipped, unknown devices are created
+     * and added to the list.
+     *
+     * @param devices the known devices
+     * @param configurations the device configurations
+     * @return the devices that were created or had changed data
+     */
+    public List<Device> updateDevices(List<Device> devices, List<DeviceConfiguration> configurations) {
+
+        List<Device> changedDevices = new ArrayList<>();
+        Map<String, Device> devicesByRfAddress = new HashMap<>();
+        for (Device device : devices) {
+            devicesByRfAddress.put(device.getRFAddress().toUpperCase(), device);
+        }
 
         byte[] decodedRawMessage = Base64.decodeBase64(getPayload().getBytes());
 
@@ -60,29 +77,24 @@ public final class L_Message extends Message {
         while (tokenizer.hasMoreElements()) {
             byte[] token = tokenizer.nextElement();
             String rfAddress = Utils.toHex(token[0] & 0xFF, token[1] & 0xFF, token[2] & 0xFF);
-            // logger.debug("token: "+token+" rfaddress: "+rfAddress);
-
-            Device foundDevice = null;
-            for (Device device : devices) {
-                // logger.debug(device.getRFAddress().toUpperCase()+ " vs "+rfAddress);
-                if (device.getRFAddress().toUpperCase().equals(rfAddress)) {
-                    // logger.debug("Updating device..."+rfAddress);
-                    foundDevice = device;
-                }
-            }
+
+            Device foundDevice = devicesByRfAddress.get(rfAddress);
             if (foundDevice != null) {
-                foundDevice = Device.update(token, configurations, foundDevice);
-                // devices.remove(token);
-                // devices.add(foundDevice);
+                if (foundDevice.isStatusDataChanged(token)) {
+                    Device.update(token, configurations, foundDevice);
+                    changedDevices.add(foundDevice);
+                }
             } else {
                 Device tempDevice = Device.create(token, configurations);
                 if (tempDevice != null) {
                     devices.add(tempDevice);
+                    devicesByRfAddress.put(rfAddress, tempDevice);
+                    changedDevices.add(tempDevice);
                 }
             }
         }
 
-        return devices;
+        return changedDevices;
     }
 
     @Override
@@ -30,7 +30,7 @@ public abstract class Message {
 
     public abstract MessageType getType();
 
-    protected final String getPayload() {
+    public final String getPayload() {
         return raw.substring(2, raw.length());
     }
 }
@@ -27,10 +27,12 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -67,10 +69,18 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_XGW3000);
 
+    private static final String HOME_DEVICES_FILTER = "(type=SuperVision)";
+
     private static final Pattern IP_PATTERN = Pattern
             .compile("^(([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\.){3}([01]?\\d\\d?|2[0-4]\\d|25[0-5])$");
 
     protected final int POLLING_PERIOD = 15; // in seconds
+    // the state of all appliances is polled on a long interval only, as their changes are notified by multicast
+    protected final int STATE_POLLING_PERIOD = 300; // in seconds
+    // delay to coalesce the multicast events of an appliance into one refresh of its state
+    protected final int EVENT_REFRESH_DELAY = 1000; // in milliseconds
+    protected final int MULTICAST_TIMEOUT = 1000; // in milliseconds
+    protected final int MULTICAST_RETRY_DELAY = 5000; // in milliseconds
     protected final int JSON_RPC_PORT = 2810;
     protected final String JSON_RPC_MULTICAST_IP1 = "239.255.68.139";
     protected final String JSON_RPC_MULTICAST_IP2 = "224.255.68.139";
@@ -85,7 +95,18 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
     protected ScheduledFuture<?> pollingJob;
     protected ScheduledFuture<?> eventListenerJob;
 
-    protected List<HomeDevice> previousHomeDevices = new CopyOnWriteArrayList<HomeDevice>();
+    protected Map<String, HomeDevice> previousHomeDevices = new HashMap<String, HomeDevice>();
+
+    // UIDs of the appliances whose state has to be refreshed, following a multicast event
+    protected Set<String> pendingStateRefreshes = ConcurrentHashMap.newKeySet();
+    protected ScheduledFuture<?> stateRefreshJob;
+    // whether a state refresh is scheduled or running, guarded by this
+    private boolean stateRefreshScheduled = false;
+    private long lastStatePolling = 0;
+
+    // JSON-RPC batch requests are tried first, and no longer used once the gateway answered a batch request
+    // with something else than a batch response
+    private boolean batchSupported = true;
 
     protected URL url;
     protected Map<String, String> headers;
@@ -147,6 +168,17 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         public String access;
     }
 
+    // A method to invoke in a JSON-RPC batch request
+    protected static class RPCCall {
+        public final String methodName;
+        public final Object[] args;
+
+        RPCCall(String methodName, Object[] args) {
+            this.methodName = methodName;
+            this.args = args;
+        }
+    }
+
     public MieleBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -189,9 +221,27 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         public void run() {
             if (IP_PATTERN.matcher((String) getConfig().get(HOST)).matches()) {
                 try {
-                    if (isReachable((String) getConfig().get(HOST))) {
+                    // The home devices are requested on every poll, and double as a check of the connection.
+                    // The state of the appliances is requested in the same (batch) request, on a long interval.
+                    List<RPCCall> calls = new ArrayList<RPCCall>();
+                    calls.add(new RPCCall("HDAccess/getHomeDevices", new Object[] { HOME_DEVICES_FILTER }));
+
+                    long now = System.currentTimeMillis();
+                    boolean pollStates = getThing().getStatus() == ThingStatus.ONLINE
+                            && now - lastStatePolling >= TimeUnit.SECONDS.toMillis(STATE_POLLING_PERIOD);
+                    List<String> applianceUIDs = pollStates ? getOnlineApplianceUIDs()
+                            : Collections.<String> emptyList();
+                    for (String UID : applianceUIDs) {
+                        calls.add(new RPCCall("HDAccess/getDeviceClassObjects", new Object[] { UID, true }));
+                    }
+
+                    List<JsonElement> results = invokeRPC(calls);
+                    JsonElement homeDevices = results.get(0);
+
+                    if (homeDevices != null) {
                         currentBridgeConnectionState = true;
                     } else {
+                        logger.debug("{} is not reachable", getConfig().get(HOST));
                         currentBridgeConnectionState = false;
                         if (lastBridgeConnectionState) {
                             lastBridgeConnectionState = false;
@@ -203,69 +253,18 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
                         logger.debug("Connection to Miele Gateway {} established.", getConfig().get(HOST));
                         lastBridgeConnectionState = true;
                         onConnectionResumed();
+                        // the state of the appliances may have changed while disconnected
+                        lastStatePolling = 0;
                     }
 
                     if (currentBridgeConnectionState) {
                         if (getThing().getStatus() == ThingStatus.ONLINE) {
-                            List<HomeDevice> currentHomeDevices = getHomeDevices();
-                            for (HomeDevice hd : currentHomeDevices) {
-                                boolean isExisting = false;
-                                for (HomeDevice phd : previousHomeDevices) {
-                                    if (phd.UID.equals(hd.UID)) {
-                                        isExisting = true;
-                                        break;
-                                    }
-                                }
-                                if (!isExisting) {
-                                    logger.info("A new appliance with ID '{}' has been added", hd.UID);
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onApplianceAdded(hd);
-                                    }
-                                }
-                            }
+                            updateHomeDevices(parseHomeDevices(homeDevices));
 
-                            for (HomeDevice hd : previousHomeDevices) {
-                                boolean isCurrent = false;
-                                for (HomeDevice chd : currentHomeDevices) {
-                                    if (chd.UID.equals(hd.UID)) {
-                                        isCurrent = true;
-                                        break;
-                                    }
-                                }
-                                if (!isCurrent) {
-                                    logger.info("The appliance with ID '{}' has been removed", hd);
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onApplianceRemoved(hd);
-                                    }
-                                }
-                            }
-
-                            previousHomeDevices = currentHomeDevices;
-
-                            for (Thing appliance : getThing().getThings()) {
-                                if (appliance.getStatus() == ThingStatus.ONLINE) {
-                                    String UID = "hdm:ZigBee:"
-                                            + (String) appliance.getConfiguration().getProperties().get(APPLIANCE_ID);
-
-                                    Object[] args = new Object[2];
-                                    args[0] = UID;
-                                    args[1] = true;
-                                    JsonElement result = invokeRPC("HDAccess/getDeviceClassObjects", args);
-
-                                    if (result != null) {
-                                        for (JsonElement obj : result.getAsJsonArray()) {
-                                            try {
-                                                DeviceClassObject dco = gson.fromJson(obj, DeviceClassObject.class);
-
-                                                for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                                    listener.onApplianceStateChanged(UID, dco);
-                                                }
-                                            } catch (Exception e) {
-                                                logger.error("An exception occurred while quering an appliance : '{}'",
-                                                        e.getMessage());
-                                            }
-                                        }
-                                    }
+                            if (pollStates) {
+                                lastStatePolling = now;
+                                for (int i = 0; i < applianceUIDs.size(); i++) {
+                                    onDeviceClassObjects(applianceUIDs.get(i), results.get(i + 1));
                                 }
                             }
                         }
@@ -278,25 +277,107 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
                 logger.error("Invalid IP address for the Miele@Home gateway : '{}'", getConfig().get(HOST));
             }
         }
+    };
+
+    /**
+     * Notifies the listeners of the appliances which have been added or removed since the last poll.
+     */
+    private void updateHomeDevices(Map<String, HomeDevice> currentHomeDevices) {
+        for (HomeDevice hd : currentHomeDevices.values()) {
+            if (!previousHomeDevices.containsKey(hd.UID)) {
+                logger.info("A new appliance with ID '{}' has been added", hd.UID);
+                for (ApplianceStatusListener listener : applianceStatusListeners) {
+                    listener.onApplianceAdded(hd);
+                }
+            }
+        }
+
+        for (HomeDevice hd : previousHomeDevices.values()) {
+            if (!currentHomeDevices.containsKey(hd.UID)) {
+                logger.info("The appliance with ID '{}' has been removed", hd);
+                for (ApplianceStatusListener listener : applianceStatusListeners) {
+                    listener.onApplianceRemoved(hd);
+                }
+            }
+        }
+
+        previousHomeDevices = currentHomeDevices;
+    }
+
+    private List<String> getOnlineApplianceUIDs() {
+        List<String> UIDs = new ArrayList<String>();
+        for (Thing appliance : getThing().getThings()) {
+            if (appliance.getStatus() == ThingStatus.ONLINE) {
+                UIDs.add("hdm:ZigBee:" + (String) appliance.getConfiguration().getProperties().get(APPLIANCE_ID));
+            }
+        }
+        return UIDs;
+    }
+
+    private void onDeviceClassObjects(String UID, JsonElement result) {
+        if (result != null) {
+            for (JsonElement obj : result.getAsJsonArray()) {
+                try {
+                    DeviceClassObject dco = gson.fromJson(obj, DeviceClassObject.class);
+
+                    for (ApplianceStatusListener listener : applianceStatusListeners) {
+                        listener.onApplianceStateChanged(UID, dco);
+                    }
+                } catch (Exception e) {
+                    logger.error("An exception occurred while quering an appliance : '{}'", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Schedules a refresh of the state of the given appliance. The refreshes requested within
+     * {@link #EVENT_REFRESH_DELAY} are done with a single request.
+     *
+     * @param UID the UID of the appliance
+     */
+    protected void requestStateRefresh(String UID) {
+        pendingStateRefreshes.add(UID);
+        synchronized (this) {
+            if (!stateRefreshScheduled) {
+                stateRefreshScheduled = true;
+                stateRefreshJob = scheduler.schedule(stateRefreshRunnable, EVENT_REFRESH_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
 
-        private boolean isReachable(String ipAddress) {
+    private Runnable stateRefreshRunnable = new Runnable() {
+
+        @Override
+        public void run() {
             try {
-                // note that InetAddress.isReachable is unreliable, see
-                // http://stackoverflow.com/questions/9922543/why-does-inetaddress-isreachable-return-false-when-i-can-ping-the-ip-address
-                // That's why we do an HTTP access instead
-
-                // If there is no connection, this line will fail
-                JsonElement result = invokeRPC("system.listMethods", null);
-                if (result == null) {
-                    logger.debug("{} is not reachable", ipAddress);
-                    return false;
+                List<String> applianceUIDs = new ArrayList<String>(pendingStateRefreshes);
+                pendingStateRefreshes.removeAll(applianceUIDs);
+                if (applianceUIDs.isEmpty() || getThing().getStatus() != ThingStatus.ONLINE) {
+                    return;
+                }
+
+                List<RPCCall> calls = new ArrayList<RPCCall>();
+                for (String UID : applianceUIDs) {
+                    calls.add(new RPCCall("HDAccess/getDeviceClassObjects", new Object[] { UID, true }));
+                }
+                List<JsonElement> results = invokeRPC(calls);
+                for (int i = 0; i < applianceUIDs.size(); i++) {
+                    onDeviceClassObjects(applianceUIDs.get(i), results.get(i));
                 }
             } catch (Exception e) {
-                return false;
+                logger.error("An exception occurred while refreshing an appliance :'{}'", e.getMessage());
+            } finally {
+                // refresh the appliances whose events arrived while we were refreshing
+                synchronized (MieleBridgeHandler.this) {
+                    if (stateRefreshScheduled && !pendingStateRefreshes.isEmpty()) {
+                        stateRefreshJob = scheduler.schedule(stateRefreshRunnable, EVENT_REFRESH_DELAY,
+                                TimeUnit.MILLISECONDS);
+                    } else {
+                        stateRefreshScheduled = false;
+                    }
+                }
             }
-
-            logger.debug("{} is reachable", ipAddress);
-            return true;
         }
     };
 
@@ -307,13 +388,10 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
             try {
                 String[] args = new String[1];
-                args[0] = "(type=SuperVision)";
+                args[0] = HOME_DEVICES_FILTER;
                 JsonElement result = invokeRPC("HDAccess/getHomeDevices", args);
 
-                for (JsonElement obj : result.getAsJsonArray()) {
-                    HomeDevice hd = gson.fromJson(obj, HomeDevice.class);
-                    devices.add(hd);
-                }
+                devices.addAll(parseHomeDevices(result).values());
             } catch (Exception e) {
                 logger.error("An exception occurred while getting the home devices :'{}'", e.getMessage());
             }
@@ -321,90 +399,111 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
         return devices;
     }
 
+    private Map<String, HomeDevice> parseHomeDevices(JsonElement result) {
+        Map<String, HomeDevice> devices = new LinkedHashMap<String, HomeDevice>();
+        for (JsonElement obj : result.getAsJsonArray()) {
+            HomeDevice hd = gson.fromJson(obj, HomeDevice.class);
+            devices.put(hd.UID, hd);
+        }
+        return devices;
+    }
+
     private Runnable eventListenerRunnable = new Runnable() {
 
         @Override
         public void run() {
             if (IP_PATTERN.matcher((String) getConfig().get(INTERFACE)).matches()) {
-                while (true) {
-                    // Get the address that we are going to connect to.
-                    InetAddress address1 = null;
-                    InetAddress address2 = null;
-                    try {
-                        address1 = InetAddress.getByName(JSON_RPC_MULTICAST_IP1);
-                        address2 = InetAddress.getByName(JSON_RPC_MULTICAST_IP2);
-                    } catch (UnknownHostException e) {
-                        logger.error("An exception occurred while setting up the multicast receiver : '{}'",
-                                e.getMessage());
-                    }
+                // Get the address that we are going to connect to.
+                InetAddress address1 = null;
+                InetAddress address2 = null;
+                try {
+                    address1 = InetAddress.getByName(JSON_RPC_MULTICAST_IP1);
+                    address2 = InetAddress.getByName(JSON_RPC_MULTICAST_IP2);
+                } catch (UnknownHostException e) {
+                    logger.error("An exception occurred while setting up the multicast receiver : '{}'",
+                            e.getMessage());
+                }
 
-                    byte[] buf = new byte[256];
-                    MulticastSocket clientSocket = null;
+                byte[] buf = new byte[256];
+                MulticastSocket clientSocket = null;
 
-                    while (true) {
-                        try {
-                            clientSocket = new MulticastSocket(JSON_RPC_PORT);
-                            clientSocket.setSoTimeout(100);
-
-                            clientSocket.setInterface(InetAddress.getByName((String) getConfig().get(INTERFACE)));
-                            clientSocket.joinGroup(address1);
-                            clientSocket.joinGroup(address2);
-
-                            while (true) {
-                                try {
-                                    buf = new byte[256];
-                                    DatagramPacket packet = new DatagramPacket(buf, buf.length);
-                                    clientSocket.receive(packet);
-
-                                    String event = new String(packet.getData());
-                                    logger.debug("Received a multicast event '{}' from '{}:{}'",
-                                            new Object[] { event, packet.getAddress(), packet.getPort() });
-
-                                    DeviceProperty dp = new DeviceProperty();
-                                    String uid = null;
-
-                                    String[] parts = StringUtils.split(event, "&");
-                                    for (String p : parts) {
-                                        String[] subparts = StringUtils.split(p, "=");
-                                        switch (subparts[0]) {
-                                            case "property": {
-                                                dp.Name = subparts[1];
-                                                break;
-                                            }
-                                            case "value": {
-                                                dp.Value = subparts[1];
-                                                break;
-                                            }
-                                            case "id": {
-                                                uid = subparts[1];
-                                                break;
-                                            }
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        clientSocket = new MulticastSocket(JSON_RPC_PORT);
+                        // receive() blocks until an event arrives, but returns regularly to check
+                        // whether the listener has been stopped
+                        clientSocket.setSoTimeout(MULTICAST_TIMEOUT);
+
+                        clientSocket.setInterface(InetAddress.getByName((String) getConfig().get(INTERFACE)));
+                        clientSocket.joinGroup(address1);
+                        clientSocket.joinGroup(address2);
+
+                        while (!Thread.currentThread().isInterrupted()) {
+                            try {
+                                DatagramPacket packet = new DatagramPacket(buf, buf.length);
+                                clientSocket.receive(packet);
+
+                                String event = new String(packet.getData(), 0, packet.getLength());
+                                logger.debug("Received a multicast event '{}' from '{}:{}'",
+                                        new Object[] { event, packet.getAddress(), packet.getPort() });
+
+                                DeviceProperty dp = new DeviceProperty();
+                                String uid = null;
+
+                                String[] parts = StringUtils.split(event, "&");
+                                for (String p : parts) {
+                                    String[] subparts = StringUtils.split(p, "=");
+                                    switch (subparts[0]) {
+                                        case "property": {
+                                            dp.Name = subparts[1];
+                                            break;
+                                        }
+                                        case "value": {
+                                            dp.Value = subparts[1];
+                                            break;
+                                        }
+                                        case "id": {
+                                            uid = subparts[1];
+                                            break;
                                         }
                                     }
+                                }
 
-                                    for (ApplianceStatusListener listener : applianceStatusListeners) {
-                                        listener.onAppliancePropertyChanged(uid, dp);
-                                    }
-                                } catch (SocketTimeoutException e) {
-                                    Thread.sleep(500);
+                                for (ApplianceStatusListener listener : applianceStatusListeners) {
+                                    listener.onAppliancePropertyChanged(uid, dp);
                                 }
-                            }
-                        } catch (Exception ex) {
-                            logger.error("An exception occurred while receiving multicast packets : '{}'",
-                                    ex.getMessage());
-                        }
 
-                        // restart the cycle with a clean slate
-                        try {
-                            if (clientSocket != null) {
-                                clientSocket.leaveGroup(address1);
-                                clientSocket.leaveGroup(address2);
+                                // the event only holds the changed property: refresh the whole state
+                                // of this appliance, which is otherwise only polled on a long interval
+                                if (uid != null) {
+                                    requestStateRefresh(uid);
+                                }
+                            } catch (SocketTimeoutException e) {
+                                // no event, check whether to stop
                             }
-                        } catch (IOException e) {
-                            logger.error("An exception occurred while leaving multicast group : '{}'", e.getMessage());
                         }
+                    } catch (Exception ex) {
+                        logger.error("An exception occurred while receiving multicast packets : '{}'", ex.getMessage());
+                    }
+
+                    // restart the cycle with a clean slate
+                    try {
                         if (clientSocket != null) {
-                            clientSocket.close();
+                            clientSocket.leaveGroup(address1);
+                            clientSocket.leaveGroup(address2);
+                        }
+                    } catch (IOException e) {
+                        logger.error("An exception occurred while leaving multicast group : '{}'", e.getMessage());
+                    }
+                    if (clientSocket != null) {
+                        clientSocket.close();
+                    }
+
+                    if (!Thread.currentThread().isInterrupted()) {
+                        try {
+                            Thread.sleep(MULTICAST_RETRY_DELAY);
+                        } catch (InterruptedException e) {
+                            return;
                         }
                     }
                 }
@@ -433,21 +532,10 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
 
         int id = rand.nextInt(Integer.MAX_VALUE);
 
-        JsonObject req = new JsonObject();
-        req.addProperty("jsonrpc", "2.0");
-        req.addProperty("id", id);
-        req.addProperty("method", methodName);
+        JsonObject req = createRequest(id, methodName, args);
 
         JsonElement result = null;
 
-        JsonArray params = new JsonArray();
-        if (args != null) {
-            for (Object o : args) {
-                params.add(gson.toJsonTree(o));
-            }
-        }
-        req.add("params", params);
-
         String requestData = req.toString();
         String responseData = null;
         try {
@@ -461,22 +549,97 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
             JsonParser parser = new JsonParser();
             JsonObject resp = (JsonObject) parser.parse(new StringReader(responseData));
 
-            result = resp.get("result");
-            JsonElement error = resp.get("error");
-
-            if (error != null && !error.isJsonNull()) {
-                if (error.isJsonPrimitive()) {
-                    logger.error("A remote exception occurred : '{}'", error.getAsString());
-                } else if (error.isJsonObject()) {
-                    JsonObject o = error.getAsJsonObject();
-                    Integer code = (o.has("code") ? o.get("code").getAsInt() : null);
-                    String message = (o.has("message") ? o.get("message").getAsString() : null);
-                    String data = (o.has("data") ? (o.get("data") instanceof JsonObject ? o.get("data").toString()
-                            : o.get("data").getAsString()) : null);
-                    logger.error("A remote exception occurred : '{}':'{}':'{}'", new Object[] { code, message, data });
-                } else {
-                    logger.error("An unknown remote exception occurred : '{}'", error.toString());
+            result = getResult(resp);
+        }
+
+        return result;
+    }
+
+    /**
+     * Invokes several methods with a single JSON-RPC batch request, or one by one if the gateway
+     * does not support batch requests.
+     *
+     * @param calls the methods to invoke
+     * @return the results of the methods, in the same order (null for a method which failed)
+     */
+    protected List<JsonElement> invokeRPC(List<RPCCall> calls) {
+        List<JsonElement> results = new ArrayList<JsonElement>(Collections.<JsonElement> nCopies(calls.size(), null));
+
+        if (calls.size() > 1 && batchSupported) {
+            // consecutive ids, to match the responses (which may come in any order) with the calls
+            int firstId = rand.nextInt(Integer.MAX_VALUE - calls.size());
+
+            JsonArray batch = new JsonArray();
+            for (int i = 0; i < calls.size(); i++) {
+                batch.add(createRequest(firstId + i, calls.get(i).methodName, calls.get(i).args));
+            }
+
+            String requestData = batch.toString();
+            try {
+                String responseData = post(url, headers, requestData);
+                logger.debug("The request '{}' yields '{}'", requestData, responseData);
+                JsonElement resp = new JsonParser().parse(new StringReader(responseData));
+                if (resp.isJsonArray()) {
+                    for (JsonElement response : resp.getAsJsonArray()) {
+                        JsonObject o = response.getAsJsonObject();
+                        if (o.has("id") && !o.get("id").isJsonNull()) {
+                            int index = o.get("id").getAsInt() - firstId;
+                            if (index >= 0 && index < calls.size()) {
+                                results.set(index, getResult(o));
+                            }
+                        }
+                    }
+                    return results;
+                } else if (resp.isJsonObject()) {
+                    // the gateway answered with a single response (e.g. an 'Invalid Request' error), so it does not
+                    // handle batch requests
+                    logger.debug("The Miele gateway does not support JSON-RPC batch requests : '{}'", responseData);
+                    batchSupported = false;
                 }
+            } catch (Exception e) {
+                // the batch request is tried again with the next calls
+                logger.debug("An exception occurred while posting a batch request : '{}'", e.getMessage());
+            }
+        }
+
+        for (int i = 0; i < calls.size(); i++) {
+            results.set(i, invokeRPC(calls.get(i).methodName, calls.get(i).args));
+        }
+        return results;
+    }
+
+    private JsonObject createRequest(int id, String methodName, Object[] args) {
+        JsonObject req = new JsonObject();
+        req.addProperty("jsonrpc", "2.0");
+        req.addProperty("id", id);
+        req.addProperty("method", methodName);
+
+        JsonArray params = new JsonArray();
+        if (args != null) {
+            for (Object o : args) {
+                params.add(gson.toJsonTree(o));
+            }
+        }
+        req.add("params", params);
+        return req;
+    }
+
+    private JsonElement getResult(JsonObject resp) {
+        JsonElement result = resp.get("result");
+        JsonElement error = resp.get("error");
+
+        if (error != null && !error.isJsonNull()) {
+            if (error.isJsonPrimitive()) {
+                logger.error("A remote exception occurred : '{}'", error.getAsString());
+            } else if (error.isJsonObject()) {
+                JsonObject o = error.getAsJsonObject();
+                Integer code = (o.has("code") ? o.get("code").getAsInt() : null);
+                String message = (o.has("message") ? o.get("message").getAsString() : null);
+                String data = (o.has("data") ? (o.get("data") instanceof JsonObject ? o.get("data").toString()
+                        : o.get("data").getAsString()) : null);
+                logger.error("A remote exception occurred : '{}':'{}':'{}'", new Object[] { code, message, data });
+            } else {
+                logger.error("An unknown remote exception occurred : '{}'", error.toString());
             }
         }
 
@@ -623,5 +786,17 @@ public class MieleBridgeHandler extends BaseBridgeHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
+        if (eventListenerJob != null) {
+            eventListenerJob.cancel(true);
+            eventListenerJob = null;
+        }
+        synchronized (this) {
+            if (stateRefreshJob != null) {
+                stateRefreshJob.cancel(true);
+                stateRefreshJob = null;
+            }
+            stateRefreshScheduled = false;
+            pendingStateRefreshes.clear();
+        }
     }
 }
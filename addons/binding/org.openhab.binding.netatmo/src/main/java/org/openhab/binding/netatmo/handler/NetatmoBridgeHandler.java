@@ -9,6 +9,14 @@
 package org.openhab.binding.netatmo.handler;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.oltu.oauth2.client.request.OAuthClientRequest;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -27,8 +35,12 @@ import io.swagger.client.api.StationApi;
 import io.swagger.client.api.ThermostatApi;
 import io.swagger.client.auth.OAuth;
 import io.swagger.client.auth.OAuthFlow;
+import io.swagger.client.model.NAMain;
+import io.swagger.client.model.NAPlug;
 import io.swagger.client.model.NAStationDataBody;
+import io.swagger.client.model.NAStationDataResponse;
 import io.swagger.client.model.NAThermostatDataBody;
+import io.swagger.client.model.NAThermostatDataResponse;
 import retrofit.RestAdapter.LogLevel;
 import retrofit.RetrofitError;
 
@@ -37,10 +49,23 @@ import retrofit.RetrofitError;
  * to the framework. The devices and modules uses the
  * {@link NetatmoBridgeHandler} to request informations about their status
  *
+ * The bridge owns the refresh of the devices: each data endpoint (stations,
+ * thermostats) is fetched once for all the devices of the account and its body
+ * is cached until the devices are expected to have uploaded new measurements
+ * (every 10 minutes). The fetched data is then dispatched to the device
+ * handlers registered for its device ids.
+ *
  * @author Gaël L'hopital - Initial contribution OH2 version
  *
  */
 public class NetatmoBridgeHandler extends BaseBridgeHandler {
+    // Netatmo devices upload their measurements every 10 minutes
+    private static final long MEASUREMENT_INTERVAL_S = 600;
+    // Delay after an expected upload before fetching the data, as the upload itself takes some time
+    private static final long UPLOAD_MARGIN_S = 30;
+    private static final long MIN_FETCH_INTERVAL_S = 30;
+    private static final long DEFAULT_REFRESH_INTERVAL_MS = 600000;
+
     private Logger logger = LoggerFactory.getLogger(NetatmoBridgeHandler.class);
     private NetatmoBridgeConfiguration configuration;
     private ApiClient apiClient;
@@ -48,6 +73,14 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
     private ThermostatApi thermostatApi = null;
     private PartnerApi partnerApi = null;
 
+    // Device and module handlers by (lower case) equipment id
+    private final Map<String, NetatmoDeviceHandler<?>> deviceHandlers = new ConcurrentHashMap<>();
+    private final Map<String, NetatmoModuleHandler<?>> moduleHandlers = new ConcurrentHashMap<>();
+
+    private final CachedData<NAStationDataBody, NAMain> stationsData = new CachedData<>();
+    private final CachedData<NAThermostatDataBody, NAPlug> thermostatsData = new CachedData<>();
+    private ScheduledFuture<?> refreshJob;
+
     public NetatmoBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -73,6 +106,16 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
         super.initialize();
     }
 
+    @Override
+    public synchronized void dispose() {
+        if (refreshJob != null) {
+            refreshJob.cancel(true);
+            refreshJob = null;
+        }
+        stationsData.clear();
+        thermostatsData.clear();
+    }
+
     // We'll use TrustingOkHttpClient because Netatmo certificate is a StartTTLS
     // not trusted by default java certificate control mechanism
     private void initializeApiClient() throws RetrofitError {
@@ -132,26 +175,262 @@ public class NetatmoBridgeHandler extends BaseBridgeHandler {
         return partnerApi;
     }
 
-    public NAStationDataBody getStationsDataBody(String equipmentId) {
-        if (getStationApi() != null) {
-            try {
-                return getStationApi().getstationsdata(equipmentId).getBody();
-            } catch (Exception e) {
-                logger.error("An error occurred while calling station API : {}", e.getMessage());
+    /**
+     * Registers the handler of a device, to be updated each time the data of the device is fetched.
+     */
+    void registerDeviceHandler(String equipmentId, NetatmoDeviceHandler<?> handler) {
+        deviceHandlers.put(equipmentId.toLowerCase(), handler);
+    }
+
+    void unregisterDeviceHandler(String equipmentId, NetatmoDeviceHandler<?> handler) {
+        deviceHandlers.remove(equipmentId.toLowerCase(), handler);
+    }
+
+    /**
+     * Registers the handler of a module, to be updated with the data of its parent device.
+     */
+    void registerModuleHandler(String equipmentId, NetatmoModuleHandler<?> handler) {
+        moduleHandlers.put(equipmentId.toLowerCase(), handler);
+    }
+
+    void unregisterModuleHandler(String equipmentId, NetatmoModuleHandler<?> handler) {
+        moduleHandlers.remove(equipmentId.toLowerCase(), handler);
+    }
+
+    NetatmoModuleHandler<?> getModuleHandler(String equipmentId) {
+        return moduleHandlers.get(equipmentId.toLowerCase());
+    }
+
+    /**
+     * Discards the cached data of the device, e.g. after a command has changed it, and updates its handler.
+     */
+    void requestDeviceRefresh(String equipmentId) {
+        String deviceId = equipmentId.toLowerCase();
+        synchronized (this) {
+            stationsData.invalidate(deviceId);
+            thermostatsData.invalidate(deviceId);
+        }
+        NetatmoDeviceHandler<?> handler = deviceHandlers.get(deviceId);
+        if (handler != null) {
+            handler.updateChannels(deviceId);
+        }
+    }
+
+    /**
+     * Returns the stations data of the given device (only), or of all the devices of the account if the
+     * equipment id is null. The data is served from the cache while no new measurements are expected.
+     */
+    public synchronized NAStationDataBody getStationsDataBody(String equipmentId) {
+        NAStationDataBody body = fetchStationsData();
+        if (body == null || equipmentId == null) {
+            return body;
+        }
+        NAMain device = stationsData.getDevice(equipmentId);
+        if (device == null) {
+            return null;
+        }
+        NAStationDataBody deviceBody = new NAStationDataBody();
+        deviceBody.setDevices(Collections.singletonList(device));
+        deviceBody.setUser(body.getUser());
+        return deviceBody;
+    }
+
+    /**
+     * Returns the thermostats data of the given device (only), or of all the devices of the account if the
+     * equipment id is null. The data is served from the cache while no new measurements are expected.
+     */
+    public synchronized NAThermostatDataBody getThermostatsDataBody(String equipmentId) {
+        NAThermostatDataBody body = fetchThermostatsData();
+        if (body == null || equipmentId == null) {
+            return body;
+        }
+        NAPlug device = thermostatsData.getDevice(equipmentId);
+        if (device == null) {
+            return null;
+        }
+        NAThermostatDataBody deviceBody = new NAThermostatDataBody();
+        deviceBody.setDevices(Collections.singletonList(device));
+        deviceBody.setUser(body.getUser());
+        return deviceBody;
+    }
+
+    private synchronized NAStationDataBody fetchStationsData() {
+        long now = System.currentTimeMillis();
+        stationsData.used = true;
+        if (stationsData.isValid(now) || getStationApi() == null) {
+            return stationsData.body;
+        }
+        try {
+            NAStationDataResponse response = getStationApi().getstationsdata(null);
+            NAStationDataBody body = response.getBody();
+            Map<String, NAMain> devices = new HashMap<>();
+            long delay = Long.MAX_VALUE;
+            for (NAMain device : body.getDevices()) {
+                devices.put(device.getId().toLowerCase(), device);
+                delay = Math.min(delay, getDataDelay(response.getTimeServer(), device.getLastStatusStore()));
+            }
+            if (devices.isEmpty()) {
+                delay = getFallbackDelay();
             }
+            stationsData.update(body, devices, now, delay);
+            return body;
+        } catch (Exception e) {
+            logger.error("An error occurred while calling station API : {}", e.getMessage());
+            stationsData.retryAfter(now, getFallbackDelay());
+            return null;
+        } finally {
+            scheduleRefresh();
         }
-        return null;
     }
 
-    public NAThermostatDataBody getThermostatsDataBody(String equipmentId) {
-        if (getThermostatApi() != null) {
-            try {
-                return getThermostatApi().getthermostatsdata(equipmentId).getBody();
-            } catch (Exception e) {
-                logger.error("An error occurred while calling thermostat API : {}", e.getMessage());
+    private synchronized NAThermostatDataBody fetchThermostatsData() {
+        long now = System.currentTimeMillis();
+        thermostatsData.used = true;
+        if (thermostatsData.isValid(now) || getThermostatApi() == null) {
+            return thermostatsData.body;
+        }
+        try {
+            NAThermostatDataResponse response = getThermostatApi().getthermostatsdata(null);
+            NAThermostatDataBody body = response.getBody();
+            Map<String, NAPlug> devices = new HashMap<>();
+            long delay = Long.MAX_VALUE;
+            for (NAPlug device : body.getDevices()) {
+                devices.put(device.getId().toLowerCase(), device);
+                delay = Math.min(delay, getDataDelay(response.getTimeServer(), device.getLastStatusStore()));
             }
+            if (devices.isEmpty()) {
+                delay = getFallbackDelay();
+            }
+            thermostatsData.update(body, devices, now, delay);
+            return body;
+        } catch (Exception e) {
+            logger.error("An error occurred while calling thermostat API : {}", e.getMessage());
+            thermostatsData.retryAfter(now, getFallbackDelay());
+            return null;
+        } finally {
+            scheduleRefresh();
+        }
+    }
+
+    /**
+     * Computes the delay (in seconds) until the next measurements of a device are expected to be available,
+     * from its last upload and the time of the Netatmo server (so that the local clock does not matter).
+     * If the device is late (e.g. it is offline), the refresh interval of the device handlers is used instead.
+     */
+    private long getDataDelay(Integer timeServer, Integer lastStatusStore) {
+        if (timeServer == null || lastStatusStore == null) {
+            return getFallbackDelay();
+        }
+        long delay = lastStatusStore + MEASUREMENT_INTERVAL_S + UPLOAD_MARGIN_S - timeServer;
+        return delay > 0 ? Math.max(delay, MIN_FETCH_INTERVAL_S) : getFallbackDelay();
+    }
+
+    // The shortest refresh interval of the device handlers, in seconds
+    private long getFallbackDelay() {
+        long refreshInterval = Long.MAX_VALUE;
+        for (NetatmoDeviceHandler<?> handler : deviceHandlers.values()) {
+            if (handler.getConfiguration() != null && handler.getConfiguration().refreshInterval > 0) {
+                refreshInterval = Math.min(refreshInterval, handler.getConfiguration().refreshInterval);
+            }
+        }
+        if (refreshInterval == Long.MAX_VALUE) {
+            refreshInterval = DEFAULT_REFRESH_INTERVAL_MS;
+        }
+        return Math.max(TimeUnit.MILLISECONDS.toSeconds(refreshInterval), MIN_FETCH_INTERVAL_S);
+    }
+
+    /**
+     * Schedules the next refresh when the first of the cached endpoints expires.
+     */
+    private synchronized void scheduleRefresh() {
+        long expiresAt = Long.MAX_VALUE;
+        if (stationsData.used) {
+            expiresAt = Math.min(expiresAt, stationsData.expiresAt);
+        }
+        if (thermostatsData.used) {
+            expiresAt = Math.min(expiresAt, thermostatsData.expiresAt);
+        }
+        if (expiresAt == Long.MAX_VALUE) {
+            return;
+        }
+        if (refreshJob != null) {
+            refreshJob.cancel(false);
+        }
+        long delay = Math.max(expiresAt - System.currentTimeMillis(), 0);
+        logger.debug("Scheduling next refresh of Netatmo data in {} s", TimeUnit.MILLISECONDS.toSeconds(delay));
+        refreshJob = scheduler.schedule(new Runnable() {
+            @Override
+            public void run() {
+                refresh();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Fetches the expired endpoints and updates the handlers of their devices.
+     */
+    private void refresh() {
+        List<String> updatedDevices = new ArrayList<>();
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            if (stationsData.used && !stationsData.isValid(now) && fetchStationsData() != null) {
+                updatedDevices.addAll(stationsData.devices.keySet());
+            }
+            if (thermostatsData.used && !thermostatsData.isValid(now) && fetchThermostatsData() != null) {
+                updatedDevices.addAll(thermostatsData.devices.keySet());
+            }
+        }
+        for (String deviceId : updatedDevices) {
+            NetatmoDeviceHandler<?> handler = deviceHandlers.get(deviceId);
+            if (handler != null) {
+                handler.updateChannels(deviceId);
+            }
+        }
+        scheduleRefresh();
+    }
+
+    /**
+     * The body of a data endpoint and its devices by id. The body is valid until new measurements
+     * are expected from one of its devices.
+     */
+    private static class CachedData<B, D> {
+        private B body;
+        private Map<String, D> devices = Collections.emptyMap();
+        private long expiresAt;
+        // The endpoint has been requested and is refreshed by the bridge
+        private boolean used;
+
+        boolean isValid(long now) {
+            return body != null && now < expiresAt;
+        }
+
+        D getDevice(String equipmentId) {
+            return devices.get(equipmentId.toLowerCase());
+        }
+
+        void update(B body, Map<String, D> devices, long now, long delay) {
+            this.body = body;
+            this.devices = devices;
+            this.expiresAt = now + TimeUnit.SECONDS.toMillis(delay);
+        }
+
+        // Keeps serving the last body (if any) until the next attempt
+        void retryAfter(long now, long delay) {
+            this.expiresAt = now + TimeUnit.SECONDS.toMillis(delay);
+        }
+
+        void invalidate(String deviceId) {
+            if (devices.containsKey(deviceId)) {
+                expiresAt = 0;
+            }
+        }
+
+        void clear() {
+            body = null;
+            devices = Collections.emptyMap();
+            expiresAt = 0;
+            used = false;
         }
-        return null;
     }
 
 }
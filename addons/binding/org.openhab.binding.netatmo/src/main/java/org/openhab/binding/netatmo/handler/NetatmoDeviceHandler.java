@@ -10,18 +10,15 @@ package org.openhab.binding.netatmo.handler;
 
 import static org.openhab.binding.netatmo.NetatmoBindingConstants.*;
 
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.PointType;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
-import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.State;
 import org.openhab.binding.netatmo.config.NetatmoDeviceConfiguration;
-import org.openhab.binding.netatmo.config.NetatmoModuleConfiguration;
 import org.openhab.binding.netatmo.internal.ChannelTypeUtils;
 import org.openhab.binding.netatmo.internal.NADeviceAdapter;
 import org.openhab.binding.netatmo.internal.NAModuleAdapter;
@@ -32,7 +29,8 @@ import io.swagger.client.model.NAPlace;
 
 /**
  * {@link NetatmoDeviceHandler} is the handler for a given
- * device accessed through the Netatmo Bridge
+ * device accessed through the Netatmo Bridge. The device is refreshed
+ * by the bridge, each time new data is fetched for it.
  *
  * @author Gaël L'hopital - Initial contribution OH2 version
  *
@@ -42,7 +40,7 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
 
     protected NADeviceAdapter<?> device;
     private Logger logger = LoggerFactory.getLogger(NetatmoDeviceHandler.class);
-    private ScheduledFuture<?> refreshJob;
+    private NetatmoBridgeHandler bridgeHandler;
 
     public NetatmoDeviceHandler(Thing thing, Class<X> configurationClass) {
         super(thing, configurationClass);
@@ -57,13 +55,14 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
             if (getBridge().getStatus() == ThingStatus.ONLINE) {
                 logger.debug("setting device '{}' online", configuration.getEquipmentId());
                 updateStatus(ThingStatus.ONLINE);
-                logger.debug("scheduling update channel thread to run every {} ms", configuration.refreshInterval);
-                refreshJob = scheduler.scheduleWithFixedDelay(new Runnable() {
+                bridgeHandler = getBridgeHandler();
+                bridgeHandler.registerDeviceHandler(configuration.getEquipmentId(), this);
+                scheduler.execute(new Runnable() {
                     @Override
                     public void run() {
                         updateChannels(configuration.getEquipmentId());
                     }
-                }, 1, configuration.refreshInterval, TimeUnit.MILLISECONDS);
+                });
             } else {
                 logger.debug("setting device '{}' offline (bridge or thing offline)", configuration.getEquipmentId());
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.BRIDGE_OFFLINE);
@@ -77,9 +76,9 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
     @Override
     public void dispose() {
         logger.debug("Running dispose()");
-        if (refreshJob != null && !refreshJob.isCancelled()) {
-            refreshJob.cancel(true);
-            refreshJob = null;
+        if (bridgeHandler != null) {
+            bridgeHandler.unregisterDeviceHandler(configuration.getEquipmentId(), this);
+            bridgeHandler = null;
         }
     }
 
@@ -126,19 +125,11 @@ public abstract class NetatmoDeviceHandler<X extends NetatmoDeviceConfiguration>
 
     private void updateChildModules(String equipmentId) {
         logger.debug("Updating child modules of {}", equipmentId);
-        for (Thing handler : getBridge().getThings()) {
-            ThingHandler thingHandler = handler.getHandler();
-            if (thingHandler instanceof NetatmoModuleHandler) {
-                @SuppressWarnings("unchecked")
-                NetatmoModuleHandler<NetatmoModuleConfiguration> moduleHandler = (NetatmoModuleHandler<NetatmoModuleConfiguration>) thingHandler;
-                NetatmoModuleConfiguration moduleConfiguration = moduleHandler.configuration;
-                String parentId = moduleConfiguration.getParentId();
-                if (equipmentId.equalsIgnoreCase(parentId)) {
-                    String childId = moduleHandler.configuration.getEquipmentId();
-                    NAModuleAdapter module = device.getModules().get(childId);
-                    logger.debug("Updating child module {}", childId);
-                    moduleHandler.updateChannels(module);
-                }
+        for (Map.Entry<String, NAModuleAdapter> module : device.getModules().entrySet()) {
+            NetatmoModuleHandler<?> moduleHandler = getBridgeHandler().getModuleHandler(module.getKey());
+            if (moduleHandler != null) {
+                logger.debug("Updating child module {}", module.getKey());
+                moduleHandler.updateChannels(module.getValue());
             }
         }
     }
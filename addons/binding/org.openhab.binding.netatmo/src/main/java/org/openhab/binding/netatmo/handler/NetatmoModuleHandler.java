@@ -12,10 +12,7 @@ import static org.openhab.binding.netatmo.NetatmoBindingConstants.*;
 
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.thing.Thing;
-import org.eclipse.smarthome.core.thing.binding.ThingHandler;
-import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.binding.netatmo.config.NetatmoDeviceConfiguration;
 import org.openhab.binding.netatmo.config.NetatmoModuleConfiguration;
 import org.openhab.binding.netatmo.internal.ChannelTypeUtils;
 import org.openhab.binding.netatmo.internal.NAModuleAdapter;
@@ -36,6 +33,7 @@ public abstract class NetatmoModuleHandler<X extends NetatmoModuleConfiguration>
     private int batteryLow = 0;
     private int batteryMax = 1;
     protected NAModuleAdapter module;
+    private NetatmoBridgeHandler bridgeHandler;
 
     protected NetatmoModuleHandler(Thing thing, Class<X> configurationClass) {
         super(thing, configurationClass);
@@ -44,6 +42,20 @@ public abstract class NetatmoModuleHandler<X extends NetatmoModuleConfiguration>
     @Override
     public void initialize() {
         super.initialize();
+
+        // The module is updated by its parent device handler through the bridge
+        if (getBridge() != null && getBridge().getHandler() instanceof NetatmoBridgeHandler) {
+            bridgeHandler = getBridgeHandler();
+            bridgeHandler.registerModuleHandler(configuration.getEquipmentId(), this);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (bridgeHandler != null) {
+            bridgeHandler.unregisterModuleHandler(configuration.getEquipmentId(), this);
+            bridgeHandler = null;
+        }
     }
 
     private void initializeBatteryLevels() {
@@ -93,18 +105,7 @@ public abstract class NetatmoModuleHandler<X extends NetatmoModuleConfiguration>
 
     protected void requestParentRefresh() {
         logger.debug("Updating parent modules of {}", configuration.getEquipmentId());
-        for (Thing thing : getBridge().getThings()) {
-            ThingHandler thingHandler = thing.getHandler();
-            if (thingHandler instanceof NetatmoDeviceHandler) {
-                @SuppressWarnings("unchecked")
-                NetatmoDeviceHandler<NetatmoDeviceConfiguration> deviceHandler = (NetatmoDeviceHandler<NetatmoDeviceConfiguration>) thingHandler;
-                NetatmoDeviceConfiguration deviceConfiguration = deviceHandler.configuration;
-                if (deviceConfiguration.getEquipmentId().equalsIgnoreCase(configuration.getParentId())) {
-                    // I'm your father Luke
-                    thingHandler.handleCommand(null, RefreshType.REFRESH);
-                }
-            }
-        }
+        getBridgeHandler().requestDeviceRefresh(configuration.getParentId());
     }
 
 }
@@ -13,10 +13,9 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-import javax.xml.bind.DatatypeConverter;
-
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +23,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Class to handle Onkyo Album Arts.
  *
+ * BMP and JPEG album arts are sent by the receiver in hex encoded fragments, which are decoded as they arrive into a
+ * buffer reused for the following album arts.
+ *
  * @author Pauli Anttila - Initial contribution
  */
 public class OnkyoAlbumArt {
@@ -46,7 +48,9 @@ public class OnkyoAlbumArt {
         UNKNOWN;
     }
 
-    private StringBuilder albumArtStringBuilder = new StringBuilder();
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private ByteBuffer albumArtBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
     private ImageType imageType = ImageType.UNKNOWN;
     private State state = State.NOTSTARTED;
     String coverArtUrl = null;
@@ -60,7 +64,7 @@ public class OnkyoAlbumArt {
     }
 
     public void clearAlbumArt() {
-        albumArtStringBuilder.setLength(0);
+        albumArtBuffer.clear();
         imageType = ImageType.UNKNOWN;
         state = State.NOTSTARTED;
         coverArtUrl = null;
@@ -86,7 +90,7 @@ public class OnkyoAlbumArt {
                     state = State.INVALID;
                 }
                 packetFlagStr = "Start";
-                albumArtStringBuilder.setLength(0);
+                albumArtBuffer.clear();
                 break;
             case '1':
                 packetFlagStr = "Next";
@@ -117,10 +121,12 @@ public class OnkyoAlbumArt {
             switch (imageType) {
                 case BMP:
                 case JPEG:
-                    String picData = data.substring(2, data.length());
-                    logger.debug("Received album art fragment in '{}' format, packet flag '{}', picData '{}'",
-                            imageType, packetFlagStr, picData);
-                    albumArtStringBuilder.append(picData);
+                    logger.debug("Received album art fragment in '{}' format, packet flag '{}', {} characters",
+                            imageType, packetFlagStr, data.length() - 2);
+                    if (!decodeFragment(data)) {
+                        state = State.INVALID;
+                        logger.debug("Received album art fragment with invalid data");
+                    }
                     break;
                 case URL:
                     coverArtUrl = data.substring(2);
@@ -145,7 +151,7 @@ public class OnkyoAlbumArt {
             switch (imageType) {
                 case BMP:
                 case JPEG:
-                    data = DatatypeConverter.parseHexBinary(albumArtStringBuilder.toString());
+                    data = Arrays.copyOf(albumArtBuffer.array(), albumArtBuffer.position());
                     break;
                 case URL:
                     data = downloadAlbumArt(coverArtUrl);
@@ -174,6 +180,42 @@ public class OnkyoAlbumArt {
         throw new IllegalArgumentException("Illegal Album Art");
     }
 
+    /**
+     * Decodes the hex encoded picture data of the fragment (after the image type and packet flag) into the album art
+     * buffer.
+     *
+     * @return false if the fragment contains invalid data
+     */
+    private boolean decodeFragment(String data) {
+        int length = data.length() - 2;
+        if (length % 2 != 0) {
+            return false;
+        }
+        ensureCapacity(length / 2);
+        for (int i = 2; i < data.length(); i += 2) {
+            int high = Character.digit(data.charAt(i), 16);
+            int low = Character.digit(data.charAt(i + 1), 16);
+            if (high < 0 || low < 0) {
+                return false;
+            }
+            albumArtBuffer.put((byte) ((high << 4) | low));
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int additionalBytes) {
+        if (albumArtBuffer.remaining() < additionalBytes) {
+            int capacity = albumArtBuffer.capacity();
+            while (capacity - albumArtBuffer.position() < additionalBytes) {
+                capacity *= 2;
+            }
+            ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
+            albumArtBuffer.flip();
+            newBuffer.put(albumArtBuffer);
+            albumArtBuffer = newBuffer;
+        }
+    }
+
     private byte[] downloadAlbumArt(String albumArtUrl) {
         try {
             URL url = new URL(albumArtUrl);
@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.onkyo.internal;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -143,13 +144,12 @@ public class OnkyoConnection {
         if (connectSocket()) {
             try {
 
-                String data = EiscpProtocol.createEiscpPdu(msg);
+                byte[] data = EiscpProtocol.createEiscpPdu(msg);
                 if (logger.isTraceEnabled()) {
-                    logger.trace("Sending {} bytes: {}", data.length(),
-                            DatatypeConverter.printHexBinary(data.toString().getBytes()));
+                    logger.trace("Sending {} bytes: {}", data.length, DatatypeConverter.printHexBinary(data));
                 }
 
-                outStream.writeBytes(data);
+                outStream.write(data);
                 outStream.flush();
             } catch (IOException ioException) {
                 logger.error("Error occurred when sending command: {}", ioException.getMessage());
@@ -187,7 +187,7 @@ public class OnkyoConnection {
 
                 // Get Input and Output streams
                 outStream = new DataOutputStream(eiscpSocket.getOutputStream());
-                inStream = new DataInputStream(eiscpSocket.getInputStream());
+                inStream = new DataInputStream(new BufferedInputStream(eiscpSocket.getInputStream()));
 
                 eiscpSocket.setSoTimeout(SOCKET_TIMEOUT);
                 outStream.flush();
@@ -8,6 +8,9 @@
  */
 package org.openhab.binding.onkyo.internal.eiscp;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Represents all possible eISCP commands.
  *
@@ -163,6 +166,28 @@ public enum EiscpCommand {
     private String command;
     private String value;
 
+    /**
+     * Commands by command string, first matching command in declaration order
+     */
+    private static final Map<String, EiscpCommand> COMMANDS = new HashMap<>();
+
+    /**
+     * Commands by command and value string
+     */
+    private static final Map<String, EiscpCommand> COMMANDS_AND_VALUES = new HashMap<>();
+
+    static {
+        for (EiscpCommand candidate : values()) {
+            if (!COMMANDS.containsKey(candidate.command)) {
+                COMMANDS.put(candidate.command, candidate);
+            }
+            String key = candidate.command + candidate.value;
+            if (!COMMANDS_AND_VALUES.containsKey(key)) {
+                COMMANDS_AND_VALUES.put(key, candidate);
+            }
+        }
+    }
+
     private EiscpCommand(String command, String value) {
         this.command = command;
         this.value = value;
@@ -195,10 +220,9 @@ public enum EiscpCommand {
      * @return the commandName that is associated with the passed command.
      */
     public static EiscpCommand getCommandByCommandStr(String command) throws IllegalArgumentException {
-        for (EiscpCommand candidate : values()) {
-            if (candidate.getCommand().equals(command)) {
-                return candidate;
-            }
+        EiscpCommand candidate = COMMANDS.get(command);
+        if (candidate != null) {
+            return candidate;
         }
         throw new IllegalArgumentException("There is no matching commandName for command '" + command + "'");
     }
@@ -211,10 +235,11 @@ public enum EiscpCommand {
      */
     public static EiscpCommand getCommandByCommandAndValueStr(String command, String value)
             throws IllegalArgumentException {
-        for (EiscpCommand candidate : values()) {
-            if (candidate.getCommand().equals(command) && candidate.getValue().equals(value)) {
-                return candidate;
-            }
+        // all commands are 3 characters long, so the concatenation is unique
+        EiscpCommand candidate = command != null && command.length() == 3 ? COMMANDS_AND_VALUES.get(command + value)
+                : null;
+        if (candidate != null) {
+            return candidate;
         }
         throw new IllegalArgumentException(
                 "There is no matching commandName for command '" + command + "' and value '" + value + "'");
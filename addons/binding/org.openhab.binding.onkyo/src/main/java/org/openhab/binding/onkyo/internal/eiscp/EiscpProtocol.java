@@ -9,8 +9,10 @@
 package org.openhab.binding.onkyo.internal.eiscp;
 
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -20,73 +22,52 @@ import org.slf4j.LoggerFactory;
 /**
  * Class to handle Onkyo eISCP protocol.
  *
+ * An eISCP packet consists of a 16 byte header ("ISCP", big endian header size and data size, version and 3 reserved
+ * bytes) followed by the ISCP message ("!1", 3 character command, value and end characters).
+ *
  * @author Pauli Anttila - Initial contribution
  */
 public class EiscpProtocol {
 
     private static final Logger logger = LoggerFactory.getLogger(EiscpProtocol.class);
 
+    private static final int HEADER_SIZE = 16;
+    private static final byte VERSION = 0x01;
+
     /**
      * Wraps a command in a eISCP data message (data characters).
      *
      * @param msg
      *            eISCP command.
-     * @return String holding the full eISCP message packet
+     * @return the full eISCP message packet
      **/
-    public static String createEiscpPdu(EiscpMessage msg) {
-
-        String data = msg.getCommand() + msg.getValue();
-        StringBuilder sb = new StringBuilder();
-        int eiscpDataSize = 2 + data.length() + 1; // this is the eISCP data size
-
-        /*
-         * This is where I construct the entire message character by character.
-         * Each char is represented by a 2 digit hex value
-         */
-        sb.append("ISCP");
-        // the following are all in HEX representing one char
-
-        // 4 char Big Endian Header
-        sb.append((char) 0x00);
-        sb.append((char) 0x00);
-        sb.append((char) 0x00);
-        sb.append((char) 0x10);
-
-        // 4 char Big Endian data size
-        sb.append((char) ((eiscpDataSize >> 24) & 0xFF));
-        sb.append((char) ((eiscpDataSize >> 16) & 0xFF));
-        sb.append((char) ((eiscpDataSize >> 8) & 0xFF));
-        sb.append((char) (eiscpDataSize & 0xFF));
-
-        // eISCP version = "01";
-        sb.append((char) 0x01);
-
-        // 3 chars reserved = "00"+"00"+"00";
-        sb.append((char) 0x00);
-        sb.append((char) 0x00);
-        sb.append((char) 0x00);
-
-        // eISCP data
-
-        // Start Character
-        sb.append("!");
-
-        // eISCP data - unit type char '1' is receiver
-        sb.append("1");
-
-        // eISCP data - 3 char command and param ie PWR01
-        sb.append(data);
-
+    public static byte[] createEiscpPdu(EiscpMessage msg) {
+
+        byte[] data = (msg.getCommand() + msg.getValue()).getBytes(StandardCharsets.ISO_8859_1);
+        int eiscpDataSize = 2 + data.length + 1; // this is the eISCP data size
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + eiscpDataSize);
+        buffer.put((byte) 'I').put((byte) 'S').put((byte) 'C').put((byte) 'P');
+        // big endian header size and data size
+        buffer.putInt(HEADER_SIZE);
+        buffer.putInt(eiscpDataSize);
+        // eISCP version and 3 reserved bytes
+        buffer.put(VERSION).put((byte) 0x00).put((byte) 0x00).put((byte) 0x00);
+
+        // start character and unit type char '1' (receiver)
+        buffer.put((byte) '!').put((byte) '1');
+        // 3 char command and param ie PWR01
+        buffer.put(data);
         // msg end - EOF
-        sb.append((char) 0x0D);
+        buffer.put((byte) 0x0D);
 
+        byte[] pdu = buffer.array();
         if (logger.isTraceEnabled()) {
-            String d = sb.toString();
-            logger.trace("Created eISCP message: {} -> {}", DatatypeConverter.printHexBinary(d.getBytes()),
-                    toPrintable(d));
+            logger.trace("Created eISCP message: {} -> {}", DatatypeConverter.printHexBinary(pdu),
+                    toPrintable(new String(pdu, StandardCharsets.ISO_8859_1)));
         }
 
-        return sb.toString();
+        return pdu;
     }
 
     /**
@@ -101,6 +82,8 @@ public class EiscpProtocol {
     public static EiscpMessage getNextMessage(DataInputStream stream)
             throws IOException, InterruptedException, EiscpException {
 
+        final byte[] header = new byte[HEADER_SIZE];
+
         while (true) {
 
             // 1st 4 chars are the lead in
@@ -121,70 +104,42 @@ public class EiscpProtocol {
                 continue;
             }
 
-            // header size
-            final int headerSize = (stream.readByte() & 0xFF) << 24 | (stream.readByte() & 0xFF) << 16
-                    | (stream.readByte() & 0xFF) << 8 | (stream.readByte() & 0xFF);
+            // rest of the header: header size, data size, version and 3 reserved bytes
+            stream.readFully(header, 4, HEADER_SIZE - 4);
+            final ByteBuffer headerBuffer = ByteBuffer.wrap(header, 4, HEADER_SIZE - 4);
 
-            if (headerSize != 16) {
+            final int headerSize = headerBuffer.getInt();
+            if (headerSize != HEADER_SIZE) {
                 throw new EiscpException("Unsupported header size: " + headerSize);
             }
 
-            // data size
-            final int dataSize = (stream.readByte() & 0xFF) << 24 | (stream.readByte() & 0xFF) << 16
-                    | (stream.readByte() & 0xFF) << 8 | (stream.readByte() & 0xFF);
-
+            final int dataSize = headerBuffer.getInt();
             logger.trace("Data size: {}", dataSize);
 
-            // version
-            final byte versionChar = stream.readByte();
-            if (versionChar != 1) {
+            final byte versionChar = headerBuffer.get();
+            if (versionChar != VERSION) {
                 throw new EiscpException("Unsupported version " + String.valueOf(versionChar));
             }
 
-            // skip 3 reserved bytes
-            byte b1 = stream.readByte();
-            byte b2 = stream.readByte();
-            byte b3 = stream.readByte();
-
-            byte[] data = new byte[dataSize];
-            int bytesReceived = 0;
+            if (dataSize < 3) {
+                throw new EiscpException("Illegal data size " + dataSize);
+            }
 
+            final byte[] data = new byte[dataSize];
             try {
-                while (bytesReceived < dataSize) {
-                    bytesReceived = bytesReceived + stream.read(data, bytesReceived, data.length - bytesReceived);
-
-                    if (logger.isTraceEnabled()) {
-                        // create header for debugging purposes
-                        final StringBuilder sb = new StringBuilder();
-                        sb.append("ISCP");
-                        sb.append((char) 0x00);
-                        sb.append((char) 0x00);
-                        sb.append((char) 0x00);
-                        sb.append((char) 0x10);
-                        // 4 char Big Endian data size
-                        sb.append((char) ((dataSize >> 24) & 0xFF));
-                        sb.append((char) ((dataSize >> 16) & 0xFF));
-                        sb.append((char) ((dataSize >> 8) & 0xFF));
-                        sb.append((char) (dataSize & 0xFF));
-                        // eiscp version;
-                        sb.append((char) versionChar);
-                        // reserved bytes
-                        sb.append((char) b1).append((char) b2).append((char) b3);
-                        // data
-                        sb.append(new String(data, "UTF-8"));
-                        logger.trace("Received eISCP message, {} -> {}",
-                                DatatypeConverter.printHexBinary(sb.toString().getBytes()), toPrintable(sb.toString()));
-                    }
+                stream.readFully(data);
+            } catch (EOFException e) {
+                logger.debug("Received bad data: '{}'", toPrintable(new String(data, StandardCharsets.UTF_8)));
+                throw new EiscpException("Data missing, expected " + dataSize + " bytes");
+            }
 
-                }
-            } catch (Throwable t) {
-                if (bytesReceived != dataSize) {
-                    logger.debug("Received bad data: '{}'", toPrintable(new String(data, "UTF-8")));
-                    throw new EiscpException(
-                            "Data missing, expected + " + dataSize + " received " + bytesReceived + " bytes");
-                } else {
-                    throw t;
-                }
+            if (logger.isTraceEnabled()) {
+                header[0] = 'I';
+                header[1] = 'S';
+                header[2] = 'C';
+                header[3] = 'P';
+                logger.trace("Received eISCP message, {}{} -> {}", DatatypeConverter.printHexBinary(header),
+                        DatatypeConverter.printHexBinary(data), toPrintable(new String(data, StandardCharsets.UTF_8)));
             }
 
             // start char
@@ -209,14 +164,14 @@ public class EiscpProtocol {
             // that. But before that, proper junit test should be implement to be sure that it does not broke
             // anything.
 
-            if (data[dataSize - 5] == (byte) 0x1A && data[dataSize - 4] == '\n' && data[dataSize - 3] == '\n'
-                    && data[dataSize - 2] == '\r' && data[dataSize - 1] == '\n') {
+            if (dataSize >= 5 && data[dataSize - 5] == (byte) 0x1A && data[dataSize - 4] == '\n'
+                    && data[dataSize - 3] == '\n' && data[dataSize - 2] == '\r' && data[dataSize - 1] == '\n') {
 
                 // skip "[EOF][LF][LF][CR][LF]"
                 endBytes = 5;
 
-            } else if (data[dataSize - 4] == (byte) 0x1A && data[dataSize - 3] == '\r' && data[dataSize - 2] == '\n'
-                    && data[dataSize - 1] == 0x00) {
+            } else if (dataSize >= 4 && data[dataSize - 4] == (byte) 0x1A && data[dataSize - 3] == '\r'
+                    && data[dataSize - 2] == '\n' && data[dataSize - 1] == 0x00) {
 
                 // skip "[EOF][CR][LF][NULL]"
                 endBytes = 4;
@@ -240,13 +195,14 @@ public class EiscpProtocol {
                 throw new EiscpException("Illegal end of message");
             }
 
-            try {
-                String command = new String(Arrays.copyOfRange(data, 2, 5));
-                String value = new String(Arrays.copyOfRange(data, 5, data.length - endBytes));
-                return new EiscpMessage.MessageBuilder().command(command).value(value).build();
-            } catch (Exception e) {
-                throw new EiscpException("Fatal error occured when parsing eISCP message, cause=" + e.getCause());
+            final int valueLength = dataSize - endBytes - 5;
+            if (valueLength < 0) {
+                throw new EiscpException("Illegal message length " + dataSize);
             }
+
+            String command = new String(data, 2, 3, StandardCharsets.US_ASCII);
+            String value = new String(data, 5, valueLength, StandardCharsets.UTF_8);
+            return new EiscpMessage.MessageBuilder().command(command).value(value).build();
         }
     }
 
@@ -8,8 +8,8 @@
  */
 package org.openhab.binding.pioneeravr.internal.protocol;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.pioneeravr.protocol.AvrConnectionException;
@@ -18,11 +18,19 @@ import org.openhab.binding.pioneeravr.protocol.AvrResponse;
 /**
  * Represent an AVR response.
  *
+ * The type and zone of a response are found by walking an index of the response prefixes of all types and zones,
+ * character by character, instead of matching the response against the pattern of each type. The parameter is then
+ * validated on its length and characters.
+ *
  * @author Antoine Besnard
  *
  */
 public class Response implements AvrResponse {
 
+    private static final String DIGITS = "0123456789";
+
+    private static final String HEX_DIGITS = "0123456789abcdefABCDEF";
+
     /**
      * List of all supported responses coming from AVR.
      *
@@ -30,29 +38,27 @@ public class Response implements AvrResponse {
      *
      */
     public enum ResponseType implements AvrResponse.RepsonseType {
-        POWER_STATE("[0-2]", "PWR", "APR", "BPR"),
-        VOLUME_LEVEL("[0-9]{3}", "VOL", "ZV", "YV"),
-        MUTE_STATE("[0-1]", "MUT", "Z2MUT", "Z3MUT"),
-        INPUT_SOURCE_CHANNEL("[0-9]{2}", "FN", "Z2F", "Z3F"),
-        DISPLAY_INFORMATION("[0-9a-fA-F]{30}", "FL");
+        POWER_STATE("[0-2]", 1, "012", "PWR", "APR", "BPR"),
+        VOLUME_LEVEL("[0-9]{3}", 3, DIGITS, "VOL", "ZV", "YV"),
+        MUTE_STATE("[0-1]", 1, "01", "MUT", "Z2MUT", "Z3MUT"),
+        INPUT_SOURCE_CHANNEL("[0-9]{2}", 2, DIGITS, "FN", "Z2F", "Z3F"),
+        DISPLAY_INFORMATION("[0-9a-fA-F]{30}", 30, HEX_DIGITS, "FL");
 
         private String[] responsePrefixZone;
 
         private String parameterPattern;
 
-        private Pattern[] matchPatternZone;
+        // Length and allowed characters of the parameter, equivalent to the parameterPattern.
+        private int parameterLength;
 
-        private ResponseType(String parameterPattern, String... responsePrefixZone) {
+        private String parameterCharacters;
+
+        private ResponseType(String parameterPattern, int parameterLength, String parameterCharacters,
+                String... responsePrefixZone) {
             this.responsePrefixZone = responsePrefixZone;
             this.parameterPattern = parameterPattern;
-
-            matchPatternZone = new Pattern[responsePrefixZone.length];
-
-            for (int zoneIndex = 0; zoneIndex < responsePrefixZone.length; zoneIndex++) {
-                String responsePrefix = responsePrefixZone[zoneIndex];
-                matchPatternZone[zoneIndex] = Pattern.compile(responsePrefix + "("
-                        + (StringUtils.isNotEmpty(parameterPattern) ? parameterPattern : "") + ")");
-            }
+            this.parameterLength = parameterLength;
+            this.parameterCharacters = parameterCharacters;
         }
 
         @Override
@@ -74,8 +80,9 @@ public class Response implements AvrResponse {
         public Integer match(String responseData) {
             Integer zone = null;
             // Check the response data against all zone prefixes.
-            for (int zoneIndex = 0; zoneIndex < matchPatternZone.length; zoneIndex++) {
-                if (matchPatternZone[zoneIndex].matcher(responseData).matches()) {
+            for (int zoneIndex = 0; zoneIndex < responsePrefixZone.length; zoneIndex++) {
+                String responsePrefix = responsePrefixZone[zoneIndex];
+                if (responseData.startsWith(responsePrefix) && isParameter(responseData, responsePrefix.length())) {
                     zone = zoneIndex + 1;
                     break;
                 }
@@ -92,16 +99,41 @@ public class Response implements AvrResponse {
          */
         @Override
         public String parseParameter(String responseData) {
-            String result = null;
-            // Check the response data against all zone prefixes.
-            for (int zoneIndex = 0; zoneIndex < matchPatternZone.length; zoneIndex++) {
-                Matcher matcher = matchPatternZone[zoneIndex].matcher(responseData);
-                if (matcher.find()) {
-                    result = matcher.group(1);
-                    break;
+            Integer zone = match(responseData);
+            return zone != null ? responseData.substring(getResponsePrefix(zone).length()) : null;
+        }
+
+        /**
+         * Return true if the remaining of the responseData, from the given offset, is a valid parameter of this
+         * responseType.
+         *
+         * @param responseData
+         * @param offset
+         * @return
+         */
+        private boolean isParameter(String responseData, int offset) {
+            if (responseData.length() - offset != parameterLength) {
+                return false;
+            }
+            for (int i = offset; i < responseData.length(); i++) {
+                if (parameterCharacters.indexOf(responseData.charAt(i)) < 0) {
+                    return false;
                 }
             }
-            return result;
+            return true;
+        }
+    }
+
+    /**
+     * Root of the index of the response prefixes of all the response types and zones.
+     */
+    private static final PrefixNode PREFIX_INDEX = new PrefixNode();
+
+    static {
+        for (ResponseType responseType : ResponseType.values()) {
+            for (int zone = 1; zone <= responseType.responsePrefixZone.length; zone++) {
+                PREFIX_INDEX.add(responseType.getResponsePrefix(zone), responseType, zone);
+            }
         }
     }
 
@@ -121,23 +153,28 @@ public class Response implements AvrResponse {
         if (this.responseType == null) {
             throw new AvrConnectionException("Cannot find the responseType of the responseData " + responseData);
         }
-
-        if (this.responseType.hasParameter()) {
-            this.parameter = this.responseType.parseParameter(responseData);
-        }
     }
 
     /**
-     * Parse the given response data and fill the
+     * Parse the given response data and fill the responseType, zone and parameter of this response.
      *
      * @param responseData
      * @return
      */
     private void parseResponseType(String responseData) {
-        for (ResponseType responseType : ResponseType.values()) {
-            zone = responseType.match(responseData);
-            if (zone != null) {
-                this.responseType = responseType;
+        PrefixNode node = PREFIX_INDEX;
+        for (int i = 0; i < responseData.length(); i++) {
+            node = node.children.get(responseData.charAt(i));
+            if (node == null) {
+                break;
+            }
+            // A prefix may be the beginning of a longer one, so only stop when the parameter is valid too.
+            if (node.responseType != null && node.responseType.isParameter(responseData, i + 1)) {
+                this.responseType = node.responseType;
+                this.zone = node.zone;
+                if (this.responseType.hasParameter()) {
+                    this.parameter = responseData.substring(i + 1);
+                }
                 break;
             }
         }
@@ -163,4 +200,34 @@ public class Response implements AvrResponse {
         return this.zone;
     }
 
+    /**
+     * A node of the response prefix index, one level per character of the prefixes.
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class PrefixNode {
+
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+
+        // The responseType and zone of the prefix ending on this node, if any.
+        private ResponseType responseType;
+
+        private Integer zone;
+
+        private void add(String prefix, ResponseType responseType, int zone) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                PrefixNode child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    child = new PrefixNode();
+                    node.children.put(prefix.charAt(i), child);
+                }
+                node = child;
+            }
+            node.responseType = responseType;
+            node.zone = zone;
+        }
+    }
+
 }
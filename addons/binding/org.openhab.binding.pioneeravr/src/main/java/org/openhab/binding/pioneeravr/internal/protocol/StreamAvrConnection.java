@@ -59,12 +59,20 @@ public abstract class StreamAvrConnection implements AvrConnection {
     // The maximum time to wait incoming messages.
     private static final Integer READ_TIMEOUT = 1000;
 
+    // The number of received messages between two logs of the receive metrics.
+    private static final int METRICS_LOG_INTERVAL = 100;
+
     private List<AvrUpdateListener> updateListeners;
     private List<AvrDisconnectionListener> disconnectionListeners;
 
     private IpControlInputStreamReader inputStreamReader;
     private DataOutputStream outputStream;
 
+    // The time (System.nanoTime) the last command was sent, or 0 if a response has already been received since.
+    private volatile long commandSentTime;
+
+    private final ReceiveMetrics receiveMetrics = new ReceiveMetrics();
+
     public StreamAvrConnection() {
         this.updateListeners = new ArrayList<>();
         this.disconnectionListeners = new ArrayList<>();
@@ -156,6 +164,7 @@ public abstract class StreamAvrConnection implements AvrConnection {
                 }
                 outputStream.writeBytes(command);
                 outputStream.flush();
+                commandSentTime = System.nanoTime();
                 isSent = true;
 
             } catch (IOException ioException) {
@@ -170,6 +179,16 @@ public abstract class StreamAvrConnection implements AvrConnection {
         return isSent;
     }
 
+    /**
+     * Return the receive metrics of this connection: the number of received messages, the latency between a command
+     * and the next received message and the time spent notifying the listeners of a message.
+     *
+     * @return
+     */
+    public String getReceiveMetrics() {
+        return receiveMetrics.toString();
+    }
+
     @Override
     public boolean sendPowerQuery(int zone) {
         return sendCommand(RequestResponseFactory.getIpControlCommand(SimpleCommandType.POWER_QUERY, zone));
@@ -327,6 +346,7 @@ public abstract class StreamAvrConnection implements AvrConnection {
                     }
 
                     if (receivedData != null) {
+                        long receivedTime = System.nanoTime();
                         logger.debug("Data received from AVR @{}: {}", getConnectionName(), receivedData);
                         AvrStatusUpdateEvent event = new AvrStatusUpdateEvent(StreamAvrConnection.this, receivedData);
                         synchronized (updateListeners) {
@@ -334,6 +354,7 @@ public abstract class StreamAvrConnection implements AvrConnection {
                                 pioneerAvrEventListener.statusUpdateReceived(event);
                             }
                         }
+                        recordReceive(receivedTime);
                     }
                 }
 
@@ -345,10 +366,31 @@ public abstract class StreamAvrConnection implements AvrConnection {
                 }
             }
 
+            logger.debug("Receive metrics of AVR @{}: {}", getConnectionName(), receiveMetrics);
+
             // Notify the stopReader method caller that the reader is stopped.
             this.stopLatch.countDown();
         }
 
+        /**
+         * Record the metrics of a message received at the given time, once the listeners have been notified.
+         *
+         * @param receivedTime
+         */
+        private void recordReceive(long receivedTime) {
+            long sentTime = commandSentTime;
+            long responseLatency = -1;
+            if (sentTime != 0 && receivedTime >= sentTime) {
+                responseLatency = receivedTime - sentTime;
+                commandSentTime = 0;
+            }
+            long messageCount = receiveMetrics.record(responseLatency, System.nanoTime() - receivedTime);
+
+            if (logger.isDebugEnabled() && messageCount % METRICS_LOG_INTERVAL == 0) {
+                logger.debug("Receive metrics of AVR @{}: {}", getConnectionName(), receiveMetrics);
+            }
+        }
+
         /**
          * Stop this reader. Block until the reader is really stopped.
          */
@@ -365,4 +407,58 @@ public abstract class StreamAvrConnection implements AvrConnection {
 
     }
 
+    /**
+     * Receive latency metrics of a connection.
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    private static class ReceiveMetrics {
+
+        private long messageCount;
+
+        private long responseCount;
+        private long totalResponseLatency;
+        private long maxResponseLatency;
+
+        private long totalDispatchTime;
+        private long maxDispatchTime;
+
+        /**
+         * Record a received message.
+         *
+         * @param responseLatency the time (ns) between the last sent command and the message, or -1 if the message
+         *            is not the response to a command.
+         * @param dispatchTime the time (ns) spent notifying the listeners of the message.
+         * @return the number of received messages.
+         */
+        private synchronized long record(long responseLatency, long dispatchTime) {
+            messageCount++;
+            if (responseLatency >= 0) {
+                responseCount++;
+                totalResponseLatency += responseLatency;
+                maxResponseLatency = Math.max(maxResponseLatency, responseLatency);
+            }
+            totalDispatchTime += dispatchTime;
+            maxDispatchTime = Math.max(maxDispatchTime, dispatchTime);
+            return messageCount;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format(
+                    "%d messages, response latency avg %.1f ms / max %.1f ms, dispatch avg %.1f ms / max %.1f ms",
+                    messageCount, average(totalResponseLatency, responseCount), toMillis(maxResponseLatency),
+                    average(totalDispatchTime, messageCount), toMillis(maxDispatchTime));
+        }
+
+        private static double average(long total, long count) {
+            return count == 0 ? 0 : toMillis(total) / count;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1000000.0;
+        }
+    }
+
 }
@@ -26,18 +26,19 @@ public class DisplayInformationConverter {
 
         // First byte holds the two special flags. Do not use it to parse the
         // message.
-        // Convert the ASCII values back to string
-        StringBuilder sb = new StringBuilder();
-        for (int i = 2; i < responsePayload.length() - 1; i += 2) {
-            String hexAsciiValue = responsePayload.substring(i, i + 2);
-            try {
-                sb.append((char) Integer.parseInt(hexAsciiValue, 16));
-            } catch (Exception e) {
+        // Convert the ASCII values back to string, decoding the hex digits in place.
+        int length = responsePayload.length() < 2 ? 0 : (responsePayload.length() - 2) / 2;
+        char[] message = new char[length];
+        for (int i = 0; i < length; i++) {
+            int high = Character.digit(responsePayload.charAt(2 + 2 * i), 16);
+            int low = Character.digit(responsePayload.charAt(3 + 2 * i), 16);
+            if (high < 0 || low < 0) {
                 throw new AvrConnectionException(
-                        "Failed to parse the reponsePayload as an IpControl information message.", e);
+                        "Failed to parse the reponsePayload as an IpControl information message.");
             }
+            message[i] = (char) (high << 4 | low);
         }
-        return sb.toString();
+        return new String(message);
     }
 
 }
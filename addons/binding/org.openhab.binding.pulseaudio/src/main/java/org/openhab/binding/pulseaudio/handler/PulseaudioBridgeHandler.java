@@ -56,34 +56,51 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
 
     private HashSet<String> lastActiveDevices = new HashSet<String>();
 
+    /**
+     * set when a listener was registered, which has to be informed about the current devices
+     */
+    private volatile boolean listenerRegistered = true;
+
     private ScheduledFuture<?> pollingJob;
     private Runnable pollingRunnable = new Runnable() {
         @Override
         public void run() {
-            client.update();
-            for (AbstractAudioDeviceConfig device : client.getItems()) {
-                if (lastActiveDevices != null && lastActiveDevices.contains(device.getPaName())) {
-                    for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
-                        } catch (Exception e) {
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
+            updateDevices();
+        }
+    };
+
+    /**
+     * updates the devices and informs the listeners about the changes
+     */
+    private synchronized void updateDevices() {
+        // only inform the listeners if the devices changed
+        boolean changed = client.update();
+        if (!changed && !listenerRegistered) {
+            return;
+        }
+        listenerRegistered = false;
+        for (AbstractAudioDeviceConfig device : client.getItems()) {
+            if (lastActiveDevices != null && lastActiveDevices.contains(device.getPaName())) {
+                for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                    try {
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
                     }
-                } else {
-                    for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
-                        try {
-                            deviceStatusListener.onDeviceAdded(getThing(), device);
-                            deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
-                        } catch (Exception e) {
-                            logger.error("An exception occurred while calling the DeviceStatusListener", e);
-                        }
-                        lastActiveDevices.add(device.getPaName());
+                }
+            } else {
+                for (DeviceStatusListener deviceStatusListener : deviceStatusListeners) {
+                    try {
+                        deviceStatusListener.onDeviceAdded(getThing(), device);
+                        deviceStatusListener.onDeviceStateChanged(getThing().getUID(), device);
+                    } catch (Exception e) {
+                        logger.error("An exception occurred while calling the DeviceStatusListener", e);
                     }
+                    lastActiveDevices.add(device.getPaName());
                 }
             }
         }
-    };
+    }
 
     private List<DeviceStatusListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
@@ -94,7 +111,7 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
-            client.update();
+            updateDevices();
         } else {
             logger.warn("received invalid command for pulseaudio bridge '{}'.", host);
         }
@@ -168,7 +185,9 @@ public class PulseaudioBridgeHandler extends BaseBridgeHandler {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return deviceStatusListeners.add(deviceStatusListener);
+        boolean added = deviceStatusListeners.add(deviceStatusListener);
+        listenerRegistered = true;
+        return added;
     }
 
     public boolean unregisterDeviceStatusListener(DeviceStatusListener deviceStatusListener) {
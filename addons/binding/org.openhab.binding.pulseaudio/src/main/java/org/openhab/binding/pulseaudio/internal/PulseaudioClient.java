@@ -16,7 +16,12 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang.StringUtils;
 import org.openhab.binding.pulseaudio.internal.cli.Parser;
@@ -37,6 +42,10 @@ import org.slf4j.LoggerFactory;
  *
  * On the pulseaudio server the module-cli-protocol-tcp has to be loaded.
  *
+ * The items are indexed by id and by name. As the cli protocol has no way to subscribe to the changes of the server,
+ * the state is polled, but the answers of the server are only parsed when they changed, and commands only list the
+ * kind of items they change.
+ *
  * @author Tobias Bräutigam
  * @since 1.2.0
  */
@@ -48,8 +57,21 @@ public class PulseaudioClient {
     private int port;
     private Socket client;
 
-    private List<AbstractAudioDeviceConfig> items;
-    private List<Module> modules;
+    private final Map<Integer, Module> modules = new ConcurrentHashMap<>();
+    private final ItemIndex<Sink> sinks = new ItemIndex<>();
+    private final ItemIndex<Source> sources = new ItemIndex<>();
+    private final ItemIndex<SinkInput> sinkInputs = new ItemIndex<>();
+    private final ItemIndex<SourceOutput> sourceOutputs = new ItemIndex<>();
+
+    /**
+     * last answer of the server to the list commands, to only parse the answers that changed
+     */
+    private final Map<String, String> lastListResponses = new ConcurrentHashMap<>();
+
+    /**
+     * set when items changed since the last call of {@link #update()}
+     */
+    private volatile boolean itemsChanged = false;
 
     /**
      * corresponding name to execute actions on sink items
@@ -119,9 +141,6 @@ public class PulseaudioClient {
         this.host = host;
         this.port = port;
 
-        items = new ArrayList<AbstractAudioDeviceConfig>();
-        modules = new ArrayList<Module>();
-
         connect();
         update();
     }
@@ -132,18 +151,147 @@ public class PulseaudioClient {
 
     /**
      * updates the item states and their relationships
+     *
+     * @return true if items changed since the last update, including the changes found by
+     *         {@link #update(AbstractAudioDeviceConfig)}
+     */
+    public synchronized boolean update() {
+        updateModules();
+        updateSinks();
+        updateSources();
+        updateSinkInputs();
+        updateSourceOutputs();
+
+        boolean changed = itemsChanged;
+        itemsChanged = false;
+        if (changed) {
+            logger.debug("Pulseaudio server {}: {} modules and {} items updated", host, modules.size(),
+                    getItems().size());
+        } else {
+            logger.trace("Pulseaudio server {}: no changes", host);
+        }
+        return changed;
+    }
+
+    /**
+     * updates the states of the items of the same kind as the given item (e.g. all sinks), without listing the
+     * other items of the server
+     *
+     * @param item
+     */
+    public synchronized void update(AbstractAudioDeviceConfig item) {
+        if (item instanceof Sink) {
+            updateSinks();
+        } else if (item instanceof Source) {
+            updateSources();
+        } else if (item instanceof SinkInput) {
+            updateSinkInputs();
+        } else if (item instanceof SourceOutput) {
+            updateSourceOutputs();
+        }
+    }
+
+    /**
+     * sends the list command to the server
+     *
+     * @return the answer of the server, or null if it did not change since the last time
      */
-    public void update() {
-        modules.clear();
-        modules.addAll(Parser.parseModules(listModules()));
+    private String listIfChanged(String command) {
+        String raw = this._sendRawRequest(command);
+        if (raw.equals(lastListResponses.get(command))) {
+            return null;
+        }
+        lastListResponses.put(command, raw);
+        return raw;
+    }
 
-        items.clear();
-        items.addAll(Parser.parseSinks(listSinks(), this));
-        items.addAll(Parser.parseSources(listSources(), this));
-        items.addAll(Parser.parseSinkInputs(listSinkInputs(), this));
-        items.addAll(Parser.parseSourceOutputs(listSourceOutputs(), this));
+    private void updateModules() {
+        String raw = listIfChanged(CMD_LIST_MODULES);
+        if (raw == null) {
+            return;
+        }
+        Map<Integer, Module> newModules = new HashMap<Integer, Module>();
+        for (Module module : Parser.parseModules(raw)) {
+            newModules.put(module.getId(), module);
+        }
+        modules.putAll(newModules);
+        modules.keySet().retainAll(newModules.keySet());
+        // link the items to the new module objects
+        for (AbstractAudioDeviceConfig item : getItems()) {
+            if (item.getModule() != null) {
+                item.setModule(getModule(item.getModule().getId()));
+            }
+        }
+        itemsChanged = true;
+    }
+
+    private void updateSinks() {
+        String raw = listIfChanged(CMD_LIST_SINKS);
+        if (raw == null) {
+            return;
+        }
+        sinks.replaceAll(Parser.parseSinks(raw, this));
+        // link the items referring to a sink to the new sink objects
+        for (Source source : sources.values()) {
+            if (source.getMonitorOf() != null) {
+                source.setMonitorOf(getSink(source.getMonitorOf().getId()));
+            }
+        }
+        for (SinkInput sinkInput : sinkInputs.values()) {
+            if (sinkInput.getSink() != null) {
+                sinkInput.setSink(getSink(sinkInput.getSink().getId()));
+            }
+        }
+        itemsChanged = true;
+    }
 
-        logger.debug("Pulseaudio server {}: {} modules and {} items updated", host, modules.size(), items.size());
+    private void updateSources() {
+        String raw = listIfChanged(CMD_LIST_SOURCES);
+        if (raw == null) {
+            return;
+        }
+        sources.replaceAll(Parser.parseSources(raw, this));
+        // link the items referring to a source to the new source objects
+        for (SourceOutput sourceOutput : sourceOutputs.values()) {
+            if (sourceOutput.getSource() != null) {
+                sourceOutput.setSource(getSource(sourceOutput.getSource().getId()));
+            }
+        }
+        itemsChanged = true;
+    }
+
+    private void updateSinkInputs() {
+        String raw = listIfChanged(CMD_LIST_SINK_INPUTS);
+        if (raw == null) {
+            return;
+        }
+        sinkInputs.replaceAll(Parser.parseSinkInputs(raw, this));
+        itemsChanged = true;
+    }
+
+    private void updateSourceOutputs() {
+        String raw = listIfChanged(CMD_LIST_SOURCE_OUTPUTS);
+        if (raw == null) {
+            return;
+        }
+        sourceOutputs.replaceAll(Parser.parseSourceOutputs(raw, this));
+        itemsChanged = true;
+    }
+
+    /**
+     * forgets the last answer to the list command of the item's kind, so that the item is parsed again on the next
+     * update (its state was changed locally by a command)
+     */
+    private void invalidate(AbstractAudioDeviceConfig item) {
+        if (item instanceof Sink) {
+            lastListResponses.remove(CMD_LIST_SINKS);
+        } else if (item instanceof Source) {
+            lastListResponses.remove(CMD_LIST_SOURCES);
+        } else if (item instanceof SinkInput) {
+            lastListResponses.remove(CMD_LIST_SINK_INPUTS);
+        } else if (item instanceof SourceOutput) {
+            lastListResponses.remove(CMD_LIST_SOURCE_OUTPUTS);
+        }
     }
 
     private String listModules() {
@@ -173,12 +321,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Module} to the given <code>id</code>
      */
     public Module getModule(int id) {
-        for (Module module : modules) {
-            if (module.getId() == id) {
-                return module;
-            }
-        }
-        return null;
+        return modules.get(id);
     }
 
     /**
@@ -198,12 +341,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Sink} to the given <code>name</code>
      */
     public Sink getSink(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof Sink) {
-                return (Sink) item;
-            }
-        }
-        return null;
+        return sinks.get(name);
     }
 
     /**
@@ -212,12 +350,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Sink} to the given <code>id</code>
      */
     public Sink getSink(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof Sink) {
-                return (Sink) item;
-            }
-        }
-        return null;
+        return sinks.get(id);
     }
 
     /**
@@ -226,12 +359,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SinkInput} to the given <code>name</code>
      */
     public SinkInput getSinkInput(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof SinkInput) {
-                return (SinkInput) item;
-            }
-        }
-        return null;
+        return sinkInputs.get(name);
     }
 
     /**
@@ -240,12 +368,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SinkInput} to the given <code>id</code>
      */
     public SinkInput getSinkInput(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof SinkInput) {
-                return (SinkInput) item;
-            }
-        }
-        return null;
+        return sinkInputs.get(id);
     }
 
     /**
@@ -254,12 +377,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Source} to the given <code>name</code>
      */
     public Source getSource(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof Source) {
-                return (Source) item;
-            }
-        }
-        return null;
+        return sources.get(name);
     }
 
     /**
@@ -268,12 +386,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link Source} to the given <code>id</code>
      */
     public Source getSource(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof Source) {
-                return (Source) item;
-            }
-        }
-        return null;
+        return sources.get(id);
     }
 
     /**
@@ -282,12 +395,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SourceOutput} to the given <code>name</code>
      */
     public SourceOutput getSourceOutput(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name) && item instanceof SourceOutput) {
-                return (SourceOutput) item;
-            }
-        }
-        return null;
+        return sourceOutputs.get(name);
     }
 
     /**
@@ -296,12 +404,7 @@ public class PulseaudioClient {
      * @return the corresponding {@link SourceOutput} to the given <code>id</code>
      */
     public SourceOutput getSourceOutput(int id) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getId() == id && item instanceof SourceOutput) {
-                return (SourceOutput) item;
-            }
-        }
-        return null;
+        return sourceOutputs.get(id);
     }
 
     /**
@@ -310,15 +413,25 @@ public class PulseaudioClient {
      * @return the corresponding {@link AbstractAudioDeviceConfig} to the given <code>name</code>
      */
     public AbstractAudioDeviceConfig getGenericAudioItem(String name) {
-        for (AbstractAudioDeviceConfig item : items) {
-            if (item.getPaName().equalsIgnoreCase(name)) {
-                return item;
-            }
+        AbstractAudioDeviceConfig item = getSink(name);
+        if (item == null) {
+            item = getSource(name);
         }
-        return null;
+        if (item == null) {
+            item = getSinkInput(name);
+        }
+        if (item == null) {
+            item = getSourceOutput(name);
+        }
+        return item;
     }
 
     public List<AbstractAudioDeviceConfig> getItems() {
+        List<AbstractAudioDeviceConfig> items = new ArrayList<AbstractAudioDeviceConfig>();
+        items.addAll(sinks.values());
+        items.addAll(sources.values());
+        items.addAll(sinkInputs.values());
+        items.addAll(sourceOutputs.values());
         return items;
     }
 
@@ -340,6 +453,7 @@ public class PulseaudioClient {
         _sendRawCommand("set-" + itemCommandName + "-mute " + item.getId() + " " + muteString);
         // update internal data
         item.setMuted(mute);
+        invalidate(item);
     }
 
     /**
@@ -359,6 +473,7 @@ public class PulseaudioClient {
         }
         _sendRawCommand("set-" + itemCommandName + "-volume " + item.getId() + " " + vol);
         item.setVolume(Math.round(100f / 65536f * vol));
+        invalidate(item);
     }
 
     /**
@@ -413,7 +528,7 @@ public class PulseaudioClient {
      * @param combinedSink the combined sink which slaves should be changed
      * @param sinks the list of new slaves
      */
-    public void setCombinedSinkSlaves(Sink combinedSink, List<Sink> sinks) {
+    public synchronized void setCombinedSinkSlaves(Sink combinedSink, List<Sink> sinks) {
         if (combinedSink == null || !combinedSink.isCombinedSink()) {
             return;
         }
@@ -427,7 +542,8 @@ public class PulseaudioClient {
         _sendRawCommand(CMD_LOAD_MODULE + " " + MODULE_COMBINE_SINK + " sink_name=" + combinedSink.getPaName()
                 + " slaves=" + StringUtils.join(slaves, ","));
         // 3. update internal data structure because the combined sink has a new number + other slaves
-        update();
+        updateModules();
+        updateSinks();
     }
 
     /**
@@ -442,6 +558,7 @@ public class PulseaudioClient {
         }
         _sendRawCommand("move-sink-input " + sinkInput.getId() + " " + sink.getId());
         sinkInput.setSink(sink);
+        invalidate(sinkInput);
     }
 
     /**
@@ -456,6 +573,7 @@ public class PulseaudioClient {
         }
         _sendRawCommand("move-sink-input " + sourceOutput.getId() + " " + source.getId());
         sourceOutput.setSource(source);
+        invalidate(sourceOutput);
     }
 
     /**
@@ -464,18 +582,19 @@ public class PulseaudioClient {
      * @param source the source which state should be changed
      * @param suspend suspend it or not
      */
-    public void suspendSource(Source source, boolean suspend) {
+    public synchronized void suspendSource(Source source, boolean suspend) {
         if (source == null) {
             return;
         }
         if (suspend) {
             _sendRawCommand("suspend-source " + source.getId() + " 1");
             source.setState(State.SUSPENDED);
+            invalidate(source);
         } else {
             _sendRawCommand("suspend-source " + source.getId() + " 0");
             // unsuspending the source could result in different states (RUNNING,IDLE,...)
-            // update to get the new state
-            update();
+            // update the sources to get the new state
+            updateSources();
         }
     }
 
@@ -485,18 +604,19 @@ public class PulseaudioClient {
      * @param sink the sink which state should be changed
      * @param suspend suspend it or not
      */
-    public void suspendSink(Sink sink, boolean suspend) {
+    public synchronized void suspendSink(Sink sink, boolean suspend) {
         if (sink == null) {
             return;
         }
         if (suspend) {
             _sendRawCommand("suspend-sink " + sink.getId() + " 1");
             sink.setState(State.SUSPENDED);
+            invalidate(sink);
         } else {
             _sendRawCommand("suspend-sink " + sink.getId() + " 0");
             // unsuspending the sink could result in different states (RUNNING,IDLE,...)
-            // update to get the new state
-            update();
+            // update the sinks to get the new state
+            updateSinks();
         }
     }
 
@@ -506,7 +626,7 @@ public class PulseaudioClient {
      * @param combinedSinkName the combined sink which slaves should be changed
      * @param sinks the list of new slaves
      */
-    public void setCombinedSinkSlaves(String combinedSinkName, List<Sink> sinks) {
+    public synchronized void setCombinedSinkSlaves(String combinedSinkName, List<Sink> sinks) {
         if (getSink(combinedSinkName) != null) {
             return;
         }
@@ -518,7 +638,49 @@ public class PulseaudioClient {
         _sendRawCommand(CMD_LOAD_MODULE + " " + MODULE_COMBINE_SINK + " sink_name=" + combinedSinkName + " slaves="
                 + StringUtils.join(slaves, ","));
         // update internal data structure because the combined sink is new
-        update();
+        updateModules();
+        updateSinks();
+    }
+
+    /**
+     * Index of the items of one kind by id and by name (case insensitive)
+     *
+     * @author agent - Initial contribution
+     */
+    private static class ItemIndex<T extends AbstractAudioDeviceConfig> {
+        private final Map<Integer, T> byId = new ConcurrentHashMap<>();
+        private final Map<String, T> byName = new ConcurrentHashMap<>();
+
+        /**
+         * replaces the indexed items by the given items
+         */
+        void replaceAll(Collection<? extends T> items) {
+            Map<Integer, T> newById = new HashMap<Integer, T>();
+            Map<String, T> newByName = new HashMap<String, T>();
+            for (T item : items) {
+                newById.put(item.getId(), item);
+                String key = item.getPaName().toLowerCase(Locale.ENGLISH);
+                if (!newByName.containsKey(key)) {
+                    newByName.put(key, item);
+                }
+            }
+            byId.putAll(newById);
+            byId.keySet().retainAll(newById.keySet());
+            byName.putAll(newByName);
+            byName.keySet().retainAll(newByName.keySet());
+        }
+
+        T get(int id) {
+            return byId.get(id);
+        }
+
+        T get(String name) {
+            return name != null ? byName.get(name.toLowerCase(Locale.ENGLISH)) : null;
+        }
+
+        Collection<T> values() {
+            return byId.values();
+        }
     }
 
     private void _sendRawCommand(String command) {
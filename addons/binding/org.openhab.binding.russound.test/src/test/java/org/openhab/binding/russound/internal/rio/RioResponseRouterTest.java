@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the routing of the responses of the russound system to the listeners subscribed to their path
+ *
+ * @author agent - Initial contribution
+ */
+public class RioResponseRouterTest {
+
+    private RioResponseRouter router;
+
+    @Before
+    public void setUp() {
+        router = new RioResponseRouter();
+    }
+
+    @Test
+    public void routeByPath() {
+        RecordingListener zone3 = new RecordingListener();
+        RecordingListener zone4 = new RecordingListener();
+        router.subscribe("C[1].Z[3]", zone3);
+        router.subscribe("C[1].Z[4]", zone4);
+
+        router.responseReceived("N C[1].Z[3].volume=\"20\"");
+        router.responseReceived("N C[1].Z[4].volume=\"30\"");
+        router.responseReceived("N C[1].Z[3].status=\"ON\"");
+
+        assertEquals(2, zone3.responses.size());
+        assertEquals("volume", zone3.responses.get(0).getKey());
+        assertEquals("20", zone3.responses.get(0).getValue());
+        assertEquals("status", zone3.responses.get(1).getKey());
+        assertEquals(1, zone4.responses.size());
+        assertEquals("30", zone4.responses.get(0).getValue());
+    }
+
+    @Test
+    public void routeByIndex() {
+        RecordingListener controller1 = new RecordingListener();
+        router.subscribe("C[1]", controller1);
+
+        router.responseReceived("N C[2].type=\"MCA-C5\"");
+        router.responseReceived("N C[11].type=\"MCA-C5\"");
+        assertTrue(controller1.responses.isEmpty());
+
+        router.responseReceived("N C[1].type=\"MCA-C5\"");
+        assertEquals(1, controller1.responses.size());
+    }
+
+    @Test
+    public void routeExactPathOnly() {
+        RecordingListener controller = new RecordingListener();
+        RecordingListener zone = new RecordingListener();
+        router.subscribe("C[1]", controller);
+        router.subscribe("C[1].Z[3]", zone);
+
+        router.responseReceived("N C[1].Z[3].volume=\"20\"");
+        router.responseReceived("N C[1].Z[3].S[2].name=\"Radio\"");
+
+        assertTrue(controller.responses.isEmpty());
+        assertEquals(1, zone.responses.size());
+        assertEquals("volume", zone.responses.get(0).getKey());
+    }
+
+    @Test
+    public void routeByName() {
+        RecordingListener source = new RecordingListener();
+        RecordingListener system = new RecordingListener();
+        router.subscribe("S[1]", source);
+        router.subscribe("System", system);
+
+        router.responseReceived("N Z[1].name=\"Kitchen\"");
+        router.responseReceived("N Sys.status=\"ON\"");
+        router.responseReceived("N Systems.status=\"ON\"");
+        assertTrue(source.responses.isEmpty());
+        assertTrue(system.responses.isEmpty());
+
+        router.responseReceived("N S[1].name=\"Tuner\"");
+        router.responseReceived("N System.status=\"ON\"");
+        assertEquals(1, source.responses.size());
+        assertEquals(1, system.responses.size());
+    }
+
+    @Test
+    public void routeResponsesWithoutPathToRoot() {
+        RecordingListener root = new RecordingListener();
+        RecordingListener controller = new RecordingListener();
+        router.subscribe("", root);
+        router.subscribe("C[1]", controller);
+
+        router.responseReceived("S VERSION=\"010.004.001\"");
+        router.responseReceived("E Invalid Command");
+        router.responseReceived("N C[1].type=\"MCA-C5\"");
+
+        assertEquals(2, root.responses.size());
+        assertEquals("VERSION", root.responses.get(0).getKey());
+        assertEquals('E', root.responses.get(1).getType());
+        assertEquals(1, controller.responses.size());
+    }
+
+    @Test
+    public void ignoreMalformedResponses() {
+        RecordingListener root = new RecordingListener();
+        RecordingListener zone = new RecordingListener();
+        router.subscribe("", root);
+        router.subscribe("C[1].Z[3]", zone);
+
+        router.responseReceived(null);
+        router.responseReceived("");
+        router.responseReceived("N C[1].Z[3].volume=20");
+        router.responseReceived("garbage");
+
+        assertTrue(root.responses.isEmpty());
+        assertTrue(zone.responses.isEmpty());
+    }
+
+    @Test
+    public void unsubscribe() {
+        RecordingListener zone3 = new RecordingListener();
+        RecordingListener zone4 = new RecordingListener();
+        router.subscribe("C[1].Z[3]", zone3);
+        router.subscribe("C[1].Z[3].S[1]", zone3);
+        router.subscribe("C[1].Z[3]", zone4);
+
+        router.unsubscribe(zone3);
+        router.responseReceived("N C[1].Z[3].volume=\"20\"");
+        router.responseReceived("N C[1].Z[3].S[1].name=\"Tuner\"");
+        router.responseException(new IOException());
+
+        assertTrue(zone3.responses.isEmpty());
+        assertTrue(zone3.exceptions.isEmpty());
+        assertEquals(1, zone4.responses.size());
+    }
+
+    @Test
+    public void dispatchExceptionsToAllListeners() {
+        RecordingListener root = new RecordingListener();
+        RecordingListener zone = new RecordingListener();
+        router.subscribe("", root);
+        router.subscribe("C[1].Z[3]", zone);
+
+        IOException exception = new IOException("connection lost");
+        router.responseException(exception);
+
+        assertEquals(1, root.exceptions.size());
+        assertSame(exception, root.exceptions.get(0));
+        assertEquals(1, zone.exceptions.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subscribeInvalidPath() {
+        router.subscribe("C[1", new RecordingListener());
+    }
+
+    /**
+     * Listener recording the responses and exceptions it received
+     */
+    private static class RecordingListener implements RioResponseListener {
+        private final List<RioResponse> responses = new ArrayList<RioResponse>();
+        private final List<Exception> exceptions = new ArrayList<Exception>();
+
+        @Override
+        public void responseReceived(RioResponse response) {
+            responses.add(response);
+        }
+
+        @Override
+        public void responseException(Exception e) {
+            exceptions.add(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the parsing of the responses of the russound system
+ *
+ * @author agent - Initial contribution
+ */
+public class RioResponseTest {
+
+    @Test
+    public void parseNotification() {
+        RioResponse response = RioResponse.parse("N C[1].Z[3].volume=\"20\"");
+
+        assertNotNull(response);
+        assertEquals('N', response.getType());
+        assertEquals(2, response.getSegmentCount());
+        assertTrue(response.isSegmentName(0, "C"));
+        assertEquals(1, response.getIndex(0));
+        assertTrue(response.isSegmentName(1, "Z"));
+        assertEquals(3, response.getIndex(1));
+        assertEquals("volume", response.getKey());
+        assertEquals("20", response.getValue());
+    }
+
+    @Test
+    public void parseSegmentWithoutIndex() {
+        RioResponse response = RioResponse.parse("S System.status=\"ON\"");
+
+        assertNotNull(response);
+        assertEquals('S', response.getType());
+        assertEquals(1, response.getSegmentCount());
+        assertTrue(response.isSegmentName(0, "System"));
+        assertFalse(response.isSegmentName(0, "Sys"));
+        assertEquals(RioResponse.NO_INDEX, response.getIndex(0));
+        assertEquals("status", response.getKey());
+        assertEquals("ON", response.getValue());
+    }
+
+    @Test
+    public void parseResponseWithoutPath() {
+        RioResponse response = RioResponse.parse("S VERSION=\"010.004.001\"");
+
+        assertNotNull(response);
+        assertEquals(0, response.getSegmentCount());
+        assertEquals("VERSION", response.getKey());
+        assertEquals("010.004.001", response.getValue());
+    }
+
+    @Test
+    public void parseQuotedValues() {
+        assertEquals("", RioResponse.parse("N S[2].name=\"\"").getValue());
+        assertEquals("Rock & Roll", RioResponse.parse("N S[2].name=\"Rock & Roll\"").getValue());
+        assertEquals("a=\"b\"", RioResponse.parse("N S[2].name=\"a=\"b\"\"").getValue());
+        assertEquals("C[1].Z[2]", RioResponse.parse("N S[2].name=\"C[1].Z[2]\"").getValue());
+    }
+
+    @Test
+    public void parseError() {
+        RioResponse response = RioResponse.parse("E Invalid Command");
+
+        assertNotNull(response);
+        assertEquals('E', response.getType());
+        assertEquals(0, response.getSegmentCount());
+        assertNull(response.getKey());
+        assertEquals("Invalid Command", response.getValue());
+    }
+
+    @Test
+    public void parseMissingFields() {
+        assertNull(RioResponse.parse(null));
+        assertNull(RioResponse.parse(""));
+        assertNull(RioResponse.parse("N"));
+        assertNull(RioResponse.parse("N "));
+        assertNull(RioResponse.parse("N C[1].Z[3]"));
+        assertNull(RioResponse.parse("N C[1].Z[3].volume"));
+        assertNull(RioResponse.parse("N C[1].Z[3].volume="));
+        assertNull(RioResponse.parse("N C[1].Z[3].=\"20\""));
+        assertNull(RioResponse.parse("N =\"20\""));
+    }
+
+    @Test
+    public void parseMalformedLines() {
+        assertNull(RioResponse.parse("X C[1].volume=\"20\""));
+        assertNull(RioResponse.parse("NC[1].volume=\"20\""));
+        assertNull(RioResponse.parse("N C[1].volume=20"));
+        assertNull(RioResponse.parse("N C[1].volume=\"20"));
+        assertNull(RioResponse.parse("N C[1.volume=\"20\""));
+        assertNull(RioResponse.parse("N C[].volume=\"20\""));
+        assertNull(RioResponse.parse("N C[a].volume=\"20\""));
+        assertNull(RioResponse.parse("N C[1]volume=\"20\""));
+        assertNull(RioResponse.parse("N C[1]..volume=\"20\""));
+        assertNull(RioResponse.parse("N C[1].volume[2]=\"20\""));
+        assertNull(RioResponse.parse("N C[1].vol-ume=\"20\""));
+        assertNull(RioResponse.parse("N C[1234567890].volume=\"20\""));
+        assertNull(RioResponse.parse("N A.B.C.D.E.F.G.H.I.volume=\"20\""));
+    }
+}
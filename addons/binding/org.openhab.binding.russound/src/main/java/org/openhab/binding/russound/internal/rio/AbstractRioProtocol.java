@@ -13,9 +13,8 @@ import java.io.IOException;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.system.RioSystemHandler;
+import org.openhab.io.transport.socket.SocketSession;
 
 /**
  * Defines the abstract base for a protocol handler. This base provides managment of the {@link SocketSession} and
@@ -24,21 +23,25 @@ import org.openhab.binding.russound.internal.rio.system.RioSystemHandler;
  * @author Tim Roberts
  *
  */
-public abstract class AbstractRioProtocol implements SocketSessionListener {
+public abstract class AbstractRioProtocol implements RioResponseListener {
     /**
      * The {@link SocketSession} used by this protocol handler
      */
     private final SocketSession _session;
 
+    /**
+     * The {@link RioResponseRouter} of the {@link #_session} that will route responses to this handler
+     */
+    private final RioResponseRouter _router;
+
     /**
      * The {@link RioSystemHandler} to call back to update status and state
      */
     private final RioHandlerCallback _callback;
 
     /**
-     * Constructs the protocol handler from given parameters and will add this handler as a
-     * {@link SocketSessionListener} to the specified {@link SocketSession} via
-     * {@link SocketSession#addListener(SocketSessionListener)}
+     * Constructs the protocol handler from given parameters. Subclasses should {@link #subscribe(String)} to the paths
+     * of the responses they handle once constructed.
      *
      * @param session a non-null {@link SocketSession} (may be connected or disconnected)
      * @param callback a non-null {@link RioHandlerCallback} to update state and status
@@ -54,10 +57,20 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
         }
 
         _session = session;
-        _session.addListener(this);
+        _router = RioResponseRouter.getRouter(session);
         _callback = callback;
     }
 
+    /**
+     * Subscribes this handler to the responses for the given path via
+     * {@link RioResponseRouter#subscribe(String, RioResponseListener)}
+     *
+     * @param path a non-null, possibly empty path (like <code>C[1].Z[3]</code>)
+     */
+    protected void subscribe(String path) {
+        _router.subscribe(path, this);
+    }
+
     /**
      * Sends the command and puts the thing into {@link ThingStatus#OFFLINE} if an IOException occurs
      *
@@ -107,15 +120,15 @@ public abstract class AbstractRioProtocol implements SocketSessionListener {
     }
 
     /**
-     * Disposes of the protocol by removing ourselves from listening to the socket via
-     * {@link SocketSession#removeListener(SocketSessionListener)}
+     * Disposes of the protocol by removing ourselves from the router via
+     * {@link RioResponseRouter#unsubscribe(RioResponseListener)}
      */
     public void dispose() {
-        _session.removeListener(this);
+        _router.unsubscribe(this);
     }
 
     /**
-     * Implements the {@link SocketSessionListener#responseException(Exception)} to automatically take the thing offline
+     * Implements the {@link RioResponseListener#responseException(Exception)} to automatically take the thing offline
      * via {@link RioHandlerCallback#statusChanged(ThingStatus, ThingStatusDetail, String)}
      *
      * @param e the exception
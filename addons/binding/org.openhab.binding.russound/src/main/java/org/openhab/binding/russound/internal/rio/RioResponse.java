@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+/**
+ * Represents a single parsed response from the russound system. A response is made of a type ('S' for a response to a
+ * command, 'N' for a notification and 'E' for an error), the path of the object it refers to, the key name and the
+ * value. As an example, <code>N C[1].Z[3].volume="20"</code> has type 'N', the path <code>C[1].Z[3]</code> (made of
+ * the segments "C" with index 1 and "Z" with index 3), the key "volume" and the value "20".
+ *
+ * The parser is hand-rolled and only creates the key and value strings - the path segments are kept as offsets into the
+ * original response.
+ *
+ * @author agent - Initial contribution
+ */
+public class RioResponse {
+
+    /**
+     * Value of {@link #getIndex(int)} for segments without an index
+     */
+    public static final int NO_INDEX = -1;
+
+    /**
+     * The maximum number of path segments we will parse
+     */
+    private static final int MAX_SEGMENTS = 8;
+
+    /**
+     * The raw response
+     */
+    private final String _response;
+
+    /**
+     * The response type ('S', 'N' or 'E')
+     */
+    private final char _type;
+
+    /**
+     * The path segments (name start/end offset into {@link #_response} and index)
+     */
+    private final int[] _nameStart = new int[MAX_SEGMENTS];
+    private final int[] _nameEnd = new int[MAX_SEGMENTS];
+    private final int[] _index = new int[MAX_SEGMENTS];
+    private int _segmentCount;
+
+    /**
+     * The key name and value. The key is null for error responses
+     */
+    private String _key;
+    private String _value;
+
+    private RioResponse(String response, char type) {
+        _response = response;
+        _type = type;
+    }
+
+    /**
+     * Parses the response. Error responses (<code>E message</code>) have no path and no key and hold the message as
+     * value.
+     *
+     * @param response a possibly null, possibly empty response
+     * @return the parsed {@link RioResponse} or null if the response was not in a recognized format
+     */
+    public static RioResponse parse(String response) {
+        if (response == null || response.length() < 3 || response.charAt(1) != ' ') {
+            return null;
+        }
+
+        final char type = response.charAt(0);
+        final RioResponse rioResponse = new RioResponse(response, type);
+        if (type == 'E') {
+            rioResponse._value = response.substring(2);
+            return rioResponse;
+        }
+        if (type != 'S' && type != 'N') {
+            return null;
+        }
+        return parsePath(response, 2, rioResponse) ? rioResponse : null;
+    }
+
+    /**
+     * Parses the path, key and value into the response starting at the given position
+     *
+     * @return true if the remainder of the response was well formed
+     */
+    private static boolean parsePath(String response, int pos, RioResponse rioResponse) {
+        final int len = response.length();
+        while (true) {
+            final int nameStart = pos;
+            while (pos < len && isWordChar(response.charAt(pos))) {
+                pos++;
+            }
+            if (pos == nameStart || pos == len) {
+                return false;
+            }
+            final int nameEnd = pos;
+
+            int index = NO_INDEX;
+            if (response.charAt(pos) == '[') {
+                pos++;
+                index = 0;
+                final int indexStart = pos;
+                char c;
+                while (pos < len && (c = response.charAt(pos)) >= '0' && c <= '9') {
+                    index = index * 10 + (c - '0');
+                    pos++;
+                }
+                if (pos == indexStart || pos - indexStart > 9 || pos == len || response.charAt(pos) != ']') {
+                    return false;
+                }
+                pos++;
+                if (pos == len) {
+                    return false;
+                }
+            }
+
+            final char c = response.charAt(pos);
+            if (c == '.') {
+                if (rioResponse._segmentCount == MAX_SEGMENTS) {
+                    return false;
+                }
+                rioResponse._nameStart[rioResponse._segmentCount] = nameStart;
+                rioResponse._nameEnd[rioResponse._segmentCount] = nameEnd;
+                rioResponse._index[rioResponse._segmentCount] = index;
+                rioResponse._segmentCount++;
+                pos++;
+            } else if (c == '=' && index == NO_INDEX) {
+                // key="value"
+                if (len - pos < 3 || response.charAt(pos + 1) != '"' || response.charAt(len - 1) != '"') {
+                    return false;
+                }
+                rioResponse._key = response.substring(nameStart, nameEnd);
+                rioResponse._value = response.substring(pos + 2, len - 1);
+                return true;
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Whether the character is a word character (same as the regex \w)
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /**
+     * Returns the raw response
+     *
+     * @return a non-null, non-empty response
+     */
+    public String getResponse() {
+        return _response;
+    }
+
+    /**
+     * Returns the response type
+     *
+     * @return 'S', 'N' or 'E'
+     */
+    public char getType() {
+        return _type;
+    }
+
+    /**
+     * Returns the number of path segments (not including the key)
+     *
+     * @return the number of path segments (0 for responses addressing the system itself or errors)
+     */
+    public int getSegmentCount() {
+        return _segmentCount;
+    }
+
+    /**
+     * Whether the name of the given path segment equals the name
+     *
+     * @param segment the segment number (0 based)
+     * @param name a non-null name
+     * @return true if the segment has that name
+     */
+    public boolean isSegmentName(int segment, String name) {
+        final int nameLength = _nameEnd[segment] - _nameStart[segment];
+        return nameLength == name.length() && _response.regionMatches(_nameStart[segment], name, 0, nameLength);
+    }
+
+    /**
+     * Returns the index of the given path segment
+     *
+     * @param segment the segment number (0 based)
+     * @return the index or {@link #NO_INDEX} if the segment has no index
+     */
+    public int getIndex(int segment) {
+        return _index[segment];
+    }
+
+    /**
+     * Returns the key name of the response
+     *
+     * @return the key name or null for error responses
+     */
+    public String getKey() {
+        return _key;
+    }
+
+    /**
+     * Returns the value of the response
+     *
+     * @return a non-null, possibly empty value
+     */
+    public String getValue() {
+        return _value;
+    }
+
+    @Override
+    public String toString() {
+        return _response;
+    }
+}
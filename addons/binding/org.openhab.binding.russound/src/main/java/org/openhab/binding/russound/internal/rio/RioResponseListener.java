@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+/**
+ * Interface defining a listener to the {@link RioResponseRouter} that will receive the parsed responses for the paths
+ * it subscribed to and/or exceptions from the socket
+ *
+ * @author agent - Initial contribution
+ */
+public interface RioResponseListener {
+    /**
+     * Called when a response for a subscribed path has been received
+     *
+     * @param response a non-null {@link RioResponse}
+     */
+    public void responseReceived(RioResponse response);
+
+    /**
+     * Called when a general exception occurred while reading
+     *
+     * @param e a non-null exception
+     */
+    public void responseException(Exception e);
+}
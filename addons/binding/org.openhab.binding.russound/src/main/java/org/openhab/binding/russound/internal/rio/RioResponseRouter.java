@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.russound.internal.rio;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.openhab.io.transport.socket.SocketSession;
+import org.openhab.io.transport.socket.SocketSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes the responses of a {@link SocketSession} to the protocol handlers. Rather than having every protocol handler
+ * listen to (and pattern match) every response, the router is the only {@link SocketSessionListener} on the session. It
+ * parses each response once (see {@link RioResponse}) and walks a trie of the subscribed paths (like
+ * <code>C[1].Z[3]</code>) to find the handlers interested in it. Exceptions are dispatched to all handlers.
+ *
+ * @author agent - Initial contribution
+ */
+public class RioResponseRouter implements SocketSessionListener {
+    // Logger
+    private final Logger logger = LoggerFactory.getLogger(RioResponseRouter.class);
+
+    /**
+     * The routers by session
+     */
+    private static final Map<SocketSession, RioResponseRouter> ROUTERS = new WeakHashMap<>();
+
+    /**
+     * The root of the trie. Listeners on the root receive the responses without a path (version and errors)
+     */
+    private final Node _root = new Node(null, RioResponse.NO_INDEX);
+
+    /**
+     * All subscribed listeners
+     */
+    private final Set<RioResponseListener> _listeners = new CopyOnWriteArraySet<RioResponseListener>();
+
+    /**
+     * Returns the router for the session, creating it (and registering it as a listener on the session) if needed
+     *
+     * @param session a non-null {@link SocketSession}
+     * @return the non-null {@link RioResponseRouter} for the session
+     */
+    public static RioResponseRouter getRouter(SocketSession session) {
+        if (session == null) {
+            throw new IllegalArgumentException("session cannot be null");
+        }
+        synchronized (ROUTERS) {
+            RioResponseRouter router = ROUTERS.get(session);
+            if (router == null) {
+                router = new RioResponseRouter();
+                session.addListener(router);
+                ROUTERS.put(session, router);
+            }
+            return router;
+        }
+    }
+
+    /**
+     * Subscribes the listener to the responses for the given path. The path is made of segments separated by a period,
+     * each segment being a name optionally followed by an index (like <code>S[1].B[2]</code>). An empty path subscribes
+     * to the responses without a path.
+     *
+     * @param path a non-null, possibly empty path
+     * @param listener a non-null {@link RioResponseListener}
+     */
+    public synchronized void subscribe(String path, RioResponseListener listener) {
+        if (path == null) {
+            throw new IllegalArgumentException("path cannot be null");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+
+        Node node = _root;
+        if (path.length() > 0) {
+            for (String segment : path.split("\\.")) {
+                final int bracket = segment.indexOf('[');
+                if (bracket == -1) {
+                    node = node.getOrAddChild(segment, RioResponse.NO_INDEX);
+                } else {
+                    if (!segment.endsWith("]")) {
+                        throw new IllegalArgumentException("Invalid path segment '" + segment + "' in " + path);
+                    }
+                    node = node.getOrAddChild(segment.substring(0, bracket),
+                            Integer.parseInt(segment.substring(bracket + 1, segment.length() - 1)));
+                }
+            }
+        }
+        node._listeners.add(listener);
+        _listeners.add(listener);
+    }
+
+    /**
+     * Removes all subscriptions of the listener
+     *
+     * @param listener a non-null {@link RioResponseListener}
+     */
+    public synchronized void unsubscribe(RioResponseListener listener) {
+        if (_listeners.remove(listener)) {
+            _root.remove(listener);
+        }
+    }
+
+    /**
+     * Parses the response and dispatches it to the listeners subscribed to its path
+     *
+     * @param response a possibly null, possibly empty response
+     */
+    @Override
+    public void responseReceived(String response) {
+        final RioResponse rioResponse = RioResponse.parse(response);
+        if (rioResponse == null) {
+            logger.trace("Ignoring unrecognized response: '{}'", response);
+            return;
+        }
+
+        Node node = _root;
+        for (int segment = 0; segment < rioResponse.getSegmentCount() && node != null; segment++) {
+            node = node.getChild(rioResponse, segment);
+        }
+
+        if (node == null || node._listeners.isEmpty()) {
+            logger.trace("No subscribers for response: '{}'", response);
+            return;
+        }
+
+        for (RioResponseListener listener : node._listeners) {
+            try {
+                listener.responseReceived(rioResponse);
+            } catch (RuntimeException e) {
+                logger.warn("Exception occurred processing the response '{}': {}", response, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the exception to all listeners
+     *
+     * @param e a non-null exception
+     */
+    @Override
+    public void responseException(Exception e) {
+        for (RioResponseListener listener : _listeners) {
+            listener.responseException(e);
+        }
+    }
+
+    /**
+     * A node of the trie, representing a single path segment
+     *
+     * @author agent - Initial contribution
+     */
+    private static class Node {
+        private final String _name;
+        private final int _index;
+        private final List<Node> _children = new CopyOnWriteArrayList<Node>();
+        private final List<RioResponseListener> _listeners = new CopyOnWriteArrayList<RioResponseListener>();
+
+        Node(String name, int index) {
+            _name = name;
+            _index = index;
+        }
+
+        /**
+         * Returns the child matching the given segment of the response
+         *
+         * @return the child node or null if none matches
+         */
+        Node getChild(RioResponse response, int segment) {
+            final int index = response.getIndex(segment);
+            for (Node child : _children) {
+                if (child._index == index && response.isSegmentName(segment, child._name)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node getOrAddChild(String name, int index) {
+            for (Node child : _children) {
+                if (child._index == index && child._name.equals(name)) {
+                    return child;
+                }
+            }
+            final Node child = new Node(name, index);
+            _children.add(child);
+            return child;
+        }
+
+        /**
+         * Removes the listener from this node and its children, pruning children left without listeners
+         */
+        void remove(RioResponseListener listener) {
+            _listeners.remove(listener);
+            for (Node child : _children) {
+                child.remove(listener);
+                if (child._listeners.isEmpty() && child._children.isEmpty()) {
+                    _children.remove(child);
+                }
+            }
+        }
+    }
+}
@@ -8,15 +8,14 @@
  */
 package org.openhab.binding.russound.internal.rio.bank;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.smarthome.core.library.types.StringType;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,9 +43,6 @@ class RioBankProtocol extends AbstractRioProtocol {
     // Protocol constants
     private static final String BANK_NAME = "name";
 
-    // Protocol notification patterns
-    private final Pattern RSP_BANKNOTIFICATION = Pattern.compile("^[SN] S\\[(\\d+)\\].B\\[(\\d+)\\].(\\w+)=\"(.*)\"$");
-
     /**
      * Constructs the protocol handler from given parameters
      *
@@ -59,6 +55,7 @@ class RioBankProtocol extends AbstractRioProtocol {
         super(session, callback);
         _bank = bank;
         _source = source;
+        subscribe("S[" + source + "].B[" + bank + "]");
     }
 
     /**
@@ -84,64 +81,28 @@ class RioBankProtocol extends AbstractRioProtocol {
     /**
      * Handles any bank notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our bank
      */
-    private void handleBankNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-
-        // System notification
-        if (m.groupCount() == 4) {
-            try {
-                final int bank = Integer.parseInt(m.group(1));
-                if (bank != _bank) {
-                    return;
-                }
-
-                final int source = Integer.parseInt(m.group(2));
-                if (source != _source) {
-                    return;
-                }
-
-                final String key = m.group(3);
-                final String value = m.group(4);
-
-                switch (key) {
-                    case BANK_NAME:
-                        stateChanged(RioConstants.CHANNEL_BANKNAME, new StringType(value));
-                        break;
-
-                    default:
-                        logger.warn("Unknown bank name notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid Bank Name Notification (bank/source not a parsable integer): '{}')", resp);
-            }
-
-        } else {
-            logger.warn("Invalid Bank Notification: '{}')", resp);
+    private void handleBankNotification(RioResponse resp) {
+        switch (resp.getKey()) {
+            case BANK_NAME:
+                stateChanged(RioConstants.CHANNEL_BANKNAME, new StringType(resp.getValue()));
+                break;
+
+            default:
+                logger.warn("Unknown bank name notification: '{}'", resp);
+                break;
         }
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our bank
+     * (<code>S[source].B[bank].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        final Matcher m = RSP_BANKNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleBankNotification(m, response);
-            return;
-        }
+    public void responseReceived(RioResponse response) {
+        handleBankNotification(response);
     }
 }
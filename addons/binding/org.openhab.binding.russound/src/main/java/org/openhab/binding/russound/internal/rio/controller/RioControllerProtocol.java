@@ -8,14 +8,13 @@
  */
 package org.openhab.binding.russound.internal.rio.controller;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,9 +39,6 @@ class RioControllerProtocol extends AbstractRioProtocol {
     private static final String CTL_IPADDRESS = "ipAddress";
     private static final String CTL_MACADDRESS = "macAddress";
 
-    // Response pattners
-    private final Pattern RSP_CONTROLLERNOTIFICATION = Pattern.compile("^[SN] C\\[(\\d+)\\]\\.(\\w+)=\"(.*)\"$");
-
     /**
      * Constructs the protocol handler from given parameters
      *
@@ -53,6 +49,7 @@ class RioControllerProtocol extends AbstractRioProtocol {
     RioControllerProtocol(int controller, SocketSession session, RioHandlerCallback callback) {
         super(session, callback);
         _controller = controller;
+        subscribe("C[" + controller + "]");
     }
 
     /**
@@ -92,65 +89,38 @@ class RioControllerProtocol extends AbstractRioProtocol {
     /**
      * Handles any controller notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our controller
      */
-    private void handleControllerNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-        if (m.groupCount() == 3) {
-            try {
-                final int controller = Integer.parseInt(m.group(1));
-                if (controller != _controller) {
-                    return;
-                }
-
-                final String key = m.group(2);
-                final String value = m.group(3);
+    private void handleControllerNotification(RioResponse resp) {
+        final String value = resp.getValue();
 
-                switch (key) {
-                    case CTL_TYPE:
-                        setProperty(RioConstants.PROPERTY_CTLTYPE, value);
-                        break;
+        switch (resp.getKey()) {
+            case CTL_TYPE:
+                setProperty(RioConstants.PROPERTY_CTLTYPE, value);
+                break;
 
-                    case CTL_IPADDRESS:
-                        setProperty(RioConstants.PROPERTY_CTLIPADDRESS, value);
-                        break;
+            case CTL_IPADDRESS:
+                setProperty(RioConstants.PROPERTY_CTLIPADDRESS, value);
+                break;
 
-                    case CTL_MACADDRESS:
-                        setProperty(RioConstants.PROPERTY_CTLMACADDRESS, value);
-                        break;
+            case CTL_MACADDRESS:
+                setProperty(RioConstants.PROPERTY_CTLMACADDRESS, value);
+                break;
 
-                    default:
-                        logger.debug("Unknown controller notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.debug("Invalid Controller Notification (controller not a parsable integer): '{}')", resp);
-            }
-        } else {
-            logger.debug("Invalid Controller Notification response: '{}'", resp);
+            default:
+                logger.debug("Unknown controller notification: '{}'", resp);
+                break;
         }
-
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our controller
+     * (<code>C[controller].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        final Matcher m = RSP_CONTROLLERNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleControllerNotification(m, response);
-            return;
-        }
+    public void responseReceived(RioResponse response) {
+        handleControllerNotification(response);
     }
 }
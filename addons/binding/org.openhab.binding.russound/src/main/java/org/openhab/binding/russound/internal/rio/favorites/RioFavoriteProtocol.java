@@ -8,16 +8,15 @@
  */
 package org.openhab.binding.russound.internal.rio.favorites;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,12 +55,6 @@ class RioFavoriteProtocol extends AbstractRioProtocol {
     private static final String FAV_NAME = "name";
     private static final String FAV_VALID = "valid";
 
-    // Response patterns
-    private final Pattern RSP_SYSTEMNOTIFICATION = Pattern
-            .compile("^[SN] System.favorite\\[(\\d+)\\].(\\w+)=\"(.*)\"$");
-    private final Pattern RSP_ZONENOTIFICATION = Pattern
-            .compile("^[SN] C\\[(\\d+)\\].Z\\[(\\d+)\\].favorite\\[(\\d+)\\].(\\w+)=\"(.*)\"$");
-
     /**
      * Constructs the protocol handler from given parameters
      *
@@ -77,6 +70,11 @@ class RioFavoriteProtocol extends AbstractRioProtocol {
         _zone = zone;
         _controller = controller;
         setName("Favorite " + favorite);
+
+        subscribe("System.favorite[" + favorite + "]");
+        if (!isSystemFavorite()) {
+            subscribe("C[" + controller + "].Z[" + zone + "].favorite[" + favorite + "]");
+        }
     }
 
     /**
@@ -207,124 +205,62 @@ class RioFavoriteProtocol extends AbstractRioProtocol {
     /**
      * Handles any system level favorite notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our favorite
      */
-    private void handleSystemNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-
-        // System notification
-        if (m.groupCount() == 3) {
-            try {
-                final int favorite = Integer.parseInt(m.group(1));
-                if (favorite != _favorite) {
-                    return;
-                }
-
-                final String key = m.group(2);
-                final String value = m.group(3);
-                switch (key) {
-                    case FAV_NAME:
-                        setName(value);
-                        break;
-
-                    case FAV_VALID:
-                        stateChanged(RioConstants.CHANNEL_FAVVALID,
-                                "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
-                        break;
-
-                    default:
-                        logger.warn("Unknown system favorite notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid System Favorite Notification (favorite not a parsable integer): '{}')", resp);
-            }
-
-        } else {
-            logger.warn("Invalid System Favorite Notification: '{}')", resp);
+    private void handleSystemNotification(RioResponse resp) {
+        final String value = resp.getValue();
+        switch (resp.getKey()) {
+            case FAV_NAME:
+                setName(value);
+                break;
+
+            case FAV_VALID:
+                stateChanged(RioConstants.CHANNEL_FAVVALID,
+                        "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
+                break;
+
+            default:
+                logger.warn("Unknown system favorite notification: '{}'", resp);
+                break;
         }
     }
 
     /**
      * Handles any zone level favorite notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our favorite
      */
-    private void handleZoneNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-
-        if (m.groupCount() == 5) {
-            try {
-                final int controller = Integer.parseInt(m.group(1));
-                if (controller != _controller) {
-                    return;
-                }
-
-                final int zone = Integer.parseInt(m.group(2));
-                if (zone != _zone) {
-                    return;
-                }
-
-                final int favorite = Integer.parseInt(m.group(3));
-                if (favorite != _favorite) {
-                    return;
-                }
-
-                final String key = m.group(4);
-                final String value = m.group(5);
-
-                switch (key) {
-                    case FAV_NAME:
-                        setName(value);
-                        break;
-
-                    case FAV_VALID:
-                        stateChanged(RioConstants.CHANNEL_FAVVALID,
-                                "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
-                        break;
-
-                    default:
-                        logger.warn("Unknown zone favorite notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.warn(
-                        "Invalid zone favorite Notification (controller/zone/favorite not a parsable integer): '{}')",
-                        resp);
-            }
-        } else {
-            logger.warn("Invalid Zone Favorite Notification: '{}')", resp);
+    private void handleZoneNotification(RioResponse resp) {
+        final String value = resp.getValue();
+        switch (resp.getKey()) {
+            case FAV_NAME:
+                setName(value);
+                break;
+
+            case FAV_VALID:
+                stateChanged(RioConstants.CHANNEL_FAVVALID,
+                        "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
+                break;
+
+            default:
+                logger.warn("Unknown zone favorite notification: '{}'", resp);
+                break;
         }
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our favorite
+     * (<code>System.favorite[favorite].key="value"</code> or
+     * <code>C[controller].Z[zone].favorite[favorite].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        Matcher m = RSP_SYSTEMNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleSystemNotification(m, response);
-            return;
-        }
-
-        m = RSP_ZONENOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleZoneNotification(m, response);
-            return;
+    public void responseReceived(RioResponse response) {
+        if (response.isSegmentName(0, "System")) {
+            handleSystemNotification(response);
+        } else {
+            handleZoneNotification(response);
         }
     }
 }
@@ -8,16 +8,15 @@
  */
 package org.openhab.binding.russound.internal.rio.preset;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,10 +65,6 @@ class RioPresetProtocol extends AbstractRioProtocol {
     private static final String PRESET_NAME = "name";
     private static final String PRESET_VALID = "valid";
 
-    // Response patterns
-    private final Pattern RSP_PRESETNOTIFICATION = Pattern
-            .compile("^[SN] S\\[(\\d+)\\].B\\[(\\d+)\\].P\\[(\\d+)\\].(\\w+)=\"(.*)\"$");
-
     /**
      * Constructs the protocol handler from given parameters
      *
@@ -90,6 +85,11 @@ class RioPresetProtocol extends AbstractRioProtocol {
         _zone = zone;
         _controller = controller;
         setName("Preset " + preset);
+
+        // only bank presets receive notifications
+        if (isBank()) {
+            subscribe("S[" + source + "].B[" + bank + "].P[" + preset + "]");
+        }
     }
 
     /**
@@ -197,72 +197,35 @@ class RioPresetProtocol extends AbstractRioProtocol {
     /**
      * Handles any preset notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our preset
      */
-    private void handlePresetNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-
-        if (m.groupCount() == 5) {
-            try {
-                final int source = Integer.parseInt(m.group(1));
-                if (source != _source) {
-                    return;
-                }
-
-                final int bank = Integer.parseInt(m.group(2));
-                if (bank != _bank) {
-                    return;
-                }
+    private void handlePresetNotification(RioResponse resp) {
+        final String value = resp.getValue();
 
-                final int preset = Integer.parseInt(m.group(3));
-                if (preset != _preset) {
-                    return;
-                }
+        switch (resp.getKey()) {
+            case PRESET_NAME:
+                setName(value);
+                break;
 
-                final String key = m.group(4);
-                final String value = m.group(5);
+            case PRESET_VALID:
+                stateChanged(RioConstants.CHANNEL_PRESETVALID,
+                        "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
+                break;
 
-                switch (key) {
-                    case PRESET_NAME:
-                        setName(value);
-                        break;
-
-                    case PRESET_VALID:
-                        stateChanged(RioConstants.CHANNEL_PRESETVALID,
-                                "false".equalsIgnoreCase(value) ? OnOffType.OFF : OnOffType.ON);
-                        break;
-
-                    default:
-                        logger.warn("Unknown preset notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid Preset Notification (source/bank/preset not a parsable integer): '{}')", resp);
-            }
-        } else {
-            logger.warn("Invalid Preset Notification: '{}')", resp);
+            default:
+                logger.warn("Unknown preset notification: '{}'", resp);
+                break;
         }
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our preset
+     * (<code>S[source].B[bank].P[preset].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        final Matcher m = RSP_PRESETNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handlePresetNotification(m, response);
-            return;
-        }
+    public void responseReceived(RioResponse response) {
+        handlePresetNotification(response);
     }
 }
@@ -10,8 +10,6 @@ package org.openhab.binding.russound.internal.rio.source;
 
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
@@ -19,11 +17,13 @@ import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.types.UnDefType;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,9 +71,6 @@ class RioSourceProtocol extends AbstractRioProtocol {
     // This is an undocumented volume
     private static final String SRC_VOLUME = "volume";
 
-    // Response patterns
-    private final Pattern RSP_SRCNOTIFICATION = Pattern.compile("^[SN] S\\[(\\d+)\\]\\.(\\w+)=\"(.*)\"$");
-
     /**
      * The client used for http requests
      */
@@ -96,6 +93,8 @@ class RioSourceProtocol extends AbstractRioProtocol {
         _httpClient = new HttpClient();
         _httpClient.setFollowRedirects(true);
         _httpClient.start();
+
+        subscribe("S[" + source + "]");
     }
 
     /**
@@ -293,141 +292,117 @@ class RioSourceProtocol extends AbstractRioProtocol {
     /**
      * Handles any source notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse} for our source
      */
-    private void handleSourceNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-        if (m.groupCount() == 3) {
-            try {
-                final int source = Integer.parseInt(m.group(1));
-                if (source != _source) {
-                    return;
-                }
-                final String key = m.group(2);
-                final String value = m.group(3);
-
-                switch (key) {
-                    case SRC_NAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCENAME, new StringType(value));
-                        break;
-
-                    case SRC_TYPE:
-                        setProperty(RioConstants.PROPERTY_SOURCETYPE, value);
-                        break;
-
-                    case SRC_IPADDRESS:
-                    case SRC_IPADDRESS2:
-                        setProperty(RioConstants.PROPERTY_SOURCEIPADDRESS, value);
-                        break;
-
-                    case SRC_COMPOSERNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCECOMPOSERNAME, new StringType(value));
-                        break;
-
-                    case SRC_CHANNEL:
-                        stateChanged(RioConstants.CHANNEL_SOURCECHANNEL, new StringType(value));
-                        break;
-
-                    case SRC_CHANNELNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCECHANNELNAME, new StringType(value));
-                        break;
-
-                    case SRC_GENRE:
-                        stateChanged(RioConstants.CHANNEL_SOURCEGENRE, new StringType(value));
-                        break;
-
-                    case SRC_ARTISTNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCEARTISTNAME, new StringType(value));
-                        break;
-
-                    case SRC_ALBUMNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCEALBUMNAME, new StringType(value));
-                        break;
-
-                    case SRC_COVERARTURL:
-                        handleCoverArt(value);
-                        break;
-
-                    case SRC_PLAYLISTNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCEPLAYLISTNAME, new StringType(value));
-                        break;
-
-                    case SRC_SONGNAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCESONGNAME, new StringType(value));
-                        break;
-
-                    case SRC_MODE:
-                        stateChanged(RioConstants.CHANNEL_SOURCEMODE, new StringType(value));
-                        break;
-
-                    case SRC_SHUFFLEMODE:
-                        stateChanged(RioConstants.CHANNEL_SOURCESHUFFLEMODE, new StringType(value));
-                        break;
-
-                    case SRC_REPEATMODE:
-                        stateChanged(RioConstants.CHANNEL_SOURCEREPEATMODE, new StringType(value));
-                        break;
-
-                    case SRC_RATING:
-                        stateChanged(RioConstants.CHANNEL_SOURCERATING, new StringType(value));
-                        break;
-
-                    case SRC_PROGRAMSERVICENAME:
-                        stateChanged(RioConstants.CHANNEL_SOURCEPROGRAMSERVICENAME, new StringType(value));
-                        break;
-
-                    case SRC_RADIOTEXT:
-                        stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT, new StringType(value));
-                        break;
-
-                    case SRC_RADIOTEXT2:
-                        stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT2, new StringType(value));
-                        break;
-
-                    case SRC_RADIOTEXT3:
-                        stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT3, new StringType(value));
-                        break;
-
-                    case SRC_RADIOTEXT4:
-                        stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT4, new StringType(value));
-                        break;
-
-                    case SRC_VOLUME:
-                        stateChanged(RioConstants.CHANNEL_SOURCEVOLUME, new StringType(value));
-                        break;
-
-                    default:
-                        logger.warn("Unknown source notification: '{}'", resp);
-                        break;
-                }
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid Source Notification (source not a parsable integer): '{}')", resp);
-            }
-        } else {
-            logger.warn("Invalid Source Notification response: '{}'", resp);
+    private void handleSourceNotification(RioResponse resp) {
+        final String key = resp.getKey();
+        final String value = resp.getValue();
+
+        switch (key) {
+            case SRC_NAME:
+                stateChanged(RioConstants.CHANNEL_SOURCENAME, new StringType(value));
+                break;
+
+            case SRC_TYPE:
+                setProperty(RioConstants.PROPERTY_SOURCETYPE, value);
+                break;
+
+            case SRC_IPADDRESS:
+            case SRC_IPADDRESS2:
+                setProperty(RioConstants.PROPERTY_SOURCEIPADDRESS, value);
+                break;
+
+            case SRC_COMPOSERNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCECOMPOSERNAME, new StringType(value));
+                break;
+
+            case SRC_CHANNEL:
+                stateChanged(RioConstants.CHANNEL_SOURCECHANNEL, new StringType(value));
+                break;
+
+            case SRC_CHANNELNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCECHANNELNAME, new StringType(value));
+                break;
+
+            case SRC_GENRE:
+                stateChanged(RioConstants.CHANNEL_SOURCEGENRE, new StringType(value));
+                break;
+
+            case SRC_ARTISTNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCEARTISTNAME, new StringType(value));
+                break;
+
+            case SRC_ALBUMNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCEALBUMNAME, new StringType(value));
+                break;
+
+            case SRC_COVERARTURL:
+                handleCoverArt(value);
+                break;
+
+            case SRC_PLAYLISTNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCEPLAYLISTNAME, new StringType(value));
+                break;
+
+            case SRC_SONGNAME:
+                stateChanged(RioConstants.CHANNEL_SOURCESONGNAME, new StringType(value));
+                break;
+
+            case SRC_MODE:
+                stateChanged(RioConstants.CHANNEL_SOURCEMODE, new StringType(value));
+                break;
+
+            case SRC_SHUFFLEMODE:
+                stateChanged(RioConstants.CHANNEL_SOURCESHUFFLEMODE, new StringType(value));
+                break;
+
+            case SRC_REPEATMODE:
+                stateChanged(RioConstants.CHANNEL_SOURCEREPEATMODE, new StringType(value));
+                break;
+
+            case SRC_RATING:
+                stateChanged(RioConstants.CHANNEL_SOURCERATING, new StringType(value));
+                break;
+
+            case SRC_PROGRAMSERVICENAME:
+                stateChanged(RioConstants.CHANNEL_SOURCEPROGRAMSERVICENAME, new StringType(value));
+                break;
+
+            case SRC_RADIOTEXT:
+                stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT, new StringType(value));
+                break;
+
+            case SRC_RADIOTEXT2:
+                stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT2, new StringType(value));
+                break;
+
+            case SRC_RADIOTEXT3:
+                stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT3, new StringType(value));
+                break;
+
+            case SRC_RADIOTEXT4:
+                stateChanged(RioConstants.CHANNEL_SOURCERADIOTEXT4, new StringType(value));
+                break;
+
+            case SRC_VOLUME:
+                stateChanged(RioConstants.CHANNEL_SOURCEVOLUME, new StringType(value));
+                break;
+
+            default:
+                logger.warn("Unknown source notification: '{}'", resp);
+                break;
         }
-
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our source
+     * (<code>S[source].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        final Matcher m = RSP_SRCNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleSourceNotification(m, response);
-        }
+    public void responseReceived(RioResponse response) {
+        handleSourceNotification(response);
     }
 
     /**
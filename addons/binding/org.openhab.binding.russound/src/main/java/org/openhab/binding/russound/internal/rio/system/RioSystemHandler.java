@@ -22,12 +22,12 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.binding.russound.internal.net.SocketChannelSession;
-import org.openhab.binding.russound.internal.net.SocketSession;
 import org.openhab.binding.russound.internal.rio.AbstractBridgeHandler;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
 import org.openhab.binding.russound.internal.rio.StatefulHandlerCallback;
+import org.openhab.io.transport.socket.SocketChannelSession;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -171,7 +171,7 @@ public class RioSystemHandler extends AbstractBridgeHandler<RioSystemProtocol> {
             return;
         }
 
-        _session = new SocketChannelSession(config.getIpAddress(), 9621);
+        _session = new SocketChannelSession(config.getIpAddress(), 9621, "\r\n", "Login: ", "Password: ");
 
         // Try initial connection in a scheduled task
         this.scheduler.schedule(new Runnable() {
@@ -8,18 +8,17 @@
  */
 package org.openhab.binding.russound.internal.rio.system;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,11 +38,6 @@ class RioSystemProtocol extends AbstractRioProtocol {
     private static final String SYS_STATUS = "status"; // 12 max
     private static final String SYS_LANG = "language"; // 12 max
 
-    // Response patterns
-    private final Pattern RSP_VERSION = Pattern.compile("^S VERSION=\"(.+)\"$");
-    private final Pattern RSP_FAILURE = Pattern.compile("^E (.*)");
-    private final Pattern RSP_SYSTEMNOTIFICATION = Pattern.compile("^[SN] System\\.(\\w+)=\"(.*)\"$");
-
     /**
      * This represents our ping command. There is no ping command in the protocol so we simply send an empty command to
      * keep things alive (and not generate any errors)
@@ -59,6 +53,9 @@ class RioSystemProtocol extends AbstractRioProtocol {
     RioSystemProtocol(SocketSession session, RioHandlerCallback callback) {
         super(session, callback);
 
+        // responses without a path (version and errors) and system notifications
+        subscribe("");
+        subscribe("System");
     }
 
     /**
@@ -166,92 +163,62 @@ class RioSystemProtocol extends AbstractRioProtocol {
     /**
      * Handles the version notification
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse}
      */
-    void handleVersionNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-        if (m.groupCount() == 1) {
-            final String version = m.group(1);
-            setProperty(RioConstants.PROPERTY_SYSVERSION, version);
+    void handleVersionNotification(RioResponse resp) {
+        if (resp.getValue().length() > 0) {
+            setProperty(RioConstants.PROPERTY_SYSVERSION, resp.getValue());
         } else {
             logger.warn("Invalid System Notification response: '{}'", resp);
         }
-
     }
 
     /**
      * Handles any system notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
-     */
-    void handleSystemNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
+     * @param resp a non-null {@link RioResponse}
+     */
+    void handleSystemNotification(RioResponse resp) {
+        final String key = resp.getKey();
+        final String value = resp.getValue();
+
+        switch (key) {
+            case SYS_LANG:
+                stateChanged(RioConstants.CHANNEL_SYSLANG, new StringType(value));
+                break;
+            case SYS_STATUS:
+                stateChanged(RioConstants.CHANNEL_SYSSTATUS, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            default:
+                logger.warn("Unknown system notification: '{}'", resp);
+                break;
         }
-        if (m.groupCount() == 2) {
-            final String key = m.group(1);
-            final String value = m.group(2);
-
-            switch (key) {
-                case SYS_LANG:
-                    stateChanged(RioConstants.CHANNEL_SYSLANG, new StringType(value));
-                    break;
-                case SYS_STATUS:
-                    stateChanged(RioConstants.CHANNEL_SYSSTATUS, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                    break;
-
-                default:
-                    logger.warn("Unknown system notification: '{}'", resp);
-                    break;
-            }
-        } else {
-            logger.warn("Invalid System Notification response: '{}'", resp);
-        }
-
     }
 
     /**
      * Handles any error notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
+     * @param resp a non-null {@link RioResponse}
      */
-    private void handleFailureNotification(Matcher m, String resp) {
+    private void handleFailureNotification(RioResponse resp) {
         logger.info("Error notification: {}", resp);
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the version, error and system
+     * (<code>System.key="value"</code>) responses routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        Matcher m = RSP_VERSION.matcher(response);
-        if (m.matches()) {
-            handleVersionNotification(m, response);
-            return;
-        }
-
-        m = RSP_SYSTEMNOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleSystemNotification(m, response);
-            return;
-        }
-
-        m = RSP_FAILURE.matcher(response);
-        if (m.matches()) {
-            handleFailureNotification(m, response);
-            return;
+    public void responseReceived(RioResponse response) {
+        if (response.getType() == 'E') {
+            handleFailureNotification(response);
+        } else if (response.getSegmentCount() > 0) {
+            handleSystemNotification(response);
+        } else if (response.getType() == 'S' && SYS_VERSION.equals(response.getKey())) {
+            handleVersionNotification(response);
         }
     }
 
@@ -8,18 +8,17 @@
  */
 package org.openhab.binding.russound.internal.rio.zone;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.StringType;
-import org.openhab.binding.russound.internal.net.SocketSession;
-import org.openhab.binding.russound.internal.net.SocketSessionListener;
 import org.openhab.binding.russound.internal.rio.AbstractRioProtocol;
 import org.openhab.binding.russound.internal.rio.RioConstants;
 import org.openhab.binding.russound.internal.rio.RioHandlerCallback;
+import org.openhab.binding.russound.internal.rio.RioResponse;
+import org.openhab.binding.russound.internal.rio.RioResponseListener;
+import org.openhab.binding.russound.internal.rio.RioResponseRouter;
+import org.openhab.io.transport.socket.SocketSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,10 +62,6 @@ class RioZoneProtocol extends AbstractRioProtocol {
     private static final String ZONE_LASTERROR = "lastError"; // OFF/ON/MASTER
     private static final String ZONE_ENABLED = "enabled"; // OFF/ON
 
-    // Respone patterns
-    private final Pattern RSP_ZONENOTIFICATION = Pattern
-            .compile("^[SN] C\\[(\\d+)\\]\\.Z\\[(\\d+)\\]\\.(\\w+)=\"(.*)\"$");
-
     /**
      * Constructs the protocol handler from given parameters
      *
@@ -87,6 +82,8 @@ class RioZoneProtocol extends AbstractRioProtocol {
 
         _controller = controller;
         _zone = zone;
+
+        subscribe("C[" + controller + "].Z[" + zone + "]");
     }
 
     /**
@@ -488,162 +485,134 @@ class RioZoneProtocol extends AbstractRioProtocol {
     /**
      * Handles any zone notifications returned by the russound system
      *
-     * @param m a non-null matcher
-     * @param resp a possibly null, possibly empty response
-     */
-    private void handleZoneNotification(Matcher m, String resp) {
-        if (m == null) {
-            throw new IllegalArgumentException("m (matcher) cannot be null");
-        }
-        if (m.groupCount() == 4) {
-            try {
-                final int controller = Integer.parseInt(m.group(1));
-                if (controller != _controller) {
-                    return;
+     * @param resp a non-null {@link RioResponse} for our zone
+     */
+    private void handleZoneNotification(RioResponse resp) {
+        final String key = resp.getKey();
+        final String value = resp.getValue();
+
+        switch (key) {
+            case ZONE_NAME:
+                stateChanged(RioConstants.CHANNEL_ZONENAME, new StringType(value));
+                break;
+
+            case ZONE_SOURCE:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONESOURCE, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (source not parsable): '{}')", resp);
                 }
-                final int zone = Integer.parseInt(m.group(2));
-                if (zone != _zone) {
-                    return;
+                break;
+
+            case ZONE_BASS:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONEBASS, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (bass not parsable): '{}')", resp);
                 }
-                final String key = m.group(3);
-                final String value = m.group(4);
-
-                switch (key) {
-                    case ZONE_NAME:
-                        stateChanged(RioConstants.CHANNEL_ZONENAME, new StringType(value));
-                        break;
-
-                    case ZONE_SOURCE:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONESOURCE, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (source not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_BASS:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONEBASS, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (bass not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_TREBLE:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONETREBLE, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (treble not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_BALANCE:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONEBALANCE, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (balance not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_LOUDNESS:
-                        stateChanged(RioConstants.CHANNEL_ZONELOUDNESS,
-                                "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-
-                    case ZONE_TURNONVOLUME:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONETURNONVOLUME, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (turnonvolume not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_DONOTDISTURB:
-                        stateChanged(RioConstants.CHANNEL_ZONEDONOTDISTURB, new StringType(value));
-                        break;
-
-                    case ZONE_PARTYMODE:
-                        stateChanged(RioConstants.CHANNEL_ZONEPARTYMODE, new StringType(value));
-                        break;
-
-                    case ZONE_STATUS:
-                        stateChanged(RioConstants.CHANNEL_ZONESTATUS,
-                                "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-                    case ZONE_MUTE:
-                        stateChanged(RioConstants.CHANNEL_ZONEMUTE, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-
-                    case ZONE_SHAREDSOURCE:
-                        stateChanged(RioConstants.CHANNEL_ZONESHAREDSOURCE,
-                                "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-
-                    case ZONE_LASTERROR:
-                        stateChanged(RioConstants.CHANNEL_ZONELASTERROR, new StringType(value));
-                        break;
-
-                    case ZONE_PAGE:
-                        stateChanged(RioConstants.CHANNEL_ZONEPAGE, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-
-                    case ZONE_SLEEPTIMEREMAINING:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONESLEEPTIMEREMAINING, new DecimalType(nbr));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (sleeptimeremaining not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    case ZONE_ENABLED:
-                        stateChanged(RioConstants.CHANNEL_ZONEENABLED,
-                                "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
-                        break;
-
-                    case ZONE_VOLUME:
-                        try {
-                            final int nbr = Integer.parseInt(value);
-                            stateChanged(RioConstants.CHANNEL_ZONEVOLUME, new PercentType(nbr * 2));
-                        } catch (NumberFormatException e) {
-                            logger.warn("Invalid zone notification (volume not parsable): '{}')", resp);
-                        }
-                        break;
-
-                    default:
-                        logger.warn("Unknown zone notification: '{}'", resp);
-                        break;
+                break;
+
+            case ZONE_TREBLE:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONETREBLE, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (treble not parsable): '{}')", resp);
                 }
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid Zone Notification (controller/zone not a parsable integer): '{}')", resp);
-            }
-        } else {
-            logger.warn("Invalid Zone Notification response: '{}'", resp);
-        }
+                break;
+
+            case ZONE_BALANCE:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONEBALANCE, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (balance not parsable): '{}')", resp);
+                }
+                break;
+
+            case ZONE_LOUDNESS:
+                stateChanged(RioConstants.CHANNEL_ZONELOUDNESS,
+                        "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            case ZONE_TURNONVOLUME:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONETURNONVOLUME, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (turnonvolume not parsable): '{}')", resp);
+                }
+                break;
+
+            case ZONE_DONOTDISTURB:
+                stateChanged(RioConstants.CHANNEL_ZONEDONOTDISTURB, new StringType(value));
+                break;
+
+            case ZONE_PARTYMODE:
+                stateChanged(RioConstants.CHANNEL_ZONEPARTYMODE, new StringType(value));
+                break;
+
+            case ZONE_STATUS:
+                stateChanged(RioConstants.CHANNEL_ZONESTATUS,
+                        "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+            case ZONE_MUTE:
+                stateChanged(RioConstants.CHANNEL_ZONEMUTE, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            case ZONE_SHAREDSOURCE:
+                stateChanged(RioConstants.CHANNEL_ZONESHAREDSOURCE,
+                        "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            case ZONE_LASTERROR:
+                stateChanged(RioConstants.CHANNEL_ZONELASTERROR, new StringType(value));
+                break;
+
+            case ZONE_PAGE:
+                stateChanged(RioConstants.CHANNEL_ZONEPAGE, "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            case ZONE_SLEEPTIMEREMAINING:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONESLEEPTIMEREMAINING, new DecimalType(nbr));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (sleeptimeremaining not parsable): '{}')", resp);
+                }
+                break;
+
+            case ZONE_ENABLED:
+                stateChanged(RioConstants.CHANNEL_ZONEENABLED,
+                        "ON".equals(value) ? OnOffType.ON : OnOffType.OFF);
+                break;
+
+            case ZONE_VOLUME:
+                try {
+                    final int nbr = Integer.parseInt(value);
+                    stateChanged(RioConstants.CHANNEL_ZONEVOLUME, new PercentType(nbr * 2));
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid zone notification (volume not parsable): '{}')", resp);
+                }
+                break;
 
+            default:
+                logger.warn("Unknown zone notification: '{}'", resp);
+                break;
+        }
     }
 
     /**
-     * Implements {@link SocketSessionListener#responseReceived(String)} to try to process the response from the
-     * russound system. This response may be for other protocol handler - so ignore if we don't recognize the response.
+     * Implements {@link RioResponseListener#responseReceived(RioResponse)} to process the responses for our zone
+     * (<code>C[controller].Z[zone].key="value"</code>) routed to us by the {@link RioResponseRouter}
      *
-     * @param a possibly null, possibly empty response
+     * @param response a non-null {@link RioResponse}
      */
     @Override
-    public void responseReceived(String response) {
-        if (response == null || response == "") {
-            return;
-        }
-
-        final Matcher m = RSP_ZONENOTIFICATION.matcher(response);
-        if (m.matches()) {
-            handleZoneNotification(m, response);
-        }
+    public void responseReceived(RioResponse response) {
+        handleZoneNotification(response);
     }
 
     /**
@@ -696,7 +696,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         final int TIMEOUT_COUNT = 50;
 
         SqueezeBoxNotificationListener listener = new SqueezeBoxNotificationListener(mac);
-        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(listener);
+        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(mac, listener);
 
         logger.trace("Waiting up to {} ms for playlist to be updated...", TIMEOUT_COUNT * 100);
         listener.resetPlaylistUpdated();
@@ -721,7 +721,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         final int TIMEOUT_COUNT = 300;
 
         SqueezeBoxNotificationListener listener = new SqueezeBoxNotificationListener(mac);
-        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(listener);
+        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(mac, listener);
 
         logger.trace("Waiting up to {} ms for stop...", TIMEOUT_COUNT * 100);
         listener.resetStopped();
@@ -746,7 +746,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         final int TIMEOUT_COUNT = 40;
 
         SqueezeBoxNotificationListener listener = new SqueezeBoxNotificationListener(mac);
-        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(listener);
+        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(mac, listener);
 
         logger.trace("Waiting up to {} ms for volume to update...", TIMEOUT_COUNT * 100);
         listener.resetVolumeUpdated();
@@ -771,7 +771,7 @@ public class SqueezeBoxPlayerHandler extends BaseThingHandler implements Squeeze
         final int TIMEOUT_COUNT = 25;
 
         SqueezeBoxNotificationListener listener = new SqueezeBoxNotificationListener(mac);
-        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(listener);
+        squeezeBoxServerHandler.registerSqueezeBoxPlayerListener(mac, listener);
 
         logger.trace("Waiting up to {} ms for player to pause...", TIMEOUT_COUNT * 100);
         listener.resetPaused();
@@ -18,13 +18,12 @@ import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
 import java.net.URLDecoder;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -67,10 +66,14 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     private static final int VOLUME_CHANGE_SIZE = 5;
     private static final String NEW_LINE = System.getProperty("line.separator");
 
-    private List<SqueezeBoxPlayerEventListener> squeezeBoxPlayerListeners = Collections
-            .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
-    private Map<String, SqueezeBoxPlayer> players = Collections
-            .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
+    // the CLI tag separator (URL encoded colon)
+    private static final String TAG_SEPARATOR = "%3A";
+
+    private List<SqueezeBoxPlayerEventListener> squeezeBoxPlayerListeners = new CopyOnWriteArrayList<>();
+    // listeners and child handlers by player MAC address
+    private ConcurrentMap<String, List<SqueezeBoxPlayerEventListener>> playerListeners = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, SqueezeBoxPlayerHandler> playerHandlers = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, SqueezeBoxPlayer> players = new ConcurrentHashMap<>();
     // client socket and listener thread
     private Socket clientSocket;
     private SqueezeServerListener listener;
@@ -344,6 +347,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             listener = null;
         }
         players.clear();
+        playerHandlers.clear();
         logger.trace("Squeeze Server connection stopped.");
     }
 
@@ -430,18 +434,35 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             String[] playersList = message.split("playerindex\\S*\\s");
             for (String playerParams : playersList) {
 
-                // For each player, split out parameters and decode parameter
-                String[] parameterList = playerParams.split("\\s");
-                for (int i = 0; i < parameterList.length; i++) {
-                    parameterList[i] = decode(parameterList[i]);
-                }
-
-                // parse out the MAC address first
+                // For each player, only decode the parameters we are interested in
                 String macAddress = null;
-                for (String parameter : parameterList) {
-                    if (parameter.contains("playerid")) {
-                        macAddress = parameter.substring(parameter.indexOf(":") + 1);
-                        break;
+                final SqueezeBoxPlayer player = new SqueezeBoxPlayer();
+                MessageTokenizer tokenizer = new MessageTokenizer(playerParams, 0);
+                String parameter;
+                while ((parameter = tokenizer.nextToken()) != null) {
+                    int separator = parameter.indexOf(TAG_SEPARATOR);
+                    if (separator == -1) {
+                        continue;
+                    }
+                    String value = parameter.substring(separator + TAG_SEPARATOR.length());
+                    switch (parameter.substring(0, separator)) {
+                        case "playerid":
+                            macAddress = decode(value);
+                            break;
+                        case "ip":
+                            player.setIpAddr(decode(value));
+                            break;
+                        case "uuid":
+                            player.setUuid(decode(value));
+                            break;
+                        case "name":
+                            player.setName(decode(value));
+                            break;
+                        case "model":
+                            player.setModel(decode(value));
+                            break;
+                        default:
+                            break;
                     }
                 }
 
@@ -449,27 +470,11 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                 if (macAddress == null) {
                     continue;
                 }
-
-                final SqueezeBoxPlayer player = new SqueezeBoxPlayer();
                 player.setMacAddress(macAddress);
-                // populate the player state
-                for (String parameter : parameterList) {
-                    if (parameter.contains("ip")) {
-                        player.setIpAddr(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("uuid")) {
-                        player.setUuid(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("name")) {
-                        player.setName(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("model")) {
-                        player.setModel(parameter.substring(parameter.indexOf(":") + 1));
-                    }
-                }
 
                 // Save player if we haven't seen it yet
-                if (!players.containsKey(macAddress)) {
-                    players.put(macAddress, player);
-
-                    updatePlayer(new PlayerUpdateEvent() {
+                if (players.putIfAbsent(macAddress, player) == null) {
+                    updatePlayer(macAddress, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
                             listener.playerAdded(player);
@@ -483,253 +488,270 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length < 2) {
+            MessageTokenizer tokenizer = new MessageTokenizer(message, 0);
+            String rawMac = tokenizer.nextToken();
+            String messageType = tokenizer.nextToken();
+            if (messageType == null) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
             }
 
-            final String mac = decode(messageParts[0]);
-
-            // get the message type
-            String messageType = messageParts[1];
-
-            if (messageType.equals("status")) {
-                handleStatusMessage(mac, messageParts);
-            } else if (messageType.equals("playlist")) {
-                handlePlaylistMessage(mac, messageParts);
-            } else if (messageType.equals("prefset")) {
-                handlePrefsetMessage(mac, messageParts);
-            } else if (messageType.equals("ir")) {
-                final String ircode = messageParts[2];
-                updatePlayer(new PlayerUpdateEvent() {
-                    @Override
-                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                        listener.irCodeChangeEvent(mac, ircode);
-                    }
-                });
-            } else if (messageType.equals("power")) {
-                // ignore these for now
-                // player.setPowered(messageParts[1].equals("1"));
-            } else if (messageType.equals("play") || messageType.equals("pause") || messageType.equals("stop")) {
-                // ignore these for now
-                // player.setMode(Mode.valueOf(messageType));
-            } else if (messageType.equals("mixer") || messageType.equals("menustatus")
-                    || messageType.equals("button")) {
-                // ignore these for now
-            } else {
-                logger.trace("Unhandled player update message type '{}'.", messageType);
-            }
-        }
-
-        private void handleStatusMessage(final String mac, String[] messageParts) {
-            for (String messagePart : messageParts) {
-                // Parameter Power
-                if (messagePart.startsWith("power%3A")) {
-                    String value = messagePart.substring("power%3A".length());
-                    final boolean power = value.matches("1");
-                    updatePlayer(new PlayerUpdateEvent() {
+            final String mac = decode(rawMac);
+
+            switch (messageType) {
+                case "status":
+                    handleStatusMessage(mac, tokenizer);
+                    break;
+                case "playlist":
+                    handlePlaylistMessage(mac, tokenizer);
+                    break;
+                case "prefset":
+                    handlePrefsetMessage(mac, tokenizer);
+                    break;
+                case "ir":
+                    final String ircode = tokenizer.nextToken();
+                    updatePlayer(mac, new PlayerUpdateEvent() {
                         @Override
                         public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                }
-                // Parameter Volume
-                else if (messagePart.startsWith("mixer%20volume%3A")) {
-                    String value = messagePart.substring("mixer%20volume%3A".length());
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
-                }
-                // Parameter Mode
-                else if (messagePart.startsWith("mode%3A")) {
-                    final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.modeChangeEvent(mac, mode);
-                        }
-                    });
-                }
-                // Parameter Playing Time
-                else if (messagePart.startsWith("time%3A")) {
-                    String value = messagePart.substring("time%3A".length());
-                    final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlayingTimeEvent(mac, time);
-                        }
-                    });
-                }
-                // Parameter duration
-                else if (messagePart.startsWith("duration%3A")) {
-                    String value = messagePart.substring("duration%3A".length());
-                    final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.durationEvent(mac, duration);
-                        }
-                    });
-                }
-                // Parameter Playing Playlist Index
-                else if (messagePart.startsWith("playlist_cur_index%3A")) {
-                    String value = messagePart.substring("playlist_cur_index%3A".length());
-                    // player.setCurrentPlaylistIndex((int)
-                    // Integer.parseInt(value));
-                    final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistIndexEvent(mac, index);
-                        }
-                    });
-                }
-                // Parameter Playlist Number Tracks
-                else if (messagePart.startsWith("playlist_tracks%3A")) {
-                    String value = messagePart.substring("playlist_tracks%3A".length());
-                    final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.numberPlaylistTracksEvent(mac, track);
-                        }
-                    });
-                }
-                // Parameter Playlist Repeat Mode
-                else if (messagePart.startsWith("playlist%20repeat%3A")) {
-                    String value = messagePart.substring("playlist%20repeat%3A".length());
-                    final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistRepeatEvent(mac, repeat);
-                        }
-                    });
-                }
-                // Parameter Playlist Shuffle Mode
-                else if (messagePart.startsWith("playlist%20shuffle%3A")) {
-                    String value = messagePart.substring("playlist%20shuffle%3A".length());
-                    final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistShuffleEvent(mac, shuffle);
-                        }
-                    });
-                }
-                // Parameter Title
-                else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
+                            listener.irCodeChangeEvent(mac, ircode);
                         }
                     });
+                    break;
+                case "power":
+                    // ignore these for now
+                    // player.setPowered(messageParts[1].equals("1"));
+                    break;
+                case "play":
+                case "pause":
+                case "stop":
+                    // ignore these for now
+                    // player.setMode(Mode.valueOf(messageType));
+                    break;
+                case "mixer":
+                case "menustatus":
+                case "button":
+                    // ignore these for now
+                    break;
+                default:
+                    logger.trace("Unhandled player update message type '{}'.", messageType);
+                    break;
+            }
+        }
 
+        private void handleStatusMessage(final String mac, MessageTokenizer tokenizer) {
+            String messagePart;
+            while ((messagePart = tokenizer.nextToken()) != null) {
+                // the tags are compared in their URL encoded form, only string values are decoded
+                int separator = messagePart.indexOf(TAG_SEPARATOR);
+                if (separator == -1) {
+                    logger.trace("Unhandled status message type '{}'", messagePart);
+                    continue;
                 }
-                // Parameter Remote Title (radio)
-                else if (messagePart.startsWith("remote_title%3A")) {
-                    final String value = messagePart.substring("remote_title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.remoteTitleChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Artist
-                else if (messagePart.startsWith("artist%3A")) {
-                    final String value = messagePart.substring("artist%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.artistChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Album
-                else if (messagePart.startsWith("album%3A")) {
-                    final String value = messagePart.substring("album%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.albumChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Genre
-                else if (messagePart.startsWith("genre%3A")) {
-                    final String value = messagePart.substring("genre%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.genreChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Year
-                else if (messagePart.startsWith("year%3A")) {
-                    final String value = messagePart.substring("year%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.yearChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Artwork
-                else if (messagePart.startsWith("artwork_track_id%3A")) {
-                    String url = messagePart.substring("artwork_track_id%3A".length());
-                    // NOTE: what is returned if not an artwork id? i.e. if a
-                    // space?
-                    if (!url.startsWith(" ")) {
-                        url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
-                    }
-                    final String value = url;
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.coverArtChangeEvent(mac, decode(value));
+                final String value = messagePart.substring(separator + TAG_SEPARATOR.length());
+                switch (messagePart.substring(0, separator)) {
+                    // Parameter Power
+                    case "power":
+                        final boolean power = value.equals("1");
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.powerChangeEvent(mac, power);
+                            }
+                        });
+                        break;
+                    // Parameter Volume
+                    case "mixer%20volume":
+                        final int volume = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.volumeChangeEvent(mac, volume);
+                            }
+                        });
+                        break;
+                    // Parameter Mode
+                    case "mode":
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.modeChangeEvent(mac, value);
+                            }
+                        });
+                        break;
+                    // Parameter Playing Time
+                    case "time":
+                        final int time = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlayingTimeEvent(mac, time);
+                            }
+                        });
+                        break;
+                    // Parameter duration
+                    case "duration":
+                        final int duration = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.durationEvent(mac, duration);
+                            }
+                        });
+                        break;
+                    // Parameter Playing Playlist Index
+                    case "playlist_cur_index":
+                        final int index = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistIndexEvent(mac, index);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Number Tracks
+                    case "playlist_tracks":
+                        final int track = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.numberPlaylistTracksEvent(mac, track);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Repeat Mode
+                    case "playlist%20repeat":
+                        final int repeat = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistRepeatEvent(mac, repeat);
+                            }
+                        });
+                        break;
+                    // Parameter Playlist Shuffle Mode
+                    case "playlist%20shuffle":
+                        final int shuffle = (int) Double.parseDouble(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.currentPlaylistShuffleEvent(mac, shuffle);
+                            }
+                        });
+                        break;
+                    // Parameter Title
+                    case "title":
+                        final String title = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.titleChangeEvent(mac, title);
+                            }
+                        });
+                        break;
+                    // Parameter Remote Title (radio)
+                    case "remote_title":
+                        final String remoteTitle = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.remoteTitleChangeEvent(mac, remoteTitle);
+                            }
+                        });
+                        break;
+                    // Parameter Artist
+                    case "artist":
+                        final String artist = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.artistChangeEvent(mac, artist);
+                            }
+                        });
+                        break;
+                    // Parameter Album
+                    case "album":
+                        final String album = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.albumChangeEvent(mac, album);
+                            }
+                        });
+                        break;
+                    // Parameter Genre
+                    case "genre":
+                        final String genre = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.genreChangeEvent(mac, genre);
+                            }
+                        });
+                        break;
+                    // Parameter Year
+                    case "year":
+                        final String year = decode(value);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.yearChangeEvent(mac, year);
+                            }
+                        });
+                        break;
+                    // Parameter Artwork
+                    case "artwork_track_id":
+                        String url = value;
+                        // NOTE: what is returned if not an artwork id? i.e. if a
+                        // space?
+                        if (!url.startsWith(" ")) {
+                            url = "http://" + host + ":" + webport + "/music/" + url + "/cover.jpg";
                         }
-                    });
-                } else {
-                    // Added to be able to see additional status message types
-                    logger.trace("Unhandled status message type '{}'", messagePart);
+                        final String coverArtUrl = decode(url);
+                        updatePlayer(mac, new PlayerUpdateEvent() {
+                            @Override
+                            public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                                listener.coverArtChangeEvent(mac, coverArtUrl);
+                            }
+                        });
+                        break;
+                    default:
+                        // Added to be able to see additional status message types
+                        logger.trace("Unhandled status message type '{}'", messagePart);
+                        break;
                 }
             }
         }
 
-        private void handlePlaylistMessage(final String mac, String[] messageParts) {
-            String action = messageParts[2];
-            String mode;
-            if (action.equals("newsong")) {
-                mode = "play";
-                // Set the track duration to 0
-                updatePlayer(new PlayerUpdateEvent() {
-                    @Override
-                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                        listener.durationEvent(mac, 0);
-                    }
-                });
-            } else if (action.equals("pause")) {
-                mode = messageParts[3].equals("0") ? "play" : "pause";
-            } else if (action.equals("stop")) {
-                mode = "stop";
-            } else {
-                // Added so that actions (such as delete, index, jump, open) are not treated as "play"
-                logger.trace("Unhandled playlist message type '{}'", Arrays.toString(messageParts));
+        private void handlePlaylistMessage(final String mac, MessageTokenizer tokenizer) {
+            String action = tokenizer.nextToken();
+            if (action == null) {
                 return;
             }
+            String mode;
+            switch (action) {
+                case "newsong":
+                    mode = "play";
+                    // Set the track duration to 0
+                    updatePlayer(mac, new PlayerUpdateEvent() {
+                        @Override
+                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                            listener.durationEvent(mac, 0);
+                        }
+                    });
+                    break;
+                case "pause":
+                    mode = "0".equals(tokenizer.nextToken()) ? "play" : "pause";
+                    break;
+                case "stop":
+                    mode = "stop";
+                    break;
+                default:
+                    // Added so that actions (such as delete, index, jump, open) are not treated as "play"
+                    logger.trace("Unhandled playlist message type '{}'", action);
+                    return;
+            }
             final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
+            updatePlayer(mac, new PlayerUpdateEvent() {
                 @Override
                 public void updateListener(SqueezeBoxPlayerEventListener listener) {
                     listener.modeChangeEvent(mac, value);
@@ -737,34 +759,69 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             });
         }
 
-        private void handlePrefsetMessage(final String mac, String[] messageParts) {
-            if (messageParts.length < 5) {
+        private void handlePrefsetMessage(final String mac, MessageTokenizer tokenizer) {
+            // server prefsets
+            if (!"server".equals(tokenizer.nextToken())) {
+                return;
+            }
+            String function = tokenizer.nextToken();
+            String value = tokenizer.nextToken();
+            if (value == null) {
                 return;
             }
 
-            // server prefsets
-            if (messageParts[2].equals("server")) {
-                String function = messageParts[3];
-                String value = messageParts[4];
+            if (function.equals("power")) {
+                final boolean power = value.equals("1");
+                updatePlayer(mac, new PlayerUpdateEvent() {
+                    @Override
+                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                        listener.powerChangeEvent(mac, power);
+                    }
+                });
+            } else if (function.equals("volume")) {
+                final int volume = (int) Double.parseDouble(value);
+                updatePlayer(mac, new PlayerUpdateEvent() {
+                    @Override
+                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
+                        listener.volumeChangeEvent(mac, volume);
+                    }
+                });
+            }
+        }
+    }
 
-                if (function.equals("power")) {
-                    final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                } else if (function.equals("volume")) {
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.volumeChangeEvent(mac, volume);
-                        }
-                    });
-                }
+    /**
+     * Returns the space separated tokens of a CLI message one by one, without
+     * splitting (and decoding) the whole message upfront.
+     *
+     * @author agent - Initial contribution
+     *
+     */
+    static class MessageTokenizer {
+        private final String message;
+        private int position;
+
+        MessageTokenizer(String message, int position) {
+            this.message = message;
+            this.position = position;
+        }
+
+        /**
+         * @return the next (still URL encoded) token, or null at the end of the message
+         */
+        String nextToken() {
+            int length = message.length();
+            while (position < length && Character.isWhitespace(message.charAt(position))) {
+                position++;
+            }
+            if (position >= length) {
+                return null;
+            }
+            int start = position;
+            while (position < length && !Character.isWhitespace(message.charAt(position))) {
+                position++;
             }
+            return message.substring(start, position);
         }
     }
 
@@ -780,29 +837,61 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Update Listeners and child Squeeze Player Things
+     * Update Listeners and the child Squeeze Player Thing of the player
      *
+     * @param mac the MAC address of the player the event is for
      * @param event
      */
-    private void updatePlayer(PlayerUpdateEvent event) {
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
         // update listeners like disco services
         for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
             event.updateListener(listener);
         }
-        // update our children
-        Bridge bridge = getThing();
+        if (mac == null) {
+            return;
+        }
+        // update the listeners interested in this player only
+        List<SqueezeBoxPlayerEventListener> listeners = playerListeners.get(mac);
+        if (listeners != null) {
+            for (SqueezeBoxPlayerEventListener listener : listeners) {
+                event.updateListener(listener);
+            }
+        }
+        // update our child
+        SqueezeBoxPlayerHandler handler = getPlayerHandler(mac);
+        if (handler != null && !squeezeBoxPlayerListeners.contains(handler)) {
+            event.updateListener(handler);
+        }
+    }
+
+    /**
+     * Returns the handler of the child thing of the player, looking it up in
+     * the children of the bridge when not known yet.
+     *
+     * @param mac the MAC address of the player
+     * @return the handler, or null if there's no thing for the player
+     */
+    private SqueezeBoxPlayerHandler getPlayerHandler(String mac) {
+        SqueezeBoxPlayerHandler handler = playerHandlers.get(mac);
+        if (handler != null) {
+            return handler;
+        }
 
+        Bridge bridge = getThing();
         if (bridge == null) {
-            return;
+            return null;
         }
 
-        List<Thing> things = bridge.getThings();
-        for (Thing thing : things) {
-            ThingHandler handler = thing.getHandler();
-            if (handler instanceof SqueezeBoxPlayerEventListener && !squeezeBoxPlayerListeners.contains(handler)) {
-                event.updateListener((SqueezeBoxPlayerEventListener) handler);
+        for (Thing thing : bridge.getThings()) {
+            ThingHandler thingHandler = thing.getHandler();
+            if (thingHandler instanceof SqueezeBoxPlayerHandler
+                    && mac.equals(((SqueezeBoxPlayerHandler) thingHandler).getMac())) {
+                handler = (SqueezeBoxPlayerHandler) thingHandler;
+                playerHandlers.put(mac, handler);
+                return handler;
             }
         }
+        return null;
     }
 
     /**
@@ -816,6 +905,24 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         return squeezeBoxPlayerListeners.add(squeezeBoxPlayerListener);
     }
 
+    /**
+     * Adds a listener for the events of a single player
+     *
+     * @param mac the MAC address of the player
+     * @param squeezeBoxPlayerListener
+     * @return
+     */
+    public boolean registerSqueezeBoxPlayerListener(String mac,
+            SqueezeBoxPlayerEventListener squeezeBoxPlayerListener) {
+        logger.trace("Registering player listener for {}", mac);
+        List<SqueezeBoxPlayerEventListener> listeners = playerListeners.get(mac);
+        if (listeners == null) {
+            playerListeners.putIfAbsent(mac, new CopyOnWriteArrayList<SqueezeBoxPlayerEventListener>());
+            listeners = playerListeners.get(mac);
+        }
+        return listeners.add(squeezeBoxPlayerListener);
+    }
+
     /**
      * Removes a listener from player events
      *
@@ -824,7 +931,11 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
      */
     public boolean unregisterSqueezeBoxPlayerListener(SqueezeBoxPlayerEventListener squeezeBoxPlayerListener) {
         logger.trace("Unregistering player listener");
-        return squeezeBoxPlayerListeners.remove(squeezeBoxPlayerListener);
+        boolean removed = squeezeBoxPlayerListeners.remove(squeezeBoxPlayerListener);
+        for (List<SqueezeBoxPlayerEventListener> listeners : playerListeners.values()) {
+            removed |= listeners.remove(squeezeBoxPlayerListener);
+        }
+        return removed;
     }
 
     /**
@@ -835,6 +946,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
      */
     public void removePlayerCache(String mac) {
         players.remove(mac);
+        playerHandlers.remove(mac);
     }
 
     /**
@@ -220,6 +220,47 @@ class SysteminfoOSGiTest extends OSGiTest{
         testInvalidConfiguration()
     }
 
+    @Test
+    public void 'assert invalid channel group refresh interval is handled'() {
+        Configuration configuration = new Configuration()
+        configuration.put(SysteminfoBindingConstants.HIGH_PRIORITY_REFRESH_TIME, new BigDecimal(DEFAULT_TEST_INTERVAL_HIGH))
+        configuration.put(SysteminfoBindingConstants.MEDIUM_PRIORITY_REFRESH_TIME, new BigDecimal(DEFAULT_TEST_INTERVAL_MEDIUM))
+
+        //invalid value - must be positive
+        configuration.put(SysteminfoBindingConstants.GROUP_REFRESH_TIME_PREFIX + "cpu", new BigDecimal(0))
+        initializeThingWithConfiguration(configuration)
+
+        testInvalidConfiguration()
+    }
+
+    @Test
+    public void 'assert channel is updated at channel group refresh interval' () {
+        int highInterval = 3
+        int mediumInterval = 6
+        int cpuGroupInterval = 2
+        Configuration thingConfig = new Configuration()
+        thingConfig.put(SysteminfoBindingConstants.HIGH_PRIORITY_REFRESH_TIME, new BigDecimal(highInterval))
+        thingConfig.put(SysteminfoBindingConstants.MEDIUM_PRIORITY_REFRESH_TIME, new BigDecimal(mediumInterval))
+        thingConfig.put(SysteminfoBindingConstants.GROUP_REFRESH_TIME_PREFIX + "cpu", new BigDecimal(cpuGroupInterval))
+        String acceptedItemType = "Number"
+
+        initializeThing(thingConfig, DEFAULT_TEST_CHANNEL_ID, acceptedItemType, "Medium", DEFAULT_CHANNEL_PID)
+        waitForAssert({
+            assertThat systemInfoThing.getStatus(), is(equalTo(ThingStatus.ONLINE))
+        }, DEFAULT_THING_INITIALIZE_MAX_TIME)
+
+        SysteminfoHandler thingHandler = getThingHandler(SysteminfoHandler.class)
+        ThingUID thingUID = systemInfoThing.getUID()
+        ChannelUID cpuChannel = new ChannelUID(thingUID, DEFAULT_TEST_CHANNEL_ID)
+        ChannelUID memoryChannel = new ChannelUID(thingUID, SysteminfoBindingConstants.CHANNEL_MEMORY_AVAILABLE)
+
+        // the group interval overrides the medium priority interval only for the channels of the group
+        assertThat thingHandler.getRefreshInterval(cpuChannel, mediumInterval), is(equalTo(cpuGroupInterval))
+        assertThat thingHandler.getRefreshInterval(memoryChannel, mediumInterval), is(equalTo(mediumInterval))
+        // without the group interval the sampling task would run every 3 s, too seldom for the group
+        assertThat thingHandler.samplingPeriod, is(equalTo(1))
+    }
+
     private void testInvalidConfiguration() {
         waitForAssert({
             assertThat  "Invalid configuratuin is used !", systemInfoThing.getStatus(), is(equalTo(ThingStatus.OFFLINE))
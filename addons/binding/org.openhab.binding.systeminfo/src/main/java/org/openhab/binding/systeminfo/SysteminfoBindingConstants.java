@@ -297,6 +297,12 @@ public class SysteminfoBindingConstants {
      */
     public static final String MEDIUM_PRIORITY_REFRESH_TIME = "interval_medium";
 
+    /**
+     * Prefix of the optional configuration parameters of the thing that override the refresh time of all High and
+     * Medium priority channels in a channel group (e.g. interval_cpu, interval_storage)
+     */
+    public static final String GROUP_REFRESH_TIME_PREFIX = "interval_";
+
     // Channel configuration
 
     /**
@@ -310,4 +316,9 @@ public class SysteminfoBindingConstants {
      */
     public static final String PID_PARAM = "pid";
 
+    /**
+     * Name of the channel configuration parameter threshold - the minimal change of a numeric value that is published
+     */
+    public static final String THRESHOLD_PARAM = "threshold";
+
 }
@@ -11,15 +11,16 @@ package org.openhab.binding.systeminfo.handler;
 import static org.openhab.binding.systeminfo.SysteminfoBindingConstants.*;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.Configuration;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
@@ -59,21 +60,50 @@ public class SysteminfoHandler extends BaseThingHandler {
      * CPU load, or information about the free and used memory.
      * They are updated periodically at {@link #refreshIntervalHighPriority}.
      */
-    private Set<ChannelUID> highPriorityChannels = new HashSet<ChannelUID>();
+    private Set<ChannelUID> highPriorityChannels = ConcurrentHashMap.newKeySet();
 
     /**
      * Channels with priority configuration parameter set to Medium. These channels usually need update of the
      * state not so oft like battery capacity, storage used and etc.
      * They are updated periodically at {@link #refreshIntervalMediumPriority}.
      */
-    private Set<ChannelUID> mediumPriorityChannels = new HashSet<ChannelUID>();
+    private Set<ChannelUID> mediumPriorityChannels = ConcurrentHashMap.newKeySet();
 
     /**
      * Channels with priority configuration parameter set to Low. They represent static information or information
      * that is updated rare- e.g. CPU name, storage name and etc.
      * They are updated only at {@link #initialize()}.
      */
-    private Set<ChannelUID> lowPriorityChannels = new HashSet<ChannelUID>();
+    private Set<ChannelUID> lowPriorityChannels = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Refresh intervals in seconds configured for whole channel groups. The key is the group ID without device index
+     * (e.g. "storage" for the groups storage, storage1 ...). The interval overrides the priority based refresh
+     * interval of the High and Medium priority channels in the group.
+     */
+    private Map<String, Integer> groupRefreshIntervals = new HashMap<String, Integer>();
+
+    /**
+     * The last state published for each periodically updated channel. It is used to suppress updates, which do not
+     * change the state, or change a numeric state less than the channel threshold.
+     */
+    private Map<ChannelUID, State> publishedStates = new ConcurrentHashMap<ChannelUID, State>();
+
+    /**
+     * Period of the sampling task in seconds. It is the greatest common divisor of all configured refresh intervals,
+     * so a single task serves all channels from one snapshot per cycle.
+     */
+    private int samplingPeriod;
+
+    /**
+     * Number of sampling cycles since the task was scheduled.
+     */
+    private long samplingCycle;
+
+    // Overhead of the sampling task, logged and reset at each medium priority refresh
+    private int sampledCycles;
+    private long samplingTimeTotal;
+    private long samplingTimeMax;
 
     /**
      * Wait time for the creation of Item-Channel links in seconds. This delay is needed, because the Item-Channel
@@ -83,8 +113,13 @@ public class SysteminfoHandler extends BaseThingHandler {
 
     private OshiSysteminfo systeminfo;
 
-    ScheduledFuture<?> highPriorityTasks;
-    ScheduledFuture<?> mediumPriorityTasks;
+    /**
+     * Serializes taking and reading the snapshots of the system information between the sampling task, the low
+     * priority update and the commands, so a REFRESH does not replace the snapshot in the middle of a sampling cycle.
+     */
+    private final Object snapshotLock = new Object();
+
+    ScheduledFuture<?> samplingTask;
 
     private Logger logger = LoggerFactory.getLogger(SysteminfoHandler.class);
 
@@ -131,6 +166,7 @@ public class SysteminfoHandler extends BaseThingHandler {
             }
             logger.debug("Refresh time for medium priority channels set to {} s", refreshIntervalMediumPriority);
             logger.debug("Refresh time for high priority channels set to {} s", refreshIntervalHighPriority);
+            readGroupRefreshIntervals();
             return true;
         } catch (IllegalArgumentException e) {
             logger.error("Refresh time value is invalid! Please change the thing configuration!", e);
@@ -141,6 +177,28 @@ public class SysteminfoHandler extends BaseThingHandler {
         }
     }
 
+    private void readGroupRefreshIntervals() {
+        groupRefreshIntervals.clear();
+        Configuration configuration = this.thing.getConfiguration();
+        for (String key : configuration.keySet()) {
+            if (!key.startsWith(GROUP_REFRESH_TIME_PREFIX) || key.equals(HIGH_PRIORITY_REFRESH_TIME)
+                    || key.equals(MEDIUM_PRIORITY_REFRESH_TIME) || configuration.get(key) == null) {
+                continue;
+            }
+            Object value = configuration.get(key);
+            if (!(value instanceof BigDecimal)) {
+                throw new IllegalArgumentException("Refresh time of " + key + " must be a number!");
+            }
+            BigDecimal interval = (BigDecimal) value;
+            if (interval.intValue() <= 0) {
+                throw new IllegalArgumentException("Refresh time must be positive number!");
+            }
+            String groupID = key.substring(GROUP_REFRESH_TIME_PREFIX.length());
+            groupRefreshIntervals.put(groupID, interval.intValue());
+            logger.debug("Refresh time for channel group {} set to {} s", groupID, interval);
+        }
+    }
+
     private boolean updateProperties() {
         Map<String, String> properties = editProperties();
         try {
@@ -210,49 +268,122 @@ public class SysteminfoHandler extends BaseThingHandler {
     }
 
     private void scheduleUpdates() {
-        logger.debug("Schedule high priority tasks at fixed rate {} s.", refreshIntervalHighPriority);
-        highPriorityTasks = scheduler.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                publishData(highPriorityChannels);
-            }
-        }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalHighPriority.intValue(), TimeUnit.SECONDS);
+        samplingPeriod = gcd(refreshIntervalHighPriority.intValue(), refreshIntervalMediumPriority.intValue());
+        for (int interval : groupRefreshIntervals.values()) {
+            samplingPeriod = gcd(samplingPeriod, interval);
+        }
+        samplingCycle = 0;
 
-        logger.debug("Schedule medium priority tasks at fixed rate {} s.", refreshIntervalMediumPriority);
-        mediumPriorityTasks = scheduler.scheduleAtFixedRate(new Runnable() {
+        logger.debug("Schedule sampling task at fixed rate {} s.", samplingPeriod);
+        samplingTask = scheduler.scheduleAtFixedRate(new Runnable() {
             @Override
             public void run() {
-                systeminfo.updateStaticObjects();
-                publishData(mediumPriorityChannels);
+                synchronized (snapshotLock) {
+                    sampleChannels();
+                }
             }
-        }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, refreshIntervalMediumPriority.intValue(), TimeUnit.SECONDS);
+        }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, samplingPeriod, TimeUnit.SECONDS);
 
         logger.debug("Schedule one time update for low priority tasks.");
         scheduler.schedule(new Runnable() {
             @Override
             public void run() {
-                publishData(lowPriorityChannels);
+                synchronized (snapshotLock) {
+                    publishData(lowPriorityChannels);
+                }
             }
         }, WAIT_TIME_CHANNEL_ITEM_LINK_INIT, TimeUnit.SECONDS);
 
     }
 
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * Takes one snapshot of the system information and publishes all High and Medium priority channels, which refresh
+     * interval has elapsed in this cycle.
+     */
+    private void sampleChannels() {
+        long startTime = System.nanoTime();
+        long elapsedTime = samplingCycle++ * samplingPeriod;
+        boolean mediumPriorityCycle = elapsedTime % refreshIntervalMediumPriority.intValue() == 0;
+
+        if (mediumPriorityCycle) {
+            systeminfo.updateStaticObjects();
+        } else {
+            systeminfo.takeSnapshot();
+        }
+
+        for (ChannelUID channelUID : highPriorityChannels) {
+            sampleChannel(channelUID, refreshIntervalHighPriority.intValue(), elapsedTime);
+        }
+        for (ChannelUID channelUID : mediumPriorityChannels) {
+            sampleChannel(channelUID, refreshIntervalMediumPriority.intValue(), elapsedTime);
+        }
+
+        long samplingTime = System.nanoTime() - startTime;
+        sampledCycles++;
+        samplingTimeTotal += samplingTime;
+        samplingTimeMax = Math.max(samplingTimeMax, samplingTime);
+        logger.trace("Sampling cycle {} took {} us.", samplingCycle, TimeUnit.NANOSECONDS.toMicros(samplingTime));
+
+        if (mediumPriorityCycle && sampledCycles > 1) {
+            logger.debug("Sampler overhead for the last {} cycles: average {} us, max {} us.", sampledCycles,
+                    TimeUnit.NANOSECONDS.toMicros(samplingTimeTotal / sampledCycles),
+                    TimeUnit.NANOSECONDS.toMicros(samplingTimeMax));
+            sampledCycles = 0;
+            samplingTimeTotal = 0;
+            samplingTimeMax = 0;
+        }
+    }
+
+    private void sampleChannel(ChannelUID channelUID, int priorityInterval, long elapsedTime) {
+        if (elapsedTime % getRefreshInterval(channelUID, priorityInterval) == 0 && isLinked(channelUID.getId())) {
+            publishDataForChannel(channelUID, false);
+        }
+    }
+
+    /**
+     * Returns the refresh interval of the channel in seconds: the interval of its channel group, if configured,
+     * otherwise the interval of its priority.
+     */
+    private int getRefreshInterval(ChannelUID channelUID, int priorityInterval) {
+        Integer groupInterval = groupRefreshIntervals.get(getGroupIDWithoutIndex(channelUID));
+        return groupInterval != null ? groupInterval : priorityInterval;
+    }
+
     private void publishData(Set<ChannelUID> channels) {
         if (channels != null) {
-            Iterator<ChannelUID> iter = channels.iterator();
-            while (iter.hasNext()) {
-                ChannelUID channeUID = iter.next();
-                if (isLinked(channeUID.getId())) {
-                    publishDataForChannel(channeUID);
+            for (ChannelUID channelUID : channels) {
+                if (isLinked(channelUID.getId())) {
+                    publishDataForChannel(channelUID);
                 }
             }
         }
     }
 
     private void publishDataForChannel(ChannelUID channelUID) {
+        publishDataForChannel(channelUID, true);
+    }
+
+    /**
+     * Publishes the current state of a channel.
+     *
+     * @param channelUID - the UID of the channel
+     * @param force - if false, the state is published only if it differs from the last published state by at least
+     *            the channel threshold
+     */
+    private void publishDataForChannel(ChannelUID channelUID, boolean force) {
         State state = getInfoForChannel(channelUID);
         String channelID = channelUID.getId();
         if (state != null) {
+            if (!force && !isStateChangeSignificant(channelUID, state)) {
+                logger.trace("State {} of channel {} is not published, it has not changed significantly.", state,
+                        channelID);
+                return;
+            }
+            publishedStates.put(channelUID, state);
             updateState(channelID, state);
         } else {
             logger.warn("Channel with ID {} can not be updated! No information available for the selected device.",
@@ -260,6 +391,37 @@ public class SysteminfoHandler extends BaseThingHandler {
         }
     }
 
+    private boolean isStateChangeSignificant(ChannelUID channelUID, State state) {
+        State publishedState = publishedStates.get(channelUID);
+        if (publishedState == null) {
+            return true;
+        }
+        if (publishedState.equals(state)) {
+            return false;
+        }
+        BigDecimal threshold = getThreshold(channelUID);
+        if (threshold != null && state instanceof DecimalType && publishedState instanceof DecimalType) {
+            BigDecimal change = ((DecimalType) state).toBigDecimal()
+                    .subtract(((DecimalType) publishedState).toBigDecimal()).abs();
+            return change.compareTo(threshold) >= 0;
+        }
+        return true;
+    }
+
+    private BigDecimal getThreshold(ChannelUID channelUID) {
+        Channel channel = this.thing.getChannel(channelUID.getId());
+        if (channel == null) {
+            return null;
+        }
+        Object threshold = channel.getConfiguration().get(THRESHOLD_PARAM);
+        return threshold instanceof BigDecimal ? (BigDecimal) threshold : null;
+    }
+
+    private String getGroupIDWithoutIndex(ChannelUID channelUID) {
+        // All digits are deleted from the group ID
+        return channelUID.getGroupId().replaceAll("\\d+", "");
+    }
+
     /**
      * This method gets the information for specific channel through the {@link SysteminfoInterface}. It uses the
      * channel ID to call the correct method from the {@link SysteminfoInterface} with deviceIndex parameter (in case of
@@ -272,14 +434,12 @@ public class SysteminfoHandler extends BaseThingHandler {
         State state = null;
         String channelID = channelUID.getId();
         String channelIDWithoutGroup = channelUID.getIdWithoutGroup();
-        String channelGroupID = channelUID.getGroupId();
 
         int deviceIndex = getDeviceIndex(channelUID);
 
         // The channelGroup may contain deviceIndex. It must be deleted from the channelID, because otherwise the
         // switch will not find the correct method below.
-        // All digits are deleted from the ID
-        channelID = channelGroupID.replaceAll("\\d+", "") + "#" + channelIDWithoutGroup;
+        channelID = getGroupIDWithoutIndex(channelUID) + "#" + channelIDWithoutGroup;
 
         try {
             switch (channelID) {
@@ -492,7 +652,10 @@ public class SysteminfoHandler extends BaseThingHandler {
         if (thing.getStatus().equals(ThingStatus.ONLINE)) {
             if (command instanceof RefreshType) {
                 logger.debug("Refresh command received for channel {}!", channelUID);
-                publishDataForChannel(channelUID);
+                synchronized (snapshotLock) {
+                    systeminfo.takeSnapshot();
+                    publishDataForChannel(channelUID);
+                }
             } else {
                 logger.debug("Unsupported command {}! Supported commands: REFRESH", command);
             }
@@ -542,6 +705,11 @@ public class SysteminfoHandler extends BaseThingHandler {
                 changeChannelPriority(channelUID, newPriority);
             }
 
+            if (isConfigurationKeyChanged(currentChannelConfig, newChannelConfig, THRESHOLD_PARAM)) {
+                isChannelConfigChanged = true;
+                handleChannelConfigurationChange(oldChannel, newChannelConfig, THRESHOLD_PARAM);
+            }
+
             if (isConfigurationKeyChanged(currentChannelConfig, newChannelConfig, PID_PARAM)) {
                 isChannelConfigChanged = true;
                 handleChannelConfigurationChange(oldChannel, newChannelConfig, PID_PARAM);
@@ -562,18 +730,17 @@ public class SysteminfoHandler extends BaseThingHandler {
         Object newValue = newConfig.get(parameter);
         logger.debug("Channel with UID : {} has changed its {} from {} to {}", channel.getUID(), parameter, oldValue,
                 newValue);
-        publishDataForChannel(channel.getUID());
+        synchronized (snapshotLock) {
+            publishDataForChannel(channel.getUID());
+        }
     }
 
     private void stopScheduledUpdates() {
-        if (highPriorityTasks != null) {
-            logger.debug("High prioriy tasks will not be run anymore !");
-            highPriorityTasks.cancel(true);
-        }
-        if (mediumPriorityTasks != null) {
-            logger.debug("Medium prioriy tasks will not be run anymore !");
-            mediumPriorityTasks.cancel(true);
+        if (samplingTask != null) {
+            logger.debug("Sampling task will not be run anymore !");
+            samplingTask.cancel(true);
         }
+        publishedStates.clear();
     }
 
     @Override
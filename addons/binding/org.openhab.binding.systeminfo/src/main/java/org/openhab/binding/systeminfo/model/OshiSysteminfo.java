@@ -9,6 +9,8 @@
 package org.openhab.binding.systeminfo.model;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang.ArrayUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -54,6 +56,9 @@ public class OshiSysteminfo implements SysteminfoInterface {
     private PowerSource[] powerSources;
     private HWDiskStore[] drives;
 
+    // Values captured during the current sampling cycle
+    private volatile Snapshot snapshot = new Snapshot();
+
     public static final int PRECISION_AFTER_DECIMAl_SIGN = 1;
 
     /**
@@ -81,6 +86,16 @@ public class OshiSysteminfo implements SysteminfoInterface {
         powerSources = hal.getPowerSources();
         networks = hal.getNetworkIFs();
         drives = hal.getDiskStores();
+        snapshot = new Snapshot();
+    }
+
+    /**
+     * Starts a new sampling cycle. The values read from OSHI are kept in a snapshot until this method is called
+     * again, so all channels refreshed in one cycle are served from the same consistent set of values and every
+     * native query (process table, /proc files, sensors) is executed at most once per cycle.
+     */
+    public void takeSnapshot() {
+        snapshot = new Snapshot();
     }
 
     @SuppressWarnings("null")
@@ -92,7 +107,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
     }
 
     private OSProcess getProcess(int pid) throws DeviceNotFoundException {
-        OSProcess process = operatingSystem.getProcess(pid);
+        OSProcess process = snapshot.getProcess(pid);
         if (process == null) {
             throw new DeviceNotFoundException("Error while getting information for process with PID " + pid);
         }
@@ -152,29 +167,29 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getCpuLoad() {
-        double processorLoad = cpu.getSystemCpuLoad();
+        double processorLoad = snapshot.getSystemCpuLoad();
         BigDecimal processorLoadPercent = getPercentsValue(processorLoad);
         return new DecimalType(processorLoadPercent);
     }
 
     @Override
     public DecimalType getMemoryTotal() {
-        long totalMemory = memory.getTotal();
+        long totalMemory = snapshot.getMemoryTotal();
         totalMemory = getSizeInMB(totalMemory);
         return new DecimalType(totalMemory);
     }
 
     @Override
     public DecimalType getMemoryAvailable() {
-        long availableMemory = memory.getAvailable();
+        long availableMemory = snapshot.getMemoryAvailable();
         availableMemory = getSizeInMB(availableMemory);
         return new DecimalType(availableMemory);
     }
 
     @Override
     public DecimalType getMemoryUsed() {
-        long totalMemory = memory.getTotal();
-        long availableMemory = memory.getAvailable();
+        long totalMemory = snapshot.getMemoryTotal();
+        long availableMemory = snapshot.getMemoryAvailable();
         long usedMemory = totalMemory - availableMemory;
         usedMemory = getSizeInMB(usedMemory);
         return new DecimalType(usedMemory);
@@ -277,21 +292,21 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSensorsCpuTemperature() {
-        BigDecimal cpuTemp = new BigDecimal(sensors.getCpuTemperature());
+        BigDecimal cpuTemp = new BigDecimal(snapshot.getCpuTemperature());
         cpuTemp = cpuTemp.setScale(PRECISION_AFTER_DECIMAl_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuTemp.signum() == 1 ? new DecimalType(cpuTemp) : null;
     }
 
     @Override
     public DecimalType getSensorsCpuVoltage() {
-        BigDecimal cpuVoltage = new BigDecimal(sensors.getCpuVoltage());
+        BigDecimal cpuVoltage = new BigDecimal(snapshot.getCpuVoltage());
         cpuVoltage = cpuVoltage.setScale(PRECISION_AFTER_DECIMAl_SIGN, BigDecimal.ROUND_HALF_UP);
         return cpuVoltage.signum() == 1 ? new DecimalType(cpuVoltage) : null;
     }
 
     @Override
     public DecimalType getSensorsFanSpeed(int index) throws DeviceNotFoundException {
-        int[] fanSpeeds = sensors.getFanSpeeds();
+        int[] fanSpeeds = snapshot.getFanSpeeds();
         int speed = (int) getDevice(ArrayUtils.toObject(fanSpeeds), index);
         return speed > 0 ? new DecimalType(speed) : null;
     }
@@ -322,8 +337,8 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getMemoryAvailablePercent() {
-        long availableMemory = memory.getAvailable();
-        long totalMemory = memory.getTotal();
+        long availableMemory = snapshot.getMemoryAvailable();
+        long totalMemory = snapshot.getMemoryTotal();
         BigDecimal freePercent;
         if (totalMemory > 0) {
             double freePercentDecimal = (double) availableMemory / (double) totalMemory;
@@ -357,15 +372,15 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapTotal() {
-        long swapTotal = memory.getSwapTotal();
+        long swapTotal = snapshot.getSwapTotal();
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailable() {
-        long swapTotal = memory.getSwapTotal();
-        long swapUsed = memory.getSwapUsed();
+        long swapTotal = snapshot.getSwapTotal();
+        long swapUsed = snapshot.getSwapUsed();
         long swapAvaialble = swapTotal - swapUsed;
         swapAvaialble = getSizeInMB(swapAvaialble);
         return swapAvaialble > 0 ? new DecimalType(swapAvaialble) : null;
@@ -373,15 +388,15 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getSwapUsed() {
-        long swapTotal = memory.getSwapUsed();
+        long swapTotal = snapshot.getSwapUsed();
         swapTotal = getSizeInMB(swapTotal);
         return swapTotal > 0 ? new DecimalType(swapTotal) : null;
     }
 
     @Override
     public DecimalType getSwapAvailablePercent() {
-        long usedSwap = memory.getSwapUsed();
-        long totalSwap = memory.getSwapTotal();
+        long usedSwap = snapshot.getSwapUsed();
+        long totalSwap = snapshot.getSwapTotal();
         long freeSwap = totalSwap - usedSwap;
         BigDecimal freePercent;
         if (totalSwap > 0) {
@@ -458,7 +473,7 @@ public class OshiSysteminfo implements SysteminfoInterface {
             default:
                 index = 2;
         }
-        double processorLoads[] = cpu.getSystemLoadAverage(index + 1);
+        double processorLoads[] = snapshot.getSystemLoadAverage();
         BigDecimal result = new BigDecimal(processorLoads[index]);
         result = result.setScale(PRECISION_AFTER_DECIMAl_SIGN, BigDecimal.ROUND_HALF_UP);
         return result;
@@ -485,36 +500,38 @@ public class OshiSysteminfo implements SysteminfoInterface {
 
     @Override
     public DecimalType getNetworkPacketsReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getNetworkWithStats(networkIndex);
         long packRecv = network.getPacketsRecv();
         return new DecimalType(packRecv);
     }
 
     @Override
     public DecimalType getNetworkPacketsSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getNetworkWithStats(networkIndex);
         long packSent = network.getPacketsSent();
         return new DecimalType(packSent);
     }
 
     @Override
     public DecimalType getNetworkDataSent(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getNetworkWithStats(networkIndex);
         long bytesSent = network.getBytesSent();
         return new DecimalType(getSizeInMB(bytesSent));
     }
 
     @Override
     public DecimalType getNetworkDataReceived(int networkIndex) throws DeviceNotFoundException {
-        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
-        network.updateNetworkStats();
+        NetworkIF network = getNetworkWithStats(networkIndex);
         long bytesRecv = network.getBytesRecv();
         return new DecimalType(getSizeInMB(bytesRecv));
     }
 
+    private NetworkIF getNetworkWithStats(int networkIndex) throws DeviceNotFoundException {
+        NetworkIF network = (NetworkIF) getDevice(networks, networkIndex);
+        snapshot.updateNetworkStats(network);
+        return network;
+    }
+
     @Override
     public StringType getProcessName(int pid) throws DeviceNotFoundException {
         OSProcess process = getProcess(pid);
@@ -552,4 +569,103 @@ public class OshiSysteminfo implements SysteminfoInterface {
         return new DecimalType(threadCount);
     }
 
+    /**
+     * Values read from OSHI during one sampling cycle. Each value is queried lazily on first access, so the cost of a
+     * cycle depends only on the channels that are actually refreshed.
+     */
+    private class Snapshot {
+        private final Map<Integer, OSProcess> processes = new HashMap<>();
+        private final Map<NetworkIF, Boolean> updatedNetworks = new HashMap<>();
+
+        private boolean memoryRead;
+        private long memoryTotal;
+        private long memoryAvailable;
+        private long swapTotal;
+        private long swapUsed;
+
+        private Double systemCpuLoad;
+        private double[] systemLoadAverage;
+        private Double cpuTemperature;
+        private Double cpuVoltage;
+        private int[] fanSpeeds;
+
+        synchronized OSProcess getProcess(int pid) {
+            if (!processes.containsKey(pid)) {
+                processes.put(pid, operatingSystem.getProcess(pid));
+            }
+            return processes.get(pid);
+        }
+
+        synchronized void updateNetworkStats(NetworkIF network) {
+            if (updatedNetworks.put(network, Boolean.TRUE) == null) {
+                network.updateNetworkStats();
+            }
+        }
+
+        private void readMemory() {
+            if (!memoryRead) {
+                memoryTotal = memory.getTotal();
+                memoryAvailable = memory.getAvailable();
+                swapTotal = memory.getSwapTotal();
+                swapUsed = memory.getSwapUsed();
+                memoryRead = true;
+            }
+        }
+
+        synchronized long getMemoryTotal() {
+            readMemory();
+            return memoryTotal;
+        }
+
+        synchronized long getMemoryAvailable() {
+            readMemory();
+            return memoryAvailable;
+        }
+
+        synchronized long getSwapTotal() {
+            readMemory();
+            return swapTotal;
+        }
+
+        synchronized long getSwapUsed() {
+            readMemory();
+            return swapUsed;
+        }
+
+        synchronized double getSystemCpuLoad() {
+            if (systemCpuLoad == null) {
+                systemCpuLoad = cpu.getSystemCpuLoad();
+            }
+            return systemCpuLoad;
+        }
+
+        synchronized double[] getSystemLoadAverage() {
+            if (systemLoadAverage == null) {
+                systemLoadAverage = cpu.getSystemLoadAverage(3);
+            }
+            return systemLoadAverage;
+        }
+
+        synchronized double getCpuTemperature() {
+            if (cpuTemperature == null) {
+                cpuTemperature = sensors.getCpuTemperature();
+            }
+            return cpuTemperature;
+        }
+
+        synchronized double getCpuVoltage() {
+            if (cpuVoltage == null) {
+                cpuVoltage = sensors.getCpuVoltage();
+            }
+            return cpuVoltage;
+        }
+
+        synchronized int[] getFanSpeeds() {
+            if (fanSpeeds == null) {
+                fanSpeeds = sensors.getFanSpeeds();
+            }
+            return fanSpeeds;
+        }
+    }
+
 }
@@ -37,6 +37,24 @@ public interface TelldusBridgeHandler {
      */
     boolean unregisterDeviceStatusListener(DeviceStatusListener deviceStatusListener);
 
+    /**
+     * Add a status listener of a single device. It is only notified about this device.
+     *
+     * @param deviceId
+     * @param deviceStatusListener
+     * @return
+     */
+    boolean registerDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener);
+
+    /**
+     * Remove a status listener of a single device.
+     *
+     * @param deviceId
+     * @param deviceStatusListener
+     * @return
+     */
+    boolean unregisterDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener);
+
     /**
      * Get a device from the bridgehandler.
      *
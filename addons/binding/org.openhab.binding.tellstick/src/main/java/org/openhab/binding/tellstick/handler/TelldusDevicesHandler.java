@@ -155,6 +155,14 @@ public class TelldusDevicesHandler extends BaseThingHandler implements DeviceSta
         }
     }
 
+    @Override
+    public void dispose() {
+        if (bridgeHandler != null && deviceId != null) {
+            bridgeHandler.unregisterDeviceStatusListener(deviceId, this);
+        }
+        super.dispose();
+    }
+
     @Override
     public void bridgeStatusChanged(ThingStatusInfo bridgeStatusInfo) {
         logger.debug("device: {} bridgeStatusChanged: {}", deviceId, bridgeStatusInfo);
@@ -164,7 +172,7 @@ public class TelldusDevicesHandler extends BaseThingHandler implements DeviceSta
                 logger.debug("Init bridge for {}, bridge:{}", deviceId, tellHandler);
                 if (tellHandler != null) {
                     this.bridgeHandler = tellHandler;
-                    this.bridgeHandler.registerDeviceStatusListener(this);
+                    this.bridgeHandler.registerDeviceStatusListener(deviceId, this);
                     Configuration config = editConfiguration();
                     Device dev = getDevice(tellHandler, deviceId);
                     if (dev != null) {
@@ -190,6 +190,20 @@ public class TelldusCoreBridgeHandler extends BaseBridgeHandler
         return result;
     }
 
+    @Override
+    public boolean registerDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener) {
+        // Telldus Core events are dispatched to all listeners, which filter them by device id
+        if (deviceStatusListeners.contains(deviceStatusListener)) {
+            return false;
+        }
+        return registerDeviceStatusListener(deviceStatusListener);
+    }
+
+    @Override
+    public boolean unregisterDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener) {
+        return unregisterDeviceStatusListener(deviceStatusListener);
+    }
+
     public void clearDeviceList() {
     }
 
@@ -9,9 +9,8 @@
 package org.openhab.binding.tellstick.handler.core;
 
 import java.math.BigDecimal;
-import java.util.Collections;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.smarthome.core.library.types.IncreaseDecreaseType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
@@ -43,18 +42,19 @@ import org.tellstick.device.iface.SwitchableDevice;
  */
 public class TelldusCoreDeviceController implements DeviceChangeListener, SensorListener, TelldusDeviceController {
     private final Logger logger = LoggerFactory.getLogger(TelldusCoreDeviceController.class);
-    private long lastSend = 0;
+    private volatile long lastSend = 0;
     long resendInterval = 100;
     public static final long DEFAULT_INTERVAL_BETWEEN_SEND = 250;
 
     private TelldusCoreWorker telldusCoreWorker;
     private Thread workerThread;
-    private SortedMap<Device, TelldusCoreSendEvent> messageQue;
+    // The pending send event of each device in queuing order, a new command replaces the pending one
+    private final Map<Device, TelldusCoreSendEvent> messageQue = new LinkedHashMap<>();
+    private final SendMetrics metrics = new SendMetrics();
 
     public TelldusCoreDeviceController(long resendInterval) {
         this.resendInterval = resendInterval;
-        messageQue = Collections.synchronizedSortedMap(new TreeMap<Device, TelldusCoreSendEvent>());
-        telldusCoreWorker = new TelldusCoreWorker(messageQue);
+        telldusCoreWorker = new TelldusCoreWorker();
         workerThread = new Thread(telldusCoreWorker);
     }
 
@@ -67,17 +67,48 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
     public void handleSendEvent(Device device, int resendCount, boolean isDimmer, Command command)
             throws TellstickException {
 
+        if (resendCount < 1) {
+            logger.debug("No transmissions of {} to {} requested", command, device);
+            return;
+        }
         if (!workerThread.isAlive()) {
             workerThread.start();
         }
 
         Long eventTime = System.currentTimeMillis();
         synchronized (messageQue) {
-            messageQue.put(device, new TelldusCoreSendEvent(device, resendCount, isDimmer, command, eventTime));
+            TelldusCoreSendEvent previous = messageQue.put(device,
+                    new TelldusCoreSendEvent(device, resendCount, isDimmer, command, eventTime));
+            if (previous != null) {
+                logger.debug("Replaced pending {} to {} by {}", previous.getCommand(), device, command);
+            }
+            metrics.queued(getQueueDepth());
             messageQue.notify();
         }
     }
 
+    /**
+     * Returns the number of transmissions waiting to be sent, including the resends.
+     */
+    public int getQueueDepth() {
+        synchronized (messageQue) {
+            int depth = 0;
+            for (TelldusCoreSendEvent event : messageQue.values()) {
+                depth += event.getRemainingCount();
+            }
+            return depth;
+        }
+    }
+
+    /**
+     * Returns the average time in milliseconds from queuing a command to its last transmission.
+     */
+    public long getAverageSendLatency() {
+        synchronized (messageQue) {
+            return metrics.getAverageLatency();
+        }
+    }
+
     @Override
     public State calcState(Device dev) {
         TellstickDevice device = (TellstickDevice) dev;
@@ -144,35 +175,36 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
 
     }
 
-    private void sendEvent(Device device, int resendCount, boolean isdimmer, Command command)
-            throws TellstickException {
-        for (int i = 0; i < resendCount; i++) {
-            checkLastAndWait(resendInterval);
-            logger.debug("Send {} to {} times={}", command, device, i);
-            if (device instanceof DimmableDevice) {
-                if (command == OnOffType.ON) {
-                    turnOn(device);
-                } else if (command == OnOffType.OFF) {
-                    turnOff(device);
-                } else if (command instanceof PercentType) {
-                    dim(device, (PercentType) command);
-                } else if (command instanceof IncreaseDecreaseType) {
-                    increaseDecrease(device, ((IncreaseDecreaseType) command));
-                }
-            } else if (device instanceof SwitchableDevice) {
-                if (command == OnOffType.ON) {
-                    if (isdimmer) {
-                        logger.debug("Turn off first in case it is allready on");
-                        turnOff(device);
-                        checkLastAndWait(resendInterval);
-                    }
-                    turnOn(device);
-                } else if (command == OnOffType.OFF) {
+    /**
+     * Sends one transmission of the command, a resend is just another transmission of the same command.
+     */
+    private void sendEvent(Device device, int transmission, boolean isdimmer, Command command)
+            throws TellstickException, InterruptedException {
+        checkLastAndWait(resendInterval);
+        logger.debug("Send {} to {} times={}", command, device, transmission);
+        if (device instanceof DimmableDevice) {
+            if (command == OnOffType.ON) {
+                turnOn(device);
+            } else if (command == OnOffType.OFF) {
+                turnOff(device);
+            } else if (command instanceof PercentType) {
+                dim(device, (PercentType) command);
+            } else if (command instanceof IncreaseDecreaseType) {
+                increaseDecrease(device, ((IncreaseDecreaseType) command));
+            }
+        } else if (device instanceof SwitchableDevice) {
+            if (command == OnOffType.ON) {
+                if (isdimmer) {
+                    logger.debug("Turn off first in case it is allready on");
                     turnOff(device);
+                    checkLastAndWait(resendInterval);
                 }
-            } else {
-                logger.warn("Cannot send to {}", device);
+                turnOn(device);
+            } else if (command == OnOffType.OFF) {
+                turnOff(device);
             }
+        } else {
+            logger.warn("Cannot send to {}", device);
         }
     }
 
@@ -224,14 +256,16 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
         }
     }
 
-    private void checkLastAndWait(long resendInterval) {
-        while ((System.currentTimeMillis() - lastSend) < resendInterval) {
-            logger.debug("Wait for {} millisec", resendInterval);
-            try {
-                Thread.sleep(resendInterval);
-            } catch (InterruptedException e) {
-                logger.error("Failed to sleep", e);
-            }
+    /**
+     * Paces the transmissions: waits until the given interval has passed since the last transmission on the air,
+     * sent by us or received from the bus.
+     */
+    private void checkLastAndWait(long resendInterval) throws InterruptedException {
+        long wait = lastSend + resendInterval - System.currentTimeMillis();
+        while (wait > 0) {
+            logger.trace("Wait for {} millisec", wait);
+            Thread.sleep(wait);
+            wait = lastSend + resendInterval - System.currentTimeMillis();
         }
         lastSend = System.currentTimeMillis();
     }
@@ -241,34 +275,48 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
      * This enables separation between Telldus Core and openHAB for preventing latency on the bus.
      * The Tellstick have an send pace of 4 Hz which is far slower then the bus itself.
      *
+     * The transmissions are sent in rounds: the first transmission of every pending command is sent before any
+     * resend, so that a command to many devices (like all off) reaches every device as soon as possible.
+     *
      * @author Elias Gabrielsson
      *
      */
     private class TelldusCoreWorker implements Runnable {
-        private SortedMap<Device, TelldusCoreSendEvent> messageQue;
-
-        public TelldusCoreWorker(SortedMap<Device, TelldusCoreSendEvent> messageQue) {
-            this.messageQue = messageQue;
-        }
 
         @Override
         public void run() {
             while (!Thread.currentThread().isInterrupted()) {
                 try {
                     TelldusCoreSendEvent sendEvent;
+                    int transmission;
                     // Get event to send
                     synchronized (messageQue) {
                         while (messageQue.isEmpty()) {
                             messageQue.wait();
                         }
-                        sendEvent = messageQue.remove(messageQue.firstKey());
+                        sendEvent = nextEvent();
+                        transmission = sendEvent.getSentCount();
                     }
                     // Send event
+                    boolean failed = false;
                     try {
-                        sendEvent(sendEvent.getDevice(), sendEvent.getResendCount(), sendEvent.getDimmer(),
-                                sendEvent.getCommand());
+                        sendEvent(sendEvent.getDevice(), transmission, sendEvent.getDimmer(), sendEvent.getCommand());
                     } catch (TellstickException e) {
                         logger.error("Failed to send msg:{} to {}", sendEvent.getCommand(), sendEvent.getDevice(), e);
+                        failed = true;
+                    }
+                    synchronized (messageQue) {
+                        sendEvent.sent();
+                        if (failed || sendEvent.getRemainingCount() == 0) {
+                            // The event may have been replaced by a newer command meanwhile
+                            if (messageQue.get(sendEvent.getDevice()) == sendEvent) {
+                                messageQue.remove(sendEvent.getDevice());
+                            }
+                            metrics.completed(System.currentTimeMillis() - sendEvent.getEventTime());
+                        }
+                        if (messageQue.isEmpty()) {
+                            metrics.drained();
+                        }
                     }
 
                 } catch (InterruptedException ie) {
@@ -276,6 +324,19 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
                 }
             }
         }
+
+        /**
+         * Returns the pending event with the fewest transmissions, the first queued if several have the same.
+         */
+        private TelldusCoreSendEvent nextEvent() {
+            TelldusCoreSendEvent next = null;
+            for (TelldusCoreSendEvent event : messageQue.values()) {
+                if (next == null || event.getSentCount() < next.getSentCount()) {
+                    next = event;
+                }
+            }
+            return next;
+        }
     }
 
     /**
@@ -284,12 +345,13 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
      * @author Elias Gabrielsson
      *
      */
-    private class TelldusCoreSendEvent implements Comparable<TelldusCoreSendEvent> {
+    private class TelldusCoreSendEvent {
         private Device device;
         private int resendCount;
         private boolean isDimmer;
         private Command command;
         private Long eventTime;
+        private int sentCount = 0;
 
         public TelldusCoreSendEvent(Device device, int resendCount, boolean isDimmer, Command command, Long eventTime) {
             this.device = device;
@@ -319,9 +381,54 @@ public class TelldusCoreDeviceController implements DeviceChangeListener, Sensor
             return eventTime;
         }
 
-        @Override
-        public int compareTo(TelldusCoreSendEvent o) {
-            return eventTime.compareTo(o.getEventTime());
+        public int getSentCount() {
+            return sentCount;
+        }
+
+        public int getRemainingCount() {
+            return Math.max(resendCount - sentCount, 0);
+        }
+
+        public void sent() {
+            sentCount++;
+        }
+    }
+
+    /**
+     * Queue depth and send latency of the commands, logged each time the queue has been drained.
+     */
+    private class SendMetrics {
+        private int maxQueueDepth = 0;
+        private int completedEvents = 0;
+        private long totalLatency = 0;
+        private long maxLatency = 0;
+        private long averageLatency = 0;
+
+        void queued(int queueDepth) {
+            maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+        }
+
+        void completed(long latency) {
+            completedEvents++;
+            totalLatency += latency;
+            maxLatency = Math.max(maxLatency, latency);
+        }
+
+        void drained() {
+            if (completedEvents == 0) {
+                return;
+            }
+            averageLatency = totalLatency / completedEvents;
+            logger.debug("Send queue drained: {} commands, max queue depth {}, send latency avg {} ms, max {} ms",
+                    completedEvents, maxQueueDepth, averageLatency, maxLatency);
+            maxQueueDepth = 0;
+            completedEvents = 0;
+            totalLatency = 0;
+            maxLatency = 0;
+        }
+
+        long getAverageLatency() {
+            return averageLatency;
         }
     }
 }
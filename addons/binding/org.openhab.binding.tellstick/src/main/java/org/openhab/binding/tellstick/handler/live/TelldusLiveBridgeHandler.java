@@ -8,8 +8,14 @@
  */
 package org.openhab.binding.tellstick.handler.live;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Vector;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -51,10 +57,22 @@ public class TelldusLiveBridgeHandler extends BaseBridgeHandler implements Telld
 
     private final Logger logger = LoggerFactory.getLogger(TelldusLiveBridgeHandler.class);
 
-    private TellstickNetDevices deviceList = null;
-    private TellstickNetSensors sensorList = null;
+    // The devices and sensors by id, read without locking by the device handlers
+    private final Map<Integer, TellstickNetDevice> devicesById = new ConcurrentHashMap<>();
+    private final Map<Integer, TellstickNetSensor> sensorsById = new ConcurrentHashMap<>();
+    private volatile boolean devicesLoaded = false;
+    private volatile boolean sensorsLoaded = false;
+
+    // State hashes of the last polled devices and sensors, only used while refreshing
+    private final Map<Integer, Integer> deviceStateHashes = new HashMap<>();
+    private final Map<Integer, Integer> sensorStateHashes = new HashMap<>();
+
     private TelldusLiveDeviceController controller = new TelldusLiveDeviceController();
-    private List<DeviceStatusListener> deviceStatusListeners = new Vector<DeviceStatusListener>();
+
+    // Listeners of all devices, like the discovery service
+    private final List<DeviceStatusListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
+    // Listeners of a single device, by device id
+    private final Map<String, Set<DeviceStatusListener>> deviceListenersById = new ConcurrentHashMap<>();
 
     private static final int REFRESH_DELAY = 10;
 
@@ -77,8 +95,7 @@ public class TelldusLiveBridgeHandler extends BaseBridgeHandler implements Telld
         if (pollingJob != null) {
             pollingJob.cancel(true);
         }
-        deviceList = null;
-        sensorList = null;
+        clearDeviceLists();
         super.dispose();
     }
 
@@ -116,8 +133,8 @@ public class TelldusLiveBridgeHandler extends BaseBridgeHandler implements Telld
 
     synchronized void refreshDeviceList() {
         try {
-            updateDevices(deviceList);
-            updateSensors(sensorList);
+            updateDevices();
+            updateSensors();
             updateStatus(ThingStatus.ONLINE);
         } catch (TellstickException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
@@ -128,110 +145,123 @@ public class TelldusLiveBridgeHandler extends BaseBridgeHandler implements Telld
         }
     }
 
-    private synchronized void updateDevices(TellstickNetDevices previouslist) throws TellstickException {
-        TellstickNetDevices newList = controller.callRestMethod(TelldusLiveDeviceController.HTTP_TELLDUS_DEVICES,
-                TellstickNetDevices.class);
+    private void clearDeviceLists() {
+        devicesLoaded = false;
+        sensorsLoaded = false;
+        devicesById.clear();
+        sensorsById.clear();
+        deviceStateHashes.clear();
+        sensorStateHashes.clear();
+        controller.resetResponseHashes();
+    }
+
+    private void updateDevices() throws TellstickException {
+        TellstickNetDevices newList = controller.callRestMethodIfChanged(
+                TelldusLiveDeviceController.HTTP_TELLDUS_DEVICES, TellstickNetDevices.class);
+        if (newList == null) {
+            logger.debug("updateDevices, device list unchanged.");
+            return;
+        }
         logger.debug("Device list {}", newList.getDevices());
-        if (previouslist == null) {
-            logger.debug("updateDevices, Creating devices.");
-            for (TellstickNetDevice device : newList.getDevices()) {
-                device.setUpdated(true);
-                for (DeviceStatusListener listener : deviceStatusListeners) {
-                    listener.onDeviceAdded(getThing(), device);
-                }
-            }
-            this.deviceList = newList;
-        } else {
-            logger.debug("updateDevices, Updating devices.");
+
+        List<TellstickNetDevice> addedDevices = new ArrayList<>();
+        List<TellstickNetDevice> updatedDevices = new ArrayList<>();
+        if (newList.getDevices() != null) {
             for (TellstickNetDevice device : newList.getDevices()) {
-                int index = previouslist.getDevices().indexOf(device);
-                logger.debug("Device:{} found at {}", device, index);
-                if (index >= 0) {
-                    TellstickNetDevice orgDevice = previouslist.getDevices().get(index);
-                    if (device.getState() != orgDevice.getState()) {
-                        orgDevice.setState(device.getState());
-                        orgDevice.setStatevalue(device.getStatevalue());
-                        orgDevice.setUpdated(true);
-                    }
-                } else {
+                Integer hash = device.getStateHash();
+                Integer previousHash = deviceStateHashes.put(device.getId(), hash);
+                if (previousHash == null) {
                     logger.debug("New Device - Adding:{}", device);
-                    previouslist.getDevices().add(device);
-                    device.setUpdated(true);
-                    for (DeviceStatusListener listener : deviceStatusListeners) {
-                        listener.onDeviceAdded(getThing(), device);
-                    }
+                    addedDevices.add(device);
+                } else if (!previousHash.equals(hash)) {
+                    updatedDevices.add(device);
+                } else {
+                    continue;
                 }
+                devicesById.put(device.getId(), device);
             }
         }
+        devicesLoaded = true;
 
-        for (TellstickNetDevice device : deviceList.getDevices()) {
-            if (device.isUpdated()) {
-                logger.debug("Updated device:{}", device);
-                for (DeviceStatusListener listener : deviceStatusListeners) {
-                    listener.onDeviceStateChanged(getThing(), device,
-                            new TellstickDeviceEvent(device, null, null, null, System.currentTimeMillis()));
-                }
-                device.setUpdated(false);
+        for (TellstickNetDevice device : addedDevices) {
+            for (DeviceStatusListener listener : getListeners(device)) {
+                listener.onDeviceAdded(getThing(), device);
+            }
+        }
+        addedDevices.addAll(updatedDevices);
+        for (TellstickNetDevice device : addedDevices) {
+            logger.debug("Updated device:{}", device);
+            TellstickDeviceEvent event = new TellstickDeviceEvent(device, null, null, null,
+                    System.currentTimeMillis());
+            for (DeviceStatusListener listener : getListeners(device)) {
+                listener.onDeviceStateChanged(getThing(), device, event);
             }
         }
     }
 
-    private synchronized void updateSensors(TellstickNetSensors previouslist) throws TellstickException {
-        TellstickNetSensors newList = controller.callRestMethod(TelldusLiveDeviceController.HTTP_TELLDUS_SENSORS,
-                TellstickNetSensors.class);
+    private void updateSensors() throws TellstickException {
+        TellstickNetSensors newList = controller.callRestMethodIfChanged(
+                TelldusLiveDeviceController.HTTP_TELLDUS_SENSORS, TellstickNetSensors.class);
+        if (newList == null) {
+            logger.debug("updateSensors, sensor list unchanged.");
+            return;
+        }
         logger.debug("Updated sensors:{}", newList.getSensors());
-        if (previouslist == null) {
-            logger.debug("First update of sensors");
-            this.sensorList = newList;
-            for (TellstickNetSensor sensor : sensorList.getSensors()) {
-                sensor.setUpdated(true);
-                for (DeviceStatusListener listener : deviceStatusListeners) {
-                    listener.onDeviceAdded(getThing(), sensor);
-                }
-            }
-        } else {
-            logger.debug("Update sensors, reset updated flag");
-            for (TellstickNetSensor sensor : previouslist.getSensors()) {
-                sensor.setUpdated(false);
-            }
+
+        List<TellstickNetSensor> addedSensors = new ArrayList<>();
+        List<TellstickNetSensor> updatedSensors = new ArrayList<>();
+        if (newList.getSensors() != null) {
             for (TellstickNetSensor sensor : newList.getSensors()) {
-                int index = this.sensorList.getSensors().indexOf(sensor);
-                if (index >= 0) {
-                    TellstickNetSensor orgSensor = this.sensorList.getSensors().get(index);
-                    logger.debug("Update sensor {}, prev update {}, new update {}", sensor.getId(),
-                            orgSensor.getLastUpdated(), sensor.getLastUpdated());
-                    if (sensor.getLastUpdated() > orgSensor.getLastUpdated()) {
-                        logger.debug("Update for sensor:{}", sensor);
-                        orgSensor.setData(sensor.getData());
-                        orgSensor.setLastUpdated(sensor.getLastUpdated());
-                        orgSensor.setUpdated(true);
-                        sensor.setUpdated(true);
-                    }
-                } else {
+                Integer hash = sensor.getStateHash();
+                Integer previousHash = sensorStateHashes.put(sensor.getId(), hash);
+                if (previousHash == null) {
                     logger.debug("Adding sensor {}, new update {}", sensor.getId(), sensor.getLastUpdated());
-                    this.sensorList.getSensors().add(sensor);
-                    sensor.setUpdated(true);
-                    for (DeviceStatusListener listener : deviceStatusListeners) {
-                        listener.onDeviceAdded(getThing(), sensor);
-                    }
+                    addedSensors.add(sensor);
+                } else if (!previousHash.equals(hash)) {
+                    logger.debug("Update for sensor:{}", sensor);
+                    updatedSensors.add(sensor);
+                } else {
+                    continue;
                 }
+                sensorsById.put(sensor.getId(), sensor);
+            }
+        }
+        sensorsLoaded = true;
 
+        for (TellstickNetSensor sensor : addedSensors) {
+            for (DeviceStatusListener listener : getListeners(sensor)) {
+                listener.onDeviceAdded(getThing(), sensor);
             }
         }
-        for (TellstickNetSensor sensor : sensorList.getSensors()) {
-            if (sensor.getData() != null && sensor.isUpdated()) {
-                for (DeviceStatusListener listener : deviceStatusListeners) {
-                    for (DataTypeValue type : sensor.getData()) {
-                        listener.onDeviceStateChanged(getThing(), sensor,
-                                new TellstickSensorEvent(sensor.getId(), type.getValue(), type.getName(),
-                                        sensor.getProtocol(), sensor.getModel(), System.currentTimeMillis()));
-                    }
+        addedSensors.addAll(updatedSensors);
+        for (TellstickNetSensor sensor : addedSensors) {
+            if (sensor.getData() == null) {
+                continue;
+            }
+            List<DeviceStatusListener> listeners = getListeners(sensor);
+            for (DataTypeValue type : sensor.getData()) {
+                TellstickSensorEvent event = new TellstickSensorEvent(sensor.getId(), type.getValue(),
+                        type.getName(), sensor.getProtocol(), sensor.getModel(), System.currentTimeMillis());
+                for (DeviceStatusListener listener : listeners) {
+                    listener.onDeviceStateChanged(getThing(), sensor, event);
                 }
-                sensor.setUpdated(false);
             }
         }
     }
 
+    /**
+     * Returns the listeners of all devices and the listeners of the given device.
+     */
+    private List<DeviceStatusListener> getListeners(Device device) {
+        Set<DeviceStatusListener> listeners = deviceListenersById.get(device.getUUId());
+        if (listeners == null || listeners.isEmpty()) {
+            return deviceStatusListeners;
+        }
+        List<DeviceStatusListener> result = new ArrayList<>(deviceStatusListeners);
+        result.addAll(listeners);
+        return result;
+    }
+
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
@@ -275,49 +305,44 @@ public class TelldusLiveBridgeHandler extends BaseBridgeHandler implements Telld
         return result;
     }
 
-    private Device getDevice(String id, List<TellstickNetDevice> devices) {
-        for (Device device : devices) {
-            if (device.getId() == Integer.valueOf(id)) {
-                return device;
-            }
+    @Override
+    public boolean registerDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener) {
+        if (deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return null;
-    }
-
-    private Device getSensor(String id, List<TellstickNetSensor> sensors) {
-        for (Device sensor : sensors) {
-            if (sensor.getId() == Integer.valueOf(id)) {
-                return sensor;
+        Set<DeviceStatusListener> listeners = deviceListenersById.get(deviceId);
+        if (listeners == null) {
+            listeners = new CopyOnWriteArraySet<>();
+            Set<DeviceStatusListener> existing = deviceListenersById.putIfAbsent(deviceId, listeners);
+            if (existing != null) {
+                listeners = existing;
             }
         }
-        return null;
+        return listeners.add(deviceStatusListener);
     }
 
     @Override
-    public Device getDevice(String serialNumber) {
-        return getDevice(serialNumber, getDevices());
+    public boolean unregisterDeviceStatusListener(String deviceId, DeviceStatusListener deviceStatusListener) {
+        Set<DeviceStatusListener> listeners = deviceListenersById.get(deviceId);
+        return listeners != null && listeners.remove(deviceStatusListener);
     }
 
-    private List<TellstickNetDevice> getDevices() {
-        if (deviceList == null) {
+    @Override
+    public Device getDevice(String serialNumber) {
+        if (!devicesLoaded) {
             refreshDeviceList();
         }
-        return deviceList.getDevices();
+        return devicesById.get(Integer.valueOf(serialNumber));
     }
 
     @Override
     public Device getSensor(String deviceUUId) {
-        Device result = null;
-        if (sensorList != null) {
-            result = getSensor(deviceUUId, sensorList.getSensors());
-        }
-        return result;
+        return sensorsById.get(Integer.valueOf(deviceUUId));
     }
 
     @Override
-    public void rescanTelldusDevices() {
-        this.deviceList = null;
-        this.sensorList = null;
+    public synchronized void rescanTelldusDevices() {
+        clearDeviceLists();
         refreshDeviceList();
     }
 
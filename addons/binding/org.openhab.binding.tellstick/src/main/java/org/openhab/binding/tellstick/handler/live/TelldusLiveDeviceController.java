@@ -8,7 +8,12 @@
  */
 package org.openhab.binding.tellstick.handler.live;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -16,6 +21,7 @@ import java.util.concurrent.TimeoutException;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.stream.FactoryConfigurationError;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -73,6 +79,15 @@ public class TelldusLiveDeviceController implements DeviceChangeListener, Sensor
     static final String HTTP_TELLDUS_DEVICE_TURNON = HTTP_API_TELLDUS_COM_XML + "device/turnOn?id=%d";
     private static final int MAX_RETRIES = 3;
 
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    // The JAXB contexts are expensive to create, so one unmarshaller is kept per response type.
+    // Unmarshallers are not thread-safe and are used while holding their lock.
+    private final Map<Class<?>, Unmarshaller> unmarshallers = new HashMap<>();
+
+    // Hashes of the last responses to the uris called with callRestMethodIfChanged
+    private final Map<String, Integer> responseHashes = new ConcurrentHashMap<>();
+
     public TelldusLiveDeviceController() {
     }
 
@@ -275,12 +290,32 @@ public class TelldusLiveDeviceController implements DeviceChangeListener, Sensor
     }
 
     <T> T callRestMethod(String uri, Class<T> response) throws TelldusLiveException {
-        T resultObj = null;
+        return callRestMethod(uri, response, false);
+    }
+
+    /**
+     * Calls the rest method like {@link #callRestMethod(String, Class)}, but does not parse the response if it is
+     * the same as the last response to the uri.
+     *
+     * @return the parsed response, or null if the response is unchanged
+     */
+    <T> T callRestMethodIfChanged(String uri, Class<T> response) throws TelldusLiveException {
+        return callRestMethod(uri, response, true);
+    }
+
+    /**
+     * Forgets the last responses, so that the next calls of {@link #callRestMethodIfChanged(String, Class)} parse
+     * the responses.
+     */
+    void resetResponseHashes() {
+        responseHashes.clear();
+    }
+
+    private <T> T callRestMethod(String uri, Class<T> response, boolean onlyIfChanged) throws TelldusLiveException {
         try {
             for (int i = 0; i < MAX_RETRIES; i++) {
                 try {
-                    resultObj = innerCallRest(uri, response);
-                    break;
+                    return innerCallRest(uri, response, onlyIfChanged);
                 } catch (TimeoutException e) {
                     logger.warn("TimeoutException error in get", e);
                 } catch (InterruptedException e) {
@@ -299,27 +334,56 @@ public class TelldusLiveDeviceController implements DeviceChangeListener, Sensor
             logger.warn("ExecutionException error in get", e);
             throw new TelldusLiveException(e);
         }
-        return resultObj;
+        if (onlyIfChanged) {
+            // null would be taken for an unchanged response
+            throw new TelldusLiveException(new TimeoutException("No response to " + uri));
+        }
+        return null;
     }
 
-    private <T> T innerCallRest(String uri, Class<T> response) throws InterruptedException, ExecutionException,
-            TimeoutException, JAXBException, FactoryConfigurationError, XMLStreamException {
+    private <T> T innerCallRest(String uri, Class<T> response, boolean onlyIfChanged) throws InterruptedException,
+            ExecutionException, TimeoutException, JAXBException, FactoryConfigurationError, XMLStreamException {
         Future<Response> future = client.prepareGet(uri).execute();
         Response resp = future.get(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
         // TelldusLiveHandler.logger.info("Devices" + resp.getResponseBody());
-        JAXBContext jc = JAXBContext.newInstance(response);
-        XMLInputFactory xif = XMLInputFactory.newInstance();
-        XMLStreamReader xsr = xif.createXMLStreamReader(resp.getResponseBodyAsStream());
+        byte[] body = resp.getResponseBodyAsBytes();
+        Integer hash = Arrays.hashCode(body);
+        if (onlyIfChanged && hash.equals(responseHashes.get(uri))) {
+            logger.trace("Request [{}] Response unchanged", uri);
+            return null;
+        }
+
+        XMLStreamReader xsr = XML_INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(body));
         // xsr = new PropertyRenamerDelegate(xsr);
 
-        @SuppressWarnings("unchecked")
-        T obj = (T) jc.createUnmarshaller().unmarshal(xsr);
+        Unmarshaller unmarshaller = getUnmarshaller(response);
+        T obj;
+        synchronized (unmarshaller) {
+            @SuppressWarnings("unchecked")
+            T unmarshalled = (T) unmarshaller.unmarshal(xsr);
+            obj = unmarshalled;
+        }
         if (logger.isTraceEnabled()) {
             logger.trace("Request [{}] Response:{}", uri, resp.getResponseBody());
         }
+        if (onlyIfChanged) {
+            // Only remember responses which could be parsed
+            responseHashes.put(uri, hash);
+        }
         return obj;
     }
 
+    private Unmarshaller getUnmarshaller(Class<?> response) throws JAXBException {
+        synchronized (unmarshallers) {
+            Unmarshaller unmarshaller = unmarshallers.get(response);
+            if (unmarshaller == null) {
+                unmarshaller = JAXBContext.newInstance(response).createUnmarshaller();
+                unmarshallers.put(response, unmarshaller);
+            }
+            return unmarshaller;
+        }
+    }
+
     private void logResponse(String uri, Exception e) {
         if (e != null) {
             logger.warn("Request [{}] Failure:{}", uri, e.getMessage());
@@ -8,6 +8,8 @@
  */
 package org.openhab.binding.tellstick.handler.live.xml;
 
+import java.util.Objects;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -134,6 +136,13 @@ public class TellstickNetDevice implements Device {
         this.statevalue = statevalue;
     }
 
+    /**
+     * Returns a hash of the state of the device, used to detect changes between two polls.
+     */
+    public int getStateHash() {
+        return Objects.hash(state, statevalue, online);
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -9,6 +9,7 @@
 package org.openhab.binding.tellstick.handler.live.xml;
 
 import java.util.List;
+import java.util.Objects;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -133,6 +134,19 @@ public class TellstickNetSensor implements Device {
         this.lastUpdated = lastUpdated;
     }
 
+    /**
+     * Returns a hash of the state and the values of the sensor, used to detect changes between two polls.
+     */
+    public int getStateHash() {
+        int result = Objects.hash(online, lastUpdated);
+        if (data != null) {
+            for (DataTypeValue value : data) {
+                result = 31 * result + Objects.hash(value.getName(), value.getValue());
+            }
+        }
+        return result;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
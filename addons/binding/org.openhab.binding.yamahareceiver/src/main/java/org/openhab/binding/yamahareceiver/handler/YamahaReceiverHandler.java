@@ -10,8 +10,7 @@ package org.openhab.binding.yamahareceiver.handler;
 
 import java.io.IOException;
 import java.math.BigDecimal;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.IncreaseDecreaseType;
@@ -30,6 +29,9 @@ import org.openhab.binding.yamahareceiver.discovery.ZoneDiscoveryService;
 import org.openhab.binding.yamahareceiver.internal.YamahaReceiverState;
 import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication;
 import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication.Zone;
+import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverPoller;
+import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverPoller.ZoneStatusListener;
+import org.openhab.binding.yamahareceiver.internal.protocol.ZoneStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,17 +39,21 @@ import org.slf4j.LoggerFactory;
  * The {@link YamahaReceiverHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The state of the zone is polled by the {@link YamahaReceiverPoller} of the receiver, shared with the things
+ * of the other zones. Only the channels whose value has changed are updated.
+ *
  * @author David Gräff - Initial contribution
  */
-public class YamahaReceiverHandler extends BaseThingHandler {
+public class YamahaReceiverHandler extends BaseThingHandler implements ZoneStatusListener {
 
     private Logger logger = LoggerFactory.getLogger(YamahaReceiverHandler.class);
     private String host;
     private int refrehInterval = 60; // Default: Every 1min
     private float relativeVolumeChangeFactor = 0.5f; // Default: 0.5 percent
-    private long lastRefreshInMS = 0;
     private YamahaReceiverState state = null;
-    private ScheduledFuture<?> refreshTimer;
+    private YamahaReceiverPoller poller;
+    // All channels have to be updated on the next status, not only the changed ones
+    private volatile boolean fullUpdate = true;
     private ZoneDiscoveryService zoneDiscoveryService;
 
     public YamahaReceiverHandler(Thing thing) {
@@ -72,7 +78,7 @@ public class YamahaReceiverHandler extends BaseThingHandler {
         BigDecimal interval_config = (BigDecimal) thing.getConfiguration()
                 .get(YamahaReceiverBindingConstants.CONFIG_REFRESH);
         if (interval_config != null && interval_config.intValue() != refrehInterval) {
-            setupRefreshTimer(interval_config.intValue());
+            setupRefreshTimer();
         }
 
         // Read the configuration for the relative volume change factor.
@@ -100,6 +106,16 @@ public class YamahaReceiverHandler extends BaseThingHandler {
         createCommunicationObject();
     }
 
+    @Override
+    public void dispose() {
+        releasePoller();
+        state = null;
+        if (zoneDiscoveryService != null) {
+            zoneDiscoveryService.stop();
+            zoneDiscoveryService = null;
+        }
+    }
+
     /**
      * We create a YamahaReceiverState that handles the current state (loudness, power, input etc)
      * and a communication object.
@@ -120,18 +136,19 @@ public class YamahaReceiverHandler extends BaseThingHandler {
 
         Zone zone = YamahaReceiverCommunication.Zone.valueOf(zoneName);
 
-        state = new YamahaReceiverState(new YamahaReceiverCommunication(host, zone));
+        releasePoller();
+        poller = YamahaReceiverPoller.getPoller(host, scheduler);
+        state = new YamahaReceiverState(new YamahaReceiverCommunication(poller, zone));
         try {
             state.updateDeviceInformation();
         } catch (IOException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
             return;
         }
-        updateReceiverState();
-        setupRefreshTimer(0);
+        setupRefreshTimer();
 
         // If we are the main zone, detect other zones now.
-        if (zone == Zone.Main_Zone) {
+        if (zone == Zone.Main_Zone && zoneDiscoveryService == null) {
             zoneDiscoveryService = new ZoneDiscoveryService();
             zoneDiscoveryService.start(bundleContext);
             zoneDiscoveryService.detectZones(state, thing.getUID().getId());
@@ -139,12 +156,11 @@ public class YamahaReceiverHandler extends BaseThingHandler {
     }
 
     /**
-     * Sets up a refresh timer (using the scheduler) with the CONFIG_REFRESH interval.
-     *
-     * @param initial_wait_time The delay before the first refresh. Maybe 0 to immediately
-     *            initiate a refresh.
+     * Registers this zone at the poller of the receiver with the CONFIG_REFRESH interval.
+     * The poller polls all the zones of the receiver at the shortest interval of the zones,
+     * the first status of the zone is polled immediately.
      */
-    private void setupRefreshTimer(int initial_wait_time) {
+    private void setupRefreshTimer() {
         if (state == null) {
             return;
         }
@@ -159,44 +175,77 @@ public class YamahaReceiverHandler extends BaseThingHandler {
                     : ((BigDecimal) interval_config_o).intValue();
         }
 
-        if (refreshTimer != null) {
-            refreshTimer.cancel(false);
-        }
-        refreshTimer = scheduler.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                updateReceiverState();
-            }
-        }, initial_wait_time, interval_config, TimeUnit.SECONDS);
+        fullUpdate = true;
+        poller.register(state.getZone(), interval_config, this);
 
         refrehInterval = interval_config;
     }
 
+    private void releasePoller() {
+        if (poller != null && state != null) {
+            poller.unregister(state.getZone(), this);
+        }
+        poller = null;
+    }
+
     /**
-     * All channels of this thing will be updated after a response from the Yamaha device.
-     * If the device does not respond it be assumed to be offline.
-     * We cannot refresh just a single channel, but only all
-     * channels at a time. Because that is a costly operation, we only allow a refresh every
-     * 3 seconds.
+     * Channels of this thing will be updated after a response from the Yamaha device,
+     * if their value has changed (or all channels after the first response).
      */
-    private void updateReceiverState() {
-        if (lastRefreshInMS + 3000 > System.currentTimeMillis()) {
+    @Override
+    public void zoneStatusChanged(ZoneStatus status) {
+        YamahaReceiverState currentState = state;
+        if (currentState == null) {
             return;
         }
-        lastRefreshInMS = System.currentTimeMillis();
 
-        try {
-            state.updateState();
-            updateStatus(ThingStatus.ONLINE);
-            updateState(YamahaReceiverBindingConstants.CHANNEL_POWER, state.isPower() ? OnOffType.ON : OnOffType.OFF);
-            updateState(YamahaReceiverBindingConstants.CHANNEL_INPUT, new StringType(state.getInput()));
-            updateState(YamahaReceiverBindingConstants.CHANNEL_SURROUND, new StringType(state.getSurroundProgram()));
-            updateState(YamahaReceiverBindingConstants.CHANNEL_VOLUME, new PercentType((int) state.getVolume()));
-            updateState(YamahaReceiverBindingConstants.CHANNEL_MUTE, state.isMute() ? OnOffType.ON : OnOffType.OFF);
-            updateState(YamahaReceiverBindingConstants.CHANNEL_NETRADIO_TUNE, new DecimalType(state.netRadioChannel));
-            logger.trace("State upddated!");
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+        List<String> changedChannels = currentState.applyStatus(status);
+        updateStatus(ThingStatus.ONLINE);
+        if (fullUpdate) {
+            fullUpdate = false;
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_POWER);
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_INPUT);
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_SURROUND);
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_VOLUME);
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_MUTE);
+            updateChannel(YamahaReceiverBindingConstants.CHANNEL_NETRADIO_TUNE);
+        } else {
+            for (String channel : changedChannels) {
+                updateChannel(channel);
+            }
+        }
+        logger.trace("State upddated!");
+    }
+
+    /**
+     * If the device does not respond it be assumed to be offline.
+     */
+    @Override
+    public void communicationError(IOException e) {
+        fullUpdate = true;
+        updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+    }
+
+    private void updateChannel(String id) {
+        switch (id) {
+            case YamahaReceiverBindingConstants.CHANNEL_POWER:
+                updateState(id, state.isPower() ? OnOffType.ON : OnOffType.OFF);
+                break;
+            case YamahaReceiverBindingConstants.CHANNEL_INPUT:
+                updateState(id, new StringType(state.getInput()));
+                break;
+            case YamahaReceiverBindingConstants.CHANNEL_SURROUND:
+                updateState(id, new StringType(state.getSurroundProgram()));
+                break;
+            case YamahaReceiverBindingConstants.CHANNEL_VOLUME:
+                updateState(id, new PercentType((int) state.getVolume()));
+                break;
+            case YamahaReceiverBindingConstants.CHANNEL_MUTE:
+                updateState(id, state.isMute() ? OnOffType.ON : OnOffType.OFF);
+                break;
+            case YamahaReceiverBindingConstants.CHANNEL_NETRADIO_TUNE:
+                updateState(id, new DecimalType(state.netRadioChannel));
+                break;
         }
     }
 
@@ -210,10 +259,11 @@ public class YamahaReceiverHandler extends BaseThingHandler {
         String id = channelUID.getId();
 
         // The user want to refresh a value. We cannot refresh just a single channel, but only all
-        // channels at a time. Because that is a costly operation, we only allow a user requested refresh every
-        // 3 seconds.
+        // zones at a time. Because that is a costly operation, the poller only allows a refresh every
+        // 3 seconds. The channel is updated with the last known value in any case.
         if (command instanceof RefreshType) {
-            updateReceiverState();
+            poller.refresh();
+            updateChannel(id);
             return;
         }
 
@@ -12,8 +12,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.openhab.binding.yamahareceiver.YamahaReceiverBindingConstants;
 import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication;
 import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication.Zone;
+import org.openhab.binding.yamahareceiver.internal.protocol.ZoneStatus;
 
 /**
  * Receiver state
@@ -53,12 +55,38 @@ public class YamahaReceiverState {
     }
 
     /**
-     * Update power, input, surround, volume and mute information
+     * Update power, input, surround, volume and mute information from a polled status
      *
-     * @throws IOException
+     * @param status The polled status of the zone
+     * @return The ids of the channels whose value has changed
      */
-    public void updateState() throws IOException {
-        com.updateState(this);
+    public List<String> applyStatus(ZoneStatus status) {
+        List<String> changedChannels = new ArrayList<>();
+        if (power != status.power) {
+            power = status.power;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_POWER);
+        }
+        if (!input.equals(status.input)) {
+            input = status.input;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_INPUT);
+        }
+        if (!surroundProgram.equals(status.surroundProgram)) {
+            surroundProgram = status.surroundProgram;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_SURROUND);
+        }
+        if (Float.compare(volume, status.volume) != 0) {
+            volume = status.volume;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_VOLUME);
+        }
+        if (mute != status.mute) {
+            mute = status.mute;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_MUTE);
+        }
+        if (netRadioChannel != status.netRadioChannel) {
+            netRadioChannel = status.netRadioChannel;
+            changedChannels.add(YamahaReceiverBindingConstants.CHANNEL_NETRADIO_TUNE);
+        }
+        return changedChannels;
     }
 
     public Zone getZone() {
@@ -8,29 +8,31 @@
  */
 package org.openhab.binding.yamahareceiver.internal.protocol;
 
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.StringReader;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.openhab.binding.yamahareceiver.internal.YamahaReceiverState;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
 /**
  * Yamaha Receiver protocol class used to control a yamaha receiver with HTTP/XML.
  * No state will be saved here, but in {@link YamahaReceiverState} instead.
  *
+ * The requests of all zones of a receiver go through the {@link YamahaReceiverPoller} of the receiver,
+ * which also polls the status of the zones. Responses are parsed with a streaming (StAX) reader.
+ *
  * @author David Gräff <david.graeff@tu-dortmund.de>
  * @author Eric Thill
  * @author Ben Jones
@@ -49,6 +51,18 @@ public class YamahaReceiverCommunication {
         Zone_4;
     }
 
+    /**
+     * Called for every element of a response that has no child element.
+     */
+    interface XmlElementHandler {
+        /**
+         * @param path The path of the element, starting below the YAMAHA_AV root element, like
+         *            "Main_Zone/Basic_Status/Volume/Mute"
+         * @param text The text of the element
+         */
+        void element(String path, String text) throws IOException;
+    }
+
     /**
      * The volume min and max is the same for all supported devices.
      */
@@ -56,18 +70,22 @@ public class YamahaReceiverCommunication {
     public static final int VOLUME_MAX = 12;
     public static final int VOLUME_RANGE = -VOLUME_MIN + VOLUME_MAX;
 
-    // We need a lot of xml parsing. Create a document builder beforehand.
-    private final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+    static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"utf-8\"?>";
 
-    // The address of the receiver.
-    private final String host;
+    private static final String BASIC_STATUS = "/Basic_Status/";
+
+    // We need a lot of xml parsing. Create the stream reader factory beforehand.
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    // The poller of the receiver, all requests go through it.
+    private final YamahaReceiverPoller poller;
     private final Zone zone;
 
     // Creates a yamaha protol connection object.
     // All commands always refer to a zone. A protocol connection object
-    // therefore consists of a host address and a zone.
-    public YamahaReceiverCommunication(String host, Zone zone) {
-        this.host = host;
+    // therefore consists of the poller of a receiver and a zone.
+    public YamahaReceiverCommunication(YamahaReceiverPoller poller, Zone zone) {
+        this.poller = poller;
         this.zone = zone;
     }
 
@@ -75,7 +93,7 @@ public class YamahaReceiverCommunication {
      * Return the host address
      */
     public String getHost() {
-        return host;
+        return poller.getHost();
     }
 
     /**
@@ -85,212 +103,312 @@ public class YamahaReceiverCommunication {
         return zone;
     }
 
-    public void updateDeviceInformation(YamahaReceiverState state) throws IOException {
-        Document doc = postAndGetXmlResponse(
-                "<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"GET\"><System><Config>GetParam</Config></System></YAMAHA_AV>");
-        if (doc != null) {
-            Node basicStatus = getNode(doc.getFirstChild(), "System/Config");
-
-            Node node;
-            String value;
-
-            node = getNode(basicStatus, "Model_Name");
-            value = node != null ? node.getTextContent() : "";
-            state.name = value;
-
-            node = getNode(basicStatus, "System_ID");
-            value = node != null ? node.getTextContent() : "";
-            state.id = value;
-
-            node = getNode(basicStatus, "Version");
-            value = node != null ? node.getTextContent() : "";
-            state.version = value;
-
-            state.additional_zones.clear();
+    public void updateDeviceInformation(final YamahaReceiverState state) throws IOException {
+        state.additional_zones.clear();
+        poller.post(XML_HEADER + "<YAMAHA_AV cmd=\"GET\"><System><Config>GetParam</Config></System></YAMAHA_AV>",
+                new XmlElementHandler() {
+                    @Override
+                    public void element(String path, String text) {
+                        switch (path) {
+                            case "System/Config/Model_Name":
+                                state.name = text;
+                                break;
+                            case "System/Config/System_ID":
+                                state.id = text;
+                                break;
+                            case "System/Config/Version":
+                                state.version = text;
+                                break;
+                            case "System/Config/Feature_Existence/Zone_2":
+                                addZone(state, Zone.Zone_2, text);
+                                break;
+                            case "System/Config/Feature_Existence/Zone_3":
+                                addZone(state, Zone.Zone_3, text);
+                                break;
+                            case "System/Config/Feature_Existence/Zone_4":
+                                addZone(state, Zone.Zone_4, text);
+                                break;
+                        }
+                    }
+                });
+    }
 
-            node = getNode(basicStatus, "Feature_Existence");
-            if (node != null) {
-                Node subnode;
-                subnode = getNode(node, "Zone_2");
-                value = subnode != null ? subnode.getTextContent() : null;
-                if (value != null && (value.equals("1") || value.equals("Available"))) {
-                    state.additional_zones.add(Zone.Zone_2);
-                }
-                subnode = getNode(node, "Zone_3");
-                value = subnode != null ? subnode.getTextContent() : null;
-                if (value != null && (value.equals("1") || value.equals("Available"))) {
-                    state.additional_zones.add(Zone.Zone_3);
-                }
-                subnode = getNode(node, "Zone_4");
-                value = subnode != null ? subnode.getTextContent() : null;
-                if (value != null && (value.equals("1") || value.equals("Available"))) {
-                    state.additional_zones.add(Zone.Zone_4);
-                }
-            }
+    private static void addZone(YamahaReceiverState state, Zone zone, String value) {
+        if (value.equals("1") || value.equals("Available")) {
+            state.additional_zones.add(zone);
         }
     }
 
     public void setPower(boolean on) throws IOException {
         if (on) {
-            postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                    + "><Power_Control><Power>On</Power></Power_Control></" + getZone() + "></YAMAHA_AV>");
+            putZone("<Power_Control><Power>On</Power></Power_Control>");
         } else {
-            postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                    + "><Power_Control><Power>Standby</Power></Power_Control></" + getZone() + "></YAMAHA_AV>");
+            putZone("<Power_Control><Power>Standby</Power></Power_Control>");
         }
     }
 
+    /**
+     * Sets the volume in decibel. Volume commands are coalesced: while a volume command of the zone is
+     * being sent, only the latest one of the following commands is kept and sent afterwards.
+     * The command is sent asynchronously, so a communication error is not thrown but reported to the
+     * {@link YamahaReceiverPoller.ZoneStatusListener}s of the receiver.
+     */
     public void setVolume(float volume) throws IOException {
         int vol = (int) volume * 10;
-        postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                + "><Volume><Lvl><Val>" + String.valueOf(vol) + "</Val><Exp>1</Exp><Unit>dB</Unit></Lvl></Volume></"
-                + getZone() + "></YAMAHA_AV>");
+        poller.sendCoalesced(zone + "/Volume", zoneMessage("PUT",
+                "<Volume><Lvl><Val>" + String.valueOf(vol) + "</Val><Exp>1</Exp><Unit>dB</Unit></Lvl></Volume>"));
     }
 
     public void setMute(boolean mute) throws IOException {
         if (mute) {
-            postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                    + "><Volume><Mute>On</Mute></Volume></" + getZone() + "></YAMAHA_AV>");
+            putZone("<Volume><Mute>On</Mute></Volume>");
         } else {
-            postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                    + "><Volume><Mute>Off</Mute></Volume></" + getZone() + "></YAMAHA_AV>");
+            putZone("<Volume><Mute>Off</Mute></Volume>");
         }
     }
 
     public void setInput(String name) throws IOException {
-        postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                + "><Input><Input_Sel>" + name + "</Input_Sel></Input></" + getZone() + "></YAMAHA_AV>");
+        putZone("<Input><Input_Sel>" + name + "</Input_Sel></Input>");
     }
 
     public void setSurroundProgram(String name) throws IOException {
-        postAndGetResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><" + getZone()
-                + "><Surround><Program_Sel><Current><Sound_Program>" + name
-                + "</Sound_Program></Current></Program_Sel></Surround></" + getZone() + "></YAMAHA_AV>");
+        putZone("<Surround><Program_Sel><Current><Sound_Program>" + name
+                + "</Sound_Program></Current></Program_Sel></Surround>");
     }
 
     public void setNetRadio(int lineNo) throws IOException {
         /* Jump to specified line in preset list */
-        postAndGetResponse(
-                "<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"PUT\"><NET_RADIO><Play_Control><Preset><Preset_Sel>"
-                        + lineNo + "</Preset_Sel></Preset></Play_Control></NET_RADIO></YAMAHA_AV>");
-    }
-
-    public void updateState(YamahaReceiverState state) throws IOException {
-        Document doc = postAndGetXmlResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"GET\"><" + zone
-                + "><Basic_Status>GetParam</Basic_Status></" + zone + "></YAMAHA_AV>");
-        Node basicStatus = getNode(doc.getFirstChild(), "" + zone + "/Basic_Status");
-
-        Node node;
-        String value;
-
-        node = getNode(basicStatus, "Power_Control/Power");
-        value = node != null ? node.getTextContent() : "";
-        state.power = "On".equalsIgnoreCase(value);
-
-        node = getNode(basicStatus, "Input/Input_Sel");
-        value = node != null ? node.getTextContent() : "";
-        state.input = value;
-
-        node = getNode(basicStatus, "Surround/Program_Sel/Current/Sound_Program");
-        value = node != null ? node.getTextContent() : "";
-        state.surroundProgram = value;
-
-        node = getNode(basicStatus, "Volume/Lvl/Val");
-        value = node != null ? node.getTextContent() : String.valueOf(VOLUME_MIN);
-        state.volume = Float.parseFloat(value) * .1f; // in DB
-        state.volume = (state.volume + -YamahaReceiverCommunication.VOLUME_MIN) * 100.0f
-                / YamahaReceiverCommunication.VOLUME_RANGE; // in percent
-
-        node = getNode(basicStatus, "Volume/Mute");
-        value = node != null ? node.getTextContent() : "";
-        state.mute = "On".equalsIgnoreCase(value);
-
-        node = getNode(basicStatus, "Input/Input_Sel_Item_Info/Src_Number");
-        value = node != null ? node.getTextContent() : "0";
-        state.netRadioChannel = Integer.parseInt(value);
+        poller.post(XML_HEADER + "<YAMAHA_AV cmd=\"PUT\"><NET_RADIO><Play_Control><Preset><Preset_Sel>" + lineNo
+                + "</Preset_Sel></Preset></Play_Control></NET_RADIO></YAMAHA_AV>", null);
     }
 
     public void updateInputsList(YamahaReceiverState state) throws IOException {
-        Document doc = postAndGetXmlResponse("<?xml version=\"1.0\" encoding=\"utf-8\"?><YAMAHA_AV cmd=\"GET\"><" + zone
-                + "><Input><Input_Sel_Item>GetParam</Input_Sel_Item></Input></" + zone + "></YAMAHA_AV>");
-        Node inputSelItem = getNode(doc.getFirstChild(), zone + "/Input/Input_Sel_Item");
-        NodeList items = inputSelItem.getChildNodes();
-        state.inputNames.clear();
-        for (int i = 0; i < items.getLength(); i++) {
-            Element item = (Element) items.item(i);
-            String name = item.getElementsByTagName("Param").item(0).getTextContent();
-            boolean writable = item.getElementsByTagName("RW").item(0).getTextContent().contains("W");
-            if (writable) {
-                state.inputNames.add(name);
+        final String itemsPath = zone + "/Input/Input_Sel_Item/";
+        // Name and writable flag of the items, by item path
+        final Map<String, String> names = new LinkedHashMap<>();
+        final Map<String, Boolean> writable = new LinkedHashMap<>();
+
+        poller.post(zoneMessage("GET", "<Input><Input_Sel_Item>GetParam</Input_Sel_Item></Input>"),
+                new XmlElementHandler() {
+                    @Override
+                    public void element(String path, String text) {
+                        if (!path.startsWith(itemsPath)) {
+                            return;
+                        }
+                        if (path.endsWith("/Param")) {
+                            names.put(path.substring(0, path.length() - 6), text);
+                        } else if (path.endsWith("/RW")) {
+                            writable.put(path.substring(0, path.length() - 3), text.contains("W"));
+                        }
+                    }
+                });
+
+        List<String> inputNames = new ArrayList<>();
+        for (Map.Entry<String, String> item : names.entrySet()) {
+            if (Boolean.TRUE.equals(writable.get(item.getKey()))) {
+                inputNames.add(item.getValue());
             }
         }
+        state.inputNames.clear();
+        state.inputNames.addAll(inputNames);
     }
 
-    private static Node getNode(Node root, String nodePath) {
-        String[] nodePathArr = nodePath.split("/");
-        return getNode(root, nodePathArr, 0);
+    private void putZone(String content) throws IOException {
+        poller.post(zoneMessage("PUT", content), null);
     }
 
-    private static Node getNode(Node parent, String[] nodePath, int offset) {
-        if (parent == null) {
-            return null;
-        }
-        if (offset < nodePath.length - 1) {
-            return getNode(((Element) parent).getElementsByTagName(nodePath[offset]).item(0), nodePath, offset + 1);
-        } else {
-            return ((Element) parent).getElementsByTagName(nodePath[offset]).item(0);
+    private String zoneMessage(String cmd, String content) {
+        StringBuilder message = new StringBuilder(XML_HEADER.length() + content.length() + 64);
+        message.append(XML_HEADER).append("<YAMAHA_AV cmd=\"").append(cmd).append("\"><").append(zone).append('>');
+        message.append(content);
+        message.append("</").append(zone).append("></YAMAHA_AV>");
+        return message.toString();
+    }
+
+    /**
+     * Return a GET request of the basic status of all the given zones.
+     */
+    static String createStatusRequest(Iterable<Zone> zones) {
+        StringBuilder message = new StringBuilder(XML_HEADER).append("<YAMAHA_AV cmd=\"GET\">");
+        for (Zone zone : zones) {
+            message.append('<').append(zone).append("><Basic_Status>GetParam</Basic_Status></").append(zone)
+                    .append('>');
         }
+        return message.append("</YAMAHA_AV>").toString();
     }
 
-    private Document postAndGetXmlResponse(String message) throws IOException {
-        String response = "<?xml version=\"1.0\" encoding=\"utf-8\"?>" + postAndGetResponse(message);
-        try {
-            DocumentBuilder db = dbf.newDocumentBuilder();
-            Document doc = db.parse(new InputSource(new StringReader(response)));
-            if (doc.getFirstChild().hasChildNodes() == false) {
-                throw new IOException("Could not handle response");
+    /**
+     * Return a handler filling the status of the zones (with a Basic_Status) of a response into the given map.
+     */
+    static XmlElementHandler createStatusParser(final Map<Zone, ZoneStatus> statuses) {
+        return new XmlElementHandler() {
+            @Override
+            public void element(String path, String text) throws IOException {
+                int separator = path.indexOf(BASIC_STATUS);
+                if (separator < 0) {
+                    return;
+                }
+                Zone zone;
+                try {
+                    zone = Zone.valueOf(path.substring(0, separator));
+                } catch (IllegalArgumentException e) {
+                    return;
+                }
+                ZoneStatus status = statuses.get(zone);
+                if (status == null) {
+                    status = new ZoneStatus(zone);
+                    statuses.put(zone, status);
+                }
+
+                try {
+                    switch (path.substring(separator + BASIC_STATUS.length())) {
+                        case "Power_Control/Power":
+                            status.power = "On".equalsIgnoreCase(text);
+                            break;
+                        case "Input/Input_Sel":
+                            status.input = text;
+                            break;
+                        case "Surround/Program_Sel/Current/Sound_Program":
+                            status.surroundProgram = text;
+                            break;
+                        case "Volume/Lvl/Val":
+                            status.volume = toVolumePercent(text);
+                            break;
+                        case "Volume/Mute":
+                            status.mute = "On".equalsIgnoreCase(text);
+                            break;
+                        case "Input/Input_Sel_Item_Info/Src_Number":
+                            status.netRadioChannel = Integer.parseInt(text);
+                            break;
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Could not handle response", e);
+                }
             }
-            return doc;
-        } catch (Exception e) {
-            throw new IOException("Could not handle response", e);
-        }
+        };
+    }
+
+    /**
+     * Convert a volume value of the protocol (in tenth of decibel) to percent.
+     */
+    static float toVolumePercent(String value) {
+        float volume = Float.parseFloat(value) * .1f; // in DB
+        return (volume + -VOLUME_MIN) * 100.0f / VOLUME_RANGE; // in percent
     }
 
-    private String postAndGetResponse(String message) throws IOException {
+    /**
+     * Post the message to the receiver and stream the response to the handler. The connection is not closed,
+     * so that it can be kept alive and reused for the next requests to the receiver.
+     *
+     * @param host The receiver address
+     * @param message The request
+     * @param handler The handler of the response elements, or null to ignore the response
+     */
+    static void post(String host, String message, XmlElementHandler handler) throws IOException {
         HttpURLConnection connection = null;
         try {
+            byte[] body = message.getBytes(StandardCharsets.UTF_8);
             URL url = new URL("http://" + host + "/YamahaRemoteControl/ctrl");
             connection = (HttpURLConnection) url.openConnection();
             connection.setRequestMethod("POST");
-            connection.setRequestProperty("Content-Length", "" + Integer.toString(message.length()));
+            connection.setFixedLengthStreamingMode(body.length);
 
             connection.setUseCaches(false);
             connection.setDoInput(true);
             connection.setDoOutput(true);
 
             // Send request
-            DataOutputStream wr = new DataOutputStream(connection.getOutputStream());
-            wr.writeBytes(message);
-            wr.flush();
-            wr.close();
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(body);
+            }
 
             // Read response
-            InputStream is = connection.getInputStream();
-            BufferedReader rd = new BufferedReader(new InputStreamReader(is));
-            String line;
-            StringBuilder response = new StringBuilder();
-            while ((line = rd.readLine()) != null) {
-                response.append(line);
-                response.append('\r');
+            try (InputStream is = connection.getInputStream()) {
+                if (handler != null) {
+                    parse(is, handler);
+                } else {
+                    // Consume the response, for the connection to be reusable.
+                    byte[] buffer = new byte[512];
+                    while (is.read(buffer) >= 0) {
+                        // skip
+                    }
+                }
             }
-            rd.close();
-            return response.toString();
+            connection = null;
         } catch (Exception e) {
             throw new IOException("Could not handle http post", e);
         } finally {
             if (connection != null) {
+                // Do not reuse a connection in an unknown state
                 connection.disconnect();
             }
         }
     }
+
+    private static void parse(InputStream is, XmlElementHandler handler) throws IOException {
+        XMLStreamReader reader = null;
+        try {
+            reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            StringBuilder path = new StringBuilder();
+            StringBuilder text = new StringBuilder();
+            int[] pathLength = new int[16];
+            int depth = 0;
+            int elements = 0;
+            boolean leaf = false;
+
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        // The root element (YAMAHA_AV) is not part of the path
+                        if (depth > 0) {
+                            if (depth == pathLength.length) {
+                                int[] grown = new int[depth * 2];
+                                System.arraycopy(pathLength, 0, grown, 0, depth);
+                                pathLength = grown;
+                            }
+                            pathLength[depth] = path.length();
+                            if (path.length() > 0) {
+                                path.append('/');
+                            }
+                            path.append(reader.getLocalName());
+                            elements++;
+                        }
+                        depth++;
+                        text.setLength(0);
+                        leaf = true;
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                        if (leaf) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        depth--;
+                        if (depth > 0) {
+                            if (leaf) {
+                                handler.element(path.toString(), text.toString());
+                            }
+                            path.setLength(pathLength[depth]);
+                        }
+                        leaf = false;
+                        break;
+                }
+            }
+
+            if (elements == 0) {
+                throw new IOException("Could not handle response");
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not handle response", e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,354 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.yamahareceiver.internal.protocol;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication.XmlElementHandler;
+import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication.Zone;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * There is one poller per receiver (host), shared by the things of all its zones. It polls the basic status
+ * of all the registered zones with a single request and passes the status of each zone to its listener, which
+ * compares it with its own state (that also reflects the commands sent in the meantime). All requests to the
+ * receiver are serialized by the poller, so that they can share one keep-alive HTTP connection.
+ *
+ * @author agent - Initial contribution
+ */
+public class YamahaReceiverPoller {
+
+    /**
+     * Listener of the status of a zone.
+     */
+    public interface ZoneStatusListener {
+        /**
+         * Called after each successful poll with the current status of the zone.
+         */
+        void zoneStatusChanged(ZoneStatus status);
+
+        /**
+         * Called if the receiver could not be polled.
+         */
+        void communicationError(IOException e);
+    }
+
+    // A refresh is a costly operation: do not refresh more than once every 3 seconds.
+    private static final long MIN_REFRESH_INTERVAL_MS = 3000;
+
+    // Number of polls done zone by zone after a failed combined status request, before it is tried again
+    private static final int COMBINED_REQUEST_RETRY_POLLS = 10;
+
+    // The pollers by host
+    private static final Map<String, YamahaReceiverPoller> POLLERS = new HashMap<>();
+
+    private final Logger logger = LoggerFactory.getLogger(YamahaReceiverPoller.class);
+
+    private final String host;
+    private final ScheduledExecutorService scheduler;
+
+    // Listeners and refresh intervals (in seconds) of the registered zones
+    private final Map<Zone, ZoneStatusListener> listeners = new EnumMap<>(Zone.class);
+    private final Map<Zone, Integer> refreshIntervals = new EnumMap<>(Zone.class);
+
+    // Coalesced commands waiting to be sent, by key
+    private final Map<String, String> pendingCommands = new LinkedHashMap<>();
+    private boolean sendingCommands;
+
+    // Serializes the requests to the receiver
+    private final Object requestLock = new Object();
+
+    private ScheduledFuture<?> refreshTimer;
+    private int refreshInterval;
+    private long lastRefreshInMS = 0;
+
+    // The status request of all registered zones, null if it has to be built again
+    private String statusRequest;
+
+    // Some receivers may not accept the status of several zones in one request
+    private boolean combinedRequestSupported = true;
+    private int combinedRequestSkippedPolls = 0;
+
+    private YamahaReceiverPoller(String host, ScheduledExecutorService scheduler) {
+        this.host = host;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Return the poller of the given receiver, creating it if needed.
+     *
+     * @param host The receiver address
+     * @param scheduler The scheduler used by a new poller
+     */
+    public static YamahaReceiverPoller getPoller(String host, ScheduledExecutorService scheduler) {
+        synchronized (POLLERS) {
+            YamahaReceiverPoller poller = POLLERS.get(host);
+            if (poller == null) {
+                poller = new YamahaReceiverPoller(host, scheduler);
+                POLLERS.put(host, poller);
+            }
+            return poller;
+        }
+    }
+
+    /**
+     * Return the host address
+     */
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Register the listener of a zone. The receiver is polled at the shortest refresh interval of all
+     * registered zones.
+     *
+     * @param zone The zone
+     * @param refreshInterval The refresh interval of the zone, in seconds
+     * @param listener The listener of the zone status
+     */
+    public void register(Zone zone, int refreshInterval, ZoneStatusListener listener) {
+        synchronized (POLLERS) {
+            synchronized (this) {
+                // This poller may have been released by the last zone in the meantime
+                if (!POLLERS.containsKey(host)) {
+                    POLLERS.put(host, this);
+                }
+                listeners.put(zone, listener);
+                refreshIntervals.put(zone, refreshInterval);
+                statusRequest = null;
+                if (!setupRefreshTimer()) {
+                    // Poll the new zone immediately
+                    scheduler.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            poll();
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Unregister the listener of a zone. The poller is stopped and released once no zone is registered anymore.
+     */
+    public void unregister(Zone zone, ZoneStatusListener listener) {
+        synchronized (POLLERS) {
+            synchronized (this) {
+                if (listeners.get(zone) != listener) {
+                    return;
+                }
+                listeners.remove(zone);
+                refreshIntervals.remove(zone);
+                statusRequest = null;
+
+                if (listeners.isEmpty()) {
+                    if (refreshTimer != null) {
+                        refreshTimer.cancel(false);
+                        refreshTimer = null;
+                    }
+                    refreshInterval = 0;
+                    POLLERS.remove(host);
+                } else {
+                    setupRefreshTimer();
+                }
+            }
+        }
+    }
+
+    /**
+     * (Re)schedule the polling if the shortest refresh interval has changed. The first poll is immediate.
+     *
+     * @return false if the polling did not need to be rescheduled
+     */
+    private boolean setupRefreshTimer() {
+        int interval = Collections.min(refreshIntervals.values());
+        if (refreshTimer != null && interval == refreshInterval) {
+            return false;
+        }
+
+        if (refreshTimer != null) {
+            refreshTimer.cancel(false);
+        }
+        refreshTimer = scheduler.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                poll();
+            }
+        }, 0, interval, TimeUnit.SECONDS);
+        refreshInterval = interval;
+        return true;
+    }
+
+    /**
+     * Poll the receiver now, unless it has been polled less than 3 seconds ago.
+     */
+    public void refresh() {
+        synchronized (this) {
+            if (lastRefreshInMS + MIN_REFRESH_INTERVAL_MS > System.currentTimeMillis()) {
+                return;
+            }
+        }
+        poll();
+    }
+
+    /**
+     * Poll the status of all the registered zones and pass it to the listeners of the zones.
+     */
+    private void poll() {
+        List<Zone> zones;
+        String request;
+        boolean combined;
+        synchronized (this) {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            lastRefreshInMS = System.currentTimeMillis();
+            zones = new ArrayList<>(listeners.keySet());
+            if (statusRequest == null) {
+                statusRequest = YamahaReceiverCommunication.createStatusRequest(zones);
+            }
+            request = statusRequest;
+            combined = combinedRequestSupported && zones.size() > 1;
+            if (combined && combinedRequestSkippedPolls > 0) {
+                combinedRequestSkippedPolls--;
+                combined = false;
+            }
+        }
+
+        Map<Zone, ZoneStatus> statuses = new EnumMap<>(Zone.class);
+        try {
+            boolean combinedAnswered = false;
+            if (combined) {
+                try {
+                    post(request, YamahaReceiverCommunication.createStatusParser(statuses));
+                    combinedAnswered = true;
+                } catch (IOException e) {
+                    logger.debug("Combined status request to {} failed: {}", host, e.getMessage());
+                    statuses.clear();
+                }
+            }
+            if (!statuses.keySet().containsAll(zones)) {
+                for (Zone zone : zones) {
+                    if (!statuses.containsKey(zone)) {
+                        post(YamahaReceiverCommunication.createStatusRequest(Collections.singleton(zone)),
+                                YamahaReceiverCommunication.createStatusParser(statuses));
+                    }
+                }
+                if (combinedAnswered) {
+                    // The receiver answered the combined request without the status of all zones, but it answers
+                    // the zones one by one
+                    logger.debug("Receiver {} does not support combined status requests", host);
+                    synchronized (this) {
+                        combinedRequestSupported = false;
+                    }
+                } else if (combined) {
+                    // The combined request may have failed for another reason, try it again later
+                    synchronized (this) {
+                        combinedRequestSkippedPolls = COMBINED_REQUEST_RETRY_POLLS;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            notifyError(e);
+            return;
+        }
+
+        for (ZoneStatus status : statuses.values()) {
+            ZoneStatusListener listener;
+            synchronized (this) {
+                listener = listeners.get(status.zone);
+            }
+            if (listener != null) {
+                logger.trace("Status of {} @{}: {}", status.zone, host, status);
+                listener.zoneStatusChanged(status);
+            }
+        }
+    }
+
+    private void notifyError(IOException e) {
+        List<ZoneStatusListener> zoneListeners;
+        synchronized (this) {
+            zoneListeners = new ArrayList<>(listeners.values());
+        }
+        for (ZoneStatusListener listener : zoneListeners) {
+            listener.communicationError(e);
+        }
+    }
+
+    /**
+     * Send the message to the receiver and stream the response to the handler. Requests are serialized.
+     *
+     * @param message The request
+     * @param handler The handler of the response elements, or null to ignore the response
+     */
+    void post(String message, XmlElementHandler handler) throws IOException {
+        synchronized (requestLock) {
+            YamahaReceiverCommunication.post(host, message, handler);
+        }
+    }
+
+    /**
+     * Send the message asynchronously. If a message with the same key is still waiting to be sent,
+     * it is replaced by this one: only the latest message of a key is sent.
+     *
+     * @param key The key of the message, like the zone and the setting it changes
+     * @param message The request
+     */
+    void sendCoalesced(String key, String message) {
+        synchronized (pendingCommands) {
+            if (pendingCommands.put(key, message) != null) {
+                logger.trace("Coalesced command {} to {}", key, host);
+            }
+            if (sendingCommands) {
+                return;
+            }
+            sendingCommands = true;
+        }
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                sendPendingCommands();
+            }
+        });
+    }
+
+    private void sendPendingCommands() {
+        while (true) {
+            String message;
+            synchronized (pendingCommands) {
+                Iterator<String> iterator = pendingCommands.values().iterator();
+                if (!iterator.hasNext()) {
+                    sendingCommands = false;
+                    return;
+                }
+                message = iterator.next();
+                iterator.remove();
+            }
+            try {
+                post(message, null);
+            } catch (IOException e) {
+                logger.debug("Could not send command to {}: {}", host, e.getMessage());
+                notifyError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.yamahareceiver.internal.protocol;
+
+import org.openhab.binding.yamahareceiver.internal.protocol.YamahaReceiverCommunication.Zone;
+
+/**
+ * The basic status (power, input, surround, volume and mute) of one zone, as polled
+ * by the {@link YamahaReceiverPoller}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ZoneStatus {
+
+    public final Zone zone;
+    public boolean power = false;
+    public String input = "";
+    public String surroundProgram = "";
+    // volume in percent
+    public float volume = YamahaReceiverCommunication
+            .toVolumePercent(String.valueOf(YamahaReceiverCommunication.VOLUME_MIN));
+    public boolean mute = false;
+    public int netRadioChannel = 0;
+
+    public ZoneStatus(Zone zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ZoneStatus)) {
+            return false;
+        }
+        ZoneStatus other = (ZoneStatus) obj;
+        return zone == other.zone && power == other.power && input.equals(other.input)
+                && surroundProgram.equals(other.surroundProgram) && Float.compare(volume, other.volume) == 0
+                && mute == other.mute && netRadioChannel == other.netRadioChannel;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = zone.hashCode();
+        result = 31 * result + input.hashCode();
+        result = 31 * result + Float.floatToIntBits(volume);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return zone + " [power=" + power + ", input=" + input + ", surroundProgram=" + surroundProgram + ", volume="
+                + volume + ", mute=" + mute + ", netRadioChannel=" + netRadioChannel + "]";
+    }
+}
@@ -12,6 +12,9 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -71,6 +74,12 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
     private DataRefreshPriorityEnum _refreshPriority = DataRefreshPriorityEnum.SCHEDULED;
 
+    /** Last state sent for each channel, only changed states are sent again. */
+    private final Map<String, State> channelStates = new ConcurrentHashMap<>();
+
+    /** Whether a priority refresh is queued on the scheduler and has not started yet. */
+    private final AtomicBoolean priorityRefreshPending = new AtomicBoolean(false);
+
     protected boolean isOnline() {
 
         if (zoneMinderSession == null) {
@@ -160,7 +169,46 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
         return ch.getUID();
     }
 
-    protected abstract void onFetchData();
+    /**
+     * Fetch the data from ZoneMinder needed by the channels refreshed in the refresh cycle.
+     *
+     * @param refreshPriority priority of the refresh cycle
+     */
+    protected abstract void onFetchData(DataRefreshPriorityEnum refreshPriority);
+
+    /**
+     * Get the refresh policy of a channel. The channel is refreshed by the refresh cycles with the same or a lower
+     * priority.
+     *
+     * @param channelId Id of the channel
+     * @return the refresh priority of the channel
+     */
+    protected DataRefreshPriorityEnum getChannelRefreshPriority(String channelId) {
+        return DataRefreshPriorityEnum.SCHEDULED;
+    }
+
+    /**
+     * Method to request an immediate high priority refresh, for instance when an event is received. The refresh runs
+     * on the scheduler, serialized with the scheduled refreshes of the bridge by {@link #refreshThing}. Requests
+     * received while a priority refresh is still queued are served by that refresh.
+     */
+    protected void requestPriorityRefresh() {
+        startPriorityRefresh();
+        if (!priorityRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.execute(new Runnable() {
+            @Override
+            public void run() {
+                priorityRefreshPending.set(false);
+                try {
+                    refreshThing(zoneMinderSession, DataRefreshPriorityEnum.HIGH_PRIORITY);
+                } catch (Exception ex) {
+                    logger.error("{}: Priority refresh failed. Exception='{}'", getLogIdentifier(), ex.getMessage());
+                }
+            }
+        });
+    }
 
     /**
      * Method to Refresh Thing Handler.
@@ -171,10 +219,15 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
             return;
         }
 
+        // Make sure all channels get a value on the first refresh
+        if (!isThingRefreshed()) {
+            refreshPriority = DataRefreshPriorityEnum.LOW_PRIORITY;
+        }
+
         if (refreshPriority == DataRefreshPriorityEnum.HIGH_PRIORITY) {
             logger.debug("{}: Performing HIGH PRIORITY refresh", getLogIdentifier());
         } else {
-            logger.debug("{}: Performing refresh", getLogIdentifier());
+            logger.debug("{}: Performing {} refresh", getLogIdentifier(), refreshPriority);
         }
 
         if (getZoneMinderBridgeHandler() != null) {
@@ -183,7 +236,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
                 logger.debug("{}: refreshThing(): Bridge '{}' Found for Thing '{}'!", getLogIdentifier(),
                         getThing().getUID(), this.getThing().getUID());
 
-                onFetchData();
+                onFetchData(refreshPriority);
             }
         }
 
@@ -192,7 +245,9 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
         logger.debug("{}: refreshThing(): Refreshing Thing - {}", getLogIdentifier(), thing.getUID());
 
         for (Channel channel : channels) {
-            updateChannel(channel.getUID());
+            if (getChannelRefreshPriority(channel.getUID().getId()).isRefreshedBy(refreshPriority)) {
+                updateChannel(channel.getUID());
+            }
         }
 
         this.setThingRefreshed(true);
@@ -260,6 +315,33 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    @Override
+    public void channelLinked(ChannelUID channelUID) {
+        // Make sure the newly linked item gets the state
+        channelStates.remove(channelUID.getId());
+        super.channelLinked(channelUID);
+    }
+
+    /**
+     * Updates the state of a channel, if it differs from the last state sent.
+     */
+    @Override
+    protected void updateState(String channelID, State state) {
+        State previousState = channelStates.put(channelID, state);
+        if (!state.equals(previousState)) {
+            super.updateState(channelID, state);
+        }
+    }
+
+    /**
+     * Forget the last channel state, so it is sent on the next update.
+     *
+     * @param channelUID
+     */
+    protected void invalidateChannelState(ChannelUID channelUID) {
+        channelStates.remove(channelUID.getId());
+    }
+
     @Override
     public void onBridgeConnected(ZoneMinderServerBridgeHandler bridge, IZoneMinderConnectionInfo connection)
             throws IllegalArgumentException, GeneralSecurityException, IOException, ZoneMinderUrlNotFoundException {
@@ -279,6 +361,7 @@ public abstract class ZoneMinderBaseThingHandler extends BaseThingHandler implem
 
             this.setThingRefreshed(false);
         }
+        channelStates.clear();
 
         lockSession.lock();
         try {
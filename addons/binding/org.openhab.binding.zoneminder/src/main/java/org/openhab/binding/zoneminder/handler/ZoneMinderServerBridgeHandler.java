@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.security.GeneralSecurityException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
@@ -493,6 +494,33 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
             updateChannel(channel.getUID());
         }
 
+        /*
+         * Fetch the data of all monitors in one request, instead of one request per monitor
+         */
+        Map<String, IZoneMinderMonitorData> monitorData = new HashMap<String, IZoneMinderMonitorData>();
+        if ((zoneMinderServerProxy != null) && isConnected()) {
+            try {
+                ArrayList<IZoneMinderMonitorData> monitors = zoneMinderServerProxy.getMonitors();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        zoneMinderServerProxy.getHttpUrl(), zoneMinderServerProxy.getHttpResponseCode(),
+                        zoneMinderServerProxy.getHttpResponseMessage());
+                if (monitors != null) {
+                    for (IZoneMinderMonitorData monitor : monitors) {
+                        monitorData.put(monitor.getId(), monitor);
+                    }
+                }
+            } catch (Exception ex) {
+                logger.error("{}: Exception thrown in call to getMonitors ('{}')", getLogIdentifier(), ex.getMessage());
+            }
+        }
+
+        // Daemon states are refreshed together with the disk usage, or on every refresh if that task is disabled
+        Integer lowPriorityInterval = getBridgeConfig().getRefreshIntervalLowPriorityTask();
+        DataRefreshPriorityEnum refreshCycle = DataRefreshPriorityEnum.SCHEDULED;
+        if (fetchDiskUsage || (lowPriorityInterval == null) || (lowPriorityInterval == 0)) {
+            refreshCycle = DataRefreshPriorityEnum.LOW_PRIORITY;
+        }
+
         /*
          * Request Things attached to Bridge to refresh
          */
@@ -500,10 +528,13 @@ public class ZoneMinderServerBridgeHandler extends BaseBridgeHandler implements
             try {
 
                 if (thing.getThingTypeUID().equals(ZoneMinderConstants.THING_TYPE_THING_ZONEMINDER_MONITOR)) {
-                    Thing thingMonitor = thing;
                     ZoneMinderBaseThingHandler thingHandler = (ZoneMinderBaseThingHandler) thing.getHandler();
 
-                    thingHandler.refreshThing(session, DataRefreshPriorityEnum.SCHEDULED);
+                    if (thingHandler instanceof ZoneMinderThingMonitorHandler) {
+                        ((ZoneMinderThingMonitorHandler) thingHandler)
+                                .setMonitorSnapshot(monitorData.get(thingHandler.getZoneMinderId()));
+                    }
+                    thingHandler.refreshThing(session, refreshCycle);
                 }
 
             } catch (NullPointerException ex) {
@@ -95,6 +95,9 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     private int forceAlarmManualState = -1;
 
+    /** Monitor data fetched by the bridge in its bulk request, used on the next scheduled refresh, guarded by this */
+    private IZoneMinderMonitorData monitorSnapshot = null;
+
     public ZoneMinderThingMonitorHandler(Thing thing) {
         super(thing);
 
@@ -179,6 +182,7 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
             // Allow refresh of channels
             if (command == RefreshType.REFRESH) {
+                invalidateChannelState(channelUID);
                 updateChannel(channelUID);
                 return;
             }
@@ -337,12 +341,12 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
             Channel chEventCause = this.getThing().getChannel(ZoneMinderConstants.CHANNEL_MONITOR_EVENT_CAUSE);
 
             // Set Current Event to actual event
-            if (event.getState()) {
-                startPriorityRefresh();
-
-            } else {
+            if (!event.getState()) {
                 curEvent = null;
             }
+
+            // The alarm state is driven by the trigger events, refresh the alarm channels right away
+            requestPriorityRefresh();
         } catch (Exception ex) {
             logger.error("{}: Exception occurred inTrippedForceAlarm() Exception='{}'", getLogIdentifier(),
                     ex.getMessage());
@@ -721,105 +725,119 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     }
 
-    @Override
-    protected void onFetchData() {
+    /**
+     * Set the monitor data fetched by the bridge for all monitors at once. It will be used on the next scheduled
+     * refresh instead of requesting the data of this monitor. Synchronized with {@link #refreshThing}, so it is not
+     * replaced while a refresh is running.
+     *
+     * @param monitorData the monitor data, or null if it is not available
+     */
+    public synchronized void setMonitorSnapshot(IZoneMinderMonitorData monitorData) {
+        monitorSnapshot = monitorData;
+    }
 
-        IZoneMinderSession session = null;
+    @Override
+    protected DataRefreshPriorityEnum getChannelRefreshPriority(String channelId) {
+        switch (channelId) {
+            case ZoneMinderConstants.CHANNEL_MONITOR_FORCE_ALARM:
+            case ZoneMinderConstants.CHANNEL_MONITOR_EVENT_STATE:
+            case ZoneMinderConstants.CHANNEL_MONITOR_RECORD_STATE:
+            case ZoneMinderConstants.CHANNEL_MONITOR_DETAILED_STATUS:
+            case ZoneMinderConstants.CHANNEL_MONITOR_EVENT_CAUSE:
+                return DataRefreshPriorityEnum.HIGH_PRIORITY;
+
+            case ZoneMinderConstants.CHANNEL_MONITOR_CAPTURE_DAEMON_STATE:
+            case ZoneMinderConstants.CHANNEL_MONITOR_ANALYSIS_DAEMON_STATE:
+            case ZoneMinderConstants.CHANNEL_MONITOR_FRAME_DAEMON_STATE:
+                return DataRefreshPriorityEnum.LOW_PRIORITY;
 
-        session = aquireSession();
-        try {
-            IZoneMinderMonitor monitorProxy = ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
+            default:
+                return DataRefreshPriorityEnum.SCHEDULED;
+        }
+    }
 
-            IZoneMinderMonitorData data = null;
-            IZoneMinderDaemonStatus captureDaemon = null;
-            IZoneMinderDaemonStatus analysisDaemon = null;
-            IZoneMinderDaemonStatus frameDaemon = null;
+    @Override
+    protected void onFetchData(DataRefreshPriorityEnum refreshPriority) {
 
-            data = monitorProxy.getMonitorData();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+        IZoneMinderSession session = null;
 
-            captureDaemon = monitorProxy.getCaptureDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+        // Use the data from the bulk request of the bridge if available. A priority refresh does not need it, so it
+        // is left for the scheduled refresh it was fetched for.
+        IZoneMinderMonitorData data = null;
+        if (refreshPriority != DataRefreshPriorityEnum.HIGH_PRIORITY) {
+            data = monitorSnapshot;
+            monitorSnapshot = null;
+        }
 
-            analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+        session = aquireSession();
+        try {
+            if (!isConnected()) {
+                channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
+                channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
+                channelEnabled = false;
+                channelEventCause = "";
+                channelDaemonCapture = false;
+                channelDaemonAnalysis = false;
+                channelDaemonFrame = false;
+                return;
+            }
 
-            frameDaemon = monitorProxy.getFrameDaemonStatus();
-            logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                    monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                    monitorProxy.getHttpResponseMessage());
+            IZoneMinderMonitor monitorProxy = ZoneMinderFactory.getMonitorProxy(session, getZoneMinderId());
 
-            if ((data.getHttpResponseCode() != 200) || (captureDaemon.getHttpResponseCode() != 200)
-                    || (analysisDaemon.getHttpResponseCode() != 200) || (frameDaemon.getHttpResponseCode() != 200)) {
+            // Function and enabled state are not alarm related, no need to fetch them on a priority refresh
+            if ((data == null) && (refreshPriority != DataRefreshPriorityEnum.HIGH_PRIORITY)) {
+                data = monitorProxy.getMonitorData();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
+            }
 
+            boolean monitorDataValid = true;
+            if (data != null) {
                 if (data.getHttpResponseCode() != 200) {
                     logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
                             data.getHttpResponseCode(), data.getHttpResponseMessage());
 
+                    monitorDataValid = false;
                     channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
                     channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
                     channelEnabled = false;
                     channelEventCause = "";
+                } else {
+                    channelFunction = data.getFunction();
+                    channelEnabled = data.getEnabled();
                 }
-                if (captureDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonCapture = false;
-                    logger.warn("{}: HTTP Response CaptureDaemon: Code='{}', Message'{}'", getLogIdentifier(),
-                            captureDaemon.getHttpResponseCode(), captureDaemon.getHttpResponseMessage());
-
-                }
-                if (analysisDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonAnalysis = false;
+            }
 
-                    logger.warn("{}: HTTP Response AnalysisDaemon: Code='{}', Message='{}'", getLogIdentifier(),
-                            analysisDaemon.getHttpResponseCode(), analysisDaemon.getHttpResponseMessage());
-                }
-                if (frameDaemon.getHttpResponseCode() != 200) {
-                    channelDaemonFrame = false;
-                    logger.warn("{}: HTTP Response MonitorData: Code='{}', Message'{}'", getLogIdentifier(),
-                            frameDaemon.getHttpResponseCode(), frameDaemon.getHttpResponseMessage());
-                }
+            // The daemon states are only fetched on the low priority refresh
+            if (DataRefreshPriorityEnum.LOW_PRIORITY.isRefreshedBy(refreshPriority)) {
+                fetchDaemonStatus(monitorProxy);
+            }
 
-            } else {
-                if (isConnected()) {
-                    channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
-                    logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
-                            monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
-                            monitorProxy.getHttpResponseMessage());
+            if (monitorDataValid) {
+                channelMonitorStatus = monitorProxy.getMonitorDetailedStatus();
+                logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                        monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(),
+                        monitorProxy.getHttpResponseMessage());
 
-                    channelFunction = data.getFunction();
-                    channelEnabled = data.getEnabled();
+                // There is no event cause to show while the monitor is idle
+                if ((channelMonitorStatus == ZoneMinderMonitorStatusEnum.IDLE)
+                        || (channelMonitorStatus == ZoneMinderMonitorStatusEnum.UNKNOWN)) {
+                    channelEventCause = "";
+                } else {
                     IZoneMinderEventData event = monitorProxy.getLastEvent();
                     if (event != null) {
                         channelEventCause = event.getCause();
                     } else {
                         channelEventCause = "";
                     }
-
-                    channelDaemonCapture = captureDaemon.getStatus();
-                    channelDaemonAnalysis = analysisDaemon.getStatus();
-                    channelDaemonFrame = frameDaemon.getStatus();
-                } else {
-                    channelMonitorStatus = ZoneMinderMonitorStatusEnum.UNKNOWN;
-                    channelFunction = ZoneMinderMonitorFunctionEnum.NONE;
-                    channelEnabled = false;
-                    channelEventCause = "";
-                    channelDaemonCapture = false;
-                    channelDaemonAnalysis = false;
-                    channelDaemonFrame = false;
                 }
             }
         } finally {
             releaseSession();
+            RecalculateChannelStates();
         }
 
-        RecalculateChannelStates();
-
         if ((channelForceAlarm == false) && (channelAlarmedState == false)
                 && (DataRefreshPriorityEnum.HIGH_PRIORITY == getRefreshPriority())) {
             stopPriorityRefresh();
@@ -827,6 +845,41 @@ public class ZoneMinderThingMonitorHandler extends ZoneMinderBaseThingHandler im
 
     }
 
+    private void fetchDaemonStatus(IZoneMinderMonitor monitorProxy) {
+        IZoneMinderDaemonStatus captureDaemon = monitorProxy.getCaptureDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
+        if (captureDaemon.getHttpResponseCode() != 200) {
+            channelDaemonCapture = false;
+            logger.warn("{}: HTTP Response CaptureDaemon: Code='{}', Message'{}'", getLogIdentifier(),
+                    captureDaemon.getHttpResponseCode(), captureDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonCapture = captureDaemon.getStatus();
+        }
+
+        IZoneMinderDaemonStatus analysisDaemon = monitorProxy.getAnalysisDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
+        if (analysisDaemon.getHttpResponseCode() != 200) {
+            channelDaemonAnalysis = false;
+            logger.warn("{}: HTTP Response AnalysisDaemon: Code='{}', Message='{}'", getLogIdentifier(),
+                    analysisDaemon.getHttpResponseCode(), analysisDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonAnalysis = analysisDaemon.getStatus();
+        }
+
+        IZoneMinderDaemonStatus frameDaemon = monitorProxy.getFrameDaemonStatus();
+        logger.debug("{}: URL='{}' ResponseCode='{}' ResponseMessage='{}'", getLogIdentifier(),
+                monitorProxy.getHttpUrl(), monitorProxy.getHttpResponseCode(), monitorProxy.getHttpResponseMessage());
+        if (frameDaemon.getHttpResponseCode() != 200) {
+            channelDaemonFrame = false;
+            logger.warn("{}: HTTP Response FrameDaemon: Code='{}', Message'{}'", getLogIdentifier(),
+                    frameDaemon.getHttpResponseCode(), frameDaemon.getHttpResponseMessage());
+        } else {
+            channelDaemonFrame = frameDaemon.getStatus();
+        }
+    }
+
     protected State getDetailedStatus() {
         State state = UnDefType.UNDEF;
 
@@ -8,7 +8,39 @@
  */
 package org.openhab.binding.zoneminder.internal;
 
+/**
+ * Refresh policy of the data (and channels) fetched from ZoneMinder. It is used both for the priority
+ * of a refresh cycle and for the priority of a channel: a refresh cycle refreshes the channels with the
+ * same or a higher priority.
+ *
+ * <ul>
+ * <li>{@link #LOW_PRIORITY}: slow changing data (disk usage, daemon states), refreshed on the low priority
+ * cycle</li>
+ * <li>{@link #SCHEDULED}: refreshed on every refresh interval</li>
+ * <li>{@link #HIGH_PRIORITY}: alarm related data, also refreshed every second while an alarm is ongoing</li>
+ * </ul>
+ *
+ * @author Martin S. Eskildsen
+ *
+ */
 public enum DataRefreshPriorityEnum {
-    SCHEDULED,
-    HIGH_PRIORITY;
+    LOW_PRIORITY(0),
+    SCHEDULED(1),
+    HIGH_PRIORITY(2);
+
+    private final int level;
+
+    private DataRefreshPriorityEnum(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Checks if data with this priority is refreshed by a refresh cycle.
+     *
+     * @param refreshCycle priority of the refresh cycle
+     * @return true if data with this priority has to be refreshed in the cycle
+     */
+    public boolean isRefreshedBy(DataRefreshPriorityEnum refreshCycle) {
+        return level >= refreshCycle.level;
+    }
 }
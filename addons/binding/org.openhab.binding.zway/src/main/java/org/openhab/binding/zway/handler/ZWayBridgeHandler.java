@@ -10,7 +10,12 @@ package org.openhab.binding.zway.handler;
 
 import static org.openhab.binding.zway.ZWayBindingConstants.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -64,6 +69,9 @@ import de.fh_zwickau.informatik.sensor.model.zwaveapi.devices.ZWaveDevice;
  * - after update, perform refresh listener command to openHAB Connector
  * - initialize all containing device things
  *
+ * The bridge polls the Z-Way server for all devices at once: the devices updated since the last poll
+ * are dispatched to the handlers of their things.
+ *
  * During the removal process the following tasks are performed:
  * - clean up openHAB Connector configuration
  * - important: the configured devices not changed in openHAB Connector!
@@ -79,6 +87,13 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
     private BridgePolling bridgePolling;
     private ScheduledFuture<?> pollingJob;
 
+    private ScheduledFuture<?> deviceSyncJob;
+
+    // Device handlers by the ids of the ZAutomation devices of their channels
+    private final Map<String, ZWayDeviceHandler> deviceHandlers = new ConcurrentHashMap<String, ZWayDeviceHandler>();
+    // Update times of the devices at the last sync
+    private final Map<String, Integer> deviceUpdateTimes = new HashMap<String, Integer>();
+
     private ResetInclusionExclusion resetInclusionExclusion;
     private ScheduledFuture<?> resetInclusionExclusionJob;
 
@@ -304,6 +319,14 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
             resetInclusionExclusionJob = null;
         }
 
+        synchronized (this) {
+            if (deviceSyncJob != null) {
+                deviceSyncJob.cancel(true);
+                deviceSyncJob = null;
+            }
+            deviceUpdateTimes.clear();
+        }
+
         super.dispose();
     }
 
@@ -340,12 +363,98 @@ public class ZWayBridgeHandler extends BaseBridgeHandler implements IZWayApiCall
             logger.debug("Starting polling for bridge: {}", getThing().getLabel());
             if (getThing().getStatus().equals(ThingStatus.ONLINE)) {
                 updateControllerData();
+                syncDevices();
             } else {
                 logger.debug("Polling not possible, bridge isn't ONLINE");
             }
         }
     };
 
+    /**
+     * Register the handler of a thing for the given ZAutomation devices. The handler is updated with the current
+     * state of these devices on the next sync, which is scheduled within 10 seconds.
+     *
+     * @param deviceIds ids of the ZAutomation devices of the thing channels
+     * @param handler device handler
+     */
+    protected void registerDeviceHandler(List<String> deviceIds, ZWayDeviceHandler handler) {
+        unregisterDeviceHandler(handler);
+        synchronized (this) {
+            for (String deviceId : deviceIds) {
+                deviceHandlers.put(deviceId, handler);
+                deviceUpdateTimes.remove(deviceId);
+            }
+
+            if (deviceSyncJob == null || deviceSyncJob.isDone()) {
+                deviceSyncJob = scheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (getThing().getStatus().equals(ThingStatus.ONLINE)) {
+                            syncDevices();
+                        }
+                    }
+                }, 10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    protected void unregisterDeviceHandler(ZWayDeviceHandler handler) {
+        Iterator<ZWayDeviceHandler> iterator = deviceHandlers.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() == handler) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Load all devices with one request and dispatch the devices which have been updated since the last sync
+     * to the handlers registered for them.
+     */
+    private void syncDevices() {
+        if (deviceHandlers.isEmpty()) {
+            return;
+        }
+
+        DeviceList deviceList = mZWayApi.getDevices();
+        if (deviceList == null) {
+            logger.warn("Devices not loaded");
+            return;
+        }
+
+        Map<ZWayDeviceHandler, List<Device>> updatedDevices = new HashMap<ZWayDeviceHandler, List<Device>>();
+        synchronized (this) {
+            for (Device device : deviceList.getDevices()) {
+                ZWayDeviceHandler handler = deviceHandlers.get(device.getDeviceId());
+                if (handler == null) {
+                    continue;
+                }
+
+                Integer updateTime = device.getUpdateTime();
+                if (updateTime != null && updateTime.equals(deviceUpdateTimes.get(device.getDeviceId()))) {
+                    continue;
+                }
+                deviceUpdateTimes.put(device.getDeviceId(), updateTime);
+
+                List<Device> devices = updatedDevices.get(handler);
+                if (devices == null) {
+                    devices = new ArrayList<Device>();
+                    updatedDevices.put(handler, devices);
+                }
+                devices.add(device);
+            }
+        }
+
+        logger.debug("Devices of {} things updated since the last sync", updatedDevices.size());
+        for (Map.Entry<ZWayDeviceHandler, List<Device>> entry : updatedDevices.entrySet()) {
+            try {
+                entry.getKey().updateDevices(entry.getValue());
+            } catch (Exception e) {
+                logger.error("Error occurred when updating devices: {}", e.getMessage());
+            }
+        }
+    }
+
     private void updateControllerData() {
         // Add additional information as properties or update channels
 
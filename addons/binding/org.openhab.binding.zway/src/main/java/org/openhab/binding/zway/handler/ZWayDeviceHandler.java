@@ -11,13 +11,12 @@ package org.openhab.binding.zway.handler;
 import static de.fh_zwickau.informatik.sensor.ZWayConstants.*;
 import static org.openhab.binding.zway.ZWayBindingConstants.*;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -71,14 +70,13 @@ import de.fh_zwickau.informatik.sensor.model.zwaveapi.devices.ZWaveDevice;
 public abstract class ZWayDeviceHandler extends BaseThingHandler {
     private Logger logger = LoggerFactory.getLogger(getClass());
 
-    private DevicePolling devicePolling;
-    private ScheduledFuture<?> pollingJob;
     protected Calendar lastUpdate;
 
     protected abstract void refreshLastUpdate();
 
     /**
-     * Initialize polling job and register all linked item in openHAB connector as observer
+     * Register the device handler for the devices of its channels in the bridge (which polls the devices) and
+     * register all linked item in openHAB connector as observer
      */
     private class Initializer implements Runnable {
 
@@ -96,16 +94,16 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
                     return;
                 }
 
-                // Initialize device polling
-                if (pollingJob == null || pollingJob.isCancelled()) {
-                    logger.debug("Starting polling job at intervall {}",
-                            zwayBridgeHandler.getZWayBridgeConfiguration().getPollingInterval());
-                    pollingJob = scheduler.scheduleAtFixedRate(devicePolling, 10,
-                            zwayBridgeHandler.getZWayBridgeConfiguration().getPollingInterval(), TimeUnit.SECONDS);
-                } else {
-                    // Called when thing or bridge updated ...
-                    logger.debug("Polling is allready active");
+                // Register device handler, the devices are polled by the bridge
+                List<String> deviceIds = new ArrayList<String>();
+                for (Channel channel : getThing().getChannels()) {
+                    String deviceId = channel.getProperties().get("deviceId");
+                    if (deviceId != null) {
+                        deviceIds.add(deviceId);
+                    }
                 }
+                logger.debug("Registering device handler for devices: {}", deviceIds);
+                zwayBridgeHandler.registerDeviceHandler(deviceIds, ZWayDeviceHandler.this);
 
                 // Register all linked items on server start
                 if (zwayBridgeHandler.getZWayBridgeConfiguration().getObserverMechanismEnabled()) {
@@ -134,7 +132,7 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
                 }
                 if (getThing().getStatus() == ThingStatus.ONLINE) {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.HANDLER_INITIALIZING_ERROR,
-                            "Error occurred when starting polling and registering item as observer.");
+                            "Error occurred when registering device and item as observer.");
                 }
             }
         }
@@ -178,8 +176,6 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
 
     public ZWayDeviceHandler(Thing thing) {
         super(thing);
-
-        devicePolling = new DevicePolling();
     }
 
     protected synchronized ZWayBridgeHandler getZWayBridgeHandler() {
@@ -206,9 +202,9 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        if (pollingJob != null && !pollingJob.isCancelled()) {
-            pollingJob.cancel(true);
-            pollingJob = null;
+        ZWayBridgeHandler zwayBridgeHandler = getZWayBridgeHandler();
+        if (zwayBridgeHandler != null) {
+            zwayBridgeHandler.unregisterDeviceHandler(this);
         }
 
         super.dispose();
@@ -285,6 +281,48 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
         }
     };
 
+    /**
+     * Update the channels of the given devices, which have been updated since the last poll of the bridge. The
+     * channels for command classes are loaded from the physical device.
+     *
+     * @param devices updated devices of this thing
+     */
+    protected void updateDevices(List<Device> devices) {
+        logger.debug("Updating devices of: {}", getThing().getLabel());
+        if (!getThing().getStatus().equals(ThingStatus.ONLINE)) {
+            logger.debug("Update not possible, Z-Way device isn't ONLINE");
+            return;
+        }
+
+        Map<String, Device> devicesById = new HashMap<String, Device>();
+        for (Device device : devices) {
+            devicesById.put(device.getDeviceId(), device);
+        }
+
+        for (Channel channel : getThing().getChannels()) {
+            if (isLinked(channel.getUID().getId())) {
+                String deviceId = channel.getProperties().get("deviceId");
+                if (deviceId == null) {
+                    refreshChannel(channel);
+                } else if (devicesById.containsKey(deviceId)) {
+                    updateChannelState(channel, devicesById.get(deviceId));
+                }
+            }
+        }
+
+        // Refresh last update
+        refreshLastUpdate(devices);
+    }
+
+    /**
+     * Refresh last update after the given devices of the thing have been updated.
+     *
+     * @param devices updated devices of this thing
+     */
+    protected void refreshLastUpdate(List<Device> devices) {
+        refreshLastUpdate();
+    }
+
     private synchronized void setLocation() {
         Map<String, String> properties = getThing().getProperties();
         // Load location from properties
@@ -323,19 +361,7 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
                     return;
                 }
 
-                try {
-                    updateState(channel.getUID(), ZWayDeviceStateConverter.toState(device, channel));
-                } catch (IllegalArgumentException iae) {
-                    logger.debug(
-                            "IllegalArgumentException ({}) during refresh channel for device: {} (level: {}) with channel: {}",
-                            iae.getMessage(), device.getMetrics().getTitle(), device.getMetrics().getLevel(),
-                            channel.getChannelTypeUID());
-
-                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
-                            "Channel refresh for device: " + device.getMetrics().getTitle() + " (level: "
-                                    + device.getMetrics().getLevel() + ") with channel: " + channel.getChannelTypeUID()
-                                    + " failed!");
-                }
+                updateChannelState(channel, device);
                 // 2.) Trigger update function, soon as the value has been updated, openHAB will be notified
                 try {
                     device.update();
@@ -362,6 +388,22 @@ public abstract class ZWayDeviceHandler extends BaseThingHandler {
         }
     }
 
+    private void updateChannelState(Channel channel, Device device) {
+        try {
+            updateState(channel.getUID(), ZWayDeviceStateConverter.toState(device, channel));
+        } catch (IllegalArgumentException iae) {
+            logger.debug(
+                    "IllegalArgumentException ({}) during refresh channel for device: {} (level: {}) with channel: {}",
+                    iae.getMessage(), device.getMetrics().getTitle(), device.getMetrics().getLevel(),
+                    channel.getChannelTypeUID());
+
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE,
+                    "Channel refresh for device: " + device.getMetrics().getTitle() + " (level: "
+                            + device.getMetrics().getLevel() + ") with channel: " + channel.getChannelTypeUID()
+                            + " failed!");
+        }
+    }
+
     @Override
     public void channelLinked(ChannelUID channelUID) {
         logger.debug("Z-Way device channel linked: {}", channelUID);
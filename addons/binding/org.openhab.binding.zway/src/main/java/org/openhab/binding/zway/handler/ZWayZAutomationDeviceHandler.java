@@ -13,6 +13,7 @@ import static org.openhab.binding.zway.ZWayBindingConstants.*;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
@@ -71,7 +72,7 @@ public class ZWayZAutomationDeviceHandler extends ZWayDeviceHandler {
 
                             addDeviceAsChannel(device);
 
-                            // Starts polling job and register all linked items
+                            // Registers with the bridge (which polls the devices) and registers all linked items
                             completeInitialization();
                         } else {
                             logger.warn("Initializing Z-Way device handler failed (virtual device not found): {}",
@@ -131,7 +132,7 @@ public class ZWayZAutomationDeviceHandler extends ZWayDeviceHandler {
     }
 
     private void completeInitialization() {
-        super.initialize(); // starts polling job and register all linked items
+        super.initialize(); // registers with the bridge (which polls the devices) and registers all linked items
     }
 
     private ZWayZAutomationDeviceConfiguration loadAndCheckConfiguration() {
@@ -177,15 +178,29 @@ public class ZWayZAutomationDeviceHandler extends ZWayDeviceHandler {
                 return;
             }
 
-            Calendar lastUpdateOfDevice = Calendar.getInstance();
-            lastUpdateOfDevice.setTimeInMillis(new Long(device.getUpdateTime()) * 1000);
+            refreshLastUpdate(device);
+        }
+    }
 
-            if (lastUpdate == null || (lastUpdate != null && lastUpdateOfDevice.after(lastUpdate))) {
-                lastUpdate = lastUpdateOfDevice;
+    @Override
+    protected void refreshLastUpdate(List<Device> devices) {
+        // The updated device has just been loaded by the bridge
+        for (Device device : devices) {
+            if (device.getDeviceId().equals(mConfig.getDeviceId())) {
+                refreshLastUpdate(device);
             }
+        }
+    }
+
+    private void refreshLastUpdate(Device device) {
+        Calendar lastUpdateOfDevice = Calendar.getInstance();
+        lastUpdateOfDevice.setTimeInMillis(new Long(device.getUpdateTime()) * 1000);
 
-            DateFormat formatter = new SimpleDateFormat("dd.MM.yyyy hh:mm:ss");
-            updateProperty(DEVICE_PROP_LAST_UPDATE, formatter.format(lastUpdate.getTime()));
+        if (lastUpdate == null || (lastUpdate != null && lastUpdateOfDevice.after(lastUpdate))) {
+            lastUpdate = lastUpdateOfDevice;
         }
+
+        DateFormat formatter = new SimpleDateFormat("dd.MM.yyyy hh:mm:ss");
+        updateProperty(DEVICE_PROP_LAST_UPDATE, formatter.format(lastUpdate.getTime()));
     }
 }
@@ -109,7 +109,7 @@ public class ZWayZWaveDeviceHandler extends ZWayDeviceHandler {
                             addCommandClassThermostatModeAsChannel(modes, mConfig.getNodeId());
                         }
 
-                        // Starts polling job and register all linked items
+                        // Registers with the bridge (which polls the devices) and registers all linked items
                         completeInitialization();
                     } catch (Throwable t) {
                         if (t instanceof Exception) {
@@ -162,7 +162,7 @@ public class ZWayZWaveDeviceHandler extends ZWayDeviceHandler {
     }
 
     private void completeInitialization() {
-        super.initialize(); // starts polling job and register all linked items
+        super.initialize(); // registers with the bridge (which polls the devices) and registers all linked items
     }
 
     private ZWayZWaveDeviceConfiguration loadAndCheckConfiguration() {
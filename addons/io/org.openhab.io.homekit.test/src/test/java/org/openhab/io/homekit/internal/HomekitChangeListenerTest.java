@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.homekit.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that accessories keep receiving the state changes of their items, when the item registry replaces the items.
+ *
+ * @author agent - Initial contribution
+ */
+public class HomekitChangeListenerTest {
+
+    private static final String ITEM_NAME = "Switch1";
+    private static final long NOTIFICATION_TIMEOUT = 1000;
+
+    private HomekitChangeListener changeListener;
+    private HomekitAccessoryUpdater updater;
+
+    @Before
+    public void setUp() {
+        updater = new HomekitAccessoryUpdater();
+        updater.setNotificationDelay(0);
+        changeListener = new HomekitChangeListener();
+        changeListener.setUpdater(updater);
+    }
+
+    @After
+    public void tearDown() {
+        changeListener.stop();
+    }
+
+    @Test
+    public void stateChangeOfReloadedItemIsNotified() throws InterruptedException {
+        SwitchItem item = createSwitchItem(ITEM_NAME);
+        changeListener.added(item);
+        CountDownLatch changed = new CountDownLatch(1);
+        updater.subscribe(getAccessoryId(item), item, () -> changed.countDown());
+
+        SwitchItem reloadedItem = createSwitchItem(ITEM_NAME);
+        changeListener.updated(item, reloadedItem);
+        reloadedItem.setState(OnOffType.ON);
+
+        assertTrue(changed.await(NOTIFICATION_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void stateChangeOfReplacedItemIsNotNotified() throws InterruptedException {
+        SwitchItem item = createSwitchItem(ITEM_NAME);
+        changeListener.added(item);
+        CountDownLatch changed = new CountDownLatch(1);
+        updater.subscribe(getAccessoryId(item), item, () -> changed.countDown());
+
+        changeListener.updated(item, createSwitchItem(ITEM_NAME));
+        item.setState(OnOffType.ON);
+
+        assertFalse(changed.await(NOTIFICATION_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void reloadedItemCanBeUnsubscribed() throws InterruptedException {
+        SwitchItem item = createSwitchItem(ITEM_NAME);
+        changeListener.added(item);
+        CountDownLatch changed = new CountDownLatch(1);
+        updater.subscribe(getAccessoryId(item), item, () -> changed.countDown());
+
+        SwitchItem reloadedItem = createSwitchItem(ITEM_NAME);
+        changeListener.updated(item, reloadedItem);
+        updater.unsubscribe(reloadedItem);
+        reloadedItem.setState(OnOffType.ON);
+
+        assertFalse(changed.await(NOTIFICATION_TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    private SwitchItem createSwitchItem(String name) {
+        SwitchItem item = new SwitchItem(name);
+        item.addTag("Switchable");
+        return item;
+    }
+
+    private int getAccessoryId(SwitchItem item) {
+        return new HomekitTaggedItem(item, null).getId();
+    }
+}
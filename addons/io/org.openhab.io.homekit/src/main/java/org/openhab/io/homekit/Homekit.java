@@ -33,4 +33,15 @@ public interface Homekit {
      * @param allow boolean indicating whether or not to allow unauthenticated requests
      */
     void allowUnauthenticatedRequests(boolean allow);
+
+    /**
+     * Returns the number of characteristic change notifications sent to HomeKit clients.
+     */
+    long getNotificationsSent();
+
+    /**
+     * Returns the number of characteristic changes, which were not sent to HomeKit clients, because they were merged
+     * with a pending notification of the same characteristic.
+     */
+    long getNotificationsSuppressed();
 }
@@ -8,13 +8,13 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.TreeMap;
 
 import org.openhab.io.homekit.internal.accessories.GroupedAccessory;
 import org.slf4j.Logger;
@@ -22,54 +22,68 @@ import org.slf4j.LoggerFactory;
 
 import com.beowulfe.hap.HomekitAccessory;
 import com.beowulfe.hap.HomekitRoot;
+import com.beowulfe.hap.Service;
+import com.beowulfe.hap.characteristics.Characteristic;
 
 /**
  * Stores the created HomekitAccessories. GroupedAccessories are also held here
  * in a pre-created pending state until all required characteristics are found.
  *
+ * Changes are not applied to the bridge immediately. Each call to {@link #flush()}
+ * compares the created accessories with the accessories published on the bridge and
+ * adds or removes only the accessories that differ, so a batch of item changes
+ * touches the bridge once per affected accessory.
+ *
  * @author Andy Lintner
  */
 class HomekitAccessoryRegistry {
 
     private HomekitRoot bridge;
-    private final List<HomekitAccessory> createdAccessories = new LinkedList<>();
-    private final Set<Integer> createdIds = new HashSet<>();
+    private final Map<Integer, HomekitAccessory> createdAccessories = new LinkedHashMap<>();
+    private final Map<Integer, HomekitAccessory> publishedAccessories = new HashMap<>();
     private final Map<String, GroupedAccessory> pendingGroupedAccessories = new HashMap<>();
-    private final List<HomekitTaggedItem> pendingCharacteristics = new LinkedList<>();
+    private final Map<String, Map<String, HomekitTaggedItem>> characteristicsByGroup = new HashMap<>();
 
     private final Logger logger = LoggerFactory.getLogger(HomekitAccessoryRegistry.class);
 
-    public void remove(HomekitTaggedItem taggedItem) {
-        Iterator<HomekitAccessory> i = createdAccessories.iterator();
-        while (i.hasNext()) {
-            HomekitAccessory accessory = i.next();
-            if (accessory.getId() == taggedItem.getId()) {
-                logger.debug("Removed accessory {}", accessory.getId());
-                bridge.removeAccessory(accessory);
-                i.remove();
+    public synchronized void remove(HomekitTaggedItem taggedItem) {
+        String itemName = taggedItem.getItem().getName();
+        removeCharacteristic(taggedItem);
+        if (taggedItem.isRootDevice()) {
+            GroupedAccessory pendingAccessory = pendingGroupedAccessories.get(itemName);
+            if (pendingAccessory != null && pendingAccessory.getId() == taggedItem.getId()) {
+                pendingGroupedAccessories.remove(itemName);
+            }
+            if (createdAccessories.remove(taggedItem.getId()) != null) {
+                logger.debug("Removed accessory {}", taggedItem.getId());
             }
         }
     }
 
     public synchronized void clear() {
-        while (!createdAccessories.isEmpty()) {
-            bridge.removeAccessory(createdAccessories.remove(0));
-        }
-        createdIds.clear();
+        createdAccessories.clear();
+        pendingGroupedAccessories.clear();
+        characteristicsByGroup.clear();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
         this.bridge = bridge;
-        createdAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        publishedAccessories.clear();
+        if (bridge != null) {
+            createdAccessories.values().forEach(accessory -> bridge.addAccessory(accessory));
+            publishedAccessories.putAll(createdAccessories);
+        }
     }
 
     public synchronized void addRootDevice(HomekitAccessory accessory) {
         if (accessory instanceof GroupedAccessory) {
             GroupedAccessory groupedAccessory = (GroupedAccessory) accessory;
-            pendingGroupedAccessories.put(groupedAccessory.getGroupName(), groupedAccessory);
-            for (HomekitTaggedItem characteristic : pendingCharacteristics) {
-                if (characteristic.getItem().getGroupNames().contains(groupedAccessory.getGroupName())) {
-                    addCharacteristicToGroup(groupedAccessory.getGroupName(), characteristic);
+            String groupName = groupedAccessory.getGroupName();
+            pendingGroupedAccessories.put(groupName, groupedAccessory);
+            Map<String, HomekitTaggedItem> characteristics = characteristicsByGroup.get(groupName);
+            if (characteristics != null) {
+                for (HomekitTaggedItem characteristic : new ArrayList<>(characteristics.values())) {
+                    addCharacteristicToGroup(groupName, characteristic);
                 }
             }
         } else {
@@ -78,6 +92,10 @@ class HomekitAccessoryRegistry {
     }
 
     public synchronized void addCharacteristic(HomekitTaggedItem item) {
+        for (String group : item.getItem().getGroupNames()) {
+            characteristicsByGroup.computeIfAbsent(group, g -> new LinkedHashMap<>()).put(item.getItem().getName(),
+                    item);
+        }
         for (String group : item.getItem().getGroupNames()) {
             if (pendingGroupedAccessories.containsKey(group)) {
                 addCharacteristicToGroup(group, item);
@@ -85,12 +103,84 @@ class HomekitAccessoryRegistry {
                 return;
             }
         }
-        pendingCharacteristics.add(item);
         logger.debug("Stored {} until group is ready", item.getItem().getName());
     }
 
+    /**
+     * Publishes the changes made since the last call on the bridge. Only accessories that were added, removed or
+     * replaced are touched.
+     *
+     * @return true, if the accessories published on the bridge have changed
+     */
+    public synchronized boolean flush() {
+        if (bridge == null) {
+            return false;
+        }
+        List<HomekitAccessory> removedAccessories = new ArrayList<>();
+        Iterator<Map.Entry<Integer, HomekitAccessory>> i = publishedAccessories.entrySet().iterator();
+        while (i.hasNext()) {
+            Map.Entry<Integer, HomekitAccessory> entry = i.next();
+            if (createdAccessories.get(entry.getKey()) != entry.getValue()) {
+                removedAccessories.add(entry.getValue());
+                i.remove();
+            }
+        }
+        List<HomekitAccessory> addedAccessories = new ArrayList<>();
+        for (HomekitAccessory accessory : createdAccessories.values()) {
+            if (!publishedAccessories.containsKey(accessory.getId())) {
+                addedAccessories.add(accessory);
+                publishedAccessories.put(accessory.getId(), accessory);
+            }
+        }
+        removedAccessories.forEach(accessory -> bridge.removeAccessory(accessory));
+        addedAccessories.forEach(accessory -> bridge.addAccessory(accessory));
+        if (!removedAccessories.isEmpty() || !addedAccessories.isEmpty()) {
+            logger.debug("Published {} removed and {} added accessories", removedAccessories.size(),
+                    addedAccessories.size());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash of the accessories published on the bridge: their ids, labels and types, and the types of their
+     * services and characteristics. It changes whenever the accessory database presented to Homekit clients changes,
+     * also if an item keeps its name and label but changes its type or tag. Only names are hashed, so the hash is
+     * stable across restarts.
+     */
+    public synchronized int getConfigurationHash() {
+        int hash = 1;
+        for (HomekitAccessory accessory : new TreeMap<>(publishedAccessories).values()) {
+            hash = 31 * hash + accessory.getId();
+            hash = 31 * hash + (accessory.getLabel() == null ? 0 : accessory.getLabel().hashCode());
+            hash = 31 * hash + accessory.getClass().getName().hashCode();
+            for (Service service : accessory.getServices()) {
+                hash = 31 * hash + service.getType().hashCode();
+                for (Characteristic characteristic : service.getCharacteristics()) {
+                    hash = 31 * hash + characteristic.getClass().getName().hashCode();
+                }
+            }
+        }
+        return hash;
+    }
+
+    private void removeCharacteristic(HomekitTaggedItem item) {
+        for (String group : item.getItem().getGroupNames()) {
+            Map<String, HomekitTaggedItem> characteristics = characteristicsByGroup.get(group);
+            if (characteristics != null) {
+                characteristics.remove(item.getItem().getName());
+                if (characteristics.isEmpty()) {
+                    characteristicsByGroup.remove(group);
+                }
+            }
+        }
+    }
+
     private void addCharacteristicToGroup(String group, HomekitTaggedItem item) {
         GroupedAccessory accessory = pendingGroupedAccessories.get(group);
+        if (accessory == null) {
+            return;
+        }
         accessory.addCharacteristic(item);
         if (accessory.isComplete()) {
             pendingGroupedAccessories.remove(group);
@@ -99,11 +189,7 @@ class HomekitAccessoryRegistry {
     }
 
     private void doAddDevice(HomekitAccessory accessory) {
-        createdAccessories.add(accessory);
-        createdIds.add(accessory.getId());
-        if (bridge != null) {
-            bridge.addAccessory(accessory);
-        }
+        createdAccessories.put(accessory.getId(), accessory);
         logger.debug("Added accessory {}", accessory.getId());
     }
 
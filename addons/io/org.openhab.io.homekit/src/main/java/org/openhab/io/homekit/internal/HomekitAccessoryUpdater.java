@@ -8,9 +8,18 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -26,18 +35,31 @@ import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Item changes are not forwarded to Homekit on the item event thread. The changed
+ * characteristics of an accessory are collected for a short delay and then notified
+ * together from the Homekit thread pool, so a characteristic that changes several times
+ * within the delay is notified only once with its latest value.
+ *
  * @author Andy Lintner
  */
 public class HomekitAccessoryUpdater {
 
+    private static final String THREADPOOL_NAME = "homekit";
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, PendingNotifications> pendingByAccessory = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final AtomicLong notificationsSent = new AtomicLong();
+    private final AtomicLong notificationsSuppressed = new AtomicLong();
+    private volatile int notificationDelay = HomekitSettings.DEFAULT_NOTIFICATION_DELAY;
 
-    public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
-        subscribe(item, null, callback);
+    public void subscribe(int accessoryId, GenericItem item, HomekitCharacteristicChangeCallback callback) {
+        subscribe(accessoryId, item, null, callback);
     }
 
-    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
+    public void subscribe(int accessoryId, GenericItem item, String key,
+            HomekitCharacteristicChangeCallback callback) {
         if (item == null) {
             return;
         }
@@ -48,9 +70,9 @@ public class HomekitAccessoryUpdater {
         subscriptionsByName.compute(itemKey, (k, v) -> {
             if (v != null) {
                 logger.error("Received duplicate subscription on {}", item.getName());
-                unsubscribe(item, key);
+                item.removeStateChangeListener(v);
             }
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(accessoryId, callback);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -64,20 +86,146 @@ public class HomekitAccessoryUpdater {
         if (item == null) {
             return;
         }
-        subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
-            item.removeStateChangeListener(v);
-            return null;
-        });
+        Subscription subscription = subscriptionsByName.remove(new ItemKey(item, key));
+        if (subscription != null) {
+            item.removeStateChangeListener(subscription);
+            removePendingNotification(subscription);
+        }
+    }
+
+    /**
+     * Moves the subscriptions of an item to the instance replacing it in the item registry. The item registry creates a
+     * new instance on every update of an item, and the listeners of the old instance are not notified anymore.
+     */
+    public void resubscribe(GenericItem newItem) {
+        for (ItemKey itemKey : new ArrayList<>(subscriptionsByName.keySet())) {
+            if (itemKey.item != newItem && itemKey.item.getName().equals(newItem.getName())) {
+                Subscription subscription = subscriptionsByName.remove(itemKey);
+                if (subscription != null) {
+                    itemKey.item.removeStateChangeListener(subscription);
+                    newItem.addStateChangeListener(subscription);
+                    subscriptionsByName.put(new ItemKey(newItem, itemKey.key), subscription);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all subscriptions of an accessory, which is no longer published, and drops its pending notifications.
+     */
+    public void removeAccessory(int accessoryId) {
+        Iterator<Map.Entry<ItemKey, Subscription>> i = subscriptionsByName.entrySet().iterator();
+        while (i.hasNext()) {
+            Map.Entry<ItemKey, Subscription> entry = i.next();
+            if (entry.getValue().accessoryId == accessoryId) {
+                entry.getKey().item.removeStateChangeListener(entry.getValue());
+                i.remove();
+            }
+        }
+        pendingByAccessory.remove(accessoryId);
+    }
+
+    /**
+     * Sets the delay in milliseconds, for which changes of an accessory are collected before they are notified.
+     */
+    public void setNotificationDelay(int notificationDelay) {
+        this.notificationDelay = Math.max(0, notificationDelay);
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * Returns the number of characteristic change notifications sent to Homekit.
+     */
+    public long getNotificationsSent() {
+        return notificationsSent.get();
+    }
+
+    /**
+     * Returns the number of characteristic changes, which were merged into a pending notification of the same
+     * characteristic and therefore not sent to Homekit.
+     */
+    public long getNotificationsSuppressed() {
+        return notificationsSuppressed.get();
+    }
+
+    private void notifyChanged(int accessoryId, HomekitCharacteristicChangeCallback callback) {
+        PendingNotifications pending = pendingByAccessory.computeIfAbsent(accessoryId,
+                id -> new PendingNotifications());
+        boolean schedule;
+        synchronized (pending) {
+            if (!pending.callbacks.add(callback)) {
+                notificationsSuppressed.incrementAndGet();
+            }
+            schedule = !pending.scheduled;
+            pending.scheduled = true;
+        }
+        if (schedule) {
+            scheduler.schedule(() -> sendNotifications(accessoryId, pending), notificationDelay,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Drops the pending notification of an unsubscribed characteristic, and the pending notifications of its accessory
+     * if none of its characteristics are subscribed anymore.
+     */
+    private void removePendingNotification(Subscription subscription) {
+        PendingNotifications pending = pendingByAccessory.get(subscription.accessoryId);
+        if (pending != null) {
+            synchronized (pending) {
+                pending.callbacks.remove(subscription.callback);
+            }
+            if (subscriptionsByName.values().stream()
+                    .noneMatch(s -> s.accessoryId == subscription.accessoryId)) {
+                pendingByAccessory.remove(subscription.accessoryId, pending);
+            }
+        }
+    }
+
+    private void sendNotifications(int accessoryId, PendingNotifications pending) {
+        Set<HomekitCharacteristicChangeCallback> callbacks;
+        synchronized (pending) {
+            callbacks = pending.callbacks;
+            pending.callbacks = new LinkedHashSet<>();
+            pending.scheduled = false;
+        }
+        logger.trace("Notifying {} changed characteristics of accessory {}", callbacks.size(), accessoryId);
+        for (HomekitCharacteristicChangeCallback callback : callbacks) {
+            try {
+                callback.changed();
+                notificationsSent.incrementAndGet();
+            } catch (Exception e) {
+                logger.debug("Could not notify change of accessory {}: {}", accessoryId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Characteristics of one accessory, which changed since the last notification.
+     */
+    private static class PendingNotifications {
+        private Set<HomekitCharacteristicChangeCallback> callbacks = new LinkedHashSet<>();
+        private boolean scheduled;
+    }
+
+    /**
+     * Listener forwarding the changes of a subscribed item to the characteristic of an accessory.
+     */
+    private class Subscription implements StateChangeListener {
+        private final int accessoryId;
+        private final HomekitCharacteristicChangeCallback callback;
+
+        public Subscription(int accessoryId, HomekitCharacteristicChangeCallback callback) {
+            this.accessoryId = accessoryId;
+            this.callback = callback;
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            notifyChanged(accessoryId, callback);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
     }
@@ -8,11 +8,23 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
-
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.storage.Storage;
+import org.eclipse.smarthome.core.storage.StorageService;
 import org.openhab.io.homekit.internal.accessories.HomekitAccessoryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,10 +35,24 @@ import com.beowulfe.hap.HomekitRoot;
  * Listens for changes to the item registry. When changes are detected, check
  * for Homekit tags and, if present, add the items to the HomekitAccessoryRegistry.
  *
+ * Changes are collected and published to the bridge after {@link #REGISTRY_UPDATE_DELAY} milliseconds without
+ * further changes. If the published accessories have changed, the configuration revision advertised to Homekit
+ * clients is increased once for the whole batch.
+ *
  * @author Andy Lintner
  */
 public class HomekitChangeListener implements ItemRegistryChangeListener {
 
+    private static final String THREADPOOL_NAME = "homekit";
+    private static final int REGISTRY_UPDATE_DELAY = 1000;
+    private static final String STORAGE_CONFIGURATION_REVISION = "configurationRevision";
+    private static final String STORAGE_CONFIGURATION_HASH = "configurationHash";
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final Map<String, HomekitTaggedItem> taggedItemsByName = new HashMap<>();
+    private ScheduledFuture<?> registryUpdateJob;
+    private Storage<String> storage;
+    private HomekitRoot bridge;
     private ItemRegistry itemRegistry;
     private HomekitAccessoryUpdater updater = new HomekitAccessoryUpdater();
     private Logger logger = LoggerFactory.getLogger(HomekitChangeListener.class);
@@ -37,40 +63,76 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
     public synchronized void added(Item item) {
         HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
         if (taggedItem.isTagged()) {
+            taggedItemsByName.put(item.getName(), taggedItem);
             if (taggedItem.isRootDevice()) {
                 createRootDevice(taggedItem);
             }
             if (taggedItem.isCharacteristic()) {
                 createCharacteristic(taggedItem);
             }
+            scheduleRegistryUpdate();
         }
     }
 
     @Override
-    public void allItemsChanged(Collection<String> oldItemNames) {
-        clearAccessories();
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        for (HomekitTaggedItem taggedItem : new ArrayList<>(taggedItemsByName.values())) {
+            if (itemRegistry.get(taggedItem.getItem().getName()) == null) {
+                removed(taggedItem.getItem());
+            }
+        }
+        for (Item item : itemRegistry.getAll()) {
+            HomekitTaggedItem taggedItem = taggedItemsByName.get(item.getName());
+            if (taggedItem == null) {
+                added(item);
+            } else {
+                updated(taggedItem.getItem(), item);
+            }
+        }
     }
 
     @Override
     public synchronized void removed(Item item) {
-        HomekitTaggedItem taggedItem = new HomekitTaggedItem(item, itemRegistry);
+        HomekitTaggedItem taggedItem = taggedItemsByName.remove(item.getName());
+        if (taggedItem == null) {
+            taggedItem = new HomekitTaggedItem(item, itemRegistry);
+        }
         if (taggedItem.isTagged()) {
             accessoryRegistry.remove(taggedItem);
+            if (taggedItem.isRootDevice()) {
+                updater.removeAccessory(taggedItem.getId());
+            }
+            scheduleRegistryUpdate();
         }
     }
 
     @Override
-    public void updated(Item oldElement, Item element) {
+    public synchronized void updated(Item oldElement, Item element) {
+        if (isSameAccessory(oldElement, element)) {
+            logger.trace("Change of item {} does not affect homekit accessories", element.getName());
+            replaceItem(element);
+            return;
+        }
         removed(oldElement);
         added(element);
+        // characteristics of grouped accessories stay subscribed on the replaced instance
+        replaceItem(element);
     }
 
     public synchronized void clearAccessories() {
         accessoryRegistry.clear();
+        taggedItemsByName.clear();
+        accessoryRegistry.flush();
     }
 
     public synchronized void setBridge(HomekitRoot bridge) {
+        this.bridge = bridge;
         accessoryRegistry.setBridge(bridge);
+        updateConfigurationRevision();
+    }
+
+    public synchronized void setStorageService(StorageService storageService) {
+        this.storage = storageService.getStorage("homekit");
     }
 
     public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
@@ -85,12 +147,89 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void setSettings(HomekitSettings settings) {
         this.settings = settings;
+        this.updater.setNotificationDelay(settings.getNotificationDelay());
     }
 
-    public void stop() {
+    public HomekitAccessoryUpdater getUpdater() {
+        return updater;
+    }
+
+    public synchronized void stop() {
         if (this.itemRegistry != null) {
             this.itemRegistry.removeRegistryChangeListener(this);
         }
+        if (registryUpdateJob != null) {
+            registryUpdateJob.cancel(false);
+            registryUpdateJob = null;
+        }
+    }
+
+    /**
+     * Item changes, which do not touch the tags, label, type or groups of an item, do not change the accessory
+     * presented to Homekit, because the accessories read the item state from the item registry.
+     */
+    private boolean isSameAccessory(Item oldElement, Item element) {
+        return oldElement.getName().equals(element.getName()) && oldElement.getClass() == element.getClass()
+                && Objects.equals(oldElement.getType(), element.getType())
+                && Objects.equals(oldElement.getLabel(), element.getLabel())
+                && Objects.equals(oldElement.getTags(), element.getTags())
+                && Objects.equals(oldElement.getGroupNames(), element.getGroupNames());
+    }
+
+    /**
+     * Keeps the tagged item and the subscriptions of an item on the instance, which replaced it in the item registry.
+     */
+    private void replaceItem(Item element) {
+        HomekitTaggedItem taggedItem = taggedItemsByName.get(element.getName());
+        if (taggedItem == null) {
+            return;
+        }
+        if (taggedItem.getItem() != element) {
+            taggedItemsByName.put(element.getName(), new HomekitTaggedItem(element, itemRegistry));
+        }
+        if (element instanceof GenericItem) {
+            updater.resubscribe((GenericItem) element);
+        }
+    }
+
+    private void scheduleRegistryUpdate() {
+        if (registryUpdateJob != null) {
+            registryUpdateJob.cancel(false);
+        }
+        registryUpdateJob = scheduler.schedule(() -> publishRegistryChanges(), REGISTRY_UPDATE_DELAY,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void publishRegistryChanges() {
+        registryUpdateJob = null;
+        if (accessoryRegistry.flush()) {
+            updateConfigurationRevision();
+        }
+    }
+
+    /**
+     * Increases the configuration revision advertised by the bridge, if the published accessories differ from the
+     * ones published when the revision was stored. Homekit clients reload the accessory database only when the
+     * revision changes.
+     */
+    private void updateConfigurationRevision() {
+        if (bridge == null || storage == null) {
+            return;
+        }
+        String configurationHash = Integer.toString(accessoryRegistry.getConfigurationHash());
+        String storedRevision = storage.get(STORAGE_CONFIGURATION_REVISION);
+        int revision = storedRevision != null ? Integer.parseInt(storedRevision) : 1;
+        if (!configurationHash.equals(storage.get(STORAGE_CONFIGURATION_HASH))) {
+            revision++;
+            storage.put(STORAGE_CONFIGURATION_REVISION, Integer.toString(revision));
+            storage.put(STORAGE_CONFIGURATION_HASH, configurationHash);
+            logger.debug("Homekit accessories changed, configuration revision is now {}", revision);
+        }
+        try {
+            bridge.setConfigurationIndex(revision);
+        } catch (IOException e) {
+            logger.warn("Could not update homekit configuration revision: {}", e.getMessage());
+        }
     }
 
     private void createRootDevice(HomekitTaggedItem taggedItem) {
@@ -24,6 +24,7 @@ public class HomekitSettings {
     private static final String NAME = "openHAB";
     private static final String MANUFACTURER = "openHAB";
     private static final String SERIAL_NUMBER = "none";
+    static final int DEFAULT_NOTIFICATION_DELAY = 100;
 
     private int port = 9123;
     private String pin = "031-45-154";
@@ -35,6 +36,7 @@ public class HomekitSettings {
     private String thermostatAutoMode = "Auto";
     private String thermostatOffMode = "Off";
     private InetAddress networkInterface;
+    private int notificationDelay = DEFAULT_NOTIFICATION_DELAY;
 
     public void fill(Dictionary<String, ?> properties) throws UnknownHostException {
         Object port = properties.get("port");
@@ -68,6 +70,10 @@ public class HomekitSettings {
         this.thermostatCoolMode = (String) properties.get("thermostatCoolMode");
         this.thermostatAutoMode = (String) properties.get("thermostatAutoMode");
         this.thermostatOffMode = (String) properties.get("thermostatOffMode");
+        Object notificationDelay = properties.get("notificationDelay");
+        if (notificationDelay != null) {
+            this.notificationDelay = Integer.parseInt(notificationDelay.toString());
+        }
 
         String networkInterface = (String) properties.get("networkInterface");
         if (networkInterface == null) {
@@ -140,6 +146,10 @@ public class HomekitSettings {
         return thermostatOffMode;
     }
 
+    public int getNotificationDelay() {
+        return notificationDelay;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -149,6 +159,7 @@ public class HomekitSettings {
         result = prime * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(minimumTemperature);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + notificationDelay;
         result = prime * result + ((pin == null) ? 0 : pin.hashCode());
         result = prime * result + port;
         result = prime * result + ((thermostatAutoMode == null) ? 0 : thermostatAutoMode.hashCode());
@@ -177,6 +188,9 @@ public class HomekitSettings {
         if (Double.doubleToLongBits(minimumTemperature) != Double.doubleToLongBits(other.minimumTemperature)) {
             return false;
         }
+        if (notificationDelay != other.notificationDelay) {
+            return false;
+        }
         if (pin == null) {
             if (other.pin != null) {
                 return false;
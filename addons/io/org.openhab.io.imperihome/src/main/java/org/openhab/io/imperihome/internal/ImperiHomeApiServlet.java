@@ -111,9 +111,10 @@ public class ImperiHomeApiServlet extends HttpServlet {
         actionRegistry = new ActionRegistry(eventPublisher);
         itemProcessor = new ItemProcessor(itemRegistry, deviceRegistry, actionRegistry, imperiHomeConfig);
         roomListHandler = new RoomListHandler(deviceRegistry);
-        devicesListHandler = new DevicesListHandler(deviceRegistry);
+        devicesListHandler = new DevicesListHandler(deviceRegistry, gson);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
-        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry,
+                imperiHomeConfig);
 
         try {
             Dictionary<String, String> servletParams = new Hashtable<String, String>();
@@ -131,6 +132,9 @@ public class ImperiHomeApiServlet extends HttpServlet {
      */
     protected void modified(Map<String, Object> config) {
         imperiHomeConfig.update(config);
+        if (deviceHistoryHandler != null) {
+            deviceHistoryHandler.clearCache();
+        }
     }
 
     /**
@@ -194,6 +198,7 @@ public class ImperiHomeApiServlet extends HttpServlet {
         setHeaders(resp);
 
         Object response = null;
+        String json = null;
 
         Matcher actionMatcher = URL_PATTERN_DEVICE_ACTION.matcher(path);
         Matcher historyMatcher = URL_PATTERN_DEVICE_HISTORY.matcher(path);
@@ -201,18 +206,20 @@ public class ImperiHomeApiServlet extends HttpServlet {
         if (URL_PATTERN_ROOMS.matcher(path).matches()) {
             response = roomListHandler.handle(req);
         } else if (URL_PATTERN_DEVICES.matcher(path).matches()) {
-            response = devicesListHandler.handle(req);
+            json = devicesListHandler.handle(req);
         } else if (actionMatcher.matches()) {
             deviceActionHandler.handle(req, actionMatcher);
         } else if (historyMatcher.matches()) {
-            response = deviceHistoryHandler.handle(req, historyMatcher);
+            if (deviceHistoryHandler.handle(req, historyMatcher, resp.getWriter())) {
+                return;
+            }
         } else if (URL_PATTERN_SYSTEM.matcher(path).matches()) {
             response = systemHandler.handle(req);
         } else {
             logger.warn("Unrecognized request: {}", path);
         }
 
-        resp.getWriter().write(gson.toJson(response));
+        resp.getWriter().write(json != null ? json : gson.toJson(response));
     }
 
     private void setHeaders(HttpServletResponse response) {
@@ -11,6 +11,7 @@ package org.openhab.io.imperihome.internal;
 import java.util.Map;
 
 import org.eclipse.smarthome.core.id.InstanceUUID;
+import org.openhab.io.imperihome.internal.model.HistoryAggregation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,10 +22,15 @@ import org.slf4j.LoggerFactory;
  */
 public class ImperiHomeConfig {
 
+    private static final int DEFAULT_HISTORY_POINTS = 500;
+    private static final HistoryAggregation DEFAULT_HISTORY_AGGREGATION = HistoryAggregation.AVG;
+
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
     private String systemId;
     private String rootUrl;
+    private int historyPoints = DEFAULT_HISTORY_POINTS;
+    private HistoryAggregation historyAggregation = DEFAULT_HISTORY_AGGREGATION;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -42,6 +48,29 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyPoints = DEFAULT_HISTORY_POINTS;
+        Object historyPointsObj = config.get("history.points");
+        if (historyPointsObj != null && !historyPointsObj.toString().trim().isEmpty()) {
+            try {
+                historyPoints = Integer.parseInt(historyPointsObj.toString().trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.points value '{}', using default {}", historyPointsObj,
+                        DEFAULT_HISTORY_POINTS);
+            }
+        }
+
+        historyAggregation = DEFAULT_HISTORY_AGGREGATION;
+        Object historyAggregationObj = config.get("history.aggregation");
+        if (historyAggregationObj != null && !historyAggregationObj.toString().trim().isEmpty()) {
+            HistoryAggregation aggregation = HistoryAggregation.forConfigString(historyAggregationObj.toString());
+            if (aggregation == null) {
+                logger.warn("Invalid history.aggregation value '{}', using default {}", historyAggregationObj,
+                        DEFAULT_HISTORY_AGGREGATION);
+            } else {
+                historyAggregation = aggregation;
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -53,4 +82,12 @@ public class ImperiHomeConfig {
         return rootUrl;
     }
 
+    public int getHistoryPoints() {
+        return historyPoints;
+    }
+
+    public HistoryAggregation getHistoryAggregation() {
+        return historyAggregation;
+    }
+
 }
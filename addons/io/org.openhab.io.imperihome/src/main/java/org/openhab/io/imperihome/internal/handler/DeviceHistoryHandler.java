@@ -8,12 +8,13 @@
  */
 package org.openhab.io.imperihome.internal.handler;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLDecoder;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
@@ -25,15 +26,21 @@ import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
+import org.openhab.io.imperihome.internal.model.HistoryAggregation;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
+import org.openhab.io.imperihome.internal.processor.HistoryDownsampler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.stream.JsonWriter;
+
 /**
- * Device history request handler.
+ * Device history request handler. Persisted values are downsampled to the configured number of points while
+ * iterating the query result, and written directly to the response. Recent results are cached per device and range,
+ * with the range rounded to the bucket size, so repeated requests for the same graph don't query persistence again.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -41,17 +48,38 @@ public class DeviceHistoryHandler {
 
     private static final String CHARSET = "UTF-8";
 
+    private static final int CACHE_SIZE = 32;
+    private static final long CACHE_EXPIRY = 60000;
+
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    private final Map<String, CachedHistory> cache = new LinkedHashMap<String, CachedHistory>(16, 0.75f, true) {
+        private static final long serialVersionUID = 5425018474592734262L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedHistory> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
-    public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
+    /**
+     * Handles a history request, writing the JSON response to the given writer.
+     *
+     * @return true if a response was written, false if the request could not be served.
+     * @throws IOException if writing the response fails.
+     */
+    public boolean handle(HttpServletRequest req, Matcher urlMatcher, Writer responseWriter) throws IOException {
         String deviceId, field;
         long start, end;
         try {
@@ -68,52 +96,116 @@ public class DeviceHistoryHandler {
         AbstractDevice device = deviceRegistry.getDevice(deviceId);
         if (device == null) {
             logger.warn("Received history request for unknown device: {}", urlMatcher.group(0));
-            return null;
+            return false;
         }
 
         PersistenceService persistence = persistenceServiceRegistry.getDefault();
         if (persistence == null) {
             logger.warn("Could not retrieve default persistence service; can't serve history request");
-            return null;
+            return false;
         }
         if (!(persistence instanceof QueryablePersistenceService)) {
             logger.warn("Default persistence service is not queryable; can't serve history request");
-            return null;
+            return false;
+        }
+
+        int targetPoints = config.getHistoryPoints();
+        HistoryAggregation aggregation = config.getHistoryAggregation();
+        long bucketSize = HistoryDownsampler.getBucketSize(start, end, targetPoints);
+        String cacheKey = getCacheKey(deviceId, field, start, end, bucketSize, aggregation);
+
+        HistoryList history = getCachedHistory(cacheKey);
+        if (history == null) {
+            history = serveHistory(device, (QueryablePersistenceService) persistence, start, end, targetPoints,
+                    aggregation);
+            putCachedHistory(cacheKey, history);
+        } else {
+            logger.debug("Serving cached history of Item {}, {} points", device.getItemName(), history.size());
         }
 
-        return serveHistory(device, (QueryablePersistenceService) persistence, start, end);
+        JsonWriter jsonWriter = new JsonWriter(responseWriter);
+        history.write(jsonWriter);
+        jsonWriter.flush();
+        return true;
+    }
+
+    /**
+     * Clears cached history results, e.g. after the downsampling configuration changed.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
     }
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
-            long end) {
+            long end, int targetPoints, HistoryAggregation aggregation) {
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName()).setBeginDate(new Date(start))
                 .setEndDate(new Date(end));
 
-        List<HistoryItem> resultItems = new LinkedList<>();
-        Iterable<HistoricItem> historicItems = persistence.query(criteria);
+        HistoryDownsampler downsampler = new HistoryDownsampler(start, end, targetPoints, aggregation);
+        int count = 0;
+        boolean hasResults = false;
+        for (HistoricItem historicItem : persistence.query(criteria)) {
+            hasResults = true;
+            State state = historicItem.getState();
+            if (state instanceof DecimalType) {
+                downsampler.add(historicItem.getTimestamp().getTime(), ((DecimalType) state).doubleValue());
+                count++;
+            }
+        }
 
-        Iterator<HistoricItem> iterator = historicItems.iterator();
-        if (!iterator.hasNext()) {
+        HistoryList history = downsampler.finish();
+        if (!hasResults) {
             logger.info("Persistence returned no results for history query");
+        } else if (count == 0) {
+            logger.warn("Persistence returned results for history query, but could not be interpreted as DecimalTypes");
         } else {
-            while (iterator.hasNext()) {
-                HistoricItem historicItem = iterator.next();
-                State state = historicItem.getState();
-                if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp(), value));
-                }
-            }
+            logger.debug("Downsampled {} persisted values of Item {} to {} points", count, device.getItemName(),
+                    history.size());
+        }
+
+        return history;
+    }
+
+    private String getCacheKey(String deviceId, String field, long start, long end, long bucketSize,
+            HistoryAggregation aggregation) {
+        if (bucketSize == 0) {
+            return deviceId + '|' + field + '|' + start + '|' + end;
+        }
+        return deviceId + '|' + field + '|' + aggregation + '|' + bucketSize + '|' + (start / bucketSize) + '|'
+                + (end / bucketSize);
+    }
 
-            if (resultItems.isEmpty()) {
-                logger.warn(
-                        "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+    private HistoryList getCachedHistory(String key) {
+        synchronized (cache) {
+            CachedHistory cached = cache.get(key);
+            if (cached == null) {
+                return null;
             }
+            if (System.currentTimeMillis() - cached.timestamp > CACHE_EXPIRY) {
+                cache.remove(key);
+                return null;
+            }
+            return cached.history;
         }
+    }
 
-        return new HistoryList(resultItems);
+    private void putCachedHistory(String key, HistoryList history) {
+        synchronized (cache) {
+            cache.put(key, new CachedHistory(history));
+        }
+    }
+
+    private static class CachedHistory {
+        private final HistoryList history;
+        private final long timestamp = System.currentTimeMillis();
+
+        private CachedHistory(HistoryList history) {
+            this.history = history;
+        }
     }
 
 }
@@ -13,13 +13,15 @@ import java.util.Collection;
 import javax.servlet.http.HttpServletRequest;
 
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
-import org.openhab.io.imperihome.internal.model.device.DeviceList;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
- * Device list request handler.
+ * Device list request handler. The response is assembled from the cached JSON of each device and reused as long as
+ * no device has changed.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -28,23 +30,46 @@ public class DevicesListHandler {
     private final Logger logger = LoggerFactory.getLogger(DevicesListHandler.class);
 
     private final DeviceRegistry deviceRegistry;
+    private final Gson gson;
+
+    private String cachedResponse;
+    private long cachedModificationCount = -1;
 
-    public DevicesListHandler(DeviceRegistry deviceRegistry) {
+    public DevicesListHandler(DeviceRegistry deviceRegistry, Gson gson) {
         this.deviceRegistry = deviceRegistry;
+        this.gson = gson;
     }
 
-    public DeviceList handle(HttpServletRequest req) {
-        DeviceList response = new DeviceList();
+    public synchronized String handle(HttpServletRequest req) {
+        if (cachedResponse != null && cachedModificationCount == deviceRegistry.getModificationCount()) {
+            logger.debug("Device list unchanged, returning cached response");
+            return cachedResponse;
+        }
 
         Collection<AbstractDevice> devices = deviceRegistry.getDevices().values();
         for (AbstractDevice device : devices) {
             device.updateParams();
         }
 
-        response.setDevices(devices);
+        // Read after updateParams(), which may change devices that depend on linked devices
+        long modificationCount = deviceRegistry.getModificationCount();
+
+        StringBuilder response = new StringBuilder("{\"devices\":[");
+        boolean first = true;
+        for (AbstractDevice device : devices) {
+            if (!first) {
+                response.append(',');
+            }
+            response.append(device.toJson(gson));
+            first = false;
+        }
+        response.append("]}");
+
+        cachedResponse = response.toString();
+        cachedModificationCount = modificationCount;
 
-        logger.debug("Device list response: {}", response);
-        return response;
+        logger.trace("Device list response: {}", cachedResponse);
+        return cachedResponse;
     }
 
 }
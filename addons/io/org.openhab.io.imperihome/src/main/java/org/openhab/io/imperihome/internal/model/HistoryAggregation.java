@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.imperihome.internal.model;
+
+/**
+ * Aggregation applied to the values in a history bucket when downsampling persisted data.
+ *
+ * @author agent - Initial contribution
+ */
+public enum HistoryAggregation {
+
+    /** One point per bucket, holding the average value. */
+    AVG,
+    /** One point per bucket, holding the lowest value. */
+    MIN,
+    /** One point per bucket, holding the highest value. */
+    MAX,
+    /** Up to two points per bucket, holding the lowest and highest value in chronological order. */
+    MINMAX;
+
+    public static HistoryAggregation forConfigString(String value) {
+        for (HistoryAggregation aggregation : values()) {
+            if (aggregation.name().equalsIgnoreCase(value.trim())) {
+                return aggregation;
+            }
+        }
+        return null;
+    }
+
+}
@@ -8,32 +8,79 @@
  */
 package org.openhab.io.imperihome.internal.model;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.google.gson.stream.JsonWriter;
 
 /**
- * History list data object.
+ * History list data object. Stores the points in primitive arrays and writes them directly to a {@link JsonWriter},
+ * avoiding a boxed object per point.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class HistoryList {
 
-    private List<HistoryItem> values;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] dates;
+    private double[] values;
+    private int size;
 
     public HistoryList() {
-        this(new LinkedList<HistoryItem>());
+        this(INITIAL_CAPACITY);
+    }
+
+    public HistoryList(int capacity) {
+        dates = new long[Math.max(1, capacity)];
+        values = new double[dates.length];
+    }
+
+    public void add(long date, double value) {
+        if (size == dates.length) {
+            int capacity = size * 2;
+            dates = Arrays.copyOf(dates, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        dates[size] = date;
+        values[size] = value;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
     }
 
-    public HistoryList(List<HistoryItem> resultItems) {
-        this.values = resultItems;
+    public long getDate(int index) {
+        return dates[index];
     }
 
-    public List<HistoryItem> getValues() {
-        return values;
+    public double getValue(int index) {
+        return values[index];
     }
 
-    public void setValues(List<HistoryItem> values) {
-        this.values = values;
+    /**
+     * Writes this list in the ImperiHome history format: <code>{"values":[{"date":..,"value":..},..]}</code>.
+     *
+     * @param writer Writer to write the JSON to.
+     * @throws IOException if writing fails.
+     */
+    public void write(JsonWriter writer) throws IOException {
+        writer.beginObject();
+        writer.name("values");
+        writer.beginArray();
+        for (int i = 0; i < size; i++) {
+            writer.beginObject();
+            writer.name("date").value(dates[i]);
+            writer.name("value").value(values[i]);
+            writer.endObject();
+        }
+        writer.endArray();
+        writer.endObject();
     }
 
 }
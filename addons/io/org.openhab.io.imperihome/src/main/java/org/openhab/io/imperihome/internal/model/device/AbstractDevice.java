@@ -25,8 +25,11 @@ import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
  * Abstract parent of all devices. Sets up and tears down state listeners and contains parameter and link data.
+ * The JSON representation of the device is cached and only regenerated after a parameter or property has changed.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -51,6 +54,9 @@ public abstract class AbstractDevice implements StateChangeListener {
     private transient DeviceRegistry deviceRegistry;
     private transient ActionRegistry actionRegistry;
 
+    private transient volatile boolean dirty = true;
+    private transient String json;
+
     public AbstractDevice(DeviceType type, Item item) {
         this.type = type;
         this.item = item;
@@ -78,6 +84,7 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void setId(String id) {
         this.id = id;
+        markDirty();
     }
 
     public String getName() {
@@ -86,6 +93,7 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void setName(String name) {
         this.name = name;
+        markDirty();
     }
 
     public String getRoom() {
@@ -94,6 +102,7 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void setRoom(String room) {
         this.room = room;
+        markDirty();
     }
 
     public String getRoomName() {
@@ -110,6 +119,7 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void setType(DeviceType type) {
         this.type = type;
+        markDirty();
     }
 
     public boolean isInverted() {
@@ -126,15 +136,47 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void setDefaultIcon(String defaultIcon) {
         this.defaultIcon = defaultIcon;
+        markDirty();
     }
 
     public DeviceParameters getParams() {
         return params;
     }
 
-    public void addParam(DeviceParam param) {
+    public synchronized void addParam(DeviceParam param) {
+        if (param.equals(params.get(param.getKey()))) {
+            return;
+        }
         logger.trace("Setting param for device {}: {}", this, param);
         params.set(param);
+        markDirty();
+    }
+
+    /**
+     * Returns the JSON representation of this device. The cached representation is returned, unless the device has
+     * changed since it was created.
+     *
+     * @param gson Gson instance to serialize the device with.
+     * @return JSON object of the device.
+     */
+    public synchronized String toJson(Gson gson) {
+        if (dirty || json == null) {
+            // Reset the flag first, so a change during serialization marks the device dirty again
+            dirty = false;
+            json = gson.toJson(this);
+        }
+        return json;
+    }
+
+    /**
+     * Marks the cached JSON representation of this device as outdated.
+     */
+    protected void markDirty() {
+        dirty = true;
+        DeviceRegistry registry = deviceRegistry;
+        if (registry != null) {
+            registry.deviceChanged();
+        }
     }
 
     public Map<String, String> getLinks() {
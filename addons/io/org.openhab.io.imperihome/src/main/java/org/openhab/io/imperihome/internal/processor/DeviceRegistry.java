@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openhab.io.imperihome.internal.model.Room;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -27,6 +28,7 @@ import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
 public class DeviceRegistry implements Iterable<AbstractDevice> {
 
     private final Map<String, AbstractDevice> devices;
+    private final AtomicLong modificationCount = new AtomicLong();
     private Set<Room> rooms;
 
     public DeviceRegistry() {
@@ -56,14 +58,30 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
     public void add(AbstractDevice device) {
         devices.put(device.getId(), device);
         updateRooms();
+        deviceChanged();
     }
 
     public AbstractDevice remove(String deviceId) {
         AbstractDevice removed = devices.remove(deviceId);
         updateRooms();
+        deviceChanged();
         return removed;
     }
 
+    /**
+     * Called when a device was added or removed, or the parameters of a registered device have changed.
+     */
+    public void deviceChanged() {
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * @return Counter increased on every device change, used to detect whether cached device data is outdated.
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
     @Override
     public Iterator<AbstractDevice> iterator() {
         return devices.values().iterator();
@@ -71,6 +89,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
 
     public void clear() {
         devices.clear();
+        deviceChanged();
 
         if (rooms != null) {
             rooms.clear();
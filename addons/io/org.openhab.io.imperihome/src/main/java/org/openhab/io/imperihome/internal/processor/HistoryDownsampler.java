@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.imperihome.internal.processor;
+
+import org.openhab.io.imperihome.internal.model.HistoryAggregation;
+import org.openhab.io.imperihome.internal.model.HistoryList;
+
+/**
+ * Reduces a chronologically ordered stream of history points to roughly a target number of points. The requested
+ * range is divided in equally sized buckets and the points in each bucket are aggregated while they are added, so the
+ * full result set is never held in memory. Buckets holding a single point pass that point through unchanged.
+ *
+ * @author agent - Initial contribution
+ */
+public class HistoryDownsampler {
+
+    private final long start;
+    private final long bucketSize;
+    private final HistoryAggregation aggregation;
+    private final HistoryList result;
+
+    private long bucket = -1;
+    private int count;
+    private double sum;
+    private long dateOffsetSum;
+    private long minDate, maxDate;
+    private double min, max;
+
+    /**
+     * @param start Start of the requested range, in milliseconds.
+     * @param end End of the requested range, in milliseconds.
+     * @param targetPoints Maximum number of buckets to divide the range in. Zero or less disables downsampling.
+     * @param aggregation Aggregation to apply on each bucket.
+     */
+    public HistoryDownsampler(long start, long end, int targetPoints, HistoryAggregation aggregation) {
+        this.start = start;
+        this.bucketSize = getBucketSize(start, end, targetPoints);
+        this.aggregation = aggregation;
+        this.result = new HistoryList(targetPoints > 0 ? Math.min(targetPoints, 1024) : 64);
+    }
+
+    /**
+     * Returns the bucket size used for the given range and target point count.
+     *
+     * @return Bucket size in milliseconds, or 0 if downsampling is disabled.
+     */
+    public static long getBucketSize(long start, long end, int targetPoints) {
+        if (targetPoints <= 0) {
+            return 0;
+        }
+        long range = Math.max(1, end - start);
+        return Math.max(1, (range + targetPoints - 1) / targetPoints);
+    }
+
+    public void add(long date, double value) {
+        if (bucketSize == 0) {
+            result.add(date, value);
+            return;
+        }
+
+        long pointBucket = Math.max(0, (date - start) / bucketSize);
+        if (pointBucket != bucket) {
+            flushBucket();
+            bucket = pointBucket;
+        }
+
+        if (count == 0 || value < min) {
+            min = value;
+            minDate = date;
+        }
+        if (count == 0 || value > max) {
+            max = value;
+            maxDate = date;
+        }
+        sum += value;
+        dateOffsetSum += date - start - bucket * bucketSize;
+        count++;
+    }
+
+    /**
+     * Completes the last bucket and returns the downsampled points.
+     */
+    public HistoryList finish() {
+        flushBucket();
+        return result;
+    }
+
+    private void flushBucket() {
+        if (count == 0) {
+            return;
+        }
+
+        if (count == 1) {
+            result.add(minDate, min);
+        } else {
+            switch (aggregation) {
+                case MIN:
+                    result.add(minDate, min);
+                    break;
+                case MAX:
+                    result.add(maxDate, max);
+                    break;
+                case MINMAX:
+                    if (minDate == maxDate) {
+                        result.add(minDate, min);
+                    } else if (minDate < maxDate) {
+                        result.add(minDate, min);
+                        result.add(maxDate, max);
+                    } else {
+                        result.add(maxDate, max);
+                        result.add(minDate, min);
+                    }
+                    break;
+                case AVG:
+                default:
+                    result.add(start + bucket * bucketSize + dateOffsetSum / count, sum / count);
+                    break;
+            }
+        }
+
+        count = 0;
+        sum = 0;
+        dateOffsetSum = 0;
+    }
+
+}
@@ -0,0 +1,572 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.socket;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents a restartable socket connection to the underlying telnet session. Commands can be sent via
+ * {@link #sendCommand(String)} and responses will be received on any {@link SocketSessionListener}. This implementation
+ * of {@link SocketSession} communicates using a non-blocking {@link SocketChannel} connection that is read by the
+ * {@link SocketSessionSelector} shared by all sessions. Commands are terminated by the terminator given at construction
+ * and responses are framed on carriage-return/newline combos (plus any login prompts given at construction). Commands
+ * and responses are encoded as ISO-8859-1, so every byte received maps to exactly one character.
+ *
+ * @author Tim Roberts
+ * @author agent - moved to the shared socket transport
+ */
+public class SocketChannelSession implements SocketSession {
+    private final Logger logger = LoggerFactory.getLogger(SocketChannelSession.class);
+
+    /**
+     * The charset used to encode commands and decode responses
+     */
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    /**
+     * The initial and maximum size of the buffer holding a partially received response
+     */
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_BUFFER_SIZE = 65536;
+
+    /**
+     * The maximum number of responses kept while no listener is registered
+     */
+    private static final int MAX_UNDELIVERED = 50;
+
+    /**
+     * How long to wait for the socket to accept a command before failing
+     */
+    private static final long SEND_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+
+    /**
+     * The host/ip address to connect to
+     */
+    private final String _host;
+
+    /**
+     * The port to connect to
+     */
+    private final int _port;
+
+    /**
+     * The terminator appended to every command
+     */
+    private final String _commandTerminator;
+
+    /**
+     * The special prompts (besides carriage-return/newline terminated lines) that are treated as responses
+     */
+    private final byte[][] _prompts;
+
+    /**
+     * The current connection. Will be null if not connected
+     */
+    private final AtomicReference<Connection> _connection = new AtomicReference<Connection>();
+
+    /**
+     * The {@link SocketSessionListener} that responses will be dispatched to
+     */
+    private final List<SocketSessionListener> _listeners = new CopyOnWriteArrayList<SocketSessionListener>();
+
+    /**
+     * Responses received while no listener was registered. Only polled from the dispatcher thread
+     */
+    private final Queue<Object> _undelivered = new ConcurrentLinkedQueue<Object>();
+
+    /**
+     * Session metrics
+     */
+    private final AtomicLong _bytesReceived = new AtomicLong();
+    private final AtomicLong _bytesSent = new AtomicLong();
+    private final AtomicLong _responsesReceived = new AtomicLong();
+    private final AtomicLong _commandsSent = new AtomicLong();
+    private final AtomicLong _totalDispatchLatency = new AtomicLong();
+    private final AtomicLong _maxDispatchLatency = new AtomicLong();
+
+    /**
+     * Creates the socket session from the given host and port
+     *
+     * @param host a non-null, non-empty host/ip address
+     * @param port the port number between 1 and 65535
+     * @param commandTerminator a non-null terminator to append to every command (usually "\r\n")
+     * @param prompts the special prompts (like "Login: ", ending with a space) that are treated as responses
+     */
+    public SocketChannelSession(String host, int port, String commandTerminator, String... prompts) {
+        if (host == null || host.trim().length() == 0) {
+            throw new IllegalArgumentException("Host cannot be null or empty");
+        }
+
+        if (port < 1 || port > 65535) {
+            throw new IllegalArgumentException("Port must be between 1 and 65535");
+        }
+        if (commandTerminator == null) {
+            throw new IllegalArgumentException("Command terminator cannot be null");
+        }
+        _host = host;
+        _port = port;
+        _commandTerminator = commandTerminator;
+
+        _prompts = new byte[prompts.length][];
+        for (int i = 0; i < prompts.length; i++) {
+            if (prompts[i] == null || !prompts[i].endsWith(" ")) {
+                throw new IllegalArgumentException("Prompts must be non-null and end with a space");
+            }
+            _prompts[i] = prompts[i].getBytes(CHARSET);
+        }
+    }
+
+    @Override
+    public void addListener(SocketSessionListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener cannot be null");
+        }
+        _listeners.add(listener);
+
+        // deliver any responses that were received while nobody was listening
+        if (!_undelivered.isEmpty()) {
+            SocketSessionSelector.getInstance().dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    Object response;
+                    while (!_listeners.isEmpty() && (response = _undelivered.poll()) != null) {
+                        dispatchToListeners(response);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public void clearListeners() {
+        _listeners.clear();
+    }
+
+    @Override
+    public boolean removeListener(SocketSessionListener listener) {
+        return _listeners.remove(listener);
+    }
+
+    @Override
+    public void connect() throws IOException {
+        disconnect();
+        _undelivered.clear();
+
+        final SocketChannel channel = SocketChannel.open();
+        try {
+            channel.configureBlocking(true);
+
+            logger.debug("Connecting to {}:{}", _host, _port);
+            channel.connect(new InetSocketAddress(_host, _port));
+            channel.socket().setKeepAlive(true);
+            channel.configureBlocking(false);
+
+            final Connection connection = new Connection(channel);
+            _connection.set(connection);
+            SocketSessionSelector.getInstance().register(channel, connection);
+        } catch (IOException e) {
+            _connection.set(null);
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void disconnect() throws IOException {
+        final Connection connection = _connection.getAndSet(null);
+        if (connection != null) {
+            logger.debug("Disconnecting from {}:{} ({})", _host, _port, getStatistics());
+            connection.close();
+        }
+    }
+
+    @Override
+    public boolean isConnected() {
+        final Connection connection = _connection.get();
+        return connection != null && connection._channel.isConnected();
+    }
+
+    @Override
+    public synchronized void sendCommand(String command) throws IOException {
+        if (command == null) {
+            throw new IllegalArgumentException("command cannot be null");
+        }
+
+        final Connection connection = _connection.get();
+        if (connection == null || !connection._channel.isConnected()) {
+            throw new IOException("Cannot send message - disconnected");
+        }
+
+        logger.debug("Sending Command: '{}'", command);
+        final ByteBuffer toSend = ByteBuffer.wrap((command + _commandTerminator).getBytes(CHARSET));
+
+        // the channel is non-blocking - only a full socket send buffer makes us wait for the selector
+        connection._channel.write(toSend);
+        if (toSend.hasRemaining()) {
+            connection.writeRemaining(toSend, command);
+        }
+        _bytesSent.addAndGet(toSend.limit());
+        _commandsSent.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of bytes received since the session was created
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return _bytesReceived.get();
+    }
+
+    /**
+     * Returns the number of bytes sent since the session was created
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return _bytesSent.get();
+    }
+
+    /**
+     * Returns the number of responses received since the session was created
+     *
+     * @return the number of responses received
+     */
+    public long getResponsesReceived() {
+        return _responsesReceived.get();
+    }
+
+    /**
+     * Returns the number of commands sent since the session was created
+     *
+     * @return the number of commands sent
+     */
+    public long getCommandsSent() {
+        return _commandsSent.get();
+    }
+
+    /**
+     * Returns the average time between a response becoming readable on the socket and its dispatch to the listeners
+     *
+     * @return the average dispatch latency in microseconds
+     */
+    public long getAverageDispatchLatency() {
+        final long responses = _responsesReceived.get();
+        return responses == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(_totalDispatchLatency.get() / responses);
+    }
+
+    /**
+     * Returns the highest time between a response becoming readable on the socket and its dispatch to the listeners
+     *
+     * @return the maximum dispatch latency in microseconds
+     */
+    public long getMaxDispatchLatency() {
+        return TimeUnit.NANOSECONDS.toMicros(_maxDispatchLatency.get());
+    }
+
+    /**
+     * Returns a summary of the session metrics, suitable for logging
+     *
+     * @return a non-null, non-empty summary
+     */
+    public String getStatistics() {
+        return String.format(
+                "received %d responses/%d bytes, sent %d commands/%d bytes, dispatch latency avg %dus max %dus",
+                getResponsesReceived(), getBytesReceived(), getCommandsSent(), getBytesSent(),
+                getAverageDispatchLatency(), getMaxDispatchLatency());
+    }
+
+    /**
+     * Dispatches the response (or exception) to the listeners. If no listeners are registered, the response is kept
+     * until a listener is added. Called on the dispatcher thread only.
+     *
+     * @param response a non-null {@link String} response or {@link Exception}
+     */
+    private void dispatchToListeners(Object response) {
+        if (_listeners.isEmpty()) {
+            if (_undelivered.size() >= MAX_UNDELIVERED) {
+                logger.debug("Dropping response - no listeners: {}", _undelivered.poll());
+            }
+            _undelivered.add(response);
+            return;
+        }
+
+        if (response instanceof String) {
+            logger.debug("Dispatching response: {}", response);
+            for (SocketSessionListener listener : _listeners) {
+                try {
+                    listener.responseReceived((String) response);
+                } catch (Exception e) {
+                    logger.warn("Exception occurred processing the response '{}': {}", response, e);
+                }
+            }
+        } else {
+            logger.debug("Dispatching exception: {}", response);
+            for (SocketSessionListener listener : _listeners) {
+                listener.responseException((Exception) response);
+            }
+        }
+    }
+
+    /**
+     * Records the dispatch latency of a response
+     *
+     * @param selectedTime the {@link System#nanoTime()} at which the response became readable
+     */
+    private void recordLatency(long selectedTime) {
+        final long latency = System.nanoTime() - selectedTime;
+        _totalDispatchLatency.addAndGet(latency);
+
+        long max;
+        while (latency > (max = _maxDispatchLatency.get())) {
+            if (_maxDispatchLatency.compareAndSet(max, latency)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * A single connection of the session. Reads and frames the responses on the selector thread. A 'response' is
+     * anything that ends with a carriage-return/newline combo. Additionally, the special login prompts given to the
+     * session are treated as responses for purposes of logging in.
+     *
+     * @author agent - Initial contribution
+     */
+    private class Connection implements SocketSessionSelector.ChannelHandler {
+
+        /**
+         * The connected channel
+         */
+        private final SocketChannel _channel;
+
+        /**
+         * The buffer holding the bytes read but not yet framed into a response. Only accessed from the selector thread
+         */
+        private ByteBuffer _readBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+
+        /**
+         * The rest of a command the socket could not accept right away. Null if nothing is pending. Guarded by this
+         */
+        private ByteBuffer _pendingWrite;
+
+        /**
+         * The exception that occurred writing {@link #_pendingWrite} on the selector thread. Guarded by this
+         */
+        private IOException _writeException;
+
+        Connection(SocketChannel channel) {
+            _channel = channel;
+        }
+
+        /**
+         * Unregisters and closes the channel
+         *
+         * @throws IOException if an exception occurs closing the channel
+         */
+        void close() throws IOException {
+            SocketSessionSelector.getInstance().unregister(_channel);
+            _channel.close();
+
+            // wake up any sender waiting for the socket to accept its command
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+
+        /**
+         * Hands the rest of the command to the selector thread (which writes it once the socket can accept data) and
+         * waits, at most {@link #SEND_TIMEOUT}, until it was written
+         *
+         * @param toSend a non-null buffer with the remaining bytes of the command
+         * @param command the non-null command (for messages)
+         * @throws IOException if the command could not be written in time or writing failed
+         */
+        synchronized void writeRemaining(ByteBuffer toSend, String command) throws IOException {
+            _pendingWrite = toSend;
+            _writeException = null;
+            SocketSessionSelector.getInstance().enableWrite(_channel);
+
+            final long deadline = System.nanoTime() + SEND_TIMEOUT;
+            try {
+                long remaining = SEND_TIMEOUT;
+                while (_pendingWrite != null && _channel.isOpen()) {
+                    if (remaining <= 0) {
+                        throw new IOException("Timed out sending command '" + command + "'");
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    remaining = deadline - System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted sending command '" + command + "'");
+            } finally {
+                if (_pendingWrite != null) {
+                    _pendingWrite = null;
+                    if (_writeException == null && !_channel.isOpen()) {
+                        _writeException = new IOException("Connection closed sending command '" + command + "'");
+                    }
+                }
+            }
+
+            if (_writeException != null) {
+                throw _writeException;
+            }
+        }
+
+        @Override
+        public synchronized boolean channelWritable() {
+            if (_pendingWrite == null) {
+                return true;
+            }
+
+            try {
+                _channel.write(_pendingWrite);
+                if (_pendingWrite.hasRemaining()) {
+                    return false;
+                }
+            } catch (IOException e) {
+                _writeException = e;
+            }
+
+            _pendingWrite = null;
+            notifyAll();
+            return true;
+        }
+
+        @Override
+        public void channelReadable(long selectedTime) {
+            final int bytesRead;
+            try {
+                bytesRead = _channel.read(_readBuffer);
+            } catch (IOException e) {
+                connectionFailed(e);
+                return;
+            }
+
+            if (bytesRead == -1) {
+                connectionFailed(new IOException("server closed connection"));
+                return;
+            }
+
+            _bytesReceived.addAndGet(bytesRead);
+            frameResponses(selectedTime);
+        }
+
+        /**
+         * Frames the responses in the read buffer without copying, and dispatches them. The remaining partial response
+         * is moved to the start of the buffer.
+         *
+         * @param selectedTime the {@link System#nanoTime()} at which the data became readable
+         */
+        private void frameResponses(long selectedTime) {
+            final byte[] bytes = _readBuffer.array();
+            final int end = _readBuffer.position();
+
+            int start = 0;
+            for (int i = 0; i < end; i++) {
+                final byte b = bytes[i];
+                if (b == '\n') {
+                    if (i > start && bytes[i - 1] == '\r') {
+                        dispatchResponse(new String(bytes, start, i - 1 - start, CHARSET), selectedTime);
+                        start = i + 1;
+                    }
+                } else if (b == ' ' && isPrompt(bytes, start, i + 1)) {
+                    dispatchResponse(new String(bytes, start, i - 1 - start, CHARSET), selectedTime);
+                    start = i + 1;
+                }
+            }
+
+            if (start > 0) {
+                _readBuffer.flip();
+                _readBuffer.position(start);
+                _readBuffer.compact();
+            } else if (!_readBuffer.hasRemaining()) {
+                if (_readBuffer.capacity() >= MAX_BUFFER_SIZE) {
+                    logger.warn("Discarding {} bytes received without a line terminator", end);
+                    _readBuffer.clear();
+                } else {
+                    final ByteBuffer larger = ByteBuffer.allocate(_readBuffer.capacity() * 2);
+                    _readBuffer.flip();
+                    larger.put(_readBuffer);
+                    _readBuffer = larger;
+                }
+            }
+        }
+
+        /**
+         * Whether the bytes from start (inclusive) to end (exclusive) end with one of the {@link #_prompts}
+         */
+        private boolean isPrompt(byte[] bytes, int start, int end) {
+            for (byte[] prompt : _prompts) {
+                if (end - start >= prompt.length) {
+                    boolean matches = true;
+                    for (int i = 1; i <= prompt.length && matches; i++) {
+                        matches = bytes[end - i] == prompt[prompt.length - i];
+                    }
+                    if (matches) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Hands the response to the dispatcher thread
+         */
+        private void dispatchResponse(final String response, final long selectedTime) {
+            _responsesReceived.incrementAndGet();
+            SocketSessionSelector.getInstance().dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    recordLatency(selectedTime);
+                    dispatchToListeners(response);
+                }
+            });
+        }
+
+        /**
+         * Closes the connection after a read failure and dispatches the exception to the listeners
+         */
+        private void connectionFailed(final IOException e) {
+            if (!_connection.compareAndSet(this, null)) {
+                // session was disconnected in the meantime - nobody to tell
+                return;
+            }
+
+            // dispatch before closing - closing the last channel stops the dispatcher once queued tasks have run
+            SocketSessionSelector.getInstance().dispatch(new Runnable() {
+                @Override
+                public void run() {
+                    dispatchToListeners(e);
+                }
+            });
+            try {
+                close();
+            } catch (IOException e1) {
+                // ignore - we are already failing
+            }
+        }
+    }
+}
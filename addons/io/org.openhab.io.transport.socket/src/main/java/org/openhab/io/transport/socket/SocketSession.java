@@ -6,7 +6,7 @@
  * which accompanies this distribution, and is available at
  * http://www.eclipse.org/legal/epl-v10.html
  */
-package org.openhab.binding.atlona.internal.net;
+package org.openhab.io.transport.socket;
 
 import java.io.IOException;
 
@@ -40,26 +40,21 @@ public interface SocketSession {
     boolean removeListener(SocketSessionListener listener);
 
     /**
-     * Will attempt to connect to the {@link #_host} on port {@link #_port}. If we are current connected, will
-     * {@link #disconnect()} first. Once connected, the {@link #_writer} and {@link #_reader} will be created, the
-     * {@link #_dispatcher} and {@link #_responseReader} will be started.
+     * Will attempt to connect to the host. If we are currently connected, will {@link #disconnect()} first.
      *
      * @throws java.io.IOException if an exception occurs during the connection attempt
      */
     void connect() throws IOException;
 
     /**
-     * Disconnects from the {@link #_host} if we are {@link #isConnected()}. The {@link #_writer}, {@link #_reader} and
-     * {@link #_client}
-     * will be closed and set to null. The {@link #_dispatcher} and {@link #_responseReader} will be stopped, the
-     * {@link #_listeners} will be nulled and the {@link #_responses} will be cleared.
+     * Disconnects from the host if we are {@link #isConnected()}
      *
      * @throws java.io.IOException if an exception occurs during the disconnect attempt
      */
     void disconnect() throws IOException;
 
     /**
-     * Returns true if we are connected ({@link #_client} is not null and is connected)
+     * Returns true if we are connected
      *
      * @return true if connected, false otherwise
      */
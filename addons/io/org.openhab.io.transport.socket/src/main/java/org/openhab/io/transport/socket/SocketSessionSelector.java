@@ -0,0 +1,292 @@
+/**
+ * Copyright (c) 2010-2017 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.socket;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Multiplexes the socket channels of all {@link SocketChannelSession}s (of all bindings using this bundle) on a single
+ * selector thread. Data read from the channels is framed into responses on the selector thread, which are then handed
+ * to a single dispatcher thread that calls the session listeners (so a slow listener never delays reading from the
+ * other sessions). Both threads are started when the first channel is registered and stopped when the last one is
+ * unregistered.
+ *
+ * @author agent - Initial contribution
+ */
+class SocketSessionSelector {
+    private final Logger logger = LoggerFactory.getLogger(SocketSessionSelector.class);
+
+    /**
+     * The prefix of the names of the threads started by the selector
+     */
+    private static final String THREAD_NAME = "socket-session";
+
+    /**
+     * The single instance shared by all sessions
+     */
+    private static final SocketSessionSelector INSTANCE = new SocketSessionSelector();
+
+    /**
+     * The handler of a registered channel. Called on the selector thread, so implementations must not block.
+     *
+     * @author agent - Initial contribution
+     */
+    interface ChannelHandler {
+        /**
+         * Called when the channel has data available to read
+         *
+         * @param selectedTime the {@link System#nanoTime()} at which the channel was selected
+         */
+        void channelReadable(long selectedTime);
+
+        /**
+         * Called when the channel can accept data after {@link SocketSessionSelector#enableWrite(SocketChannel)}
+         *
+         * @return true if all pending data was written (the channel is no longer selected for writing), false otherwise
+         */
+        boolean channelWritable();
+    }
+
+    /**
+     * The currently running selector loop. Null if no channels are registered
+     */
+    private SelectorLoop _selectorLoop;
+
+    /**
+     * The executor calling the session listeners. Null if no channels are registered
+     */
+    private ExecutorService _dispatcher;
+
+    /**
+     * The number of registered channels
+     */
+    private int _channelCount;
+
+    /**
+     * Returns the selector shared by all sessions
+     *
+     * @return the non-null {@link SocketSessionSelector}
+     */
+    static SocketSessionSelector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the channel for reading. The channel must be connected and in non-blocking mode.
+     *
+     * @param channel a non-null, connected {@link SocketChannel}
+     * @param handler a non-null {@link ChannelHandler} to call when data can be read or written
+     * @throws IOException if the selector could not be opened
+     */
+    synchronized void register(SocketChannel channel, ChannelHandler handler) throws IOException {
+        if (_selectorLoop == null) {
+            final SelectorLoop selectorLoop = new SelectorLoop(Selector.open());
+            final Thread thread = new Thread(selectorLoop, THREAD_NAME + "-selector");
+            thread.setDaemon(true);
+            thread.start();
+
+            _selectorLoop = selectorLoop;
+            _dispatcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread dispatcherThread = new Thread(r, THREAD_NAME + "-dispatcher");
+                    dispatcherThread.setDaemon(true);
+                    return dispatcherThread;
+                }
+            });
+            logger.debug("Started selector and dispatcher threads");
+        }
+        _channelCount++;
+        _selectorLoop.register(channel, handler);
+    }
+
+    /**
+     * Unregisters the channel. The threads are stopped once no channels are registered anymore. Pending responses are
+     * still dispatched before the dispatcher thread stops.
+     *
+     * @param channel a non-null, previously registered {@link SocketChannel}
+     */
+    synchronized void unregister(SocketChannel channel) {
+        if (_selectorLoop == null) {
+            return;
+        }
+        _selectorLoop.unregister(channel);
+
+        if (--_channelCount <= 0) {
+            _channelCount = 0;
+            _selectorLoop.stopRunning();
+            _selectorLoop = null;
+            _dispatcher.shutdown();
+            _dispatcher = null;
+            logger.debug("Stopped selector and dispatcher threads");
+        }
+    }
+
+    /**
+     * Selects the channel for writing as well as reading. The handler's {@link ChannelHandler#channelWritable()} is
+     * called once the socket send buffer has room again, until it reports that all pending data was written.
+     *
+     * @param channel a non-null, previously registered {@link SocketChannel}
+     */
+    synchronized void enableWrite(SocketChannel channel) {
+        if (_selectorLoop != null) {
+            _selectorLoop.enableWrite(channel);
+        }
+    }
+
+    /**
+     * Runs the given task on the dispatcher thread. Tasks are run in the order they were submitted.
+     *
+     * @param task a non-null task calling the session listeners
+     */
+    void dispatch(Runnable task) {
+        final ExecutorService dispatcher;
+        synchronized (this) {
+            dispatcher = _dispatcher;
+        }
+        if (dispatcher == null) {
+            logger.debug("Dropping dispatch - no channels registered");
+            return;
+        }
+        try {
+            dispatcher.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Dropping dispatch - dispatcher was stopped");
+        }
+    }
+
+    /**
+     * The runnable that waits on the selector and calls the handlers of the channels that can be read or written
+     *
+     * @author agent - Initial contribution
+     */
+    private class SelectorLoop implements Runnable {
+
+        /**
+         * The selector the channels are registered with
+         */
+        private final Selector _selector;
+
+        /**
+         * Registrations and interest changes to run on the selector thread (doing so from another thread blocks while
+         * selecting)
+         */
+        private final Queue<Runnable> _pendingChanges = new ConcurrentLinkedQueue<Runnable>();
+
+        /**
+         * Whether the loop should keep running
+         */
+        private volatile boolean _isRunning = true;
+
+        SelectorLoop(Selector selector) {
+            _selector = selector;
+        }
+
+        void register(final SocketChannel channel, final ChannelHandler handler) {
+            _pendingChanges.add(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        channel.register(_selector, SelectionKey.OP_READ, handler);
+                    } catch (ClosedChannelException e) {
+                        // channel was closed before it could be registered
+                    }
+                }
+            });
+            _selector.wakeup();
+        }
+
+        void enableWrite(final SocketChannel channel) {
+            _pendingChanges.add(new Runnable() {
+                @Override
+                public void run() {
+                    final SelectionKey key = channel.keyFor(_selector);
+                    if (key != null && key.isValid()) {
+                        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+            });
+            _selector.wakeup();
+        }
+
+        void unregister(SocketChannel channel) {
+            final SelectionKey key = channel.keyFor(_selector);
+            if (key != null) {
+                key.cancel();
+            }
+            _selector.wakeup();
+        }
+
+        void stopRunning() {
+            _isRunning = false;
+            _selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (_isRunning) {
+                try {
+                    _selector.select();
+                    final long selectedTime = System.nanoTime();
+
+                    Runnable change;
+                    while ((change = _pendingChanges.poll()) != null) {
+                        try {
+                            change.run();
+                        } catch (CancelledKeyException e) {
+                            // channel was unregistered in the meantime
+                        }
+                    }
+
+                    final Iterator<SelectionKey> keys = _selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        final SelectionKey key = keys.next();
+                        keys.remove();
+                        try {
+                            final ChannelHandler handler = (ChannelHandler) key.attachment();
+                            if (key.isValid() && key.isWritable() && handler.channelWritable()) {
+                                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                handler.channelReadable(selectedTime);
+                            }
+                        } catch (CancelledKeyException e) {
+                            // channel was unregistered while processing
+                        } catch (RuntimeException e) {
+                            logger.warn("Exception occurred processing channel: {}", e.getMessage(), e);
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.warn("Exception occurred selecting channels: {}", e.getMessage(), e);
+                }
+            }
+
+            try {
+                _selector.close();
+            } catch (IOException e) {
+                // ignore - we are shutting down
+            }
+        }
+    }
+}